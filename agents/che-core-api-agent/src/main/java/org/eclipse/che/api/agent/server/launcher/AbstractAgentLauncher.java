@@ -31,9 +31,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -41,6 +45,8 @@ import static java.lang.String.format;
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
+ * Checks are scheduled on a shared timer with growing delay, so waiting for
+ * an agent doesn't keep a thread busy between checks.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
@@ -56,17 +62,44 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                                                             LoggingUncaughtExceptionHandler.getInstance())
                                                                     .setDaemon(true)
                                                                     .build());
+    private static final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("AgentLaunchingTimer")
+                                                                                 .setUncaughtExceptionHandler(
+                                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
+    /** Delay before the second check of agent state, it is doubled for each next check up to the ping delay. */
+    static final long INITIAL_PING_DELAY_MS = 50;
 
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
     private final long                  agentMaxStartTimeMs;
+    private final AgentLaunchingMetrics launchingMetrics;
 
     public AbstractAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
                                  AgentLaunchingChecker agentLaunchingChecker) {
+        this(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, null);
+    }
+
+    /**
+     * @param launchingMetrics
+     *         metrics which launch time of agents is recorded into, may be {@code null}
+     */
+    public AbstractAgentLauncher(long agentMaxStartTimeMs,
+                                 long agentPingDelayMs,
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 AgentLaunchingMetrics launchingMetrics) {
         this.agentPingDelayMs = agentPingDelayMs;
         this.agentMaxStartTimeMs = agentMaxStartTimeMs;
         this.agentLaunchingChecker = agentLaunchingChecker;
+        this.launchingMetrics = launchingMetrics;
+    }
+
+    /** Returns the metrics of agents launched by this launcher or {@code null} if they are not set. */
+    public AgentLaunchingMetrics getLaunchingMetrics() {
+        return launchingMetrics;
     }
 
     @Override
@@ -86,14 +119,20 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             final InstanceProcess process = start(machine, agent, lineConsumer);
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
 
-            final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-                if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
-                    return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
+            final long launchStartTimestamp = System.currentTimeMillis();
+            boolean launched = false;
+            try {
+                launched = waitLaunched(machine, agent, process, launchStartTimestamp + agentMaxStartTimeMs);
+            } finally {
+                if (launchingMetrics != null) {
+                    launchingMetrics.record(getAgentId(), System.currentTimeMillis() - launchStartTimestamp, launched);
                 }
             }
+            if (launched) {
+                LOG.info("Agent '{}' is launched in {} ms. Workspace ID:{}",
+                         agent.getName(), System.currentTimeMillis() - launchStartTimestamp, machine.getWorkspaceId());
+                return;
+            }
             LOG.error(format("Fail launching agent '%s' in '%s' workspace due to timeout",
                              agent.getName(), machine.getWorkspaceId()));
 
@@ -117,6 +156,74 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                              agent.getName(), machine.getWorkspaceId()));
     }
 
+    /**
+     * Waits until agent is launched or the deadline is reached.
+     *
+     * <p>The first check is done in the launching thread, so agents which are ready at once
+     * don't wait at all. Subsequent checks are scheduled on the shared timer and run on the
+     * launcher executor, the delay between them starts from {@link #INITIAL_PING_DELAY_MS}
+     * and is doubled after each check up to the configured ping delay.
+     *
+     * @return {@code true} if agent is launched, {@code false} if the deadline is reached
+     */
+    private boolean waitLaunched(Instance machine,
+                                 Agent agent,
+                                 InstanceProcess process,
+                                 long deadline) throws MachineException, InterruptedException {
+        if (System.currentTimeMillis() >= deadline) {
+            return false;
+        }
+        if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+            return true;
+        }
+
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        scheduleCheck(result, machine, agent, process, deadline, Math.min(INITIAL_PING_DELAY_MS, agentPingDelayMs));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof MachineException) {
+                throw (MachineException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new MachineException(cause.getMessage(), cause);
+        } finally {
+            // prevents further checks if waiting is interrupted
+            result.cancel(false);
+        }
+    }
+
+    private void scheduleCheck(CompletableFuture<Boolean> result,
+                               Instance machine,
+                               Agent agent,
+                               InstanceProcess process,
+                               long deadline,
+                               long delayMs) {
+        final Runnable check = ThreadLocalPropagateContext.wrap(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                result.complete(false);
+                return;
+            }
+            try {
+                if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+                    result.complete(true);
+                } else {
+                    scheduleCheck(result, machine, agent, process, deadline, Math.min(delayMs * 2, agentPingDelayMs));
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        timer.schedule(() -> executor.execute(check), delayMs, TimeUnit.MILLISECONDS);
+    }
+
     protected InstanceProcess start(Instance machine, Agent agent, LineConsumer lineConsumer) throws ServerException {
         Command command = new CommandImpl(agent.getId(), agent.getScript(), "agent");
         InstanceProcess process = machine.createProcess(command, null);
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.metrics.LatencyStats;
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Collects time spent on launching of agents, separately for each agent.
+ * Statistics are exported through {@link Metrics} as {@code agents.launching.<agent id>.*}.
+ *
+ * @see AbstractAgentLauncher
+ */
+@Singleton
+public class AgentLaunchingMetrics implements Metric {
+    private static final String METRIC_NAME = "agents.launching";
+
+    private final Map<String, LatencyStats> agents = new ConcurrentHashMap<>();
+
+    public AgentLaunchingMetrics() {
+        Metrics.register(METRIC_NAME, this);
+    }
+
+    /** Removes metrics of this instance. */
+    @PreDestroy
+    public void stop() {
+        Metrics.remove(METRIC_NAME, this);
+    }
+
+    /**
+     * Records a single launch of agent.
+     *
+     * @param agentId
+     *         identifier of agent
+     * @param startTimeMs
+     *         time passed from the start of agent script until agent was launched or failed
+     * @param launched
+     *         whether agent was launched successfully
+     */
+    public void record(String agentId, long startTimeMs, boolean launched) {
+        agents.computeIfAbsent(agentId, id -> new LatencyStats()).record(MILLISECONDS.toNanos(startTimeMs), !launched);
+    }
+
+    /** Returns snapshot of start time statistics mapped by agent identifiers. */
+    public Map<String, LatencyStats> getAgents() {
+        return new HashMap<>(agents);
+    }
+
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        agents.forEach((agentId, stats) -> stats.collect(name + '.' + agentId, values));
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.api.agent.server.launcher;
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.LatencyStats;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -43,6 +44,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -191,6 +193,41 @@ public class AbstractAgentLauncherTest {
         }
     }
 
+    @Test(timeOut = 10_000)
+    public void shouldCheckAgentStateMoreFrequentlyThanAgentCheckDelayRightAfterStart() throws Exception {
+        // given
+        // the launch would block for the whole ping delay if the second check was not scheduled earlier
+        launcher = spy(new TestAgentLauncher(600_000, 300_000, agentChecker));
+        doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenReturn(false)
+                                                          .thenReturn(true);
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        verify(agentChecker, times(2)).isLaunched(any(Agent.class),
+                                                  any(InstanceProcess.class),
+                                                  any(Instance.class));
+    }
+
+    @Test
+    public void shouldRecordAgentStartTime() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(500, 100, agentChecker, new AgentLaunchingMetrics()));
+        doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        LatencyStats startTime = launcher.getLaunchingMetrics().getAgents().get("testAgentId");
+        assertEquals(startTime.getCount(), 1);
+        assertEquals(startTime.getFailures(), 0);
+    }
+
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "agent launcher test exception")
     public void shouldThrowServerExceptionIfMachineExceptionIsThrownByAgentCheck() throws Exception {
         // given
@@ -329,6 +366,13 @@ public class AbstractAgentLauncherTest {
             super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker);
         }
 
+        public TestAgentLauncher(long agentMaxStartTimeMs,
+                                 long agentPingDelayMs,
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 AgentLaunchingMetrics launchingMetrics) {
+            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, launchingMetrics);
+        }
+
         @Override
         protected InstanceProcess start(Instance machine, Agent agent, LineConsumer lineConsumer) throws ServerException {
             return super.start(machine, agent, lineConsumer);
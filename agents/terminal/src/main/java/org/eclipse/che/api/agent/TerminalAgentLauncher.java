@@ -12,6 +12,7 @@ package org.eclipse.che.api.agent;
 
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingMetrics;
 import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.impl.AgentImpl;
@@ -34,8 +35,9 @@ public class TerminalAgentLauncher extends AbstractAgentLauncher {
     @Inject
     public TerminalAgentLauncher(@Named("che.agent.dev.max_start_time_ms") long agentMaxStartTimeMs,
                              @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs,
-                             @Named("machine.terminal_agent.run_command") String runCommand) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"));
+                             @Named("machine.terminal_agent.run_command") String runCommand,
+                             AgentLaunchingMetrics launchingMetrics) {
+        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"), launchingMetrics);
         this.runCommand = runCommand;
     }
 
@@ -22,6 +22,11 @@ import static com.google.common.base.Preconditions.checkState;
  * always represents endpoint identifier, while the second can be of
  * arbitrary type and depends on business logic.
  *
+ * <p>A promise can also be resolved by the code that created it with
+ * {@link #success(Object)} or {@link #failure(JsonRpcError)}, that is how
+ * request handlers return results which are not available yet. Consumers
+ * that are set after the promise is resolved are called immediately.
+ *
  * @param <R>
  *         type of second argument of binary consumer
  */
@@ -30,6 +35,10 @@ public class JsonRpcPromise<R> {
     private BiConsumer<String, JsonRpcError> failureConsumer;
     private Runnable                         timeoutRunnable;
 
+    private boolean      resolved;
+    private R            result;
+    private JsonRpcError error;
+
     Optional<BiConsumer<String, R>> getSuccessConsumer() {
         return Optional.ofNullable(successConsumer);
     }
@@ -68,7 +77,14 @@ public class JsonRpcPromise<R> {
     public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
         checkNotNull(biConsumer, "JSON RPC success consumer argument must not be null");
         checkState(this.successConsumer == null, "JSON RPC success field must not be set");
-        this.successConsumer = biConsumer;
+        final boolean succeeded;
+        synchronized (this) {
+            this.successConsumer = biConsumer;
+            succeeded = resolved && error == null;
+        }
+        if (succeeded) {
+            biConsumer.accept(null, result);
+        }
         return this;
     }
 
@@ -85,8 +101,7 @@ public class JsonRpcPromise<R> {
     public JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
         checkNotNull(consumer, "JSON RPC success consumer argument must not be null");
         checkState(this.successConsumer == null, "JSON RPC success consumer field must not be set");
-        this.successConsumer = (s, r) -> consumer.accept(r);
-        return this;
+        return onSuccess((s, r) -> consumer.accept(r));
     }
 
     /**
@@ -101,8 +116,7 @@ public class JsonRpcPromise<R> {
     public JsonRpcPromise<R> onSuccess(Runnable runnable) {
         checkNotNull(runnable, "JSON RPC success runnable argument must not be null");
         checkState(this.successConsumer == null, "JSON RPC success field must not be set");
-        this.successConsumer = (s, r) -> runnable.run();
-        return this;
+        return onSuccess((s, r) -> runnable.run());
     }
 
     /**
@@ -117,7 +131,14 @@ public class JsonRpcPromise<R> {
     public JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
         checkNotNull(biConsumer, "JSON RPC failure consumer argument must not be null");
         checkState(this.failureConsumer == null, "JSON RPC failure consumer field must not be set");
-        this.failureConsumer = biConsumer;
+        final boolean failed;
+        synchronized (this) {
+            this.failureConsumer = biConsumer;
+            failed = resolved && error != null;
+        }
+        if (failed) {
+            biConsumer.accept(null, error);
+        }
         return this;
     }
 
@@ -134,8 +155,7 @@ public class JsonRpcPromise<R> {
     public JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
         checkNotNull(consumer, "JSON RPC failure consumer argument must not be null");
         checkState(this.failureConsumer == null, "JSON RPC failure consumer field must not be set");
-        this.failureConsumer = (s, e) -> consumer.accept(e);
-        return this;
+        return onFailure((s, e) -> consumer.accept(e));
     }
 
     /**
@@ -153,4 +173,51 @@ public class JsonRpcPromise<R> {
         this.successConsumer = (s, e) -> runnable.run();
         return this;
     }
+
+    /**
+     * Resolves this promise with the result, the success consumer is called
+     * with {@code null} endpoint identifier. Does nothing if this promise
+     * is already resolved.
+     *
+     * @param result
+     *         value of result
+     */
+    public void success(R result) {
+        final BiConsumer<String, R> consumer;
+        synchronized (this) {
+            if (resolved) {
+                return;
+            }
+            this.resolved = true;
+            this.result = result;
+            consumer = successConsumer;
+        }
+        if (consumer != null) {
+            consumer.accept(null, result);
+        }
+    }
+
+    /**
+     * Rejects this promise with the error, the failure consumer is called
+     * with {@code null} endpoint identifier. Does nothing if this promise
+     * is already resolved.
+     *
+     * @param error
+     *         error
+     */
+    public void failure(JsonRpcError error) {
+        checkNotNull(error, "JSON RPC error argument must not be null");
+        final BiConsumer<String, JsonRpcError> consumer;
+        synchronized (this) {
+            if (resolved) {
+                return;
+            }
+            this.resolved = true;
+            this.error = error;
+            consumer = failureConsumer;
+        }
+        if (consumer != null) {
+            consumer.accept(null, error);
+        }
+    }
 }
@@ -40,6 +40,13 @@ import static org.slf4j.LoggerFactory.getLogger;
  *     <li>{@link ManyToOneHandler} - to receive request with multiple parameters and a single result</li>
  *     <li>{@link ManyToManyHandler} - to receive request with multiple parameters and multiple results</li>
  * </ul>
+ * Handlers of requests with a single parameter may also return a promise
+ * of a single or multiple results, response is transmitted when the promise
+ * is resolved, so the handling thread is not blocked while the result is computed:
+ * <ul>
+ *     <li>{@link OneToPromiseOneHandler} - to receive a request with a single parameter and a promise of a single result</li>
+ *     <li>{@link OneToPromiseManyHandler} - to receive a request with a single parameter and a promise of multiple results</li>
+ * </ul>
  */
 @Singleton
 public class RequestHandlerManager {
@@ -56,6 +63,9 @@ public class RequestHandlerManager {
     private final Map<String, NoneToManyHandler> noneToManyHandlers = new ConcurrentHashMap<>();
     private final Map<String, NoneToNoneHandler> noneToNoneHandlers = new ConcurrentHashMap<>();
 
+    private final Map<String, OneToPromiseOneHandler>  oneToPromiseOneHandlers  = new ConcurrentHashMap<>();
+    private final Map<String, OneToPromiseManyHandler> oneToPromiseManyHandlers = new ConcurrentHashMap<>();
+
     private final WebSocketMessageTransmitter transmitter;
     private final JsonRpcComposer             dtoComposer;
     private final JsonRpcMarshaller           marshaller;
@@ -130,6 +140,22 @@ public class RequestHandlerManager {
         noneToNoneHandlers.put(method, new NoneToNoneHandler(consumer));
     }
 
+    public synchronized <P, R> void registerOneToPromiseOne(String method, Class<P> pClass, Class<R> rClass,
+                                                            BiFunction<String, P, JsonRpcPromise<R>> biFunction) {
+        mustNotBeRegistered(method);
+
+        methodToCategory.put(method, Category.ONE_TO_PROMISE_ONE);
+        oneToPromiseOneHandlers.put(method, new OneToPromiseOneHandler<>(pClass, rClass, biFunction));
+    }
+
+    public synchronized <P, R> void registerOneToPromiseMany(String method, Class<P> pClass, Class<R> rClass,
+                                                             BiFunction<String, P, JsonRpcPromise<List<R>>> biFunction) {
+        mustNotBeRegistered(method);
+
+        methodToCategory.put(method, Category.ONE_TO_PROMISE_MANY);
+        oneToPromiseManyHandlers.put(method, new OneToPromiseManyHandler<>(pClass, rClass, biFunction));
+    }
+
     public boolean isRegistered(String method) {
         return methodToCategory.containsKey(method);
     }
@@ -162,6 +188,18 @@ public class RequestHandlerManager {
                 NoneToManyHandler noneToManyHandler = noneToManyHandlers.get(method);
                 transmitMany(endpointId, requestId, noneToManyHandler.handle(endpointId));
                 break;
+            case ONE_TO_PROMISE_ONE:
+                OneToPromiseOneHandler oneToPromiseOneHandler = oneToPromiseOneHandlers.get(method);
+                JsonRpcPromise<?> onePromise = oneToPromiseOneHandler.handle(endpointId, params);
+                onePromise.onSuccess(result -> transmitOne(endpointId, requestId, result))
+                          .onFailure(error -> transmitError(endpointId, requestId, error));
+                break;
+            case ONE_TO_PROMISE_MANY:
+                OneToPromiseManyHandler oneToPromiseManyHandler = oneToPromiseManyHandlers.get(method);
+                JsonRpcPromise<List<?>> manyPromise = oneToPromiseManyHandler.handle(endpointId, params);
+                manyPromise.onSuccess(result -> transmitMany(endpointId, requestId, result))
+                           .onFailure(error -> transmitError(endpointId, requestId, error));
+                break;
             default:
                 LOGGER.error("Something went wrong trying to find out handler category");
         }
@@ -215,6 +253,12 @@ public class RequestHandlerManager {
         transmitter.transmit(endpointId, message);
     }
 
+    private void transmitError(String endpointId, String id, JsonRpcError error) {
+        JsonRpcResponse jsonRpcResponse = new JsonRpcResponse(id, null, error);
+        String message = marshaller.marshall(jsonRpcResponse);
+        transmitter.transmit(endpointId, message);
+    }
+
     public enum Category {
         ONE_TO_ONE,
         ONE_TO_MANY,
@@ -224,7 +268,9 @@ public class RequestHandlerManager {
         MANY_TO_NONE,
         NONE_TO_ONE,
         NONE_TO_MANY,
-        NONE_TO_NONE
+        NONE_TO_NONE,
+        ONE_TO_PROMISE_ONE,
+        ONE_TO_PROMISE_MANY
     }
 
     private class OneToOneHandler<P, R> {
@@ -365,4 +411,38 @@ public class RequestHandlerManager {
             consumer.accept(endpointId);
         }
     }
+
+    private class OneToPromiseOneHandler<P, R> {
+        final private Class<P>                                 pClass;
+        final private Class<R>                                 rClass;
+        final private BiFunction<String, P, JsonRpcPromise<R>> biFunction;
+
+        private OneToPromiseOneHandler(Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcPromise<R>> biFunction) {
+            this.pClass = pClass;
+            this.rClass = rClass;
+            this.biFunction = biFunction;
+        }
+
+        private JsonRpcPromise<R> handle(String endpointId, JsonRpcParams params) {
+            P dto = dtoComposer.composeOne(params, pClass);
+            return biFunction.apply(endpointId, dto);
+        }
+    }
+
+    private class OneToPromiseManyHandler<P, R> {
+        final private Class<P>                                       pClass;
+        final private Class<R>                                       rClass;
+        final private BiFunction<String, P, JsonRpcPromise<List<R>>> biFunction;
+
+        private OneToPromiseManyHandler(Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcPromise<List<R>>> biFunction) {
+            this.pClass = pClass;
+            this.rClass = rClass;
+            this.biFunction = biFunction;
+        }
+
+        private JsonRpcPromise<List<R>> handle(String endpointId, JsonRpcParams params) {
+            P dto = dtoComposer.composeOne(params, pClass);
+            return biFunction.apply(endpointId, dto);
+        }
+    }
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.core.jsonrpc.commons.reception;
 
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcErrorTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
 import org.slf4j.Logger;
 
@@ -75,4 +76,33 @@ public class FunctionConfiguratorOneToOne<P, R> {
     public void withFunction(Function<P, R> function) {
        withBiFunction((s, p) -> function.apply(p));
     }
+
+    /**
+     * Define a binary function to be applied, the function returns a promise
+     * of result and the response is sent when the promise is resolved
+     *
+     * @param biFunction
+     *         function
+     */
+    public void withPromiseBiFunction(BiFunction<String, P, JsonRpcPromise<R>> biFunction) {
+        checkNotNull(biFunction, "Request function must not be null");
+
+        LOGGER.debug("Configuring incoming request binary: " +
+                     "promise function for method: " + method + ", " +
+                     "params object class: " + pClass + ", " +
+                     "result object class: " + rClass);
+
+        handlerManager.registerOneToPromiseOne(method, pClass, rClass, biFunction);
+    }
+
+    /**
+     * Define a function to be applied, the function returns a promise
+     * of result and the response is sent when the promise is resolved
+     *
+     * @param function
+     *         function
+     */
+    public void withPromise(Function<P, JsonRpcPromise<R>> function) {
+        withPromiseBiFunction((s, p) -> function.apply(p));
+    }
 }
@@ -61,7 +61,26 @@ public class SendConfiguratorFromOne<P> {
                      (pValue != null ? "params object class: " + pValue.getClass() + ", " : "") +
                      "params list value" + pValue);
 
-        transmitNotification();
+        transmitNotification(null);
+    }
+
+    /**
+     * Sends a notification which supersedes a notification with the same coalescing key
+     * if the latter is still waiting for the connection of the endpoint to be opened,
+     * e.g. a status change of a resource that makes its previous status change obsolete.
+     *
+     * @param coalescingKey
+     *         key of the notification, must not be null
+     */
+    public void sendAndSkipResult(String coalescingKey) {
+        checkNotNull(coalescingKey, "Coalescing key must not be null");
+
+        LOGGER.debug("Transmitting request: " +
+                     "endpoint ID: " + endpointId + ", " +
+                     "method: " + method + ", " +
+                     "coalescing key: " + coalescingKey);
+
+        transmitNotification(coalescingKey);
     }
 
     public <R> JsonRpcPromise<R> sendAndReceiveResultAsDto(final Class<R> rClass) {
@@ -212,11 +231,11 @@ public class SendConfiguratorFromOne<P> {
         return dispatcher.registerPromiseForSingleObject(endpointId, requestId, Void.class, timeoutInMillis);
     }
 
-    private void transmitNotification() {
+    private void transmitNotification(String coalescingKey) {
         JsonRpcParams params = new JsonRpcParams(pValue);
         JsonRpcRequest request = new JsonRpcRequest(null, method, params);
         String message = marshaller.marshall(request);
-        transmitter.transmit(endpointId, message);
+        transmitter.transmit(endpointId, message, coalescingKey);
     }
 
     private String transmitRequest() {
@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.inject.Singleton;
 
@@ -19,6 +18,7 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.dto.server.DtoFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
@@ -47,9 +47,13 @@ public class GsonJsonRpcComposer implements JsonRpcComposer {
     }
 
     private <T> T composeOne(Class<T> type, Object paramObject) {
+        if (paramObject instanceof JsonRawValue) {
+            return DtoFactory.getInstance().createDtoFromJson(((JsonRawValue)paramObject).getJson(), type);
+        }
+
         if (paramObject instanceof JsonElement) {
             JsonElement jsonElement = (JsonElement)paramObject;
-            return DtoFactory.getInstance().createDtoFromJson(jsonElement.toString(), type);
+            return DtoFactory.getInstance().createDtoFromJson(jsonElement, type);
         }
 
         return cast(paramObject);
@@ -60,13 +64,13 @@ public class GsonJsonRpcComposer implements JsonRpcComposer {
             return emptyList();
         }
 
-        if (paramsList.get(0) instanceof JsonElement) {
-            JsonArray jsonArray = new JsonArray();
-            for (int i = 0; i < paramsList.size(); i++) {
-                JsonElement jsonElement = (JsonElement)paramsList.get(i);
-                jsonArray.set(i, jsonElement);
+        Object first = paramsList.get(0);
+        if (first instanceof JsonRawValue || first instanceof JsonElement) {
+            List<T> result = new ArrayList<>(paramsList.size());
+            for (Object param : paramsList) {
+                result.add(composeOne(type, param));
             }
-            return DtoFactory.getInstance().createListDtoFromJson(jsonArray.toString(), type);
+            return result;
         }
 
         return cast(paramsList);
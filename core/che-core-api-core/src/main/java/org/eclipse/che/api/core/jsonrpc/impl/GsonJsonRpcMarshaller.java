@@ -10,13 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonPrimitive;
-import com.google.inject.Inject;
+import com.google.gson.stream.JsonWriter;
 
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
@@ -27,144 +24,137 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 
-import static org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUtils.cast;
-
+/**
+ * Writes JSON RPC messages straight to a string. JSON of DTOs and of raw values is
+ * spliced into the message as is, so the cached JSON of a frozen DTO which is sent
+ * to many endpoints is neither parsed nor serialized again for each of them.
+ */
 public class GsonJsonRpcMarshaller implements JsonRpcMarshaller {
-    private final JsonParser jsonParser;
-
-    @Inject
-    public GsonJsonRpcMarshaller(JsonParser jsonParser) {
-        this.jsonParser = jsonParser;
-    }
-
     @Override
     public String marshall(JsonRpcResponse response) {
-        JsonElement jsonId = getId(response);
-        JsonElement jsonResult = getResult(response);
-        JsonElement jsonError = getError(response);
-
-        return getResponse(jsonId, jsonResult, jsonError).toString();
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("jsonrpc").value("2.0");
+            if (response.hasId()) {
+                writer.name("id").value(response.getId());
+            }
+            if (response.hasResult()) {
+                JsonRpcResult result = response.getResult();
+                writer.name("result");
+                if (result.isSingle()) {
+                    writeElement(writer, result.getOne());
+                } else {
+                    writeElements(writer, result.getMany());
+                }
+            } else {
+                writer.name("error");
+                writeError(writer, response);
+            }
+            writer.endObject();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return out.toString();
     }
 
     @Override
     public String marshall(JsonRpcRequest request) {
-        JsonElement method = getMethod(request);
-        JsonElement id = getId(request);
-        JsonElement params = getParams(request);
-
-        return getRequest(method, id, params).toString();
-    }
-
-    private JsonObject getRequest(JsonElement jsonMethod, JsonElement jsonId, JsonElement jsonParams) {
-        JsonObject jsonRequest = new JsonObject();
-        jsonRequest.addProperty("jsonrpc", "2.0");
-        jsonRequest.add("method", jsonMethod);
-
-        if (jsonId != null) {
-            jsonRequest.add("id", jsonId);
-        }
-
-        if (jsonParams != null) {
-            jsonRequest.add("params", jsonParams);
-        }
-        return jsonRequest;
-    }
-
-    private JsonElement getParams(JsonRpcRequest request) {
-        if (!request.hasParams()) {
-            return null;
-        }
-
-        JsonRpcParams params = request.getParams();
-        return params.isSingle() ? getElement(params.getOne()) : getElements(params.getMany());
-    }
-
-    private JsonElement getId(JsonRpcRequest request) {
-        return request.hasId() ? new JsonPrimitive(request.getId()) : null;
-    }
-
-    private JsonPrimitive getMethod(JsonRpcRequest request) {
-        return new JsonPrimitive(request.getMethod());
-    }
-
-    private JsonObject getResponse(JsonElement jsonId, JsonElement jsonResult, JsonElement jsonError) {
-        JsonObject jsonResponse = new JsonObject();
-        jsonResponse.addProperty("jsonrpc", "2.0");
-        if (jsonId != null) {
-            jsonResponse.add("id", jsonId);
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("jsonrpc").value("2.0");
+            writer.name("method").value(request.getMethod());
+            if (request.hasId()) {
+                writer.name("id").value(request.getId());
+            }
+            if (request.hasParams()) {
+                JsonRpcParams params = request.getParams();
+                writer.name("params");
+                if (params.isSingle()) {
+                    writeElement(writer, params.getOne());
+                } else {
+                    writeElements(writer, params.getMany());
+                }
+            }
+            writer.endObject();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
         }
-
-        if (jsonResult != null) {
-            jsonResponse.add("result", jsonResult);
-        } else {
-            jsonResponse.add("error", jsonError);
-        }
-        return jsonResponse;
+        return out.toString();
     }
 
-    private JsonObject getError(JsonRpcResponse response) {
+    private void writeError(JsonWriter writer, JsonRpcResponse response) throws IOException {
         if (!response.hasError()) {
-            return null;
+            writer.nullValue();
+            return;
         }
 
-        JsonObject jsonError = new JsonObject();
         JsonRpcError error = response.getError();
-        jsonError.add("code", new JsonPrimitive(error.getCode()));
-        jsonError.add("message", new JsonPrimitive(error.getMessage()));
-        return jsonError;
+        writer.beginObject();
+        writer.name("code").value(error.getCode());
+        writer.name("message").value(error.getMessage());
+        writer.endObject();
     }
 
-    private JsonElement getResult(JsonRpcResponse response) {
-        if (!response.hasResult()) {
-            return null;
+    private void writeElements(JsonWriter writer, List<?> values) throws IOException {
+        writer.beginArray();
+        for (Object value : values) {
+            writer.jsonValue(toJson(value));
         }
-
-        JsonRpcResult result = response.getResult();
-        return result.isSingle() ? getElement(result.getOne()) : getElements(result.getMany());
+        writer.endArray();
     }
 
-    private JsonElement getId(JsonRpcResponse response) {
-        return response.hasId() ? new JsonPrimitive(response.getId()) : null;
-    }
-
-    private JsonElement getElements(List<?> params) {
-        JsonArray elements = new JsonArray();
-        params.forEach(param -> elements.add(getJsonElement(param)));
-        return elements;
+    /** Single value which is not a JSON object is written as an array of one element. */
+    private void writeElement(JsonWriter writer, Object value) throws IOException {
+        String json = toJson(value);
+        if (isJsonObject(json)) {
+            writer.jsonValue(json);
+        } else {
+            writer.beginArray();
+            writer.jsonValue(json);
+            writer.endArray();
+        }
     }
 
-    private JsonElement getElement(Object param) {
-        JsonElement jsonElement = getJsonElement(param);
-        if (jsonElement.isJsonObject()) {
-            return jsonElement;
+    private String toJson(Object value) {
+        if (value == null) {
+            return "null";
         }
-
-        JsonArray array = new JsonArray();
-        array.add(jsonElement);
-        return array;
-    }
-    private JsonElement getJsonElement(Object param) {
-        if (param == null) {
-            return JsonNull.INSTANCE;
+        if (value instanceof JsonSerializable) {
+            return ((JsonSerializable)value).toJson();
+        }
+        if (value instanceof JsonRawValue) {
+            return ((JsonRawValue)value).getJson();
         }
-        if (param instanceof JsonElement) {
-            return cast(param);
+        if (value instanceof JsonElement) {
+            return value.toString();
         }
-        if (param instanceof String) {
-            return new JsonPrimitive((String)param);
+        if (value instanceof String) {
+            return new JsonPrimitive((String)value).toString();
         }
-        if (param instanceof Boolean) {
-            return new JsonPrimitive((Boolean)param);
+        if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean)value).toString();
         }
-        if (param instanceof Double) {
-            return new JsonPrimitive((Double)param);
+        if (value instanceof Double) {
+            return new JsonPrimitive((Double)value).toString();
         }
-        try {
-            return jsonParser.parse(DtoFactory.getInstance().toJson(param));
-        } catch (IllegalArgumentException e){
-            return jsonParser.parse(param.toString());
+        // maps, lists, numbers and other objects are serialized by the DTO Gson
+        // which uses type adapters of DTO implementations for nested DTOs
+        return DtoFactory.getInstance().getGson().toJson(value);
+    }
+
+    private static boolean isJsonObject(String json) {
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{';
+            }
         }
+        return false;
     }
 }
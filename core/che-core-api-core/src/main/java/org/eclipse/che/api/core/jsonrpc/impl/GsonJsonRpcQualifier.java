@@ -10,18 +10,19 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-import com.google.inject.Inject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcErrorTransmitter;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcQualifier;
 import org.slf4j.Logger;
 
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -31,13 +32,6 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class GsonJsonRpcQualifier implements JsonRpcQualifier {
     private final static Logger LOGGER = getLogger(GsonJsonRpcQualifier.class);
 
-    private final JsonParser jsonParser;
-
-    @Inject
-    public GsonJsonRpcQualifier(JsonParser jsonParser) {
-        this.jsonParser = jsonParser;
-    }
-
     @Override
     public boolean isValidJson(String message) {
         checkNotNull(message, "Message must not be null");
@@ -45,12 +39,15 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
 
         LOGGER.debug("Validating message: {}", message);
 
-        try {
-            jsonParser.parse(message);
+        try (JsonReader reader = newReader(message)) {
+            reader.skipValue();
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonParseException("Did not consume the entire document.");
+            }
 
             LOGGER.debug("Validation successful");
             return true;
-        } catch (JsonParseException e) {
+        } catch (IOException | JsonParseException e) {
             LOGGER.debug("Validation failed: {}", e.getMessage(), e);
             return false;
         }
@@ -62,10 +59,10 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
         checkArgument(!message.isEmpty(), "Message must not be empty");
         LOGGER.debug("Qualifying message: " + message);
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-        LOGGER.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        Set<String> keys = readKeys(message);
+        LOGGER.debug("Json keys: " + keys);
 
-        if (jsonObject.has("method")) {
+        if (keys.contains("method")) {
             LOGGER.debug("Qualified to request");
             return true;
         } else {
@@ -80,13 +77,35 @@ public class GsonJsonRpcQualifier implements JsonRpcQualifier {
         checkArgument(!message.isEmpty(), "Message must not be empty");
         LOGGER.debug("Qualifying message: " + message);
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-        LOGGER.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        Set<String> keys = readKeys(message);
+        LOGGER.debug("Json keys: " + keys);
 
-        if (jsonObject.has("error") != jsonObject.has("result")) {
+        if (keys.contains("error") != keys.contains("result")) {
             LOGGER.debug("Qualified to response");
             return true;
         }
         return false;
     }
+
+    /** Reads names of top level members of a JSON object skipping their values without building a tree. */
+    private Set<String> readKeys(String message) {
+        try (JsonReader reader = newReader(message)) {
+            Set<String> keys = new HashSet<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                keys.add(reader.nextName());
+                reader.skipValue();
+            }
+            reader.endObject();
+            return keys;
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    private JsonReader newReader(String message) {
+        JsonReader reader = new JsonReader(new StringReader(message));
+        reader.setLenient(true);
+        return reader;
+    }
 }
@@ -10,12 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
-import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
@@ -27,23 +21,30 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Collections.singletonList;
 
+/**
+ * Unmarshals JSON RPC messages without building JSON trees. Messages are split into
+ * member texts by {@link JsonScanner}, values of {@code params} and {@code result} that
+ * are JSON objects or arrays are kept as {@link JsonRawValue} texts which are read
+ * straight into DTOs by {@link GsonJsonRpcComposer}.
+ */
 @Singleton
 public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
-    private final JsonParser jsonParser;
-
-    @Inject
-    public GsonJsonRpcUnmarshaller(JsonParser jsonParser) {
-        this.jsonParser = jsonParser;
-    }
 
     @Override
     public List<String> unmarshalArray(String message) {
-        return getArray(message, jsonParser.parse(message).isJsonArray());
+        checkNotNull(message, "Message must not be null");
+
+        if (!JsonScanner.isArray(message)) {
+            return singletonList(message);
+        }
+
+        return JsonScanner.items(message);
     }
 
     @Override
@@ -51,11 +52,12 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
-        JsonObject request = jsonParser.parse(message).getAsJsonObject();
+        Map<String, String> request = JsonScanner.members(message);
 
-        String method = getMethod(request);
-        String id = getId(request);
-        JsonRpcParams params = getParams(request);
+        String method = getString(request.get("method"));
+        checkNotNull(method, "Method must not be null");
+        String id = getString(request.get("id"));
+        JsonRpcParams params = getParams(request.get("params"));
 
         return new JsonRpcRequest(id, method, params);
     }
@@ -65,110 +67,81 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
-        JsonObject response = jsonParser.parse(message).getAsJsonObject();
+        Map<String, String> response = JsonScanner.members(message);
 
-        String id = getId(response);
-        JsonRpcResult result = getResult(response);
-        JsonRpcError error = getError(response);
+        String id = getString(response.get("id"));
+        JsonRpcResult result = getResult(response.get("result"));
+        JsonRpcError error = getError(response.get("error"));
 
         return new JsonRpcResponse(id, result, error);
     }
 
-    private JsonRpcError getError(JsonObject response) {
-        if (!response.has("error")) {
+    private JsonRpcError getError(String json) {
+        if (json == null) {
             return null;
         }
 
-        int code = response.get("error").getAsJsonObject().get("code").getAsInt();
-        String errorMessage = response.get("error").getAsJsonObject().get("message").getAsString();
-        return new JsonRpcError(code, errorMessage);
+        Map<String, String> error = JsonScanner.members(json);
+        String code = getString(error.get("code"));
+        String errorMessage = getString(error.get("message"));
+
+        checkNotNull(code, "Error code must not be null");
+        checkNotNull(errorMessage, "Error message must not be null");
+
+        return new JsonRpcError(Integer.parseInt(code), errorMessage);
     }
 
-    private JsonRpcResult getResult(JsonObject response) {
-        if (!response.has("result")) {
+    private JsonRpcResult getResult(String json) {
+        if (json == null) {
             return null;
         }
 
-        JsonElement jsonElement = response.get("result");
-        if (!jsonElement.isJsonArray()) {
-            return new JsonRpcResult(getInnerItem(jsonElement));
-        }
-
-        JsonArray jsonArray = jsonElement.getAsJsonArray();
-        int size = jsonArray.size();
-        List<Object> innerResults = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            JsonElement innerJsonElement = jsonArray.get(i);
-            innerResults.add(getInnerItem(innerJsonElement));
+        if (!JsonScanner.isArray(json)) {
+            return new JsonRpcResult(getInnerItem(json));
         }
 
-        return new JsonRpcResult(innerResults);
+        return new JsonRpcResult(getInnerItems(json));
     }
 
-    private JsonRpcParams getParams(JsonObject jsonObject) {
-        if (!jsonObject.has("params")) {
+    private JsonRpcParams getParams(String json) {
+        if (json == null) {
             return null;
         }
 
-        JsonElement jsonElement = jsonObject.get("params");
-        if (!jsonElement.isJsonArray()) {
-            return new JsonRpcParams(getInnerItem(jsonElement));
-        }
-
-        JsonArray jsonArray = jsonElement.getAsJsonArray();
-        int size = jsonArray.size();
-        List<Object> innerParameters = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            JsonElement innerJsonElement = jsonArray.get(i);
-            innerParameters.add(getInnerItem(innerJsonElement));
+        if (!JsonScanner.isArray(json)) {
+            return new JsonRpcParams(getInnerItem(json));
         }
 
-        return new JsonRpcParams(innerParameters);
+        return new JsonRpcParams(getInnerItems(json));
     }
 
-    private String getId(JsonObject jsonObject) {
-        return jsonObject.has("id") ? jsonObject.get("id").getAsString() : null;
-    }
-
-    private String getMethod(JsonObject jsonObject) {
-        return jsonObject.get("method").getAsString();
-    }
-
-    private List<String> getArray(String message, boolean isArray) {
-        if (!isArray) {
-            return singletonList(message);
-        }
-
-        JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
-        int size = jsonArray.size();
-        List<String> result = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            JsonElement jsonElement = jsonArray.get(i);
-            result.add(jsonElement.toString());
+    private List<Object> getInnerItems(String json) {
+        List<String> items = JsonScanner.items(json);
+        List<Object> innerItems = new ArrayList<>(items.size());
+        for (String item : items) {
+            innerItems.add(getInnerItem(item));
         }
-        return result;
+        return innerItems;
     }
 
-    private Object getInnerItem(JsonElement jsonElement) {
-        if (jsonElement.isJsonNull()) {
-            return null;
-        }
-
-        if (jsonElement.isJsonObject()) {
-            return jsonElement.getAsJsonObject();
-        }
+    private String getString(String json) {
+        return json == null || "null".equals(json) ? null : JsonScanner.string(json);
+    }
 
-        if (jsonElement.isJsonPrimitive()) {
-            JsonPrimitive jsonPrimitive = jsonElement.getAsJsonPrimitive();
-            if (jsonPrimitive.isNumber()) {
-                return jsonPrimitive.getAsDouble();
-            } else if (jsonPrimitive.isString()) {
-                return jsonPrimitive.getAsString();
-            } else {
-                return jsonPrimitive.getAsBoolean();
-            }
+    private Object getInnerItem(String json) {
+        switch (json.charAt(0)) {
+            case '{':
+            case '[':
+                return new JsonRawValue(json);
+            case '"':
+                return JsonScanner.string(json);
+            case 't':
+            case 'f':
+                return Boolean.valueOf(json);
+            case 'n':
+                return null;
+            default:
+                return Double.valueOf(json);
         }
-
-        throw new IllegalStateException("Unexpected json element type");
     }
 }
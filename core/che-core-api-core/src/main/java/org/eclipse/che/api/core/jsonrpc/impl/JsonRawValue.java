@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+/**
+ * Text of a JSON object or array which is a part of a received JSON RPC message,
+ * it is kept as is until the value is composed into a DTO, so the DTO is read
+ * straight from the text without building an intermediate JSON tree.
+ */
+final class JsonRawValue {
+    private final String json;
+
+    JsonRawValue(String json) {
+        this.json = json;
+    }
+
+    String getJson() {
+        return json;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof JsonRawValue && json.equals(((JsonRawValue)obj).json);
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
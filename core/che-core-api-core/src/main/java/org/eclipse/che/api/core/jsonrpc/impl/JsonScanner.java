@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits JSON text into the texts of its top level values without parsing them.
+ * Values are only scanned for their bounds, so the cost of splitting doesn't depend
+ * on the structure of the values and nothing but the resulting strings is allocated.
+ * The text is expected to be validated beforehand, malformed text either fails with
+ * {@link JsonParseException} or results in malformed values.
+ */
+final class JsonScanner {
+
+    /**
+     * Returns texts of members of the JSON object mapped by member names.
+     *
+     * @throws JsonParseException
+     *         if the text is not a JSON object
+     */
+    static Map<String, String> members(String json) {
+        Map<String, String> members = new LinkedHashMap<>();
+        int i = expect(json, skipWhitespace(json, 0), '{');
+        i = skipWhitespace(json, i);
+        if (charAt(json, i) == '}') {
+            return members;
+        }
+        while (true) {
+            int nameEnd = skipValue(json, i);
+            String name = string(json.substring(i, nameEnd));
+            int valueStart = skipWhitespace(json, expect(json, skipWhitespace(json, nameEnd), ':'));
+            int valueEnd = skipValue(json, valueStart);
+            members.put(name, json.substring(valueStart, valueEnd));
+            i = skipWhitespace(json, valueEnd);
+            if (charAt(json, i) == '}') {
+                return members;
+            }
+            i = skipWhitespace(json, expect(json, i, ','));
+        }
+    }
+
+    /**
+     * Returns texts of items of the JSON array.
+     *
+     * @throws JsonParseException
+     *         if the text is not a JSON array
+     */
+    static List<String> items(String json) {
+        List<String> items = new ArrayList<>();
+        int i = expect(json, skipWhitespace(json, 0), '[');
+        i = skipWhitespace(json, i);
+        if (charAt(json, i) == ']') {
+            return items;
+        }
+        while (true) {
+            int end = skipValue(json, i);
+            items.add(json.substring(i, end));
+            i = skipWhitespace(json, end);
+            if (charAt(json, i) == ']') {
+                return items;
+            }
+            i = skipWhitespace(json, expect(json, i, ','));
+        }
+    }
+
+    /** Returns value of a JSON string, text of other primitives is returned as is. */
+    static String string(String json) {
+        if (json.charAt(0) != '"') {
+            return json;
+        }
+        if (json.indexOf('\\') < 0) {
+            return json.substring(1, json.length() - 1);
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            return reader.nextString();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /** Returns {@code true} if the text is a JSON array, leading whitespaces are ignored. */
+    static boolean isArray(String json) {
+        return charAt(json, skipWhitespace(json, 0)) == '[';
+    }
+
+    /** Returns index of the character next to the end of the value which starts at the given index. */
+    private static int skipValue(String json, int start) {
+        char first = charAt(json, start);
+        if (first == '"') {
+            return skipString(json, start);
+        }
+        if (first != '{' && first != '[') {
+            int i = start;
+            while (i < json.length() && ",:]} \t\r\n".indexOf(json.charAt(i)) < 0) {
+                i++;
+            }
+            if (i == start) {
+                throw new JsonParseException("Expected a value at " + start);
+            }
+            return i;
+        }
+
+        int depth = 0;
+        for (int i = start; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                i = skipString(json, i) - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return i + 1;
+            }
+        }
+        throw new JsonParseException("Unterminated value at " + start);
+    }
+
+    private static int skipString(String json, int start) {
+        for (int i = start + 1; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        throw new JsonParseException("Unterminated string at " + start);
+    }
+
+    private static int skipWhitespace(String json, int start) {
+        int i = start;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int expect(String json, int index, char expected) {
+        if (charAt(json, index) != expected) {
+            throw new JsonParseException("Expected '" + expected + "' at " + index);
+        }
+        return index + 1;
+    }
+
+    private static char charAt(String json, int index) {
+        if (index >= json.length()) {
+            throw new JsonParseException("Unexpected end of JSON at " + index);
+        }
+        return json.charAt(index);
+    }
+
+    private JsonScanner() {
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, cheap to update from many threads.
+ *
+ * @see Metrics#counter(String)
+ */
+public class Counter implements Metric {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        values.put(name, get());
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Latency statistics of an operation: count of calls and failures,
+ * average, maximum and last latency and a histogram of latencies.
+ *
+ * <p>Histogram buckets have power of two upper bounds in milliseconds,
+ * i-th bucket counts latencies in range {@code [2^(i-1), 2^i)} milliseconds,
+ * the first bucket counts latencies less than a millisecond and the last one
+ * counts all the latencies which don't fit previous buckets.
+ *
+ * @see Metrics#latency(String)
+ */
+public class LatencyStats implements Metric {
+    public static final int BUCKETS = 16;
+
+    private final LongAdder       count      = new LongAdder();
+    private final LongAdder       failures   = new LongAdder();
+    private final LongAdder       totalNanos = new LongAdder();
+    private final AtomicLong      maxNanos   = new AtomicLong();
+    private final AtomicLong      lastNanos  = new AtomicLong();
+    private final AtomicLongArray histogram  = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a single call of the operation.
+     *
+     * @param latencyNanos
+     *         latency of the call in nanoseconds
+     * @param failed
+     *         whether the call failed
+     */
+    public void record(long latencyNanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            failures.increment();
+        }
+        totalNanos.add(latencyNanos);
+        maxNanos.accumulateAndGet(latencyNanos, Math::max);
+        lastNanos.set(latencyNanos);
+        histogram.incrementAndGet(bucketOf(NANOSECONDS.toMillis(latencyNanos)));
+    }
+
+    /**
+     * Adds calls recorded by the given statistics to this one,
+     * the last latency of this statistics is not changed.
+     */
+    public void add(LatencyStats other) {
+        count.add(other.count.sum());
+        failures.add(other.failures.sum());
+        totalNanos.add(other.totalNanos.sum());
+        maxNanos.accumulateAndGet(other.maxNanos.get(), Math::max);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.addAndGet(i, other.histogram.get(i));
+        }
+    }
+
+    /** Records a successful call which started at the given {@link System#nanoTime()}. */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos, false);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getAverageLatencyMillis() {
+        final long count = getCount();
+        return count == 0 ? 0 : NANOSECONDS.toMillis(totalNanos.sum() / count);
+    }
+
+    public long getMaxLatencyMillis() {
+        return NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    public long getLastLatencyMillis() {
+        return NANOSECONDS.toMillis(lastNanos.get());
+    }
+
+    /** Returns a copy of the latency histogram. */
+    public long[] getLatencyHistogram() {
+        final long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Puts count, failures, average and maximum latency and non-empty
+     * histogram buckets named after their upper bounds, e.g. {@code name.lt_16ms}.
+     */
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        values.put(name + ".count", getCount());
+        values.put(name + ".failures", getFailures());
+        values.put(name + ".averageMillis", getAverageLatencyMillis());
+        values.put(name + ".maxMillis", getMaxLatencyMillis());
+        for (int i = 0; i < BUCKETS; i++) {
+            final long bucket = histogram.get(i);
+            if (bucket != 0) {
+                values.put(name + (i == BUCKETS - 1 ? ".rest" : ".lt_" + (1L << i) + "ms"), bucket);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyStats{" +
+               "count=" + getCount() +
+               ", failures=" + getFailures() +
+               ", averageLatencyMillis=" + getAverageLatencyMillis() +
+               ", maxLatencyMillis=" + getMaxLatencyMillis() +
+               '}';
+    }
+
+    static int bucketOf(long millis) {
+        final int bucket = millis == 0 ? 0 : 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Metric registered in {@link Metrics}.
+ *
+ * <p>Metric is asked for its values only when they are exported,
+ * so it may compute them lazily, e.g. from the current state of a component.
+ */
+public interface Metric {
+
+    /**
+     * Puts current values of this metric to the given map.
+     *
+     * @param name
+     *         name this metric is registered with, it should be used as a prefix of value names
+     * @param values
+     *         map to put values to
+     */
+    void collect(String name, Map<String, Long> values);
+}
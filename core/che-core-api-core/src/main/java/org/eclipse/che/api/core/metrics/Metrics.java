@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import org.slf4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Process wide registry of metrics of Che components.
+ *
+ * <p>All the registered metrics are exported through JMX as a single
+ * {@link MetricsMXBean} named {@value #OBJECT_NAME}, its {@code Values}
+ * attribute contains current values of all the metrics mapped by names.
+ * Names are dot separated, the first segment is the component name,
+ * e.g. {@code websocket.send.averageMillis} or {@code docker.api.GET /containers/{id}/json.count}.
+ *
+ * <p>Metrics are kept until they are {@link #remove(String) removed}, so components
+ * which register metrics per dynamic entity (endpoint, agent etc.) should either remove
+ * them or register a single {@link Metric} which collects values of the current entities,
+ * and components which register metrics should remove them when they are destroyed.
+ * Metric names must not depend on identities of objects, so they are the same after restart.
+ */
+public final class Metrics {
+    private static final Logger LOG = getLogger(Metrics.class);
+
+    public static final String OBJECT_NAME = "org.eclipse.che:type=Metrics";
+
+    private static final Map<String, Metric> METRICS = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMXBeanImpl(), name);
+            }
+        } catch (JMException | RuntimeException x) {
+            LOG.warn("Metrics are not exported through JMX: {}", x.getMessage());
+        }
+    }
+
+    /** Returns latency statistics registered with the given name, registers new statistics if there are no such. */
+    public static LatencyStats latency(String name) {
+        return getOrRegister(name, LatencyStats.class, LatencyStats::new);
+    }
+
+    /** Returns counter registered with the given name, registers new counter if there is no such. */
+    public static Counter counter(String name) {
+        return getOrRegister(name, Counter.class, Counter::new);
+    }
+
+    /** Registers a gauge whose value is provided by the given supplier, replaces existing metric with the same name. */
+    public static void gauge(String name, LongSupplier value) {
+        register(name, (n, values) -> values.put(n, value.getAsLong()));
+    }
+
+    /** Registers the given metric, replaces existing metric with the same name. */
+    public static void register(String name, Metric metric) {
+        METRICS.put(name, metric);
+    }
+
+    /** Removes metric with the given name, does nothing if there is no such metric. */
+    public static void remove(String name) {
+        METRICS.remove(name);
+    }
+
+    /**
+     * Removes the given metric if it is still registered with the given name, so a component
+     * which is destroyed doesn't remove the metric registered by its replacement.
+     */
+    public static void remove(String name, Metric metric) {
+        METRICS.remove(name, metric);
+    }
+
+    /** Returns current values of all the registered metrics mapped by names. */
+    public static SortedMap<String, Long> snapshot() {
+        final SortedMap<String, Long> values = new TreeMap<>();
+        METRICS.forEach((name, metric) -> metric.collect(name, values));
+        return values;
+    }
+
+    private static <T extends Metric> T getOrRegister(String name, Class<T> type, Supplier<T> factory) {
+        final Metric metric = METRICS.computeIfAbsent(name, n -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalStateException("Metric '" + name + "' is already registered and it is not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    /** JMX view of the registered metrics. */
+    public interface MetricsMXBean {
+        Map<String, Long> getValues();
+    }
+
+    private static class MetricsMXBeanImpl implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getValues() {
+            return snapshot();
+        }
+    }
+
+    private Metrics() {}
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Event subscriber which receives events asynchronously, so the thread which
+ * publishes an event is not blocked while the subscriber processes it.
+ * Events with the same ordering key are delivered to the subscriber one at a
+ * time in the order they were published, events with different keys may be
+ * delivered concurrently.
+ *
+ * <p>Subscribers which must process an event before {@link EventService#publish(Object)}
+ * returns, e.g. the ones which may veto an operation, should implement
+ * {@link EventSubscriber} directly.
+ * @see EventService
+ */
+public interface AsyncEventSubscriber<T> extends EventSubscriber<T> {
+
+    /**
+     * Returns the key of the event, events with equal keys are delivered in publish order.
+     * By default all the events are delivered to this subscriber in publish order.
+     */
+    default Object getOrderingKey(T event) {
+        return this;
+    }
+
+    /**
+     * Returns the executor used to deliver events to this subscriber,
+     * if null is returned the shared executor of the {@link EventService} is used.
+     */
+    default Executor getExecutor() {
+        return null;
+    }
+}
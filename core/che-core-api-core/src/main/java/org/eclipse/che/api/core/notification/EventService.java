@@ -13,20 +13,37 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -41,6 +58,15 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers are called on the publisher thread, unless they implement
+ * {@link AsyncEventSubscriber}, in this case events are delivered to them by
+ * the executor they provide or by the shared executor of this service, keeping
+ * publish order of the events with the same ordering key. Delivery statistics
+ * are collected for each subscriber, see {@link #getStatistics()}, they are summed up
+ * by subscriber class and exported through {@link Metrics} as {@code events.<subscriber class>.*},
+ * and a warning is logged when a subscriber processes an event longer than
+ * {@value #SLOW_SUBSCRIBER_THRESHOLD_MS}ms.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -51,12 +77,25 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    static final long SLOW_SUBSCRIBER_THRESHOLD_MS = 1000;
+
+    private static final String METRIC_NAME         = "events";
+    private static final String LAMBDA_CLASS_MARKER = "$$Lambda";
+
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                 typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>           subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, SubscriberStatistics> statistics;
+    private final ConcurrentMap<OrderingKey, Deque<Runnable>>             orderedQueues;
+
+    private final Metric metric = this::collectMetrics;
+
+    private volatile ExecutorService sharedExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        statistics = new ConcurrentHashMap<>();
+        orderedQueues = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -82,6 +121,8 @@ public class EventService {
                         }
                     });
         }
+
+        Metrics.register(METRIC_NAME, metric);
     }
 
     /**
@@ -101,11 +142,11 @@ public class EventService {
             final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
             if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
                 for (EventSubscriber eventSubscriber : eventSubscribers) {
-                    try {
-                        LOG.debug("Publish event {} for {}", event, eventSubscriber);
-                        eventSubscriber.onEvent(event);
-                    } catch (RuntimeException e) {
-                        LOG.error(e.getMessage(), e);
+                    LOG.debug("Publish event {} for {}", event, eventSubscriber);
+                    if (eventSubscriber instanceof AsyncEventSubscriber) {
+                        deliverAsync((AsyncEventSubscriber)eventSubscriber, event);
+                    } else {
+                        deliver(eventSubscriber, event);
                     }
                 }
             }
@@ -113,6 +154,134 @@ public class EventService {
         return event;
     }
 
+    /** Returns delivery statistics of the subscribers which received at least one event. */
+    public Map<EventSubscriber<?>, SubscriberStatistics> getStatistics() {
+        return unmodifiableMap(statistics);
+    }
+
+    /** Stops the shared executor used for delivering events to asynchronous subscribers and removes metrics of this service. */
+    @PreDestroy
+    public void shutdown() {
+        final ExecutorService executor = sharedExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+        Metrics.remove(METRIC_NAME, metric);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(EventSubscriber subscriber, Object event) {
+        final SubscriberStatistics stats = statistics.computeIfAbsent(subscriber, s -> new SubscriberStatistics());
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            subscriber.onEvent(event);
+            success = true;
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            stats.delivered(elapsed, success);
+            if (elapsed > MILLISECONDS.toNanos(SLOW_SUBSCRIBER_THRESHOLD_MS)) {
+                LOG.warn("Subscriber {} processed event {} in {}ms", subscriber, event, NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliverAsync(AsyncEventSubscriber subscriber, Object event) {
+        final SubscriberStatistics stats = statistics.computeIfAbsent(subscriber, s -> new SubscriberStatistics());
+        final OrderingKey key = new OrderingKey(subscriber, subscriber.getOrderingKey(event));
+        final Runnable task = () -> {
+            stats.dequeued(1);
+            deliver(subscriber, event);
+        };
+
+        // the queue is present in the map while it is drained, so only the
+        // publisher which creates the queue schedules its draining
+        final boolean[] created = new boolean[1];
+        orderedQueues.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                created[0] = true;
+            }
+            queue.add(task);
+            return queue;
+        });
+        stats.enqueued();
+
+        if (created[0]) {
+            final Executor executor = subscriber.getExecutor() != null ? subscriber.getExecutor()
+                                                                                            : getSharedExecutor();
+            scheduleDrain(key, executor, stats);
+        }
+    }
+
+    private void scheduleDrain(OrderingKey key, Executor executor, SubscriberStatistics stats) {
+        try {
+            executor.execute(() -> drain(key, executor, stats));
+        } catch (RejectedExecutionException e) {
+            // the events queued since the queue was created are dropped along with the first one
+            final Deque<Runnable> dropped = orderedQueues.remove(key);
+            final int count = dropped == null ? 0 : dropped.size();
+            stats.dequeued(count);
+            LOG.error("{} event(s) can't be delivered to {}, executor rejected the task", count, key.subscriber);
+        }
+    }
+
+    private void drain(OrderingKey key, Executor executor, SubscriberStatistics stats) {
+        final Runnable[] next = new Runnable[1];
+        boolean drained = false;
+        try {
+            while (true) {
+                orderedQueues.computeIfPresent(key, (k, queue) -> {
+                    next[0] = queue.poll();
+                    return next[0] == null ? null : queue;
+                });
+                if (next[0] == null) {
+                    drained = true;
+                    return;
+                }
+                next[0].run();
+            }
+        } finally {
+            if (!drained) {
+                // subscriber has thrown an error, the queue stays in the map, so the rest of it must be drained by another task
+                scheduleDrain(key, executor, stats);
+            }
+        }
+    }
+
+    /** Puts statistics of the subscribers summed up by subscriber class, so metric names are the same after restart. */
+    private void collectMetrics(String name, Map<String, Long> values) {
+        final Map<String, SubscriberStatistics> byClass = new HashMap<>();
+        statistics.forEach((subscriber, stats) -> byClass.computeIfAbsent(metricNameOf(subscriber), n -> new SubscriberStatistics())
+                                                         .add(stats));
+        byClass.forEach((subscriberName, stats) -> stats.collect(name + '.' + subscriberName, values));
+    }
+
+    /** Returns class name of the subscriber, lambda class names are cut as their suffix differs from run to run. */
+    private static String metricNameOf(EventSubscriber<?> subscriber) {
+        final String className = subscriber.getClass().getName();
+        final int lambda = className.indexOf(LAMBDA_CLASS_MARKER);
+        return lambda == -1 ? className : className.substring(0, lambda + LAMBDA_CLASS_MARKER.length());
+    }
+
+    private ExecutorService getSharedExecutor() {
+        ExecutorService executor = sharedExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = sharedExecutor;
+                if (executor == null) {
+                    sharedExecutor = executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                                        .setDaemon(true)
+                                                                                                        .build());
+                }
+            }
+        }
+        return executor;
+    }
+
     /**
      * Subscribe event listener. The event to subscribe to is inferred by checking the generic type arguments of the
      * given subscriber.
@@ -171,6 +340,9 @@ public class EventService {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
+                if (subscribersByEventType.values().stream().noneMatch(s -> s.contains(subscriber))) {
+                    statistics.remove(subscriber);
+                }
             }
         }
     }
@@ -183,7 +355,7 @@ public class EventService {
                 if (type instanceof ParameterizedType) {
                     final ParameterizedType parameterizedType = (ParameterizedType)type;
                     final Type rawType = parameterizedType.getRawType();
-                    if (EventSubscriber.class == rawType) {
+                    if (EventSubscriber.class == rawType || AsyncEventSubscriber.class == rawType) {
                         final Type[] typeArguments = parameterizedType.getActualTypeArguments();
                         if (typeArguments.length == 1) {
                             if (typeArguments[0] instanceof Class) {
@@ -200,4 +372,31 @@ public class EventService {
         }
         return eventType;
     }
+
+    private static class OrderingKey {
+        private final EventSubscriber<?> subscriber;
+        private final Object             key;
+
+        private OrderingKey(EventSubscriber<?> subscriber, Object key) {
+            this.subscriber = subscriber;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof OrderingKey)) {
+                return false;
+            }
+            final OrderingKey that = (OrderingKey)obj;
+            return subscriber == that.subscriber && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(subscriber) + Objects.hashCode(key);
+        }
+    }
 }
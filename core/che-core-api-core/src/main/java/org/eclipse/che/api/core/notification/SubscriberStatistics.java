@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.metrics.LatencyStats;
+import org.eclipse.che.api.core.metrics.Metric;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery statistics of a single {@link EventSubscriber}: delivery latency,
+ * see {@link LatencyStats}, and the number of events waiting to be delivered.
+ */
+public class SubscriberStatistics implements Metric {
+    private final LatencyStats latency = new LatencyStats();
+    private final AtomicLong   pending = new AtomicLong();
+
+    void enqueued() {
+        pending.incrementAndGet();
+    }
+
+    void dequeued(long count) {
+        pending.addAndGet(-count);
+    }
+
+    void delivered(long nanos, boolean success) {
+        latency.record(nanos, !success);
+    }
+
+    /** Returns the number of events delivered to the subscriber including failed deliveries. */
+    public long getDeliveredCount() {
+        return latency.getCount();
+    }
+
+    /** Returns the number of deliveries which ended with an exception thrown by the subscriber. */
+    public long getFailedCount() {
+        return latency.getFailures();
+    }
+
+    /** Returns the number of events waiting to be delivered to an asynchronous subscriber. */
+    public long getQueueDepth() {
+        return pending.get();
+    }
+
+    public long getAverageLatencyMillis() {
+        return latency.getAverageLatencyMillis();
+    }
+
+    public long getMaxLatencyMillis() {
+        return latency.getMaxLatencyMillis();
+    }
+
+    /** Returns a copy of the latency histogram, see {@link LatencyStats}. */
+    public long[] getLatencyHistogram() {
+        return latency.getLatencyHistogram();
+    }
+
+    /** Adds deliveries and pending events of the given statistics to this one. */
+    void add(SubscriberStatistics other) {
+        latency.add(other.latency);
+        pending.addAndGet(other.pending.get());
+    }
+
+    /** Puts delivery latency and queue depth of the subscriber. */
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        latency.collect(name, values);
+        values.put(name + ".queueDepth", getQueueDepth());
+    }
+}
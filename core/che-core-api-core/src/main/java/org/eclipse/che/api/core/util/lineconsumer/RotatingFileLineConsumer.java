@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Consumes logs and writes them into file.
+ * This implementation is thread safe.
+ * <p>
+ * Lines are not written to the file one by one, they are collected in memory and written
+ * in batches either when the flush interval is passed since the first not written line
+ * or when the size of not written lines exceeds the flush size. When the file would exceed
+ * the maximum size it is rotated: {@code file} is renamed to {@code file.1}, {@code file.1}
+ * to {@code file.2} and so on, the oldest file over the maximum count of backup files is removed.
+ * <p>
+ * Static methods of this class read logs written by the consumer including the rotated files.
+ * Lines which are not flushed yet are not visible for them.
+ */
+public class RotatingFileLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(RotatingFileLineConsumer.class);
+
+    public static final long DEFAULT_MAX_FILE_SIZE     = 10 * 1024 * 1024;
+    public static final int  DEFAULT_MAX_BACKUP_FILES  = 3;
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 500;
+
+    /** Size of not written lines, in chars, which causes them to be written without waiting for the flush interval. */
+    static final int FLUSH_SIZE      = 64 * 1024;
+    static final int TAIL_CHUNK_SIZE = 8 * 1024;
+
+    private static final ScheduledExecutorService flushExecutor =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("RotatingFileLineConsumerFlusher")
+                                                                                 .setUncaughtExceptionHandler(
+                                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
+    private final File          file;
+    private final long          maxFileSize;
+    private final int           maxBackupFiles;
+    private final long          flushIntervalMs;
+    private final StringBuilder pending;
+
+    private OutputStream output;
+    private long         fileSize;
+    private boolean      flushScheduled;
+    private boolean      isOpen;
+
+    public RotatingFileLineConsumer(File file) throws IOException {
+        this(file, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_BACKUP_FILES, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    /**
+     * Creates consumer which writes into the given file, the file is truncated if it exists.
+     *
+     * @param file
+     *         file to write lines into
+     * @param maxFileSize
+     *         maximum size of the file in bytes, when it is exceeded the file is rotated
+     * @param maxBackupFiles
+     *         maximum count of rotated files which are kept
+     * @param flushIntervalMs
+     *         maximum time lines may be kept in memory before they are written into the file
+     */
+    public RotatingFileLineConsumer(File file, long maxFileSize, int maxBackupFiles, long flushIntervalMs) throws IOException {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxBackupFiles = maxBackupFiles;
+        this.flushIntervalMs = flushIntervalMs;
+        this.pending = new StringBuilder();
+        for (File backup : getBackupFiles(file)) {
+            Files.deleteIfExists(backup.toPath());
+        }
+        output = new FileOutputStream(file);
+        isOpen = true;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public synchronized boolean isOpen() {
+        return isOpen;
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        synchronized (this) {
+            if (!isOpen) {
+                return;
+            }
+            if (line != null) {
+                pending.append(line);
+            }
+            pending.append('\n');
+            if (pending.length() >= FLUSH_SIZE) {
+                writePending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                flushExecutor.schedule(this::flushScheduled, flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /** Writes all the consumed lines into the file. */
+    public synchronized void flush() throws IOException {
+        if (isOpen) {
+            writePending();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            try {
+                writePending();
+            } finally {
+                output.close();
+            }
+        }
+    }
+
+    private void flushScheduled() {
+        synchronized (this) {
+            flushScheduled = false;
+            try {
+                flush();
+            } catch (IOException e) {
+                LOG.error(String.format("Unable to write logs into file '%s'. %s", file, e.getMessage()), e);
+            }
+        }
+    }
+
+    private void writePending() throws IOException {
+        if (pending.length() == 0) {
+            return;
+        }
+        final byte[] bytes = pending.toString().getBytes(Charset.defaultCharset());
+        pending.setLength(0);
+        if (fileSize > 0 && fileSize + bytes.length > maxFileSize) {
+            rotate();
+        }
+        output.write(bytes);
+        fileSize += bytes.length;
+    }
+
+    private void rotate() throws IOException {
+        output.close();
+        if (maxBackupFiles > 0) {
+            Files.deleteIfExists(backupFile(file, maxBackupFiles).toPath());
+            for (int i = maxBackupFiles - 1; i > 0; i--) {
+                final File backup = backupFile(file, i);
+                if (backup.exists()) {
+                    Files.move(backup.toPath(), backupFile(file, i + 1).toPath(), REPLACE_EXISTING);
+                }
+            }
+            Files.move(file.toPath(), backupFile(file, 1).toPath(), REPLACE_EXISTING);
+        }
+        output = new FileOutputStream(file);
+        fileSize = 0;
+    }
+
+    /**
+     * Returns log files written by consumer into the given file, the oldest rotated file goes first
+     * and the given file goes last. Returns empty list if there are no such files.
+     */
+    public static List<File> getLogFiles(File file) {
+        final List<File> files = new ArrayList<>(getBackupFiles(file));
+        Collections.reverse(files);
+        if (file.isFile()) {
+            files.add(file);
+        }
+        return files;
+    }
+
+    /** Returns reader of all the logs written by consumer into the given file, including the rotated files. */
+    public static Reader newReader(File file) throws IOException {
+        final List<InputStream> streams = new ArrayList<>();
+        try {
+            for (File logFile : getLogFiles(file)) {
+                streams.add(new FileInputStream(logFile));
+            }
+        } catch (IOException e) {
+            for (InputStream stream : streams) {
+                stream.close();
+            }
+            throw e;
+        }
+        return new BufferedReader(new InputStreamReader(new SequenceInputStream(Collections.enumeration(streams)),
+                                                        Charset.defaultCharset()));
+    }
+
+    /**
+     * Reads range of log lines written by consumer into the given file, including the rotated files.
+     *
+     * @param file
+     *         file which is written by consumer
+     * @param skip
+     *         count of the first lines to skip
+     * @param limit
+     *         maximum count of lines to read
+     * @return lines in the order they were written
+     */
+    public static List<String> readLines(File file, int skip, int limit) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = (BufferedReader)newReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while (lines.size() < limit && (line = reader.readLine()) != null) {
+                if (lineNumber++ >= skip) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Reads the last log lines written by consumer into the given file, including the rotated files.
+     * Files are read from the end, so the time doesn't depend on the size of logs.
+     *
+     * @param file
+     *         file which is written by consumer
+     * @param count
+     *         maximum count of lines to read
+     * @return lines in the order they were written
+     */
+    public static List<String> tail(File file, int count) throws IOException {
+        final LinkedList<byte[]> chunks = new LinkedList<>();
+        int size = 0;
+        int newLines = 0;
+        final List<File> files = getLogFiles(file);
+        // one line break more than the count of lines is needed to be sure the first line is read completely
+        for (int i = files.size() - 1; i >= 0 && newLines <= count; i--) {
+            try (RandomAccessFile logFile = new RandomAccessFile(files.get(i), "r")) {
+                long position = logFile.length();
+                while (position > 0 && newLines <= count) {
+                    final int chunkSize = (int)Math.min(TAIL_CHUNK_SIZE, position);
+                    position -= chunkSize;
+                    final byte[] chunk = new byte[chunkSize];
+                    logFile.seek(position);
+                    logFile.readFully(chunk);
+                    for (byte b : chunk) {
+                        if (b == '\n') {
+                            newLines++;
+                        }
+                    }
+                    chunks.addFirst(chunk);
+                    size += chunkSize;
+                }
+            }
+        }
+
+        final byte[] content = new byte[size];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            System.arraycopy(chunk, 0, content, offset, chunk.length);
+            offset += chunk.length;
+        }
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content),
+                                                                              Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return new ArrayList<>(lines.subList(Math.max(0, lines.size() - count), lines.size()));
+    }
+
+    /** Returns existing rotated files, the newest goes first. */
+    private static List<File> getBackupFiles(File file) {
+        final List<File> backups = new ArrayList<>();
+        for (int i = 1; backupFile(file, i).isFile(); i++) {
+            backups.add(backupFile(file, i));
+        }
+        return backups;
+    }
+
+    private static File backupFile(File file, int index) {
+        return new File(file.getPath() + '.' + index);
+    }
+}
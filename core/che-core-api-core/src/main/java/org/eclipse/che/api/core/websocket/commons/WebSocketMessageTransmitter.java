@@ -32,4 +32,19 @@ public interface WebSocketMessageTransmitter {
      *
      */
     void transmit(String endpointId, String message);
+
+    /**
+     * Transmit a string message to an endpoint over web socket protocol. If the
+     * implementation caches messages until the connection is opened, a cached
+     * message with the same coalescing key is replaced by this one, so only the
+     * latest message is delivered, e.g. the latest status of a resource.
+     *
+     * @param endpointId
+     *         identifier of an endpoint known to an transmitter implementation
+     * @param message
+     *         plain text message
+     * @param coalescingKey
+     *         key of the message, {@code null} if the message must not be coalesced
+     */
+    void transmit(String endpointId, String message, String coalescingKey);
 }
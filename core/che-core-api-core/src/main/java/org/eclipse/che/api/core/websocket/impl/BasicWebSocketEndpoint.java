@@ -30,18 +30,18 @@ import javax.websocket.server.PathParam;
 public class BasicWebSocketEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(BasicWebSocketEndpoint.class);
 
-    private final WebSocketSessionRegistry registry;
-    private final MessagesReSender         reSender;
-    private final WebSocketMessageReceiver receiver;
+    private final WebSocketSessionRegistry         registry;
+    private final WebSocketMessageReceiver         receiver;
+    private final BasicWebSocketMessageTransmitter transmitter;
 
 
     public BasicWebSocketEndpoint(WebSocketSessionRegistry registry,
-                                  MessagesReSender reSender,
-                                  WebSocketMessageReceiver receiver) {
+                                  WebSocketMessageReceiver receiver,
+                                  BasicWebSocketMessageTransmitter transmitter) {
 
         this.registry = registry;
-        this.reSender = reSender;
         this.receiver = receiver;
+        this.transmitter = transmitter;
     }
 
     @OnOpen
@@ -52,7 +52,7 @@ public class BasicWebSocketEndpoint {
         session.setMaxIdleTimeout(0);
 
         registry.add(endpointId, session);
-        reSender.resend(endpointId);
+        transmitter.resend(endpointId);
     }
 
     @OnMessage
@@ -71,6 +71,7 @@ public class BasicWebSocketEndpoint {
         LOG.debug("Close reason: {}:{}", closeReason.getReasonPhrase(), closeReason.getCloseCode());
 
         registry.remove(endpointId);
+        transmitter.closeSendQueue(endpointId);
     }
 
     @OnError
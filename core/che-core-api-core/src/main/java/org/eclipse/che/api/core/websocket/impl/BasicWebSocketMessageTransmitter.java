@@ -10,15 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static java.util.Collections.unmodifiableMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -26,37 +31,147 @@ import static org.slf4j.LoggerFactory.getLogger;
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
  *
+ * <p>Each endpoint has its own bounded {@link WebSocketSendQueue} so that
+ * a slow client does not delay messages addressed to other endpoints.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
     private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
+    private static final String METRIC_NAME = "websocket.send";
+
     private final WebSocketSessionRegistry registry;
     private final MessagesReSender         reSender;
+    private final Metric                   metric = this::collectMetrics;
+
+    private final Map<String, WebSocketSendQueue> queues = new ConcurrentHashMap<>();
 
     @Inject
     public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry, MessagesReSender reSender) {
         this.registry = registry;
         this.reSender = reSender;
+
+        Metrics.register(METRIC_NAME, metric);
+    }
+
+    /** Removes metrics of this instance. */
+    @PreDestroy
+    public void stop() {
+        Metrics.remove(METRIC_NAME, metric);
     }
 
     @Override
-    public synchronized void transmit(String endpointId, String message) {
+    public void transmit(String endpointId, String message) {
+        transmit(endpointId, message, null);
+    }
+
+    @Override
+    public void transmit(String endpointId, String message, String coalescingKey) {
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
         if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
             LOG.debug("Session is not registered or closed, adding message to pending");
 
-            reSender.add(endpointId, message);
+            final WebSocketSendQueue queue = queues.get(endpointId);
+            if (queue != null) {
+                // messages still queued for the closed session must be re-sent before this one
+                queue.close();
+                queue.offer(message, coalescingKey);
+            } else {
+                reSender.add(endpointId, message, coalescingKey);
+            }
         } else {
-            LOG.debug("Session registered and open, sending message");
+            LOG.debug("Session registered and open, enqueueing message");
+
+            final WebSocketSendQueue queue = sendQueueOf(endpointId, sessionOptional.get());
+            queue.offer(message, coalescingKey);
+        }
+    }
+
+    /**
+     * Re-sends messages which were not delivered to the endpoint while its session
+     * was closed. The messages are put into the send queue of the current session ahead
+     * of the new ones, so they are written by the same drain loop in the order they were
+     * added. Must be called when session of the endpoint is opened.
+     *
+     * @param endpointId
+     *         endpoint identifier
+     */
+    public void resend(String endpointId) {
+        final Optional<Session> sessionOptional = registry.get(endpointId);
 
-            try {
-                sessionOptional.get().getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+            LOG.debug("Session is not registered or closed, messages are kept pending");
+            return;
+        }
+
+        sendQueueOf(endpointId, sessionOptional.get()).resend();
+    }
+
+    /**
+     * Closes send queue of the endpoint, messages which were not sent yet are
+     * handed over to {@link MessagesReSender}. Must be called when session of
+     * the endpoint is closed, queue is removed as soon as it is flushed.
+     *
+     * @param endpointId
+     *         endpoint identifier
+     */
+    public void closeSendQueue(String endpointId) {
+        final WebSocketSendQueue queue = queues.get(endpointId);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    /**
+     * Returns send queue of the endpoint, which can be used to get its depth,
+     * send latency and other statistics.
+     *
+     * @param endpointId
+     *         endpoint identifier
+     * @return send queue or empty optional if no messages were sent to the endpoint
+     * through its current session
+     */
+    public Optional<WebSocketSendQueue> getSendQueue(String endpointId) {
+        return Optional.ofNullable(queues.get(endpointId));
+    }
+
+    /** Returns send queues of all endpoints mapped by endpoint identifiers. */
+    public Map<String, WebSocketSendQueue> getSendQueues() {
+        return unmodifiableMap(queues);
+    }
+
+    /**
+     * Returns send queue of the session, a new queue replaces the queue of a previous session
+     * and takes the pending messages before any other thread can offer a message to it.
+     */
+    private WebSocketSendQueue sendQueueOf(String endpointId, Session session) {
+        final WebSocketSendQueue[] replaced = new WebSocketSendQueue[1];
+        final WebSocketSendQueue queue = queues.compute(endpointId, (id, current) -> {
+            if (current == null || current.getSession() != session || current.isClosed()) {
+                replaced[0] = current;
+                final WebSocketSendQueue created = new WebSocketSendQueue(id, session, reSender, flushed -> queues.remove(id, flushed));
+                created.takePending();
+                return created;
             }
+            return current;
+        });
+        if (replaced[0] != null) {
+            replaced[0].close();
+        }
+        return queue;
+    }
+
+    private void collectMetrics(String name, Map<String, Long> values) {
+        long depth = 0;
+        for (Map.Entry<String, WebSocketSendQueue> entry : queues.entrySet()) {
+            final WebSocketSendQueue queue = entry.getValue();
+            depth += queue.getDepth();
+            queue.collect(name + '.' + entry.getKey(), values);
         }
+        values.put(name + ".queues", (long)queues.size());
+        values.put(name + ".depth", depth);
     }
 }
@@ -10,76 +10,283 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import javax.websocket.Session;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Instance is responsible for re-sending messages that were not sent during the period
- * when WEB SOCKET session was closed. If session is closed during re-send process it
- * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * Instance is responsible for keeping messages that were not sent during the period
+ * when WEB SOCKET session was closed. When the session becomes open again the messages
+ * are taken by the send queue of the session and sent ahead of the new ones, if the session
+ * is closed during re-send process the left messages are handed back to this instance.
+ *
+ * <p>Pending messages of each endpoint are limited by count, total size and age,
+ * when a limit is exceeded the oldest messages are dropped. Endpoints that have not
+ * been re-connected until all their messages are expired are evicted. A message added
+ * with a coalescing key supersedes a pending message of the same endpoint with the same
+ * key, messages added without a key are never coalesced.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(MessagesReSender.class);
+
+    static final int  MAX_MESSAGES      = 100;
+    static final long MAX_SIZE          = 1024 * 1024;
+    static final long MESSAGE_TTL_MS    = MINUTES.toMillis(5);
+    static final long CLEANUP_PERIOD_MS = MINUTES.toMillis(1);
 
-    private final WebSocketSessionRegistry registry;
+    private static final String METRIC_NAME = "websocket.resend";
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private final LongSupplier clock;
+    private final Metric       metric = this::collectMetrics;
+
+    private final Map<String, PendingMessages> messagesMap = new ConcurrentHashMap<>();
+
+    private final AtomicLong addedCount     = new AtomicLong();
+    private final AtomicLong resentCount    = new AtomicLong();
+    private final AtomicLong droppedCount   = new AtomicLong();
+    private final AtomicLong expiredCount   = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong evictedCount   = new AtomicLong();
+    private final AtomicLong lastCleanup;
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
-        this.registry = registry;
+    public MessagesReSender() {
+        this(System::currentTimeMillis);
+    }
+
+    MessagesReSender(LongSupplier clock) {
+        this.clock = clock;
+        this.lastCleanup = new AtomicLong(clock.getAsLong());
+
+        Metrics.register(METRIC_NAME, metric);
+    }
+
+    /** Removes metrics of this instance. */
+    @PreDestroy
+    public void stop() {
+        Metrics.remove(METRIC_NAME, metric);
     }
 
     public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+        add(endpointId, message, null);
+    }
+
+    /**
+     * Adds a message to pending messages of the endpoint.
+     *
+     * @param endpointId
+     *         endpoint identifier
+     * @param message
+     *         message to re-send
+     * @param coalescingKey
+     *         key of the message, pending message of the endpoint with the same key is
+     *         superseded by this one, if {@code null} the message is never coalesced
+     */
+    public void add(String endpointId, String message, String coalescingKey) {
+        final long now = clock.getAsLong();
+
+        cleanupIfNeeded(now);
+
+        final PendingMessage pending = new PendingMessage(message, coalescingKey, now);
+        messagesMap.compute(endpointId, (id, messages) -> {
+            final PendingMessages result = messages == null ? new PendingMessages() : messages;
+            result.add(pending, now);
+            return result;
+        });
+        addedCount.incrementAndGet();
+    }
+
+    /**
+     * Removes pending messages of the endpoint and returns them in the order they were added,
+     * expired messages are dropped. The messages are re-sent by the send queue of the endpoint
+     * which puts them ahead of the new messages, see {@link WebSocketSendQueue#takePending()}.
+     *
+     * @param endpointId
+     *         endpoint identifier
+     * @return pending messages or empty list if there are no messages to re-send
+     */
+    List<PendingMessage> takePending(String endpointId) {
+        final PendingMessages messages = messagesMap.remove(endpointId);
 
         if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
+            return Collections.emptyList();
         }
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+        final List<PendingMessage> drained = messages.drain(clock.getAsLong());
+        resentCount.addAndGet(drained.size());
+        return drained;
     }
 
-    public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+    /** Returns number of endpoints that have pending messages. */
+    public int getEndpointsCount() {
+        return messagesMap.size();
+    }
 
-        if (messages == null || messages.isEmpty()) {
-            return;
-        }
+    /** Returns number of pending messages of all endpoints. */
+    public int getPendingCount() {
+        return messagesMap.values().stream().mapToInt(PendingMessages::size).sum();
+    }
+
+    /** Returns total size (in characters) of pending messages of all endpoints. */
+    public long getPendingSize() {
+        return messagesMap.values().stream().mapToLong(PendingMessages::totalSize).sum();
+    }
 
-        final Optional<Session> sessionOptional = registry.get(endpointId);
+    public long getAddedCount() {
+        return addedCount.get();
+    }
+
+    public long getResentCount() {
+        return resentCount.get();
+    }
+
+    /** Returns number of messages dropped because count or size limit of an endpoint was exceeded. */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
 
-        if (!sessionOptional.isPresent()) {
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /** Returns number of endpoints evicted because they were not re-connected in time. */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    private void collectMetrics(String name, Map<String, Long> values) {
+        values.put(name + ".endpoints", (long)getEndpointsCount());
+        values.put(name + ".pending", (long)getPendingCount());
+        values.put(name + ".pendingSize", getPendingSize());
+        values.put(name + ".added", getAddedCount());
+        values.put(name + ".resent", getResentCount());
+        values.put(name + ".dropped", getDroppedCount());
+        values.put(name + ".expired", getExpiredCount());
+        values.put(name + ".coalesced", getCoalescedCount());
+        values.put(name + ".evicted", getEvictedCount());
+    }
+
+    private void cleanupIfNeeded(long now) {
+        final long last = lastCleanup.get();
+        if (now - last < CLEANUP_PERIOD_MS || !lastCleanup.compareAndSet(last, now)) {
             return;
         }
 
-        final Session session = sessionOptional.get();
+        for (String endpointId : messagesMap.keySet()) {
+            messagesMap.computeIfPresent(endpointId, (id, messages) -> {
+                if (messages.expire(now)) {
+                    LOG.debug("Endpoint {} was not re-connected in time, evicting its pending messages", id);
+                    evictedCount.incrementAndGet();
+                    return null;
+                }
+                return messages;
+            });
+        }
+    }
+
+    private class PendingMessages {
+        private final Deque<PendingMessage> messages = new ArrayDeque<>();
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        private long size;
 
-        for (String message : backing) {
+        synchronized void add(PendingMessage message, long now) {
+            expire(now);
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
+            for (Iterator<PendingMessage> it = messages.iterator(); it.hasNext(); ) {
+                final PendingMessage pending = it.next();
+                if (message.supersedes(pending)) {
+                    it.remove();
+                    size -= pending.message.length();
+                    coalescedCount.incrementAndGet();
+                    break;
+                }
             }
+
+            messages.addLast(message);
+            size += message.message.length();
+
+            dropOverLimit();
+        }
+
+        /** Drops the oldest messages while count or size limit is exceeded, the newest message is always kept. */
+        private void dropOverLimit() {
+            while (messages.size() > MAX_MESSAGES || (size > MAX_SIZE && messages.size() > 1)) {
+                size -= messages.removeFirst().message.length();
+                droppedCount.incrementAndGet();
+            }
+        }
+
+        synchronized List<PendingMessage> drain(long now) {
+            expire(now);
+            final List<PendingMessage> drained = new ArrayList<>(messages);
+            messages.clear();
+            size = 0;
+            return drained;
         }
 
-        messagesMap.put(endpointId, messages);
+        /** Removes expired messages and returns {@code true} if there are no messages left. */
+        synchronized boolean expire(long now) {
+            while (!messages.isEmpty() && now - messages.peekFirst().timestamp > MESSAGE_TTL_MS) {
+                size -= messages.removeFirst().message.length();
+                expiredCount.incrementAndGet();
+            }
+            return messages.isEmpty();
+        }
+
+        synchronized int size() {
+            return messages.size();
+        }
+
+        synchronized long totalSize() {
+            return size;
+        }
+    }
+
+    static class PendingMessage {
+        private final String message;
+        private final String coalescingKey;
+        private final long   timestamp;
+
+        private PendingMessage(String message, String coalescingKey, long timestamp) {
+            this.message = message;
+            this.coalescingKey = coalescingKey;
+            this.timestamp = timestamp;
+        }
+
+        String getMessage() {
+            return message;
+        }
+
+        String getCoalescingKey() {
+            return coalescingKey;
+        }
+
+        private boolean supersedes(PendingMessage other) {
+            return coalescingKey != null && coalescingKey.equals(other.coalescingKey);
+        }
     }
 }
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.metrics.LatencyStats;
+import org.slf4j.Logger;
+
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded outbound message queue of a single WEB SOCKET session. Messages are
+ * written through the asynchronous remote of the session one at a time, the next
+ * message is written as soon as the completion callback of the previous one is
+ * called, so a slow client affects only its own queue and never the callers of
+ * {@link #offer(String, String)}.
+ *
+ * <p>When the session is closed the queue is {@link #close() closed}: the message
+ * which is being sent (if it fails), all the queued messages and all the messages
+ * offered later are handed over to {@link MessagesReSender} in the order they were
+ * offered, so re-sent messages are never reordered with the newer ones. A queue of
+ * a newly opened session takes those messages back ahead of the new ones, so all the
+ * messages of the session are written by a single drain loop.
+ */
+public class WebSocketSendQueue {
+    private static final Logger LOG = getLogger(WebSocketSendQueue.class);
+
+    static final int MAX_QUEUE_SIZE  = 1000;
+    static final int HIGH_WATER_MARK = MAX_QUEUE_SIZE * 8 / 10;
+
+    private final String                       endpointId;
+    private final Session                      session;
+    private final MessagesReSender             reSender;
+    private final Consumer<WebSocketSendQueue> onFlushed;
+
+    private final Deque<PendingMessage> queue = new ArrayDeque<>();
+
+    private final LatencyStats latency       = new LatencyStats();
+    private final AtomicLong   failedCount   = new AtomicLong();
+    private final AtomicLong   rejectedCount = new AtomicLong();
+
+    private boolean sending;
+    private boolean saturated;
+    private boolean dropping;
+
+    private volatile boolean closed;
+
+    WebSocketSendQueue(String endpointId, Session session, MessagesReSender reSender, Consumer<WebSocketSendQueue> onFlushed) {
+        this.endpointId = endpointId;
+        this.session = session;
+        this.reSender = reSender;
+        this.onFlushed = onFlushed;
+    }
+
+    /** Enqueues a message which must not be coalesced, see {@link #offer(String, String)}. */
+    public boolean offer(String message) {
+        return offer(message, null);
+    }
+
+    /**
+     * Enqueues a message for sending. If the queue is closed the message
+     * is handed over to {@link MessagesReSender} after the queued ones.
+     *
+     * @param message
+     *         message to send
+     * @param coalescingKey
+     *         coalescing key passed to {@link MessagesReSender} if the message is re-sent,
+     *         may be {@code null}
+     * @return {@code false} if the queue is full and the message was rejected,
+     * {@code true} otherwise
+     */
+    public boolean offer(String message, String coalescingKey) {
+        final PendingMessage next;
+        synchronized (queue) {
+            if (closed && !sending) {
+                reSender.add(endpointId, message, coalescingKey);
+                return true;
+            }
+
+            if (queue.size() >= MAX_QUEUE_SIZE) {
+                rejectedCount.incrementAndGet();
+                if (!dropping) {
+                    dropping = true;
+                    LOG.warn("Send queue of endpoint {} is full, messages are dropped until the client catches up", endpointId);
+                } else {
+                    LOG.debug("Message to endpoint {} is dropped, send queue is full", endpointId);
+                }
+                return false;
+            }
+
+            queue.add(new PendingMessage(message, coalescingKey));
+
+            if (!saturated && queue.size() >= HIGH_WATER_MARK) {
+                saturated = true;
+                LOG.warn("Send queue of endpoint {} reached {} messages, the client is not keeping up", endpointId, queue.size());
+            }
+
+            if (sending) {
+                return true;
+            }
+            sending = true;
+            next = queue.poll();
+        }
+
+        drain(next);
+        return true;
+    }
+
+    /**
+     * Takes messages which are pending in {@link MessagesReSender} for the endpoint
+     * and puts them ahead of the queued ones, nothing is taken if the queue is closed.
+     * Sending is not started, it is started by the next {@link #offer(String, String)}
+     * or {@link #resend()}.
+     */
+    void takePending() {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            final List<MessagesReSender.PendingMessage> pending = reSender.takePending(endpointId);
+            for (ListIterator<MessagesReSender.PendingMessage> it = pending.listIterator(pending.size()); it.hasPrevious(); ) {
+                final MessagesReSender.PendingMessage message = it.previous();
+                queue.addFirst(new PendingMessage(message.getMessage(), message.getCoalescingKey()));
+            }
+        }
+    }
+
+    /**
+     * Takes messages which are pending in {@link MessagesReSender} for the endpoint
+     * and starts sending if the queue is idle, see {@link #takePending()}.
+     */
+    void resend() {
+        final PendingMessage next;
+        synchronized (queue) {
+            takePending();
+            if (closed || sending || queue.isEmpty()) {
+                return;
+            }
+            sending = true;
+            next = queue.poll();
+        }
+
+        drain(next);
+    }
+
+    /**
+     * Closes this queue, queued messages are handed over to {@link MessagesReSender}
+     * as soon as the message which is being sent completes.
+     */
+    public void close() {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (sending) {
+                return;
+            }
+            flush();
+        }
+        onFlushed.accept(this);
+    }
+
+    /** Returns the session this queue writes to. */
+    public Session getSession() {
+        return session;
+    }
+
+    /** Returns {@code true} if this queue has been closed. */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /** Returns the number of messages waiting to be sent, the in-flight message is not counted. */
+    public int getDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /** Returns {@code true} when the queue is above its high water mark. */
+    public boolean isSaturated() {
+        synchronized (queue) {
+            return saturated;
+        }
+    }
+
+    public long getSentCount() {
+        return latency.getCount();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /** Returns statistics of time between enqueueing and completion of successful sends. */
+    public LatencyStats getLatency() {
+        return latency;
+    }
+
+    /** Puts depth, rejected and failed counts and send latency of this queue to the given values. */
+    void collect(String name, Map<String, Long> values) {
+        values.put(name + ".depth", (long)getDepth());
+        values.put(name + ".failed", getFailedCount());
+        values.put(name + ".rejected", getRejectedCount());
+        latency.collect(name + ".latency", values);
+    }
+
+    /**
+     * Sends messages until the queue is empty or a send doesn't complete inline,
+     * in the latter case sending is continued by the completion callback.
+     */
+    private void drain(PendingMessage pending) {
+        while (pending != null) {
+            final Completion completion = new Completion(pending);
+            try {
+                session.getAsyncRemote().sendText(pending.message, completion);
+            } catch (RuntimeException e) {
+                completion.onResult(new SendResult(e));
+            }
+            if (!completion.completedInline()) {
+                return;
+            }
+            pending = completion.next;
+        }
+    }
+
+    /** Handles result of the sent message and returns the next message to send or null if there is nothing to send. */
+    private PendingMessage complete(PendingMessage pending, SendResult result) {
+        if (result.isOK()) {
+            latency.recordSince(pending.enqueuedAt);
+        } else {
+            failedCount.incrementAndGet();
+        }
+
+        synchronized (queue) {
+            if (!result.isOK()) {
+                if (closed || !session.isOpen()) {
+                    LOG.debug("Session of endpoint {} is closed, adding message to pending", endpointId);
+                    closed = true;
+                    reSender.add(endpointId, pending.message, pending.coalescingKey);
+                } else {
+                    LOG.error("Error while trying to send a message to an async websocket remote endpoint", result.getException());
+                }
+            }
+
+            if (!closed) {
+                final PendingMessage next = queue.poll();
+                if (next == null) {
+                    sending = false;
+                }
+                if (saturated && queue.size() < HIGH_WATER_MARK / 2) {
+                    saturated = false;
+                    dropping = false;
+                }
+                return next;
+            }
+
+            sending = false;
+            flush();
+        }
+        onFlushed.accept(this);
+        return null;
+    }
+
+    /** Hands queued messages over to re-sender, must be called holding the queue lock. */
+    private void flush() {
+        for (PendingMessage pending; (pending = queue.poll()) != null; ) {
+            reSender.add(endpointId, pending.message, pending.coalescingKey);
+        }
+    }
+
+    private class Completion implements SendHandler {
+        private static final int SENDING   = 0;
+        private static final int COMPLETED = 1;
+        private static final int DETACHED  = 2;
+
+        private final PendingMessage pending;
+        private final AtomicInteger  state = new AtomicInteger(SENDING);
+
+        private PendingMessage next;
+
+        private Completion(PendingMessage pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void onResult(SendResult result) {
+            next = complete(pending, result);
+            if (!state.compareAndSet(SENDING, COMPLETED)) {
+                // the drain loop has already returned, continue sending from the callback
+                drain(next);
+            }
+        }
+
+        /** Returns true if completed before the drain loop checked it, so the loop sends the next message itself. */
+        private boolean completedInline() {
+            return !state.compareAndSet(SENDING, DETACHED);
+        }
+    }
+
+    private static class PendingMessage {
+        private final String message;
+        private final String coalescingKey;
+        private final long   enqueuedAt;
+
+        private PendingMessage(String message, String coalescingKey) {
+            this.message = message;
+            this.coalescingKey = coalescingKey;
+            this.enqueuedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JsonRpcPromise}
+ */
+public class JsonRpcPromiseTest {
+
+    @Test
+    public void shouldCallSuccessConsumerSetBeforeResolution() throws Exception {
+        List<String> results = new ArrayList<>();
+        JsonRpcPromise<String> promise = new JsonRpcPromise<String>().onSuccess(result -> results.add(result));
+
+        promise.success("result");
+
+        assertEquals(results, singletonList("result"));
+    }
+
+    @Test
+    public void shouldCallSuccessConsumerSetAfterResolution() throws Exception {
+        List<String> results = new ArrayList<>();
+        JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+
+        promise.success("result");
+        promise.onSuccess(result -> results.add(result));
+
+        assertEquals(results, singletonList("result"));
+    }
+
+    @Test
+    public void shouldCallFailureConsumerSetAfterRejection() throws Exception {
+        List<JsonRpcError> errors = new ArrayList<>();
+        List<String> results = new ArrayList<>();
+        JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+
+        promise.failure(new JsonRpcError(-27000, "error"));
+        promise.onSuccess(result -> results.add(result)).onFailure(error -> errors.add(error));
+
+        assertTrue(results.isEmpty());
+        assertEquals(errors.size(), 1);
+        assertEquals(errors.get(0).getCode(), -27000);
+    }
+
+    @Test
+    public void shouldIgnoreResolutionsAfterTheFirstOne() throws Exception {
+        List<String> results = new ArrayList<>();
+        List<JsonRpcError> errors = new ArrayList<>();
+        JsonRpcPromise<String> promise = new JsonRpcPromise<String>().onSuccess(result -> results.add(result))
+                                                                      .onFailure(error -> errors.add(error));
+
+        promise.success("first");
+        promise.success("second");
+        promise.failure(new JsonRpcError(-27000, "error"));
+
+        assertEquals(results, singletonList("first"));
+        assertTrue(errors.isEmpty());
+    }
+}
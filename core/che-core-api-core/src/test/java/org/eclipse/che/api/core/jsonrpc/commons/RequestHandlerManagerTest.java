@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link RequestHandlerManager}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class RequestHandlerManagerTest {
+    static final String ENDPOINT_ID    = "endpoint-id";
+    static final String REQUEST_ID     = "request-id";
+    static final String REQUEST_METHOD = "request-method";
+    static final String MESSAGE        = "message";
+
+    @Mock
+    WebSocketMessageTransmitter transmitter;
+    @Mock
+    JsonRpcComposer             dtoComposer;
+    @Mock
+    JsonRpcMarshaller           marshaller;
+    @InjectMocks
+    RequestHandlerManager       requestHandlerManager;
+
+    @Mock
+    JsonRpcParams params;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(dtoComposer.composeOne(params, String.class)).thenReturn("param");
+        when(marshaller.marshall(any(JsonRpcResponse.class))).thenReturn(MESSAGE);
+    }
+
+    @Test
+    public void shouldTransmitResultWhenPromiseIsResolved() throws Exception {
+        JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+        requestHandlerManager.registerOneToPromiseOne(REQUEST_METHOD, String.class, String.class, (endpointId, param) -> promise);
+
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+
+        verify(transmitter, never()).transmit(anyString(), anyString());
+
+        promise.success("result");
+
+        JsonRpcResponse response = captureResponse();
+        assertEquals(response.getId(), REQUEST_ID);
+        assertEquals(response.getResult().getOne(), "result");
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldTransmitErrorWhenPromiseIsRejected() throws Exception {
+        JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+        requestHandlerManager.registerOneToPromiseOne(REQUEST_METHOD, String.class, String.class, (endpointId, param) -> promise);
+
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+        promise.failure(new JsonRpcError(-32800, "cancelled"));
+
+        JsonRpcResponse response = captureResponse();
+        assertTrue(response.hasError());
+        assertEquals(response.getError().getCode(), -32800);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldTransmitResultOfPromiseResolvedBeforeHandlingIsFinished() throws Exception {
+        requestHandlerManager.registerOneToPromiseMany(REQUEST_METHOD, String.class, String.class, (endpointId, param) -> {
+            JsonRpcPromise<List<String>> promise = new JsonRpcPromise<>();
+            promise.success(asList(endpointId, param));
+            return promise;
+        });
+
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+
+        JsonRpcResponse response = captureResponse();
+        assertEquals(response.getResult().getMany(), asList(ENDPOINT_ID, "param"));
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    private JsonRpcResponse captureResponse() {
+        ArgumentCaptor<JsonRpcResponse> captor = ArgumentCaptor.forClass(JsonRpcResponse.class);
+        verify(marshaller).marshall(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonElement;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link GsonJsonRpcMarshaller}
+ */
+public class GsonJsonRpcMarshallerTest {
+
+    private GsonJsonRpcMarshaller marshaller;
+
+    @BeforeMethod
+    public void setUp() {
+        marshaller = new GsonJsonRpcMarshaller();
+    }
+
+    @Test
+    public void shouldSpliceJsonOfDtoIntoRequest() {
+        JsonRpcRequest request = new JsonRpcRequest("1", "event:workspace-status:changed",
+                                                    new JsonRpcParams(new CachedJsonDto("{\"status\":\"RUNNING\"}")));
+
+        assertEquals(marshaller.marshall(request),
+                     "{\"jsonrpc\":\"2.0\",\"method\":\"event:workspace-status:changed\",\"id\":\"1\"," +
+                     "\"params\":{\"status\":\"RUNNING\"}}");
+    }
+
+    @Test
+    public void shouldWriteSingleValueWhichIsNotObjectAsArray() {
+        JsonRpcRequest request = new JsonRpcRequest(null, "m", new JsonRpcParams("a\"b"));
+
+        assertEquals(marshaller.marshall(request), "{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"params\":[\"a\\\"b\"]}");
+    }
+
+    @Test
+    public void shouldWriteListOfValues() {
+        JsonRpcResponse response = new JsonRpcResponse("2", new JsonRpcResult(asList(new CachedJsonDto("{\"a\":1}"),
+                                                                                   new JsonRawValue("[1,2]"),
+                                                                                   true,
+                                                                                   null)), null);
+
+        assertEquals(marshaller.marshall(response), "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"result\":[{\"a\":1},[1,2],true,null]}");
+    }
+
+    @Test
+    public void shouldSerializeMapParams() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("path", "/p/a b");
+        params.put("depth", 2);
+        JsonRpcRequest request = new JsonRpcRequest(null, "m", new JsonRpcParams(params));
+
+        assertEquals(marshaller.marshall(request), "{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"params\":{\"path\":\"/p/a b\",\"depth\":2}}");
+    }
+
+    @Test
+    public void shouldSerializeObjectResults() {
+        JsonRpcResponse response = new JsonRpcResponse("4", new JsonRpcResult(asList(new Position(1, 5), 7L)), null);
+
+        assertEquals(marshaller.marshall(response), "{\"jsonrpc\":\"2.0\",\"id\":\"4\",\"result\":[{\"line\":1,\"character\":5},7]}");
+    }
+
+    @Test
+    public void shouldWriteError() {
+        JsonRpcResponse response = new JsonRpcResponse("3", null, new JsonRpcError(-32800, "cancelled"));
+
+        assertEquals(marshaller.marshall(response),
+                     "{\"jsonrpc\":\"2.0\",\"id\":\"3\",\"error\":{\"code\":-32800,\"message\":\"cancelled\"}}");
+    }
+
+    private static class Position {
+        private final int line;
+        private final int character;
+
+        Position(int line, int character) {
+            this.line = line;
+            this.character = character;
+        }
+
+        @Override
+        public String toString() {
+            return "Position{line=" + line + ", character=" + character + '}';
+        }
+    }
+
+    /** DTO which gives out its cached JSON and fails if it is asked for a JSON tree. */
+    private static class CachedJsonDto implements JsonSerializable {
+        private final String json;
+
+        CachedJsonDto(String json) {
+            this.json = json;
+        }
+
+        @Override
+        public String toJson() {
+            return json;
+        }
+
+        @Override
+        public void toJson(Writer w) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JsonElement toJsonElement() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonParseException;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link GsonJsonRpcUnmarshaller}
+ */
+public class GsonJsonRpcUnmarshallerTest {
+
+    private GsonJsonRpcUnmarshaller unmarshaller;
+
+    @BeforeMethod
+    public void setUp() {
+        unmarshaller = new GsonJsonRpcUnmarshaller();
+    }
+
+    @Test
+    public void shouldUnmarshalRequestWithObjectParams() {
+        JsonRpcRequest request = unmarshaller.unmarshalRequest(
+                "{\"jsonrpc\":\"2.0\",\"params\":{\"uri\":\"file:///a\"},\"method\":\"textDocument/hover\",\"id\":\"1\"}");
+
+        assertEquals(request.getId(), "1");
+        assertEquals(request.getMethod(), "textDocument/hover");
+        assertTrue(request.getParams().isSingle());
+        assertEquals(request.getParams().getOne(), new JsonRawValue("{\"uri\":\"file:///a\"}"));
+    }
+
+    @Test
+    public void shouldUnmarshalNotificationWithArrayOfPrimitiveParams() {
+        JsonRpcRequest request = unmarshaller.unmarshalRequest("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"params\":[\"a\",1,true,null]}");
+
+        assertNull(request.getId());
+        assertFalse(request.getParams().isSingle());
+        assertEquals(request.getParams().getMany(), asList("a", 1.0, true, null));
+    }
+
+    @Test
+    public void shouldKeepTextOfObjectParamsWithBracketsAndEscapesInStrings() {
+        String params = "{\"text\":\"} ] \\\" {\",\"nested\":{\"items\":[1, {\"a\":[]}]}}";
+
+        JsonRpcRequest request = unmarshaller.unmarshalRequest("{ \"method\" : \"m\", \"params\" : " + params + " , \"id\":\"1\" }");
+
+        assertEquals(request.getMethod(), "m");
+        assertEquals(request.getId(), "1");
+        assertEquals(request.getParams().getOne(), new JsonRawValue(params));
+    }
+
+    @Test
+    public void shouldUnescapeStringParams() {
+        JsonRpcRequest request = unmarshaller.unmarshalRequest("{\"method\":\"m\",\"params\":[\"a\\\"b\\n\",\"\",[]]}");
+
+        assertEquals(request.getParams().getMany(), asList("a\"b\n", "", new JsonRawValue("[]")));
+    }
+
+    @Test
+    public void shouldUnmarshalNumericId() {
+        JsonRpcRequest request = unmarshaller.unmarshalRequest("{\"jsonrpc\":\"2.0\",\"id\":42,\"method\":\"m\"}");
+
+        assertEquals(request.getId(), "42");
+        assertNull(request.getParams());
+    }
+
+    @Test
+    public void shouldUnmarshalResponseWithResult() {
+        JsonRpcResponse response = unmarshaller.unmarshalResponse("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":[{\"label\":\"a\"},{\"label\":\"b\"}]}");
+
+        assertEquals(response.getId(), "1");
+        assertEquals(response.getResult().getMany().size(), 2);
+        assertEquals(response.getResult().getMany().get(1), new JsonRawValue("{\"label\":\"b\"}"));
+        assertNull(response.getError());
+    }
+
+    @Test
+    public void shouldUnmarshalResponseWithError() {
+        JsonRpcResponse response =
+                unmarshaller.unmarshalResponse("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"error\":{\"code\":-32601,\"message\":\"m\",\"data\":{}}}");
+
+        assertEquals(response.getError().getCode(), -32601);
+        assertEquals(response.getError().getMessage(), "m");
+        assertNull(response.getResult());
+    }
+
+    @Test
+    public void shouldSplitArrayOfMessages() {
+        List<String> messages = unmarshaller.unmarshalArray(" [{\"id\":\"1\"},{\"id\":\"2\"}]");
+
+        assertEquals(messages, asList("{\"id\":\"1\"}", "{\"id\":\"2\"}"));
+    }
+
+    @Test
+    public void shouldSplitEmptyArrayOfMessages() {
+        assertEquals(unmarshaller.unmarshalArray("[ ]"), emptyList());
+    }
+
+    @Test(expectedExceptions = JsonParseException.class)
+    public void shouldFailOnUnterminatedMessage() {
+        unmarshaller.unmarshalRequest("{\"method\":\"m\",\"params\":{\"a\":\"b\"");
+    }
+
+    @Test
+    public void shouldNotSplitSingleMessage() {
+        String message = "{\"id\":\"1\"}";
+
+        assertEquals(unmarshaller.unmarshalArray(message), asList(message));
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.metrics;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link Metrics}
+ */
+public class MetricsTest {
+
+    @AfterMethod
+    public void cleanUp() {
+        Metrics.remove("test.latency");
+        Metrics.remove("test.counter");
+        Metrics.remove("test.gauge");
+    }
+
+    @Test
+    public void shouldCollectLatencyStats() {
+        final LatencyStats stats = Metrics.latency("test.latency");
+        stats.record(MILLISECONDS.toNanos(10), false);
+        stats.record(MILLISECONDS.toNanos(30), true);
+
+        final Map<String, Long> values = Metrics.snapshot();
+
+        assertSame(Metrics.latency("test.latency"), stats);
+        assertEquals(values.get("test.latency.count"), Long.valueOf(2));
+        assertEquals(values.get("test.latency.failures"), Long.valueOf(1));
+        assertEquals(values.get("test.latency.averageMillis"), Long.valueOf(20));
+        assertEquals(values.get("test.latency.maxMillis"), Long.valueOf(30));
+        assertEquals(values.get("test.latency.lt_16ms"), Long.valueOf(1));
+        assertEquals(values.get("test.latency.lt_32ms"), Long.valueOf(1));
+    }
+
+    @Test
+    public void shouldCollectCountersAndGauges() {
+        Metrics.counter("test.counter").add(5);
+        Metrics.gauge("test.gauge", () -> 42);
+
+        final Map<String, Long> values = Metrics.snapshot();
+
+        assertEquals(values.get("test.counter"), Long.valueOf(5));
+        assertEquals(values.get("test.gauge"), Long.valueOf(42));
+    }
+
+    @Test
+    public void shouldNotCollectRemovedMetrics() {
+        Metrics.counter("test.counter").increment();
+
+        Metrics.remove("test.counter");
+
+        assertFalse(Metrics.snapshot().containsKey("test.counter"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldNotReturnMetricOfDifferentType() {
+        Metrics.counter("test.counter");
+
+        Metrics.latency("test.counter");
+    }
+
+    @Test
+    public void shouldExportMetricsThroughJmx() throws Exception {
+        Metrics.counter("test.counter").add(3);
+
+        final TabularData values = (TabularData)ManagementFactory.getPlatformMBeanServer()
+                                                                .getAttribute(new ObjectName(Metrics.OBJECT_NAME), "Values");
+
+        final CompositeData counter = values.get(new Object[] {"test.counter"});
+        assertEquals(counter.get("value"), 3L);
+    }
+
+    @Test
+    public void shouldNotRemoveMetricWhichReplacedTheGivenOne() {
+        final Metric replaced = (name, values) -> values.put(name, 1L);
+        final Metric current = (name, values) -> values.put(name, 2L);
+        Metrics.register("test.gauge", replaced);
+        Metrics.register("test.gauge", current);
+
+        Metrics.remove("test.gauge", replaced);
+
+        assertEquals(Metrics.snapshot().get("test.gauge"), Long.valueOf(2));
+
+        Metrics.remove("test.gauge", current);
+
+        assertFalse(Metrics.snapshot().containsKey("test.gauge"));
+    }
+}
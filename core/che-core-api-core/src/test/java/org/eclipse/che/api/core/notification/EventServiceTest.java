@@ -10,13 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.api.core.metrics.Metrics;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -29,6 +38,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.shutdown();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -191,6 +205,155 @@ public class EventServiceTest {
         bus.unsubscribe(sb, CustomEventImpl.class);
     }
 
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberWithoutBlockingPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(3);
+        bus.subscribe(new AsyncEventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                try {
+                    release.await();
+                } catch (InterruptedException x) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event);
+                delivered.countDown();
+            }
+        });
+
+        bus.publish("a");
+        bus.publish("b");
+        bus.publish("c");
+        Assert.assertTrue(events.isEmpty());
+
+        release.countDown();
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, Arrays.asList("a", "b", "c"));
+    }
+
+    @Test
+    public void shouldUseExecutorProvidedByAsyncSubscriber() {
+        final List<String> events = new ArrayList<>();
+        bus.subscribe(new AsyncEventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+            }
+
+            @Override
+            public Executor getExecutor() {
+                return Runnable::run;
+            }
+        });
+
+        bus.publish("a");
+        bus.publish("b");
+
+        Assert.assertEquals(events, Arrays.asList("a", "b"));
+    }
+
+    @Test
+    public void shouldCollectSubscriberStatistics() {
+        final Listener listener = new Listener();
+        bus.subscribe(listener);
+
+        bus.publish("a");
+        bus.publish("b");
+
+        final SubscriberStatistics stats = bus.getStatistics().get(listener);
+        Assert.assertEquals(stats.getDeliveredCount(), 2);
+        Assert.assertEquals(stats.getFailedCount(), 0);
+        Assert.assertEquals(stats.getQueueDepth(), 0);
+        Assert.assertEquals(Arrays.stream(stats.getLatencyHistogram()).sum(), 2);
+
+        bus.unsubscribe(listener);
+        Assert.assertFalse(bus.getStatistics().containsKey(listener));
+    }
+
+    @Test
+    public void shouldExportStatisticsSummedUpBySubscriberClass() {
+        bus.subscribe(new Listener());
+        bus.subscribe(new Listener());
+
+        bus.publish("a");
+
+        final Map<String, Long> values = Metrics.snapshot();
+        Assert.assertEquals(values.get("events." + Listener.class.getName() + ".count"), Long.valueOf(2));
+        Assert.assertEquals(values.get("events." + Listener.class.getName() + ".queueDepth"), Long.valueOf(0));
+    }
+
+    @Test
+    public void shouldRemoveMetricsOnShutdown() {
+        bus.subscribe(new Listener());
+        bus.publish("a");
+
+        bus.shutdown();
+
+        Assert.assertFalse(Metrics.snapshot().containsKey("events." + Listener.class.getName() + ".count"));
+    }
+
+    @Test
+    public void shouldKeepStatisticsWhileSubscriberIsSubscribedToOtherEventType() {
+        final Listener listener = new Listener();
+        bus.subscribe(listener);
+        bus.subscribe(listener, CharSequence.class);
+
+        bus.publish("a");
+        bus.unsubscribe(listener);
+
+        Assert.assertEquals(bus.getStatistics().get(listener).getDeliveredCount(), 2);
+    }
+
+    @Test
+    public void shouldKeepDeliveringEventsToAsyncSubscriberAfterItThrowsError() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(2);
+        bus.subscribe(new AsyncEventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                if ("a".equals(event)) {
+                    throw new AssertionError("expected");
+                }
+                events.add(event);
+                delivered.countDown();
+            }
+        });
+
+        bus.publish("a");
+        bus.publish("b");
+        bus.publish("c");
+
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, Arrays.asList("b", "c"));
+    }
+
+    @Test
+    public void shouldDropEventsQueuedConcurrentlyWhenExecutorRejectsDelivery() {
+        final List<String> events = new ArrayList<>();
+        final AsyncEventSubscriber<String> subscriber = new AsyncEventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+            }
+
+            @Override
+            public Executor getExecutor() {
+                return task -> {
+                    bus.publish("concurrent");
+                    throw new RejectedExecutionException();
+                };
+            }
+        };
+        bus.subscribe(subscriber);
+
+        bus.publish("a");
+
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertEquals(bus.getStatistics().get(subscriber).getQueueDepth(), 0);
+    }
+
     static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
         final List<String> events = new ArrayList<>();
 
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link RotatingFileLineConsumer}
+ */
+public class RotatingFileLineConsumerTest {
+    private File dir;
+    private File file;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("rotating-logs").toFile();
+        file = new File(dir, "logs");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldNotWriteLinesUntilFlushIntervalIsPassed() throws Exception {
+        RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 1024, 1, 200);
+
+        consumer.writeLine("line 1");
+        consumer.writeLine("line 2");
+
+        assertEquals(file.length(), 0L);
+        for (int i = 0; i < 50 && file.length() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(Files.readAllLines(file.toPath()), asList("line 1", "line 2"));
+        consumer.close();
+    }
+
+    @Test
+    public void shouldWriteAllLinesOnClose() throws Exception {
+        RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 1024, 1, 60_000);
+
+        consumer.writeLine("line 1");
+        consumer.writeLine(null);
+        consumer.close();
+        consumer.writeLine("line 2");
+
+        assertFalse(consumer.isOpen());
+        assertEquals(Files.readAllLines(file.toPath()), asList("line 1", ""));
+    }
+
+    @Test
+    public void shouldRotateFileWhenMaxSizeIsExceeded() throws Exception {
+        RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 10, 2, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("line " + i);
+            consumer.flush();
+        }
+        consumer.close();
+
+        assertEquals(RotatingFileLineConsumer.getLogFiles(file), asList(new File(dir, "logs.2"), new File(dir, "logs.1"), file));
+        assertFalse(new File(dir, "logs.3").exists());
+        assertEquals(Files.readAllLines(file.toPath()), asList("line 4"));
+        assertEquals(RotatingFileLineConsumer.readLines(file, 0, 10), asList("line 2", "line 3", "line 4"));
+    }
+
+    @Test
+    public void shouldReadRangeOfLines() throws Exception {
+        RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 20, 5, 60_000);
+        for (int i = 0; i < 10; i++) {
+            consumer.writeLine("line " + i);
+            consumer.flush();
+        }
+        consumer.close();
+
+        assertEquals(RotatingFileLineConsumer.readLines(file, 3, 4), asList("line 3", "line 4", "line 5", "line 6"));
+    }
+
+    @Test
+    public void shouldReadLastLinesFromRotatedFiles() throws Exception {
+        RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 30_000, 5, 60_000);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            consumer.writeLine("line " + i);
+            if (i >= 1_000) {
+                expected.add("line " + i);
+            }
+        }
+        consumer.close();
+
+        assertTrue(new File(dir, "logs.1").exists());
+        assertEquals(RotatingFileLineConsumer.tail(file, 9_000), expected);
+        assertEquals(RotatingFileLineConsumer.tail(file, 1), asList("line 9999"));
+    }
+
+    @Test
+    public void shouldRemoveRotatedFilesOfPreviousConsumer() throws Exception {
+        RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 10, 2, 60_000);
+        for (int i = 0; i < 3; i++) {
+            consumer.writeLine("line " + i);
+            consumer.flush();
+        }
+        consumer.close();
+
+        new RotatingFileLineConsumer(file, 10, 2, 60_000).close();
+
+        assertEquals(RotatingFileLineConsumer.getLogFiles(file), asList(file));
+    }
+}
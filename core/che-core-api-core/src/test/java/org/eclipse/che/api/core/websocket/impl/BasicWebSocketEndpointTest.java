@@ -32,13 +32,13 @@ import static org.mockito.Mockito.verify;
 @Listeners(MockitoTestNGListener.class)
 public class BasicWebSocketEndpointTest {
     @Mock
-    private WebSocketSessionRegistry registry;
+    private WebSocketSessionRegistry         registry;
     @Mock
-    private MessagesReSender         reSender;
+    private WebSocketMessageReceiver         receiver;
     @Mock
-    private WebSocketMessageReceiver receiver;
+    private BasicWebSocketMessageTransmitter transmitter;
     @InjectMocks
-    private BasicWebSocketEndpoint   endpoint;
+    private BasicWebSocketEndpoint           endpoint;
 
     @Mock
     private Session session;
@@ -66,7 +66,7 @@ public class BasicWebSocketEndpointTest {
     public void shouldResendOnOpen(){
         endpoint.onOpen(session, "id");
 
-        verify(reSender).resend("id");
+        verify(transmitter).resend("id");
     }
 
     @Test
@@ -81,5 +81,6 @@ public class BasicWebSocketEndpointTest {
         endpoint.onClose(closeReason, "id");
 
         verify(registry).remove("id");
+        verify(transmitter).closeSendQueue("id");
     }
 }
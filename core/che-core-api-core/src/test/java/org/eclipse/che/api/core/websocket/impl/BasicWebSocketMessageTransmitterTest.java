@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -18,6 +20,8 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 
 import java.io.IOException;
@@ -27,9 +31,15 @@ import static java.util.Collections.emptySet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -51,11 +61,11 @@ public class BasicWebSocketMessageTransmitterTest {
     @Mock
     private Session              session;
     @Mock
-    private RemoteEndpoint.Basic remote;
+    private RemoteEndpoint.Async remote;
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
+        when(session.getAsyncRemote()).thenReturn(remote);
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -66,9 +76,34 @@ public class BasicWebSocketMessageTransmitterTest {
     public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(MESSAGE);
-        verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
+        verify(session).getAsyncRemote();
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender, never()).add(eq(ENDPOINT_ID), anyString(), any());
+    }
+
+    @Test
+    public void shouldReuseSendQueueOfTheSameSession() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        final WebSocketSendQueue queue = transmitter.getSendQueue(ENDPOINT_ID).get();
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        assertSame(transmitter.getSendQueue(ENDPOINT_ID).get(), queue);
+    }
+
+    @Test
+    public void shouldCreateNewSendQueueWhenSessionIsChanged() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        final WebSocketSendQueue queue = transmitter.getSendQueue(ENDPOINT_ID).get();
+
+        final Session newSession = mock(Session.class);
+        when(newSession.isOpen()).thenReturn(true);
+        when(newSession.getAsyncRemote()).thenReturn(remote);
+        when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(newSession));
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        assertNotSame(transmitter.getSendQueue(ENDPOINT_ID).get(), queue);
+        assertSame(transmitter.getSendQueue(ENDPOINT_ID).get().getSession(), newSession);
     }
 
     @Test
@@ -77,8 +112,98 @@ public class BasicWebSocketMessageTransmitterTest {
 
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
-        verify(reSender).add(ENDPOINT_ID, MESSAGE);
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender).add(ENDPOINT_ID, MESSAGE, null);
+    }
+
+    @Test
+    public void shouldPassCoalescingKeyToPending() throws IOException {
+        when(session.isOpen()).thenReturn(false);
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE, "key");
+
+        verify(reSender).add(ENDPOINT_ID, MESSAGE, "key");
+    }
+
+    @Test
+    public void shouldRemoveSendQueueWhenSessionIsClosed() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq(MESSAGE), captor.capture());
+        captor.getValue().onResult(new SendResult());
+
+        transmitter.closeSendQueue(ENDPOINT_ID);
+
+        assertFalse(transmitter.getSendQueue(ENDPOINT_ID).isPresent());
+    }
+
+    @Test
+    public void shouldReSendQueuedMessagesBeforeNewerOnes() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+
+        when(session.isOpen()).thenReturn(false);
+        transmitter.transmit(ENDPOINT_ID, "third");
+        captor.getValue().onResult(new SendResult(new IllegalStateException()));
+
+        final InOrder inOrder = inOrder(reSender);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "first", null);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "second", null);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "third", null);
+        assertFalse(transmitter.getSendQueue(ENDPOINT_ID).isPresent());
+    }
+
+    @Test
+    public void shouldReSendPendingMessagesThroughSendQueueAheadOfNewOnes() throws IOException {
+        final MessagesReSender pending = new MessagesReSender();
+        pending.add(ENDPOINT_ID, "first");
+        pending.add(ENDPOINT_ID, "second");
+        transmitter = new BasicWebSocketMessageTransmitter(registry, pending);
+
+        transmitter.resend(ENDPOINT_ID);
+        transmitter.transmit(ENDPOINT_ID, "third");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+        verify(remote, never()).sendText(eq("third"), any(SendHandler.class));
+
+        captor.getValue().onResult(new SendResult());
+        verify(remote).sendText(eq("second"), captor.capture());
+        verify(remote, never()).sendText(eq("third"), any(SendHandler.class));
+
+        captor.getValue().onResult(new SendResult());
+        verify(remote).sendText(eq("third"), any(SendHandler.class));
+        assertEquals(pending.getPendingCount(), 0);
+    }
+
+    @Test
+    public void shouldTakePendingMessagesWhenSendQueueIsCreatedByNewMessage() throws IOException {
+        final MessagesReSender pending = new MessagesReSender();
+        pending.add(ENDPOINT_ID, "first");
+        transmitter = new BasicWebSocketMessageTransmitter(registry, pending);
+
+        transmitter.transmit(ENDPOINT_ID, "second");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+
+        captor.getValue().onResult(new SendResult());
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldKeepPendingMessagesIfSessionIsNotOpenedOnReSend() throws IOException {
+        when(session.isOpen()).thenReturn(false);
+
+        transmitter.resend(ENDPOINT_ID);
+
+        verify(reSender, never()).takePending(anyString());
+        verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+        assertFalse(transmitter.getSendQueue(ENDPOINT_ID).isPresent());
     }
 }
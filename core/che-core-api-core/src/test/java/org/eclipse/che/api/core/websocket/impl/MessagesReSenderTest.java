@@ -10,147 +10,153 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
-import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
-import javax.websocket.Session;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
-import java.util.Optional;
-
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link MessagesReSender}
  *
  * @author Dmitry Kuleshov
  */
-@Listeners(MockitoTestNGListener.class)
 public class MessagesReSenderTest {
     private static final String MESSAGE     = "message";
     private static final String ENDPOINT_ID = "id";
 
-    @Mock
-    private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
-    private MessagesReSender         reSender;
-
-    @Mock
-    private Session               session;
-    @Mock
-    private RemoteEndpoint.Async  endpoint;
-
-    @BeforeMethod
-    public void beforeMethod() {
-        when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
-        when(session.isOpen()).thenReturn(true);
-    }
+    private MessagesReSender reSender;
 
     @BeforeMethod
     public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        reSender = new MessagesReSender();
     }
 
     @Test
-    public void shouldStopIfSessionIsNotRegistered() {
-        when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
+    public void shouldReturnNothingIfThereAreNoPendingMessages() {
+        assertTrue(reSender.takePending(ENDPOINT_ID).isEmpty());
+    }
 
+    @Test
+    public void shouldProperlyAddForSingleEndpoint() {
         reSender.add(ENDPOINT_ID, MESSAGE);
 
-        reSender.resend(ENDPOINT_ID);
-
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        assertEquals(messagesOf(reSender.takePending(ENDPOINT_ID)), asList(MESSAGE));
+        assertEquals(reSender.getResentCount(), 1);
     }
 
     @Test
-    public void shouldKeepMessagesIfSessionIsClosed() {
+    public void shouldProperlyAddForSeveralEndpoints() {
         reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add("1", "other");
 
-        when(session.isOpen()).thenReturn(false);
-        reSender.resend(ENDPOINT_ID);
+        assertEquals(messagesOf(reSender.takePending(ENDPOINT_ID)), asList(MESSAGE));
+        assertEquals(messagesOf(reSender.takePending("1")), asList("other"));
+    }
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+    @Test
+    public void shouldReturnMessagesInOrderTheyWereAdded() {
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second", "key");
+        reSender.add(ENDPOINT_ID, "third");
 
-        when(session.isOpen()).thenReturn(true);
-        reSender.resend(ENDPOINT_ID);
+        final List<MessagesReSender.PendingMessage> pending = reSender.takePending(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        assertEquals(messagesOf(pending), asList("first", "second", "third"));
+        assertEquals(pending.get(1).getCoalescingKey(), "key");
     }
 
     @Test
-    public void shouldProperlyAddForSingleEndpoint() {
+    public void shouldClearOnExtractionForSingleEndpoint() {
         reSender.add(ENDPOINT_ID, MESSAGE);
 
-        reSender.resend(ENDPOINT_ID);
+        reSender.takePending(ENDPOINT_ID);
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        assertTrue(reSender.takePending(ENDPOINT_ID).isEmpty());
+        assertEquals(reSender.getEndpointsCount(), 0);
     }
 
     @Test
-    public void shouldProperlyAddForSeveralEndpoints() {
+    public void shouldClearOnExtractionForSeveralEndpoint() {
         reSender.add(ENDPOINT_ID, MESSAGE);
         reSender.add("1", MESSAGE);
 
-        reSender.resend(ENDPOINT_ID);
-        reSender.resend("1");
+        reSender.takePending(ENDPOINT_ID);
+        reSender.takePending("1");
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        assertTrue(reSender.takePending(ENDPOINT_ID).isEmpty());
+        assertTrue(reSender.takePending("1").isEmpty());
+        assertEquals(reSender.getPendingCount(), 0);
     }
 
     @Test
-    public void shouldClearOnExtractionForSingleEndpoint() {
+    public void shouldNotCoalesceMessagesWithoutKey() {
+        reSender.add(ENDPOINT_ID, MESSAGE);
         reSender.add(ENDPOINT_ID, MESSAGE);
 
-        reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        assertEquals(messagesOf(reSender.takePending(ENDPOINT_ID)), asList(MESSAGE, MESSAGE));
+        assertEquals(reSender.getCoalescedCount(), 0);
+    }
 
-        reSender.resend(ENDPOINT_ID);
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+    @Test
+    public void shouldSupersedeMessageWithTheSameCoalescingKey() {
+        reSender.add(ENDPOINT_ID, "old", "key");
+        reSender.add(ENDPOINT_ID, "new", "key");
+
+        assertEquals(messagesOf(reSender.takePending(ENDPOINT_ID)), asList("new"));
+        assertEquals(reSender.getCoalescedCount(), 1);
     }
 
     @Test
-    public void shouldClearOnExtractionForSeveralEndpoint() {
+    public void shouldDropOldestMessagesWhenLimitIsExceeded() {
+        for (int i = 0; i <= MessagesReSender.MAX_MESSAGES; i++) {
+            reSender.add(ENDPOINT_ID, String.valueOf(i));
+        }
+
+        final List<String> messages = messagesOf(reSender.takePending(ENDPOINT_ID));
+
+        assertEquals(messages.size(), MessagesReSender.MAX_MESSAGES);
+        assertEquals(messages.get(0), "1");
+        assertEquals(messages.get(messages.size() - 1), String.valueOf(MessagesReSender.MAX_MESSAGES));
+        assertEquals(reSender.getDroppedCount(), 1);
+    }
+
+    @Test
+    public void shouldNotReturnExpiredMessages() {
+        final AtomicLong clock = new AtomicLong();
+        reSender = new MessagesReSender(clock::get);
+        reSender.add(ENDPOINT_ID, "expired");
+        clock.addAndGet(MessagesReSender.MESSAGE_TTL_MS / 2 + 1);
+        reSender.add(ENDPOINT_ID, "fresh");
+        clock.addAndGet(MessagesReSender.MESSAGE_TTL_MS / 2 + 1);
+
+        assertEquals(messagesOf(reSender.takePending(ENDPOINT_ID)), asList("fresh"));
+        assertEquals(reSender.getExpiredCount(), 1);
+    }
+
+    @Test
+    public void shouldEvictEndpointsWithExpiredMessages() {
+        final AtomicLong clock = new AtomicLong();
+        reSender = new MessagesReSender(clock::get);
+
         reSender.add(ENDPOINT_ID, MESSAGE);
-        reSender.add("1", MESSAGE);
 
-        reSender.resend(ENDPOINT_ID);
-        reSender.resend("1");
+        clock.addAndGet(MessagesReSender.MESSAGE_TTL_MS + 1);
+        reSender.add("1", MESSAGE);
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        assertEquals(reSender.getEndpointsCount(), 1);
+        assertEquals(reSender.getEvictedCount(), 1);
+        assertEquals(reSender.getExpiredCount(), 1);
 
-        reSender.resend(ENDPOINT_ID);
-        reSender.resend("1");
+        assertTrue(reSender.takePending(ENDPOINT_ID).isEmpty());
+    }
 
-        verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+    private static List<String> messagesOf(List<MessagesReSender.PendingMessage> pending) {
+        return pending.stream().map(MessagesReSender.PendingMessage::getMessage).collect(toList());
     }
 }
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link WebSocketSendQueue}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketSendQueueTest {
+    private static final String ENDPOINT_ID = "id";
+
+    @Mock
+    private Session              session;
+    @Mock
+    private RemoteEndpoint.Async remote;
+    @Mock
+    private MessagesReSender     reSender;
+
+    private WebSocketSendQueue queue;
+
+    @BeforeMethod
+    public void setUp() {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        when(session.isOpen()).thenReturn(true);
+
+        queue = new WebSocketSendQueue(ENDPOINT_ID, session, reSender, flushed -> {});
+    }
+
+    @Test
+    public void shouldSendOneMessageAtATime() {
+        queue.offer("first");
+        queue.offer("second");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getDepth(), 1);
+
+        captor.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getDepth(), 0);
+        assertEquals(queue.getSentCount(), 1);
+    }
+
+    @Test
+    public void shouldRejectMessagesWhenQueueIsFull() {
+        for (int i = 0; i <= WebSocketSendQueue.MAX_QUEUE_SIZE; i++) {
+            assertTrue(queue.offer("message"));
+        }
+
+        assertTrue(queue.isSaturated());
+        assertFalse(queue.offer("message"));
+        assertEquals(queue.getRejectedCount(), 1);
+    }
+
+    @Test
+    public void shouldAddMessageToPendingIfSessionIsClosedWhileSending() {
+        queue.offer("message");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("message"), captor.capture());
+
+        when(session.isOpen()).thenReturn(false);
+        captor.getValue().onResult(new SendResult(new IllegalStateException()));
+
+        verify(reSender).add(ENDPOINT_ID, "message", null);
+        assertEquals(queue.getFailedCount(), 1);
+    }
+
+    @Test
+    public void shouldContinueSendingIfRemoteThrowsException() {
+        doThrow(new IllegalStateException()).doNothing()
+                                            .when(remote)
+                                            .sendText(anyString(), any(SendHandler.class));
+
+        queue.offer("first");
+        queue.offer("second");
+
+        verify(remote, times(2)).sendText(anyString(), any(SendHandler.class));
+        assertEquals(queue.getFailedCount(), 1);
+    }
+
+    @Test
+    public void shouldNotGrowStackWhenSendsCompleteInline() {
+        queue.offer("first");
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+        for (int i = 1; i < WebSocketSendQueue.MAX_QUEUE_SIZE; i++) {
+            queue.offer("message");
+        }
+        final List<Integer> stackDepths = new ArrayList<>();
+        doAnswer(invocation -> {
+            stackDepths.add(Thread.currentThread().getStackTrace().length);
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+
+        captor.getValue().onResult(new SendResult());
+
+        assertEquals(stackDepths.size(), WebSocketSendQueue.MAX_QUEUE_SIZE - 1);
+        assertEquals(stackDepths.get(stackDepths.size() - 1), stackDepths.get(0));
+        assertEquals(queue.getDepth(), 0);
+    }
+
+    @Test
+    public void shouldHandQueuedMessagesToReSenderInOrderWhenClosed() {
+        queue.offer("first");
+        queue.offer("second");
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+
+        queue.close();
+        queue.offer("third");
+        when(session.isOpen()).thenReturn(false);
+        captor.getValue().onResult(new SendResult(new IllegalStateException()));
+        queue.offer("fourth");
+
+        final InOrder inOrder = inOrder(reSender);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "first", null);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "second", null);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "third", null);
+        inOrder.verify(reSender).add(ENDPOINT_ID, "fourth", null);
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+    }
+}
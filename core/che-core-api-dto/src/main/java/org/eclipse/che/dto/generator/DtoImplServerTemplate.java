@@ -11,6 +11,9 @@
 
 package org.eclipse.che.dto.generator;
 
+import org.eclipse.che.dto.server.DtoFreezer;
+import org.eclipse.che.dto.server.DtoTypeAdapters;
+import org.eclipse.che.dto.server.FreezableDto;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -27,9 +30,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +45,9 @@ public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+    private static final String TYPE_ADAPTERS     = DtoTypeAdapters.class.getCanonicalName();
+    private static final String FREEZER           = DtoFreezer.class.getCanonicalName();
+    private static final String CHECK_NOT_FROZEN  = "      $checkNotFrozen();\n";
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
         super(template, superInterface);
@@ -74,6 +82,8 @@ public class DtoImplServerTemplate extends DtoImpl {
         emitSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitTypeAdapter(methods, builder);
+        emitFreeze(getters, superGetterNames, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -287,17 +297,43 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Frozen DTO is serialized once, then its cached JSON is used. The cached JSON tree
+     * is copied for each caller, as callers are allowed to modify the returned tree.
+     */
     private void emitSerializer(List<Method> getters, StringBuilder builder) {
         builder.append("    @Override\n");
         builder.append("    public JsonElement toJsonElement() {\n");
+        builder.append("        if ($frozen) {\n");
+        builder.append("          JsonElement jsonTree = $jsonTree;\n");
+        builder.append("          if (jsonTree == null) {\n");
+        builder.append("            $jsonTree = jsonTree = gson.toJsonTree(this);\n");
+        builder.append("          }\n");
+        builder.append("          return ").append(FREEZER).append(".copyJson(jsonTree);\n");
+        builder.append("        }\n");
         builder.append("        return gson.toJsonTree(this);\n");
         builder.append("    }\n");
         builder.append("    @Override\n");
         builder.append("    public void toJson(java.io.Writer w) {\n");
+        builder.append("        if ($frozen) {\n");
+        builder.append("          try {\n");
+        builder.append("            w.write(toJson());\n");
+        builder.append("          } catch (java.io.IOException x) {\n");
+        builder.append("            throw new com.google.gson.JsonIOException(x);\n");
+        builder.append("          }\n");
+        builder.append("          return;\n");
+        builder.append("        }\n");
         builder.append("        gson.toJson(this, w);\n");
         builder.append("    }\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
+        builder.append("      if ($frozen) {\n");
+        builder.append("        String json = $json;\n");
+        builder.append("        if (json == null) {\n");
+        builder.append("          $json = json = gson.toJson(this);\n");
+        builder.append("        }\n");
+        builder.append("        return json;\n");
+        builder.append("      }\n");
         builder.append("      return gson.toJson(this);\n");
         builder.append("    }\n");
         builder.append("\n");
@@ -322,6 +358,164 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      return gson.fromJson(jsonString, ").append(getImplClassName()).append(".class);\n");
         builder.append("    }\n\n");
     }
+    /**
+     * Generates a streaming type adapter which is registered in the DTO Gson instead of the reflective one.
+     * The adapter writes and reads the same JSON as the reflective adapter does:
+     * <ul>
+     * <li>primitives and strings are written and read directly</li>
+     * <li>null lists and maps are written as empty ones</li>
+     * <li>other null values are skipped</li>
+     * <li>other non-null values are written using adapter of their runtime type</li>
+     * <li>unknown properties are skipped</li>
+     * </ul>
+     */
+    private void emitTypeAdapter(List<Method> getters, StringBuilder builder) {
+        final String implClassName = getImplClassName();
+        // json field name -> getter, the first getter wins as the reflective adapter doesn't allow duplicates
+        final Map<String, Method> fields = new LinkedHashMap<>();
+        for (Method getter : getters) {
+            if (getJavaFieldName(getter.getName()) != null && !fields.containsKey(getJsonFieldName(getter))) {
+                fields.put(getJsonFieldName(getter), getter);
+            }
+        }
+
+        builder.append("    public static class JsonAdapter extends com.google.gson.TypeAdapter<").append(implClassName).append("> {\n");
+        builder.append("      private final Gson gson;\n");
+        for (Method getter : fields.values()) {
+            if (isDeclaredTypeAdapted(getter)) {
+                builder.append("      private final com.google.gson.TypeAdapter<Object> ")
+                       .append(getJavaFieldName(getter.getName())).append("Adapter;\n");
+            } else if (isRuntimeTypeAdapted(getter)) {
+                builder.append("      private final com.google.gson.TypeAdapter<").append(getter.getReturnType().getCanonicalName())
+                       .append("> ").append(getJavaFieldName(getter.getName())).append("Adapter;\n");
+            }
+        }
+        builder.append("\n");
+        builder.append("      public JsonAdapter(Gson gson) {\n");
+        builder.append("        this.gson = gson;\n");
+        for (Method getter : fields.values()) {
+            final String fieldName = getJavaFieldName(getter.getName());
+            if (isDeclaredTypeAdapted(getter)) {
+                builder.append("        this.").append(fieldName).append("Adapter = ").append(TYPE_ADAPTERS)
+                       .append(".getFieldAdapter(gson, ").append(implClassName).append(".class, ")
+                       .append(quoteStringLiteral(fieldName)).append(");\n");
+            } else if (isRuntimeTypeAdapted(getter)) {
+                builder.append("        this.").append(fieldName).append("Adapter = gson.getAdapter(")
+                       .append(getter.getReturnType().getCanonicalName()).append(".class);\n");
+            }
+        }
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public void write(com.google.gson.stream.JsonWriter out, ").append(implClassName)
+               .append(" dto) throws java.io.IOException {\n");
+        builder.append("        if (dto == null) {\n");
+        builder.append("          out.nullValue();\n");
+        builder.append("          return;\n");
+        builder.append("        }\n");
+        builder.append("        out.beginObject();\n");
+        for (Map.Entry<String, Method> entry : fields.entrySet()) {
+            emitWriteField(entry.getKey(), entry.getValue(), builder);
+        }
+        builder.append("        out.endObject();\n");
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public ").append(implClassName)
+               .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+        builder.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+        builder.append("          in.nextNull();\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        ").append(implClassName).append(" dto = new ").append(implClassName).append("();\n");
+        builder.append("        in.beginObject();\n");
+        builder.append("        while (in.hasNext()) {\n");
+        builder.append("          switch (in.nextName()) {\n");
+        for (Map.Entry<String, Method> entry : fields.entrySet()) {
+            builder.append("            case ").append(quoteStringLiteral(entry.getKey())).append(":\n");
+            emitReadField(entry.getValue(), builder);
+            builder.append("              break;\n");
+        }
+        builder.append("            default:\n");
+        builder.append("              in.skipValue();\n");
+        builder.append("          }\n");
+        builder.append("        }\n");
+        builder.append("        in.endObject();\n");
+        builder.append("        return dto;\n");
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    private void emitWriteField(String jsonFieldName, Method getter, StringBuilder builder) {
+        final String field = "dto." + getJavaFieldName(getter.getName());
+        final String name = quoteStringLiteral(jsonFieldName);
+        final Class<?> type = getter.getReturnType();
+        if (type.isPrimitive()) {
+            builder.append("        out.name(").append(name).append(").value(");
+            if (type == char.class) {
+                builder.append("String.valueOf(").append(field).append(")");
+            } else if (type == float.class) {
+                builder.append("Float.valueOf(").append(field).append(")");
+            } else {
+                builder.append(field);
+            }
+            builder.append(");\n");
+        } else if (isDeclaredTypeAdapted(getter)) {
+            // null lists and maps are written as empty by the adapter
+            builder.append("        out.name(").append(name).append(");\n");
+            builder.append("        ").append(getJavaFieldName(getter.getName())).append("Adapter.write(out, ").append(field)
+                   .append(");\n");
+        } else {
+            builder.append("        if (").append(field).append(" != null) {\n");
+            builder.append("          out.name(").append(name).append(")");
+            if (type == String.class) {
+                builder.append(".value(").append(field).append(");\n");
+            } else {
+                builder.append(";\n");
+                builder.append("          ").append(TYPE_ADAPTERS).append(".writeRuntimeType(gson, out, ").append(field)
+                       .append(");\n");
+            }
+            builder.append("        }\n");
+        }
+    }
+
+    private void emitReadField(Method getter, StringBuilder builder) {
+        final String fieldName = getJavaFieldName(getter.getName());
+        final Class<?> type = getter.getReturnType();
+        builder.append("              dto.").append(fieldName).append(" = ");
+        if (type.isPrimitive()) {
+            final String typeName = type.getName();
+            builder.append(TYPE_ADAPTERS).append(".read").append(Character.toUpperCase(typeName.charAt(0))).append(typeName.substring(1))
+                   .append("(in, dto.").append(fieldName).append(");\n");
+        } else if (type == String.class) {
+            builder.append(TYPE_ADAPTERS).append(".readString(in);\n");
+        } else if (isDeclaredTypeAdapted(getter)) {
+            builder.append("(").append(getImplName(getter.getGenericReturnType(), false)).append(")")
+                   .append(fieldName).append("Adapter.read(in);\n");
+        } else {
+            builder.append(fieldName).append("Adapter.read(in);\n");
+        }
+    }
+
+    /**
+     * Values of generic types, lists and maps are (de)serialized with
+     * adapter of the field declared type, as the reflective adapter does.
+     */
+    private static boolean isDeclaredTypeAdapted(Method getter) {
+        final Class<?> type = getter.getReturnType();
+        return getter.getGenericReturnType() instanceof ParameterizedType
+               || Collection.class.isAssignableFrom(type)
+               || Map.class.isAssignableFrom(type)
+               || type == JsonArray.class
+               || type == JsonStringMap.class;
+    }
+
+    /** Values of the other non-primitive types except strings are written using adapter of their runtime type. */
+    private static boolean isRuntimeTypeAdapted(Method getter) {
+        final Class<?> type = getter.getReturnType();
+        return !type.isPrimitive() && type != String.class && !isDeclaredTypeAdapted(getter);
+    }
+
     private static StringBuilder appendNaiveCopyJsonExpression(String inValue, StringBuilder builder) {
         builder.append("((");
         builder.append(inValue);
@@ -350,12 +544,75 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
         builder.append(" implements ");
         builder.append(dtoInterface.getCanonicalName());
-        builder.append(", JsonSerializable ");
+        builder.append(", JsonSerializable, ").append(FreezableDto.class.getCanonicalName());
         builder.append(" {\n\n");
+        if (!hasSuperImpl()) {
+            emitFreezeState(builder);
+        }
         emitFactoryMethod(builder);
         emitDefaultConstructor(builder);
     }
 
+    private boolean hasSuperImpl() {
+        final Class<?> superType = getSuperDtoInterface(getDtoInterface());
+        return superType != null && superType != JsonSerializable.class;
+    }
+
+    /** Emits the frozen state of the DTO, it is declared only by the top DTO implementation in the hierarchy. */
+    private void emitFreezeState(StringBuilder builder) {
+        builder.append("    protected transient boolean $frozen;\n");
+        builder.append("    protected transient String  $json;\n");
+        builder.append("    protected transient JsonElement $jsonTree;\n\n");
+        builder.append("    @Override\n");
+        builder.append("    public boolean isFrozen() {\n");
+        builder.append("      return $frozen;\n");
+        builder.append("    }\n\n");
+        builder.append("    protected void $checkNotFrozen() {\n");
+        builder.append("      if ($frozen) {\n");
+        builder.append("        throw new IllegalStateException(\"Frozen DTO '\" + getClass().getName() + \"' can't be modified\");\n");
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Emits {@link FreezableDto#freeze()} which freezes the fields declared by this implementation
+     * and delegates to the super implementation if there is any. The frozen flag is set
+     * before the fields are frozen, so cyclic references are handled.
+     */
+    private void emitFreeze(List<Method> getters, Set<String> superGetterNames, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void freeze() {\n");
+        builder.append("      if ($frozen) {\n");
+        builder.append("        return;\n");
+        builder.append("      }\n");
+        if (hasSuperImpl()) {
+            builder.append("      super.freeze();\n");
+        } else {
+            builder.append("      $frozen = true;\n");
+        }
+        for (Method getter : getters) {
+            final String fieldName = getJavaFieldName(getter.getName());
+            final Class<?> type = getter.getReturnType();
+            if (fieldName == null || superGetterNames.contains(getter.getName()) || type.isPrimitive() || type == String.class) {
+                continue;
+            }
+            if (isList(type)) {
+                builder.append("      this.").append(fieldName).append(" = ").append(FREEZER).append(".freezeList(")
+                       .append(fieldName).append(");\n");
+            } else if (isMap(type)) {
+                builder.append("      this.").append(fieldName).append(" = ").append(FREEZER).append(".freezeMap(")
+                       .append(fieldName).append(");\n");
+            } else if (isAny(type)) {
+                builder.append("      this.").append(fieldName).append(" = ").append(FREEZER).append(".freeze(")
+                       .append(fieldName).append(");\n");
+            } else if (type.isInterface()) {
+                // nested DTOs are frozen in place
+                builder.append("      ").append(FREEZER).append(".freeze(").append(fieldName).append(");\n");
+            }
+        }
+        builder.append("    }\n\n");
+    }
+
     private void emitPostamble(StringBuilder builder) {
         builder.append("  }\n\n");
     }
@@ -395,6 +652,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("(");
         builder.append(paramType);
         builder.append(" v) {\n");
+        builder.append(CHECK_NOT_FROZEN);
         builder.append("      this.");
         builder.append(fieldName);
         builder.append(" = ");
@@ -417,6 +675,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("(");
         builder.append(paramType);
         builder.append(" v) {\n");
+        builder.append(CHECK_NOT_FROZEN);
         builder.append("      this.");
         builder.append(fieldName);
         builder.append(" = ");
@@ -434,7 +693,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append(getListAdderName(fieldName));
         builder.append("(");
         builder.append(getTypeArgumentImplName((ParameterizedType)method.getGenericReturnType(), 0));
-        builder.append(" v) {\n      ");
+        builder.append(" v) {\n");
+        builder.append(CHECK_NOT_FROZEN);
+        builder.append("      ");
         builder.append(getEnsureName(fieldName));
         builder.append("();\n      ");
         builder.append(fieldName);
@@ -453,7 +714,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append(getMapPutterName(fieldName));
         builder.append("(String k, ");
         builder.append(getTypeArgumentImplName((ParameterizedType)method.getGenericReturnType(), 1));
-        builder.append(" v) {\n      ");
+        builder.append(" v) {\n");
+        builder.append(CHECK_NOT_FROZEN);
+        builder.append("      ");
         builder.append(getEnsureName(fieldName));
         builder.append("();\n      ");
         builder.append(fieldName);
@@ -465,7 +728,9 @@ public class DtoImplServerTemplate extends DtoImpl {
     private void emitClear(String fieldName, StringBuilder builder) {
         builder.append("    public void ");
         builder.append(getClearName(fieldName));
-        builder.append("() {\n      ");
+        builder.append("() {\n");
+        builder.append(CHECK_NOT_FROZEN);
+        builder.append("      ");
         builder.append(getEnsureName(fieldName));
         builder.append("();\n      ");
         builder.append(fieldName);
@@ -252,6 +252,8 @@ public class DtoTemplate {
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
                 builder.append("    });\n");
+                builder.append("    dtoFactory.registerTypeAdapter(").append(dto.getImplClassName()).append(".class, ")
+                       .append(dto.getImplClassName()).append(".JsonAdapter::new);\n");
             }
             builder.append("  }\n\n");
         }
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Provides implementations of DTO interfaces.
@@ -96,10 +97,13 @@ public final class DtoFactory {
     // Additional mapping for implementation of DTO interfaces.
     // It helps avoid reflection when need create copy of exited DTO instance.
     private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers      = new ConcurrentHashMap<>();
+    // Streaming type adapters of DTO implementations, which are used instead of reflective ones.
+    private final Map<Class<?>, Function<Gson, ? extends TypeAdapter<?>>> dtoImpl2Adapters = new ConcurrentHashMap<>();
     private final Gson dtoGson = new GsonBuilder()
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
-            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+            .registerTypeAdapterFactory(new DtoInterfaceTAF())
+            .registerTypeAdapterFactory(new DtoImplTAF()).create();
 
     /**
      * Created deep copy of DTO object.
@@ -153,6 +157,27 @@ public final class DtoFactory {
         return getInstance().clone(origin);
     }
 
+    /**
+     * Freezes the given DTO, so it can't be modified anymore and its JSON
+     * representation is computed only once. Frozen DTO may be safely shared
+     * by reference, e.g. when the same DTO is sent to many recipients.
+     * Note that {@link #clone(Object)} of the frozen DTO is not frozen.
+     *
+     * @param dto
+     *         DTO to freeze
+     * @return given DTO instance
+     * @throws IllegalArgumentException
+     *         if specified object is not a generated DTO implementation
+     * @see FreezableDto
+     */
+    public <T> T freeze(T dto) {
+        if (dto instanceof FreezableDto) {
+            ((FreezableDto)dto).freeze();
+            return dto;
+        }
+        throw new IllegalArgumentException("FreezableDto instance required. ");
+    }
+
     public <T> String toJson(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJson();
@@ -418,6 +443,23 @@ public final class DtoFactory {
         return dtoProvider;
     }
 
+    /**
+     * Registers a streaming type adapter for DTO implementation class.
+     * Registered adapter is used by the {@link #getGson() DTO Gson} instead of
+     * the reflective one, so it must produce and accept the same JSON.
+     *
+     * <p>Note that the adapter must be registered before the first (de)serialization
+     * of the DTO implementation, as Gson caches adapters once they are created.
+     *
+     * @param implClass
+     *         DTO implementation class
+     * @param adapterFactory
+     *         creates the adapter for the given DTO Gson
+     */
+    public <T> void registerTypeAdapter(Class<T> implClass, Function<Gson, ? extends TypeAdapter<T>> adapterFactory) {
+        dtoImpl2Adapters.put(implClass, adapterFactory);
+    }
+
     /** Test weather or not this DtoFactory has any DtoProvider which can provide implementation of DTO interface. */
     public boolean hasProvider(Class<?> dtoInterface) {
         return dtoInterface2Providers.get(dtoInterface) != null;
@@ -441,6 +483,19 @@ public final class DtoFactory {
         }
     }
 
+    /** Provides registered streaming adapters for DTO implementations. */
+    private class DtoImplTAF implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Function<Gson, ? extends TypeAdapter<?>> adapterFactory = dtoImpl2Adapters.get(type.getRawType());
+            if (adapterFactory != null) {
+                return (TypeAdapter<T>)adapterFactory.apply(gson);
+            }
+            return null;
+        }
+    }
+
     /**
      * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty instead.
      * 
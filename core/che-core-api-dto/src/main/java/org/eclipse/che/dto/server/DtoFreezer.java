@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+/**
+ * Helpers used by the generated server DTOs for freezing their fields.
+ *
+ * @see FreezableDto
+ */
+public final class DtoFreezer {
+
+    /**
+     * Freezes the given field value and returns the value which must be assigned to the field.
+     * DTOs are frozen in place, lists and maps are replaced with unmodifiable views
+     * of themselves with the frozen elements, other values are returned as is.
+     */
+    public static Object freeze(Object value) {
+        if (value instanceof FreezableDto) {
+            ((FreezableDto)value).freeze();
+            return value;
+        }
+        if (value instanceof List) {
+            return freezeList((List<?>)value);
+        }
+        if (value instanceof Map) {
+            return freezeMap((Map<?, ?>)value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns an unmodifiable view of the given list with frozen elements, or an empty list if the given one is null.
+     * Nested lists and maps are replaced in the given list, so it must support {@link List#set(int, Object)} if it contains any.
+     */
+    public static <T> List<T> freezeList(List<T> list) {
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        for (ListIterator<T> it = list.listIterator(); it.hasNext(); ) {
+            final T element = it.next();
+            final T frozen = frozenElement(element);
+            if (frozen != element) {
+                it.set(frozen);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /** Returns an unmodifiable view of the given map with frozen values, or an empty map if the given one is null. */
+    public static <K, V> Map<K, V> freezeMap(Map<K, V> map) {
+        if (map == null) {
+            return Collections.emptyMap();
+        }
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            final V value = entry.getValue();
+            final V frozen = frozenElement(value);
+            if (frozen != value) {
+                entry.setValue(frozen);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns a deep copy of the given JSON tree, primitives and nulls are immutable so they are not copied.
+     * It is used instead of {@code JsonElement.deepCopy()} which is not public.
+     */
+    public static JsonElement copyJson(JsonElement json) {
+        if (json.isJsonObject()) {
+            final JsonObject copy = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+                copy.add(entry.getKey(), copyJson(entry.getValue()));
+            }
+            return copy;
+        }
+        if (json.isJsonArray()) {
+            final JsonArray copy = new JsonArray();
+            for (JsonElement element : json.getAsJsonArray()) {
+                copy.add(copyJson(element));
+            }
+            return copy;
+        }
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T frozenElement(T element) {
+        return (T)freeze(element);
+    }
+
+    private DtoFreezer() {}
+}
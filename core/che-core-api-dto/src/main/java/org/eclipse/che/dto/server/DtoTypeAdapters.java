@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Helpers used by the streaming type adapters generated for the server DTO implementations.
+ *
+ * <p>Read methods follow the semantic of the Gson built-in adapters, so the generated
+ * adapters accept exactly the same JSON as the reflective ones did. Primitive readers
+ * return the given {@code current} value when JSON value is {@code null}.
+ */
+public final class DtoTypeAdapters {
+
+    /**
+     * Returns an adapter for the declared type of the field of the given DTO implementation,
+     * the field is searched in the class and its superclasses.
+     *
+     * @throws IllegalStateException
+     *         when there is no such field
+     */
+    @SuppressWarnings("unchecked")
+    public static TypeAdapter<Object> getFieldAdapter(Gson gson, Class<?> implClass, String fieldName) {
+        for (Class<?> cls = implClass; cls != Object.class; cls = cls.getSuperclass()) {
+            try {
+                final Type type = cls.getDeclaredField(fieldName).getGenericType();
+                return (TypeAdapter<Object>)gson.getAdapter(TypeToken.get(type));
+            } catch (NoSuchFieldException ignored) {
+                // try superclass
+            }
+        }
+        throw new IllegalStateException("Field '" + fieldName + "' is not declared in the " + implClass.getName());
+    }
+
+    /**
+     * Writes the given non-null value using an adapter for its runtime type,
+     * the same way as Gson does it for the fields of the reflectively serialized objects.
+     */
+    @SuppressWarnings("unchecked")
+    public static void writeRuntimeType(Gson gson, JsonWriter out, Object value) throws IOException {
+        final TypeAdapter<Object> adapter = gson.getAdapter((Class<Object>)value.getClass());
+        adapter.write(out, value);
+    }
+
+    public static String readString(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    public static boolean readBoolean(JsonReader in, boolean current) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    public static int readInt(JsonReader in, int current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException x) {
+            throw new JsonSyntaxException(x);
+        }
+    }
+
+    public static long readLong(JsonReader in, long current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException x) {
+            throw new JsonSyntaxException(x);
+        }
+    }
+
+    public static short readShort(JsonReader in, short current) throws IOException {
+        return (short)readInt(in, current);
+    }
+
+    public static byte readByte(JsonReader in, byte current) throws IOException {
+        return (byte)readInt(in, current);
+    }
+
+    public static double readDouble(JsonReader in, double current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        return in.nextDouble();
+    }
+
+    public static float readFloat(JsonReader in, float current) throws IOException {
+        return (float)readDouble(in, current);
+    }
+
+    public static char readChar(JsonReader in, char current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        final String value = in.nextString();
+        if (value.length() != 1) {
+            throw new JsonSyntaxException("Expecting character, got: " + value);
+        }
+        return value.charAt(0);
+    }
+
+    private DtoTypeAdapters() {}
+}
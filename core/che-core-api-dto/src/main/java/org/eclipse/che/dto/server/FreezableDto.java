@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+/**
+ * DTO implementation which may be frozen, it is implemented by all the generated server DTOs.
+ *
+ * <p>Frozen DTO can't be modified, its setters throw {@link IllegalStateException}
+ * and its lists and maps are unmodifiable. As frozen DTO never changes it caches its
+ * JSON representation, so it can be shared by reference, e.g. between event subscribers,
+ * and serialized only once regardless of how many times it is sent.
+ *
+ * @see DtoFactory#freeze(Object)
+ */
+public interface FreezableDto {
+
+    /**
+     * Freezes this DTO and all the DTOs referenced by it.
+     * Lists and maps are not copied but wrapped with unmodifiable views,
+     * so the references to them kept outside must not be used for modification.
+     * Does nothing if this DTO is already frozen.
+     */
+    void freeze();
+
+    /** Returns true if this DTO is frozen. */
+    boolean isFrozen();
+}
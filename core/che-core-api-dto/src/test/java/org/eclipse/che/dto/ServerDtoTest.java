@@ -28,6 +28,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.FreezableDto;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -38,6 +39,8 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -380,4 +383,96 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void shouldUseGeneratedTypeAdapterForDtoImplementation() {
+        assertTrue(dtoFactory.getGson().getAdapter(DtoServerImpls.SimpleDtoImpl.class) instanceof DtoServerImpls.SimpleDtoImpl.JsonAdapter);
+    }
+
+    @Test
+    public void shouldSkipUnknownPropertiesAndNullValuesWhenDeserializing() {
+        final String json = "{\"id\":null,\"name\":null,\"unknown\":{\"a\":[1,2]},\"default\":\"value\"}";
+
+        final SimpleDto dto = dtoFactory.createDtoFromJson(json, SimpleDto.class);
+
+        checkSimpleDto(dto, null, 0, "value");
+    }
+
+    @Test
+    public void shouldSerializeAndDeserializeNestedDtos() {
+        final ModelDto model = dtoFactory.createDto(ModelDto.class)
+                                         .withPrimary(dtoFactory.createDto(ModelComponentDto.class).withName("primary"))
+                                         .withComponents(asList(dtoFactory.createDto(ModelComponentDto.class).withName("name1"),
+                                                                dtoFactory.createDto(ModelComponentDto.class).withName("name2")));
+
+        final ModelDto result = dtoFactory.createDtoFromJson(dtoFactory.toJson(model), ModelDto.class);
+
+        assertEquals(result, model);
+        assertEquals(dtoFactory.toJsonElement(result), new JsonParser().parse(dtoFactory.toJson(model)));
+    }
+
+    @Test
+    public void shouldSerializeNestedDtoUsingItsRuntimeType() {
+        final GrandchildDto nested = dtoFactory.createDto(GrandchildDto.class);
+        nested.setDtoField("nested");
+        final DTOHierarchy.ChildDto dto = dtoFactory.createDto(DTOHierarchy.ChildDto.class);
+        dto.setShadowedField(nested);
+
+        final JsonObject json = dtoFactory.toJsonElement(dto).getAsJsonObject();
+
+        assertEquals(json.getAsJsonObject("shadowedField").get("dtoField").getAsString(), "nested");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldNotAllowToModifyFrozenDto() {
+        final SimpleDto dto = dtoFactory.freeze(dtoFactory.createDto(SimpleDto.class).withName("name"));
+
+        dto.withName("new name");
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void shouldFreezeNestedDtosAndCollections() {
+        final ModelDto model = dtoFactory.createDto(ModelDto.class)
+                                         .withPrimary(dtoFactory.createDto(ModelComponentDto.class).withName("primary"))
+                                         .withComponents(new ArrayList<>(asList(dtoFactory.createDto(ModelComponentDto.class)
+                                                                                          .withName("name"))));
+
+        dtoFactory.freeze(model);
+
+        assertTrue(((FreezableDto)model.getPrimary()).isFrozen());
+        assertTrue(((FreezableDto)model.getComponents().get(0)).isFrozen());
+        model.getComponents().add(dtoFactory.createDto(ModelComponentDto.class));
+    }
+
+    @Test
+    public void shouldSerializeFrozenDtoOnce() {
+        final SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1);
+        final String json = dtoFactory.toJson(dto);
+
+        dtoFactory.freeze(dto);
+
+        assertEquals(dtoFactory.toJson(dto), json);
+        assertSame(dtoFactory.toJson(dto), dtoFactory.toJson(dto));
+        assertEquals(dtoFactory.toJsonElement(dto), new JsonParser().parse(json));
+    }
+
+    @Test
+    public void shouldGiveOutCopiesOfCachedJsonTreeOfFrozenDto() {
+        final SimpleDto dto = dtoFactory.freeze(dtoFactory.createDto(SimpleDto.class).withName("name").withId(1));
+
+        dtoFactory.toJsonElement(dto).getAsJsonObject().addProperty("$type", "update");
+
+        assertEquals(dtoFactory.toJsonElement(dto), new JsonParser().parse(dtoFactory.toJson(dto)));
+        assertNotSame(dtoFactory.toJsonElement(dto), dtoFactory.toJsonElement(dto));
+    }
+
+    @Test
+    public void cloneOfFrozenDtoShouldNotBeFrozen() {
+        final SimpleDto dto = dtoFactory.freeze(dtoFactory.createDto(SimpleDto.class).withName("name"));
+
+        final SimpleDto clone = dtoFactory.clone(dto);
+
+        assertEquals(clone.withName("new name").getName(), "new name");
+        assertEquals(dto.getName(), "name");
+    }
 }
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.sessions.Session;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Manages the shared(second-level) cache of entities and collects its statistics.
+ *
+ * <p>All the entities are cached, as the persistence unit uses the default shared cache mode.
+ * Type and size of the cache of each entity are configured with {@code db.jpa.cache.type}
+ * and {@code db.jpa.cache.size} properties. Statistics are exported through {@link Metrics}
+ * as {@code db.cache.<entity class>.*}.
+ *
+ * <p>Entities modified through the entity manager
+ * are updated in the shared cache by the persistence provider when the transaction is committed,
+ * including the entities changed by the {@link org.eclipse.che.core.db.cascade.CascadeEventSubscriber cascade subscribers}
+ * which work in the same transaction, so the cache has to be invalidated explicitly only when
+ * the data is changed in other way, e.g. directly in the database.
+ */
+@Singleton
+public class EntityCacheManager implements Metric {
+
+    /**
+     * Name of the hint which enables caching of the named query results.
+     * The cached results are invalidated when the entities of the query type are changed,
+     * so the hint should be used only for the queries of the read-mostly entities
+     * which are not paged, as the results are cached by the query parameters.
+     */
+    public static final String QUERY_RESULTS_CACHE_HINT = "eclipselink.query-results-cache";
+
+    /** Cache type used by the persistence provider by default. */
+    public static final String DEFAULT_CACHE_TYPE = "SoftWeak";
+    /** Cache size used by the persistence provider by default. */
+    public static final int    DEFAULT_CACHE_SIZE = 100;
+
+    private static final String METRIC_NAME = "db.cache";
+
+    private final Provider<EntityManager>                      managerProvider;
+    private final ConcurrentMap<String, EntityCacheStatistics> statistics;
+    private final String                                       cacheType;
+    private final int                                          cacheSize;
+
+    @Inject
+    public EntityCacheManager(Provider<EntityManager> managerProvider,
+                              @Named("db.jpa.cache.type") String cacheType,
+                              @Named("db.jpa.cache.size") int cacheSize) {
+        this.managerProvider = managerProvider;
+        this.cacheType = cacheType;
+        this.cacheSize = cacheSize;
+        this.statistics = new ConcurrentHashMap<>();
+        Metrics.register(METRIC_NAME, this);
+    }
+
+    /** Removes metrics of this instance. */
+    @PreDestroy
+    public void stop() {
+        Metrics.remove(METRIC_NAME, this);
+    }
+
+    /**
+     * Applies the configured type and size of the cache to all the entities of the given session.
+     * The caches created so far are dropped, so this method has to be called before entities are read.
+     *
+     * @param session
+     *         session of the persistence unit
+     * @throws IllegalArgumentException
+     *         when the configured cache type is not one of
+     *         {@code Full}, {@code Weak}, {@code Soft}, {@code SoftWeak}, {@code HardWeak}
+     */
+    public void configure(Session session) {
+        for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+            useCacheType(descriptor);
+            descriptor.setIdentityMapSize(cacheSize);
+        }
+        session.getIdentityMapAccessor().initializeAllIdentityMaps();
+    }
+
+    /**
+     * Finds entity by its primary key like {@link EntityManager#find(Class, Object)} does
+     * and records whether the entity was found in the shared cache.
+     *
+     * @param entityClass
+     *         class of entity
+     * @param id
+     *         primary key of entity
+     * @return found entity or null if it doesn't exist
+     */
+    public <T> T find(Class<T> entityClass, Object id) {
+        final EntityManager manager = managerProvider.get();
+        final boolean cached = manager.getEntityManagerFactory().getCache().contains(entityClass, id);
+        final T entity = manager.find(entityClass, id);
+        statisticsOf(entityClass).recordLookup(cached);
+        return entity;
+    }
+
+    /** Evicts entity with given primary key from the shared cache. */
+    public void evict(Class<?> entityClass, Object id) {
+        getCache().evict(entityClass, id);
+        statisticsOf(entityClass).recordEviction();
+    }
+
+    /** Evicts all the entities of given class from the shared cache. */
+    public void evict(Class<?> entityClass) {
+        getCache().evict(entityClass);
+        statisticsOf(entityClass).recordEviction();
+    }
+
+    /** Evicts all the entities from the shared cache. */
+    public void evictAll() {
+        getCache().evictAll();
+    }
+
+    /** Returns snapshot of cache statistics mapped by entity class names. */
+    public Map<String, EntityCacheStatistics> getStatistics() {
+        return new HashMap<>(statistics);
+    }
+
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        statistics.forEach((entityName, stats) -> {
+            values.put(name + '.' + entityName + ".hits", stats.getHits());
+            values.put(name + '.' + entityName + ".misses", stats.getMisses());
+            values.put(name + '.' + entityName + ".evictions", stats.getEvictions());
+        });
+    }
+
+    private void useCacheType(ClassDescriptor descriptor) {
+        switch (cacheType) {
+            case "Full":
+                descriptor.useFullIdentityMap();
+                break;
+            case "Weak":
+                descriptor.useWeakIdentityMap();
+                break;
+            case "Soft":
+                descriptor.useSoftIdentityMap();
+                break;
+            case "SoftWeak":
+                descriptor.useSoftCacheWeakIdentityMap();
+                break;
+            case "HardWeak":
+                descriptor.useHardCacheWeakIdentityMap();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown entity cache type '" + cacheType + "'");
+        }
+    }
+
+    private Cache getCache() {
+        return managerProvider.get().getEntityManagerFactory().getCache();
+    }
+
+    private EntityCacheStatistics statisticsOf(Class<?> entityClass) {
+        return statistics.computeIfAbsent(entityClass.getName(), EntityCacheStatistics::new);
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit/miss statistics of the shared cache of a single entity type.
+ *
+ * @see EntityCacheManager
+ */
+public class EntityCacheStatistics {
+    private final String     entityName;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    EntityCacheStatistics(String entityName) {
+        this.entityName = entityName;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    void recordLookup(boolean hit) {
+        if (hit) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+    }
+
+    void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /** Returns count of lookups of entities which were found in the shared cache. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Returns count of lookups of entities which were not found in the shared cache and were read from the database. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /** Returns ratio of hits to all lookups, or 0 if there were no lookups. */
+    public double getHitRatio() {
+        final long hits = getHits();
+        final long lookups = hits + getMisses();
+        return lookups == 0 ? 0 : (double)hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheStatistics{" +
+               "entityName='" + entityName + '\'' +
+               ", hits=" + getHits() +
+               ", misses=" + getMisses() +
+               ", evictions=" + getEvictions() +
+               '}';
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.sessions.IdentityMapAccessor;
+import org.eclipse.persistence.sessions.Session;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link EntityCacheManager}.
+ */
+public class EntityCacheManagerTest {
+
+    private EntityManager      manager;
+    private Cache              cache;
+    private EntityCacheManager cacheManager;
+
+    @BeforeMethod
+    public void setUp() {
+        manager = mock(EntityManager.class);
+        cache = mock(Cache.class);
+        final EntityManagerFactory factory = mock(EntityManagerFactory.class);
+        when(manager.getEntityManagerFactory()).thenReturn(factory);
+        when(factory.getCache()).thenReturn(cache);
+        cacheManager = new EntityCacheManager(() -> manager,
+                                              EntityCacheManager.DEFAULT_CACHE_TYPE,
+                                              EntityCacheManager.DEFAULT_CACHE_SIZE);
+    }
+
+    @Test
+    public void shouldRecordHitsAndMisses() {
+        final Entity entity = new Entity();
+        when(cache.contains(Entity.class, "id1")).thenReturn(true);
+        when(manager.find(Entity.class, "id1")).thenReturn(entity);
+
+        assertSame(cacheManager.find(Entity.class, "id1"), entity);
+        assertSame(cacheManager.find(Entity.class, "id1"), entity);
+        assertNull(cacheManager.find(Entity.class, "id2"));
+
+        final EntityCacheStatistics statistics = cacheManager.getStatistics().get(Entity.class.getName());
+        assertEquals(statistics.getHits(), 2L);
+        assertEquals(statistics.getMisses(), 1L);
+        assertEquals(statistics.getHitRatio(), 2D / 3, 0.001);
+    }
+
+    @Test
+    public void shouldEvictEntities() {
+        cacheManager.evict(Entity.class, "id1");
+        cacheManager.evict(Entity.class);
+
+        verify(cache).evict(Entity.class, "id1");
+        verify(cache).evict(Entity.class);
+        assertEquals(cacheManager.getStatistics().get(Entity.class.getName()).getEvictions(), 2L);
+    }
+
+    @Test
+    public void shouldCollectStatisticsOfEachEntity() {
+        when(cache.contains(Entity.class, "id1")).thenReturn(true);
+        cacheManager.find(Entity.class, "id1");
+        cacheManager.find(Entity.class, "id2");
+        cacheManager.evict(Entity.class, "id1");
+
+        final Map<String, Long> values = new HashMap<>();
+        cacheManager.collect("db.cache", values);
+
+        final String prefix = "db.cache." + Entity.class.getName();
+        assertEquals(values.get(prefix + ".hits"), (Long)1L);
+        assertEquals(values.get(prefix + ".misses"), (Long)1L);
+        assertEquals(values.get(prefix + ".evictions"), (Long)1L);
+    }
+
+    @Test
+    public void shouldApplyCacheTypeAndSizeToAllEntities() {
+        final ClassDescriptor descriptor = mock(ClassDescriptor.class);
+        final IdentityMapAccessor accessor = mock(IdentityMapAccessor.class);
+        final Session session = mock(Session.class);
+        doReturn(singletonMap(Entity.class, descriptor)).when(session).getDescriptors();
+        when(session.getIdentityMapAccessor()).thenReturn(accessor);
+
+        cacheManager.configure(session);
+
+        verify(descriptor).useSoftCacheWeakIdentityMap();
+        verify(descriptor).setIdentityMapSize(EntityCacheManager.DEFAULT_CACHE_SIZE);
+        verify(accessor).initializeAllIdentityMaps();
+    }
+
+    private static class Entity {}
+}
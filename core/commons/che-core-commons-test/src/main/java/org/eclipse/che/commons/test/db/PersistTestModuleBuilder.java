@@ -13,6 +13,7 @@ package org.eclipse.che.commons.test.db;
 import com.google.common.io.Resources;
 import com.google.inject.AbstractModule;
 import com.google.inject.Module;
+import com.google.inject.name.Names;
 import com.google.inject.persist.jpa.JpaPersistModule;
 
 import org.eclipse.persistence.config.PersistenceUnitProperties;
@@ -34,7 +35,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Helps to build persistence.xml for test purposes.
- * If bound creates META-INF/persistence.xml with generated content.
+ * If bound creates META-INF/persistence.xml with generated content and binds
+ * the shared entity cache configuration({@code db.jpa.cache.*}) to the defaults
+ * of the persistence provider.
  *
  * <p>The example of generated content is:
  * <pre>{@code
@@ -219,6 +222,8 @@ public class PersistTestModuleBuilder {
                 throw new RuntimeException(x.getMessage());
             }
             install(new JpaPersistModule(persistenceUnit));
+            bindConstant().annotatedWith(Names.named("db.jpa.cache.type")).to("SoftWeak");
+            bindConstant().annotatedWith(Names.named("db.jpa.cache.size")).to(100);
         }
     }
 
@@ -22,6 +22,7 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -34,6 +35,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -169,11 +171,25 @@ public final class XMLTree {
         return from(String.format(ROOT_TEMPLATE, rootName, rootName));
     }
 
-    private static final XMLInputFactory        XML_INPUT_FACTORY        = XMLInputFactory.newFactory();
+    static final XMLInputFactory                XML_INPUT_FACTORY        = XMLInputFactory.newFactory();
     private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
     private static final XPathFactory           XPATH_FACTORY            = XPathFactory.newInstance();
     private static final String                 ROOT_TEMPLATE            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
     private static final int                    EXPECTED_NAMESPACES_SIZE = 2;
+    private static final int                    XPATH_CACHE_SIZE         = 256;
+
+    /**
+     * Compiled xpath expressions, tree queries are mostly the same constant
+     * paths so there is no need to compile them each time. Compiled expressions
+     * are not thread-safe so each thread keeps its own LRU cache.
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_CACHE = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > XPATH_CACHE_SIZE;
+                }
+            });
 
     /** Factories configuration. */
     static {
@@ -414,14 +430,28 @@ public final class XMLTree {
      */
     @SuppressWarnings("unchecked")
     private Object evaluateXPath(String expression, QName returnType) {
-        final XPath xpath = XPATH_FACTORY.newXPath();
         try {
-            return xpath.evaluate(expression, document, returnType);
+            return compileXPath(expression).evaluate(document, returnType);
         } catch (XPathExpressionException xpathEx) {
             throw XMLTreeException.wrap(xpathEx);
         }
     }
 
+    /**
+     * Returns compiled xpath expression from the current thread cache,
+     * compiles and caches expression if it is not cached yet.
+     */
+    private static XPathExpression compileXPath(String expression) throws XPathExpressionException {
+        final Map<String, XPathExpression> cache = XPATH_CACHE.get();
+        XPathExpression compiled = cache.get(expression);
+        if (compiled == null) {
+            final XPath xpath = XPATH_FACTORY.newXPath();
+            compiled = xpath.compile(expression);
+            cache.put(expression, compiled);
+        }
+        return compiled;
+    }
+
     /**
      * Parses document using {@link DocumentBuilder}
      * Rethrows all exceptions as {@link XMLTreeException}
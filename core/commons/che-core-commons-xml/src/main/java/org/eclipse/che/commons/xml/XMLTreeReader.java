@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Read-only streaming counterpart of {@link XMLTree}.
+ * <p>
+ * Reads text of the elements selected by the given paths in a single
+ * pass over the document using StAX, without building DOM and without
+ * keeping the source bytes, subtrees which can't contain requested
+ * elements are skipped. It is designed for the common case when
+ * a few values should be read from the document e.g. project
+ * coordinates from the pom.xml, {@link XMLTree} should be used
+ * when document needs to be updated or queried with xpath.
+ * <p>
+ * Only simple absolute paths are supported, e.g. {@code /project/parent/groupId},
+ * path segments are element names(including prefix if element is prefixed),
+ * predicates, wildcards, attributes and functions are not allowed.
+ * <p>
+ * The same as {@link XMLTree} reader disallows using of {@code DOCTYPE} definition.
+ *
+ * <pre>
+ *     For example:
+ *
+ *     XMLTreeReader reader = XMLTreeReader.read(pom, "/project/groupId", "/project/parent/groupId");
+ *
+ *     String groupId = reader.getSingleText("/project/groupId");
+ *     if (groupId == null) {
+ *         groupId = reader.getSingleText("/project/parent/groupId");
+ *     }
+ * </pre>
+ */
+public final class XMLTreeReader {
+
+    private static final Pattern PATH_PATTERN = Pattern.compile("(/[^/\\[\\]()@*|=\\s]+)+");
+
+    /**
+     * Reads text of the elements selected by given paths from the input stream.
+     * Doesn't close the stream
+     *
+     * @param is
+     *         xml input stream
+     * @param paths
+     *         simple absolute paths of the elements which text should be read
+     * @return reader which contains text of the requested elements
+     * @throws XMLTreeException
+     *         when xml is not well-formed or it can't be read
+     * @throws IllegalArgumentException
+     *         when any of the paths is not a simple absolute path
+     */
+    public static XMLTreeReader read(InputStream is, String... paths) {
+        requireNonNull(is, "Required not null input stream");
+        final XMLTreeReader treeReader = new XMLTreeReader(paths);
+        XMLStreamReader reader = null;
+        try {
+            reader = XMLTree.XML_INPUT_FACTORY.createXMLStreamReader(is);
+            treeReader.read(reader);
+        } catch (XMLStreamException xmlEx) {
+            throw XMLTreeException.wrap(xmlEx);
+        } finally {
+            closeQuietly(reader);
+        }
+        return treeReader;
+    }
+
+    /**
+     * Reads text of the elements selected by given paths from the file.
+     *
+     * @see #read(InputStream, String...)
+     */
+    public static XMLTreeReader read(Path path, String... paths) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return read(is, paths);
+        }
+    }
+
+    /**
+     * Reads text of the elements selected by given paths from the bytes.
+     *
+     * @see #read(InputStream, String...)
+     */
+    public static XMLTreeReader read(byte[] xml, String... paths) {
+        requireNonNull(xml, "Required not null bytes");
+        return read(new ByteArrayInputStream(xml), paths);
+    }
+
+    private final Map<String, List<String>> texts;
+    private final Set<String>               prefixes;
+
+    private XMLTreeReader(String... paths) {
+        requireNonNull(paths, "Required not null paths");
+        texts = new LinkedHashMap<>();
+        prefixes = new HashSet<>();
+        for (String path : paths) {
+            requireNonNull(path, "Required not null path");
+            if (!PATH_PATTERN.matcher(path).matches()) {
+                throw new IllegalArgumentException("Path '" + path + "' is not a simple absolute path");
+            }
+            texts.put(path, new ArrayList<>());
+            for (int i = path.indexOf('/', 1); i != -1; i = path.indexOf('/', i + 1)) {
+                prefixes.add(path.substring(0, i));
+            }
+            prefixes.add(path);
+        }
+    }
+
+    /**
+     * Returns text of the elements selected by given path in the document order.
+     * If there are no elements were found empty list will be returned.
+     *
+     * @param path
+     *         one of the paths this reader was created with
+     * @return list of elements text or empty list if nothing found
+     * @throws IllegalArgumentException
+     *         when given path was not requested
+     * @see Element#getText()
+     */
+    public List<String> getText(String path) {
+        final List<String> text = texts.get(path);
+        if (text == null) {
+            throw new IllegalArgumentException("Path '" + path + "' was not requested");
+        }
+        return unmodifiableList(text);
+    }
+
+    /**
+     * Returns text of the element selected by given path or {@code null}
+     * if there is no such element or there are more then one such elements,
+     * the same as {@link Element#getChildText(String)} does.
+     *
+     * @param path
+     *         one of the paths this reader was created with
+     * @return element text or {@code null}
+     * @throws IllegalArgumentException
+     *         when given path was not requested
+     */
+    public String getSingleText(String path) {
+        final List<String> text = getText(path);
+        return text.size() == 1 ? text.get(0) : null;
+    }
+
+    /**
+     * Returns {@code true} if there is only one element selected by given path,
+     * otherwise returns {@code false}.
+     *
+     * @param path
+     *         one of the paths this reader was created with
+     * @throws IllegalArgumentException
+     *         when given path was not requested
+     */
+    public boolean hasSingle(String path) {
+        return getText(path).size() == 1;
+    }
+
+    private void read(XMLStreamReader reader) throws XMLStreamException {
+        final Deque<Level> levels = new ArrayDeque<>();
+        // depth of the subtree which is skipped because it can't contain requested elements
+        int skipped = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    if (skipped > 0) {
+                        skipped++;
+                        break;
+                    }
+                    final String path = (levels.isEmpty() ? "" : levels.peek().path) + '/' + qualifiedName(reader);
+                    if (prefixes.contains(path)) {
+                        levels.push(new Level(path, texts.containsKey(path)));
+                    } else {
+                        skipped = 1;
+                    }
+                    break;
+                case END_ELEMENT:
+                    if (skipped > 0) {
+                        skipped--;
+                        break;
+                    }
+                    final Level level = levels.pop();
+                    if (level.text != null) {
+                        texts.get(level.path).add(level.text.toString());
+                    }
+                    break;
+                case CHARACTERS:
+                case SPACE:
+                    if (skipped == 0 && !levels.isEmpty() && levels.peek().text != null) {
+                        levels.peek().text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                default:
+                    // ignore comments, processing instructions and so on
+            }
+            if (skipped == 0 && levels.isEmpty() && reader.isEndElement()) {
+                // root element is read, nothing to look for in the rest of the document
+                break;
+            }
+        }
+    }
+
+    private static String qualifiedName(XMLStreamReader reader) {
+        final String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ':' + reader.getLocalName();
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // nothing to do
+            }
+        }
+    }
+
+    private static class Level {
+        final String        path;
+        final StringBuilder text;
+
+        Level(String path, boolean collectText) {
+            this.path = path;
+            this.text = collectText ? new StringBuilder() : null;
+        }
+    }
+}
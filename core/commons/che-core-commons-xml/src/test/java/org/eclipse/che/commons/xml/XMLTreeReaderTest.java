@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link XMLTreeReader}
+ */
+public class XMLTreeReaderTest {
+
+    private static final String XML_CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                              "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                                              "    <modelVersion>4.0.0</modelVersion>\n" +
+                                              "    <parent>\n" +
+                                              "        <artifactId>test-parent</artifactId>\n" +
+                                              "        <groupId>test-parent-group-id</groupId>\n" +
+                                              "        <version>test-parent-version</version>\n" +
+                                              "    </parent>\n" +
+                                              "    <artifactId>test-artifact</artifactId>\n" +
+                                              "    <!-- comment -->\n" +
+                                              "    <name>Test &amp; Co</name>\n" +
+                                              "    <dependencies>\n" +
+                                              "        <dependency>\n" +
+                                              "            <groupId>com.google.guava</groupId>\n" +
+                                              "            <artifactId>guava</artifactId>\n" +
+                                              "        </dependency>\n" +
+                                              "        <dependency>\n" +
+                                              "            <groupId>org.testng</groupId>\n" +
+                                              "            <artifactId>testng</artifactId>\n" +
+                                              "        </dependency>\n" +
+                                              "    </dependencies>\n" +
+                                              "</project>";
+
+    @Test
+    public void shouldReadTextOfRequestedElements() throws Exception {
+        final XMLTreeReader reader = read("/project/artifactId", "/project/parent/groupId", "/project/groupId", "/project/name");
+
+        assertEquals(reader.getSingleText("/project/artifactId"), "test-artifact");
+        assertEquals(reader.getSingleText("/project/parent/groupId"), "test-parent-group-id");
+        assertEquals(reader.getSingleText("/project/name"), "Test & Co");
+        assertNull(reader.getSingleText("/project/groupId"));
+        assertEquals(reader.getText("/project/groupId"), emptyList());
+    }
+
+    @Test
+    public void shouldReadTheSameTextAsXMLTree() throws Exception {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+
+        final XMLTreeReader reader = read("/project/parent", "/project/artifactId");
+
+        assertEquals(reader.getSingleText("/project/parent"), tree.getSingleElement("/project/parent").getText());
+        assertEquals(reader.getSingleText("/project/artifactId"), tree.getRoot().getChildText("artifactId"));
+    }
+
+    @Test
+    public void shouldReadTextOfAllMatchedElementsInDocumentOrder() throws Exception {
+        final XMLTreeReader reader = read("/project/dependencies/dependency/artifactId", "/project/dependencies/dependency");
+
+        assertEquals(reader.getText("/project/dependencies/dependency/artifactId"), asList("guava", "testng"));
+        assertFalse(reader.hasSingle("/project/dependencies/dependency"));
+        assertNull(reader.getSingleText("/project/dependencies/dependency/artifactId"));
+    }
+
+    @Test
+    public void shouldNotMatchElementsOutsideOfRoot() throws Exception {
+        final XMLTreeReader reader = read("/artifactId", "/parent/groupId");
+
+        assertTrue(reader.getText("/artifactId").isEmpty());
+        assertTrue(reader.getText("/parent/groupId").isEmpty());
+    }
+
+    @Test
+    public void shouldReadPrefixedElements() throws Exception {
+        final String xml = "<p:project xmlns:p=\"http://maven.apache.org/POM/4.0.0\"><p:version>1.0</p:version></p:project>";
+
+        final XMLTreeReader reader = XMLTreeReader.read(xml.getBytes(StandardCharsets.UTF_8), "/p:project/p:version");
+
+        assertEquals(reader.getSingleText("/p:project/p:version"), "1.0");
+    }
+
+    @Test
+    public void shouldReadFromFile() throws Exception {
+        final Path pom = Files.createTempFile("pom", ".xml");
+        try {
+            Files.write(pom, XML_CONTENT.getBytes(StandardCharsets.UTF_8));
+
+            final XMLTreeReader reader = XMLTreeReader.read(pom, "/project/modelVersion");
+
+            assertEquals(reader.getSingleText("/project/modelVersion"), "4.0.0");
+        } finally {
+            Files.delete(pom);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotReadTextOfNotRequestedPath() throws Exception {
+        read("/project/artifactId").getText("/project/version");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotAcceptXPathExpressions() throws Exception {
+        read("/project/dependencies/dependency[1]/artifactId");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotAcceptRelativePaths() throws Exception {
+        read("project/artifactId");
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotReadMalformedXml() throws Exception {
+        XMLTreeReader.read("<project><artifactId></project>".getBytes(StandardCharsets.UTF_8), "/project/artifactId");
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotReadXmlWithDoctype() throws Exception {
+        final String xml = "<?xml version=\"1.0\"?>\n" +
+                           "<!DOCTYPE project [<!ENTITY name \"test\">]>\n" +
+                           "<project><name>&name;</name></project>";
+
+        XMLTreeReader.read(xml.getBytes(StandardCharsets.UTF_8), "/project/name");
+    }
+
+    private static XMLTreeReader read(String... paths) {
+        return XMLTreeReader.read(new ByteArrayInputStream(XML_CONTENT.getBytes(StandardCharsets.UTF_8)), paths);
+    }
+}
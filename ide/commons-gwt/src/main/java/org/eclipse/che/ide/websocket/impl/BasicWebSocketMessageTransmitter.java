@@ -48,4 +48,10 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
             reSender.add(endpointId, message);
         }
     }
+
+    /** Messages of the client are never coalesced, so the coalescing key is ignored. */
+    @Override
+    public void transmit(String endpointId, String message, String coalescingKey) {
+        transmit(endpointId, message);
+    }
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.sun.jna.Library;
+import com.sun.jna.Platform;
 import com.sun.jna.Structure;
 import com.sun.jna.ptr.LongByReference;
 
@@ -25,6 +26,11 @@ public interface CLibrary extends Library {
     int AF_UNIX     = 1; // Defined in 'sys/socket.h'
     int SOCK_STREAM = 1; // Defined in 'sys/socket.h'
 
+    int MSG_PEEK     = 0x02; // Defined in 'sys/socket.h'
+    // Defined in 'sys/socket.h' and 'errno.h', values differ between linux and BSD derived systems, e.g. macOS
+    int MSG_DONTWAIT = Platform.isLinux() ? 0x40 : 0x80;
+    int EAGAIN       = Platform.isLinux() ? 11 : 35;
+
     // Defined in 'unix.h', see http://man7.org/linux/man-pages/man7/unix.7.html
     class SockAddrUn extends Structure {
         public static final int UNIX_PATH_MAX = 108;
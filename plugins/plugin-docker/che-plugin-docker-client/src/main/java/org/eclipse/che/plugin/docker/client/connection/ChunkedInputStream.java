@@ -65,6 +65,11 @@ public class ChunkedInputStream extends InputStream {
         return (chunkSize - chunkPos);
     }
 
+    /** Returns {@code true} if the last chunk and the trailing line were read from the underlying stream. */
+    synchronized boolean isEndReached() {
+        return eof;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
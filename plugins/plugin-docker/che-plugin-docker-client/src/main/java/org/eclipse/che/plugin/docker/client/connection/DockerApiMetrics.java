@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.api.core.metrics.LatencyStats;
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Collects latency of docker API calls per endpoint. Latency is the time
+ * between sending a request and receiving headers of the response, so
+ * streaming calls (e.g. events or logs) are measured the same way as regular ones.
+ *
+ * <p>Endpoints are identified by HTTP method and request path in which API
+ * version prefix is removed and identifiers of docker objects are replaced by
+ * <i>{id}</i>, e.g. <i>POST /containers/{id}/start</i>.
+ *
+ * <p>Metrics are exported through {@link Metrics} by {@link DockerConnectionFactory},
+ * e.g. {@code docker.api.POST /containers/{id}/start.averageMillis}.
+ */
+public class DockerApiMetrics implements Metric {
+    private static final Pattern     API_VERSION           = Pattern.compile("v\\d+(\\.\\d+)?");
+    private static final Set<String> COLLECTION_OPERATIONS = ImmutableSet.of("json", "create", "search", "load", "get", "prune");
+
+    private final Map<String, LatencyStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records a single call of docker API.
+     *
+     * @param method
+     *         HTTP method of request
+     * @param path
+     *         request path
+     * @param latencyNanos
+     *         time passed until response headers were received
+     * @param failed
+     *         whether request failed with an I/O error
+     */
+    public void record(String method, String path, long latencyNanos, boolean failed) {
+        endpoints.computeIfAbsent(toEndpoint(method, path), endpoint -> new LatencyStats()).record(latencyNanos, failed);
+    }
+
+    /** Returns snapshot of metrics of all endpoints called so far, mapped by endpoints names. */
+    public Map<String, LatencyStats> getEndpoints() {
+        return new HashMap<>(endpoints);
+    }
+
+    /** Resets all collected metrics. */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        endpoints.forEach((endpoint, stats) -> stats.collect(name + '.' + endpoint, values));
+    }
+
+    static String toEndpoint(String method, String path) {
+        final List<String> segments = new ArrayList<>();
+        if (path != null) {
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+        }
+        if (!segments.isEmpty() && API_VERSION.matcher(segments.get(0)).matches()) {
+            segments.remove(0);
+        }
+
+        final StringBuilder endpoint = new StringBuilder(String.valueOf(method)).append(' ');
+        if (segments.isEmpty()) {
+            return endpoint.append('/').toString();
+        }
+        endpoint.append('/').append(segments.get(0));
+        if (segments.size() == 2) {
+            final String second = segments.get(1);
+            endpoint.append('/').append(COLLECTION_OPERATIONS.contains(second) ? second : "{id}");
+        } else if (segments.size() > 2) {
+            // image names may contain slashes, so everything between collection and operation is an identifier
+            endpoint.append("/{id}/").append(segments.get(segments.size() - 1));
+        }
+        return endpoint.toString();
+    }
+}
@@ -32,6 +32,7 @@ public abstract class DockerConnection implements Closeable {
     private Entity<?> entity;
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
+    private DockerApiMetrics      metrics;
 
     public DockerConnection method(String method) {
         this.method = method;
@@ -91,8 +92,25 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /** Sets metrics that should record latency of the request of this connection. */
+    DockerConnection metrics(DockerApiMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     public DockerResponse request() throws IOException {
-        return request(method, path, query.toString(), headers, entity);
+        if (metrics == null) {
+            return request(method, path, query.toString(), headers, entity);
+        }
+        final long start = System.nanoTime();
+        final DockerResponse response;
+        try {
+            response = request(method, path, query.toString(), headers, entity);
+        } catch (IOException | RuntimeException e) {
+            metrics.record(method, path, System.nanoTime() - start, true);
+            throw e;
+        }
+        return new MeteredDockerResponse(response, start);
     }
 
     protected abstract DockerResponse request(String method,
@@ -152,4 +170,68 @@ public abstract class DockerConnection implements Closeable {
             output.flush();
         }
     }
+
+    /**
+     * Records latency of the request when the response is read for the first time,
+     * so the response is not read before the caller needs it.
+     */
+    private class MeteredDockerResponse implements DockerResponse {
+        private final DockerResponse delegate;
+        private final long           start;
+        private       boolean        recorded;
+
+        MeteredDockerResponse(DockerResponse delegate, long start) {
+            this.delegate = delegate;
+            this.start = start;
+        }
+
+        @Override
+        public int getStatus() throws IOException {
+            return record(delegate::getStatus);
+        }
+
+        @Override
+        public int getContentLength() throws IOException {
+            return record(delegate::getContentLength);
+        }
+
+        @Override
+        public String getContentType() throws IOException {
+            return record(delegate::getContentType);
+        }
+
+        @Override
+        public String getHeader(String name) throws IOException {
+            return record(() -> delegate.getHeader(name));
+        }
+
+        @Override
+        public String[] getHeaders(String name) throws IOException {
+            return record(() -> delegate.getHeaders(name));
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return record(delegate::getInputStream);
+        }
+
+        private <T> T record(ResponseReader<T> reader) throws IOException {
+            if (recorded) {
+                return reader.read();
+            }
+            boolean failed = true;
+            try {
+                final T result = reader.read();
+                failed = false;
+                return result;
+            } finally {
+                recorded = true;
+                metrics.record(method, path, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private interface ResponseReader<T> {
+        T read() throws IOException;
+    }
 }
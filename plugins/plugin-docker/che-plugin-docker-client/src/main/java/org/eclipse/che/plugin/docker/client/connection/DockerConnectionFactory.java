@@ -12,22 +12,39 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * Connections to unix socket are kept alive and reused by subsequent requests.
+ * Latency of docker API calls and usage of unix socket connections are exported
+ * through {@link Metrics} as {@code docker.api.*} and {@code docker.unix_socket.*}.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
-    public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
-    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String CONNECTION_TIMEOUT_MS_PROPERTY            = "che.docker.tcp_connection_timeout_ms";
+    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY       = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String UNIX_SOCKET_MAX_IDLE_CONNECTIONS_PROPERTY = "che.docker.unix_socket_max_idle_connections";
+    public static final String UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY      = "che.docker.unix_socket_idle_timeout_ms";
+
+    private static final String API_METRIC_NAME         = "docker.api";
+    private static final String UNIX_SOCKET_METRIC_NAME = "docker.unix_socket";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,18 +54,71 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(UNIX_SOCKET_MAX_IDLE_CONNECTIONS_PROPERTY)
+    private int unixSocketMaxIdleConnections = 8;
+
+    @Inject(optional = true)
+    @Named(UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY)
+    private long unixSocketIdleTimeoutMs = 30000;
+
+    private final DockerCertificates                    dockerCertificates;
+    private final DockerApiMetrics                      metrics;
+    private final Map<String, UnixSocketConnectionPool> pools;
+    private final Metric                                connectionMetrics = this::collectConnectionMetrics;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.metrics = new DockerApiMetrics();
+        this.pools = new ConcurrentHashMap<>();
+        Metrics.register(API_METRIC_NAME, metrics);
+        Metrics.register(UNIX_SOCKET_METRIC_NAME, connectionMetrics);
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(getPool(dockerDaemonUri.getPath())).metrics(metrics);
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri,
+                                     dockerCertificates,
+                                     connectionTimeoutMs,
+                                     connectionReadTimeoutMs).metrics(metrics);
         }
     }
+
+    /** Returns latency metrics of docker API calls made by connections of this factory. */
+    public DockerApiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** Closes all idle unix socket connections and removes metrics of this factory. */
+    @PreDestroy
+    public void closeIdleConnections() {
+        pools.values().forEach(UnixSocketConnectionPool::close);
+        pools.clear();
+        Metrics.remove(API_METRIC_NAME, metrics);
+        Metrics.remove(UNIX_SOCKET_METRIC_NAME, connectionMetrics);
+    }
+
+    private void collectConnectionMetrics(String name, Map<String, Long> values) {
+        long idle = 0;
+        long created = 0;
+        long reused = 0;
+        for (UnixSocketConnectionPool pool : pools.values()) {
+            idle += pool.getIdleCount();
+            created += pool.getCreatedCount();
+            reused += pool.getReusedCount();
+        }
+        values.put(name + ".idle", idle);
+        values.put(name + ".created", created);
+        values.put(name + ".reused", reused);
+    }
+
+    private UnixSocketConnectionPool getPool(String dockerSocketPath) {
+        return pools.computeIfAbsent(dockerSocketPath, path -> new UnixSocketConnectionPool(getCLibrary(),
+                                                                                             path,
+                                                                                             unixSocketMaxIdleConnections,
+                                                                                             unixSocketIdleTimeoutMs));
+    }
 }
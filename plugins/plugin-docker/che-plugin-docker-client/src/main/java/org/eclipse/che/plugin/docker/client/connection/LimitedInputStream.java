@@ -59,12 +59,19 @@ public class LimitedInputStream extends InputStream {
         return doRead(b, 0, len);
     }
 
+    /** Returns {@code true} if all the {@code limit} bytes were read from the underlying stream. */
+    synchronized boolean isEndReached() {
+        return pos >= limit;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
         int n = input.read(b, 0, Math.min(len - off, limit - pos));
-        pos += n;
+        if (n > 0) {
+            pos += n;
+        }
         return n;
     }
 }
@@ -13,7 +13,6 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -22,12 +21,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
@@ -35,46 +30,57 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private int                      fd = -1;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
-        this.dockerSocketPath = dockerSocketPath;
+        this(new UnixSocketConnectionPool(getCLibrary(), dockerSocketPath, 0, 0));
+    }
+
+    /**
+     * Creates connection that takes socket from the given pool and returns
+     * it back to the pool on close if the response was entirely read.
+     */
+    public UnixSocketConnection(UnixSocketConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        fd = pool.acquire();
+        try {
+            final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+            writeHttpHeaders(output, method, path, query, headers);
+            if (entity != null) {
+                entity.writeTo(output);
+            }
+        } catch (IOException | RuntimeException e) {
+            pool.discard(fd);
+            fd = -1;
+            throw e;
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        return response = new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
     }
 
-
     @Override
     public void close() {
-        if (fd != -1) {
-            getCLibrary().close(fd);
-        }
-    }
-
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
         if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+            return;
+        }
+        boolean reusable = false;
+        try {
+            reusable = response != null && response.isCompletelyRead();
+        } catch (IOException ignored) {
         }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        if (reusable) {
+            pool.release(fd);
+        } else {
+            pool.discard(fd);
         }
-        return fd;
+        fd = -1;
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+
+/**
+ * Keeps idle keep-alive connections to a single docker unix socket, so that
+ * sequential docker API calls don't pay for establishing a new connection.
+ *
+ * <p>Only idle connections are limited, the number of connections in use is not
+ * limited because some of docker API calls (e.g. events, attach, logs) hold a
+ * connection for an indefinite period of time. Connections that are idle longer
+ * than the configured timeout or that are closed by the docker daemon are never
+ * reused.
+ */
+public class UnixSocketConnectionPool implements Closeable {
+    private final CLibrary   cLib;
+    private final String     dockerSocketPath;
+    private final int        maxIdleConnections;
+    private final long       idleTimeoutMs;
+    private final Deque<IdleConnection> idle;
+    private final AtomicLong created;
+    private final AtomicLong reused;
+
+    private boolean closed;
+
+    public UnixSocketConnectionPool(CLibrary cLib, String dockerSocketPath, int maxIdleConnections, long idleTimeoutMs) {
+        this.cLib = cLib;
+        this.dockerSocketPath = dockerSocketPath;
+        this.maxIdleConnections = maxIdleConnections;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>();
+        this.created = new AtomicLong();
+        this.reused = new AtomicLong();
+    }
+
+    /**
+     * Returns file descriptor of the most recently used idle connection or opens
+     * a new connection if there is no idle connection that can be reused.
+     *
+     * @throws ConnectException
+     *         if connection can't be established
+     */
+    public int acquire() throws IOException {
+        IdleConnection connection;
+        while ((connection = pollIdle()) != null) {
+            if (System.currentTimeMillis() - connection.since < idleTimeoutMs && isAlive(connection.fd)) {
+                reused.incrementAndGet();
+                return connection.fd;
+            }
+            cLib.close(connection.fd);
+        }
+        final int fd = connect();
+        created.incrementAndGet();
+        return fd;
+    }
+
+    /**
+     * Returns connection to the pool, connection is closed if the pool
+     * already holds the maximum number of idle connections.
+     *
+     * @param fd
+     *         file descriptor of connection which has no pending data
+     */
+    public void release(int fd) {
+        IdleConnection evicted = null;
+        synchronized (idle) {
+            if (closed || maxIdleConnections <= 0) {
+                evicted = new IdleConnection(fd);
+            } else {
+                idle.push(new IdleConnection(fd));
+                if (idle.size() > maxIdleConnections) {
+                    evicted = idle.removeLast();
+                }
+            }
+        }
+        if (evicted != null) {
+            cLib.close(evicted.fd);
+        }
+    }
+
+    /** Closes connection that can't be reused, e.g. one that has unread response data. */
+    public void discard(int fd) {
+        cLib.close(fd);
+    }
+
+    /** Returns the number of idle connections. */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /** Returns the number of connections opened by this pool. */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /** Returns the number of times an idle connection was reused. */
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    @Override
+    public void close() {
+        synchronized (idle) {
+            closed = true;
+            for (IdleConnection connection : idle) {
+                cLib.close(connection.fd);
+            }
+            idle.clear();
+        }
+    }
+
+    /**
+     * Checks without blocking that peer didn't close the connection and there
+     * is no unexpected data in the connection.
+     */
+    boolean isAlive(int fd) {
+        try {
+            final int n = cLib.recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+            return n == -1 && lastError() == EAGAIN;
+        } catch (LastErrorException e) {
+            return e.getErrorCode() == EAGAIN;
+        }
+    }
+
+    int lastError() {
+        return Native.getLastError();
+    }
+
+    private IdleConnection pollIdle() {
+        synchronized (idle) {
+            return idle.poll();
+        }
+    }
+
+    private int connect() throws IOException {
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        }
+        return fd;
+    }
+
+    private static class IdleConnection {
+        final int  fd;
+        final long since;
+
+        IdleConnection(int fd) {
+            this.fd = fd;
+            this.since = System.currentTimeMillis();
+        }
+    }
+}
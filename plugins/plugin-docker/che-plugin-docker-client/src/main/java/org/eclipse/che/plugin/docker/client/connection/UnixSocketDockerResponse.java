@@ -109,6 +109,24 @@ public class UnixSocketDockerResponse implements DockerResponse {
         return headers.toArray(new String[headers.size()]);
     }
 
+    /**
+     * Checks whether the response was entirely read from the connection and
+     * docker daemon keeps the connection open, so the connection can be used
+     * for the next request.
+     */
+    synchronized boolean isCompletelyRead() throws IOException {
+        if (headersFields == null || getStatus() == 101 || "close".equalsIgnoreCase(getHeader("Connection"))) {
+            return false;
+        }
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).isEndReached();
+        }
+        return data instanceof ChunkedInputStream && ((ChunkedInputStream)data).isEndReached();
+    }
+
     @Override
     public synchronized InputStream getInputStream() throws IOException {
         if (this.headersFields != null) {
@@ -143,6 +161,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int statusCode = getStatus();
+        if (statusCode == 204 || statusCode == 304 || (statusCode >= 100 && statusCode < 200 && statusCode != 101)) {
+            // responses that never have a body, see RFC 7230 section 3.3.3
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.api.core.metrics.LatencyStats;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link DockerApiMetrics}
+ */
+public class DockerApiMetricsTest {
+
+    @DataProvider(name = "paths")
+    public static Object[][] paths() {
+        return new Object[][] {
+                {"GET", "/info", "GET /info"},
+                {"GET", "/v1.20/info", "GET /info"},
+                {"GET", "/v1.20/containers/json", "GET /containers/json"},
+                {"POST", "/v1.20/images/create", "POST /images/create"},
+                {"DELETE", "/v1.20/containers/4fa6e0f0c678", "DELETE /containers/{id}"},
+                {"POST", "/containers/4fa6e0f0c678/start", "POST /containers/{id}/start"},
+                {"GET", "/v1.20/images/eclipse/ubuntu_jdk8/json", "GET /images/{id}/json"},
+                {"GET", "/", "GET /"}
+        };
+    }
+
+    @Test(dataProvider = "paths")
+    public void shouldNormalizeRequestPathToEndpoint(String method, String path, String expected) {
+        assertEquals(DockerApiMetrics.toEndpoint(method, path), expected);
+    }
+
+    @Test
+    public void shouldAggregateLatencyOfSameEndpoint() {
+        DockerApiMetrics metrics = new DockerApiMetrics();
+
+        metrics.record("POST", "/v1.20/containers/a/start", TimeUnit.MILLISECONDS.toNanos(10), false);
+        metrics.record("POST", "/v1.20/containers/b/start", TimeUnit.MILLISECONDS.toNanos(30), true);
+
+        LatencyStats endpoint = metrics.getEndpoints().get("POST /containers/{id}/start");
+        assertEquals(metrics.getEndpoints().size(), 1);
+        assertEquals(endpoint.getCount(), 2);
+        assertEquals(endpoint.getFailures(), 1);
+        assertEquals(endpoint.getAverageLatencyMillis(), 20);
+        assertEquals(endpoint.getMaxLatencyMillis(), 30);
+    }
+
+    @Test
+    public void shouldCollectMetricsOfEachEndpoint() {
+        DockerApiMetrics metrics = new DockerApiMetrics();
+        metrics.record("GET", "/v1.20/info", TimeUnit.MILLISECONDS.toNanos(10), false);
+        metrics.record("POST", "/v1.20/containers/a/start", TimeUnit.MILLISECONDS.toNanos(30), true);
+
+        Map<String, Long> values = new HashMap<>();
+        metrics.collect("docker.api", values);
+
+        assertEquals(values.get("docker.api.GET /info.count"), Long.valueOf(1));
+        assertEquals(values.get("docker.api.POST /containers/{id}/start.failures"), Long.valueOf(1));
+        assertEquals(values.get("docker.api.POST /containers/{id}/start.maxMillis"), Long.valueOf(30));
+    }
+}
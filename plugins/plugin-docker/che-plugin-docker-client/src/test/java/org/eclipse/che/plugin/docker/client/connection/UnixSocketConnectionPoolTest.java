@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests for {@link UnixSocketConnectionPool}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class UnixSocketConnectionPoolTest {
+    private static final int FD = 42;
+
+    @Mock
+    private CLibrary cLib;
+
+    private UnixSocketConnectionPool pool;
+
+    @BeforeMethod
+    public void setUp() {
+        pool = spy(new UnixSocketConnectionPool(cLib, "/var/run/docker.sock", 2, 30000));
+        doReturn(EAGAIN).when(pool).lastError();
+    }
+
+    @Test
+    public void shouldReuseIdleConnection() throws Exception {
+        when(cLib.recv(eq(FD), any(byte[].class), anyInt(), anyInt())).thenReturn(-1);
+        pool.release(FD);
+
+        assertEquals(pool.acquire(), FD);
+        assertEquals(pool.getReusedCount(), 1);
+        assertEquals(pool.getIdleCount(), 0);
+        verify(cLib, never()).close(FD);
+    }
+
+    @Test
+    public void shouldDetectConnectionClosedByPeer() throws Exception {
+        when(cLib.recv(eq(FD), any(byte[].class), anyInt(), anyInt())).thenReturn(0);
+
+        assertFalse(pool.isAlive(FD));
+    }
+
+    @Test
+    public void shouldCloseConnectionsExceedingMaxIdle() {
+        pool.release(1);
+        pool.release(2);
+        pool.release(3);
+
+        assertEquals(pool.getIdleCount(), 2);
+        verify(cLib).close(1);
+    }
+
+    @Test
+    public void shouldCloseIdleConnectionsOnClose() {
+        pool.release(1);
+        pool.close();
+        pool.release(2);
+
+        assertEquals(pool.getIdleCount(), 0);
+        verify(cLib).close(1);
+        verify(cLib).close(2);
+    }
+}
@@ -102,6 +102,7 @@ public class DockerInstance extends AbstractInstance {
     private final DockerInstanceProcessesCleaner              processesCleaner;
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
     private final boolean                                     snapshotUseRegistry;
+    private final ImagePullCoordinator                        imagePullCoordinator;
     private final MachineRuntimeInfoImpl                      machineRuntime;
 
     @Inject
@@ -116,7 +117,8 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
                           DockerInstanceProcessesCleaner processesCleaner,
-                          @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry) throws MachineException {
+                          @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry,
+                          ImagePullCoordinator imagePullCoordinator) throws MachineException {
         super(machine);
         this.dockerMachineFactory = dockerMachineFactory;
         this.container = container;
@@ -131,6 +133,7 @@ public class DockerInstance extends AbstractInstance {
         this.machineProcesses = new ConcurrentHashMap<>();
         processesCleaner.trackProcesses(this);
         this.snapshotUseRegistry = snapshotUseRegistry;
+        this.imagePullCoordinator = imagePullCoordinator;
         this.machineRuntime = doGetRuntime();
     }
 
@@ -225,6 +228,7 @@ public class DockerInstance extends AbstractInstance {
                                                   }
                                               });
             docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
+            imagePullCoordinator.invalidate(fullRepo);
             return new DockerMachineSource(image).withRegistry(registry).withDigest(digest).withTag(LATEST_TAG);
         } catch (IOException ioEx) {
             throw new MachineException(ioEx);
@@ -282,6 +286,7 @@ public class DockerInstance extends AbstractInstance {
         } catch (IOException ignore) {
             LOG.error("IOException during destroy(). Ignoring.");
         }
+        imagePullCoordinator.invalidate(image);
     }
 
     @Override
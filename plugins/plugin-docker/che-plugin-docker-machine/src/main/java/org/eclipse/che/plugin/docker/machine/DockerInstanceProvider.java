@@ -78,14 +78,17 @@ public class DockerInstanceProvider implements InstanceProvider {
     private final DockerConnector                               docker;
     private final DockerRegistryAuthResolver                    authResolver;
     private final boolean                                       snapshotUseRegistry;
+    private final ImagePullCoordinator                          imagePullCoordinator;
 
     @Inject
     public DockerInstanceProvider(DockerConnectorProvider dockerProvider,
                                   DockerRegistryAuthResolver authResolver,
-                                  @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry) throws IOException {
+                                  @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry,
+                                  ImagePullCoordinator imagePullCoordinator) throws IOException {
         this.docker = dockerProvider.get();
         this.authResolver = authResolver;
         this.snapshotUseRegistry = snapshotUseRegistry;
+        this.imagePullCoordinator = imagePullCoordinator;
     }
 
     @Override
@@ -147,6 +150,7 @@ public class DockerInstanceProvider implements InstanceProvider {
                 docker.removeImage(RemoveImageParams.create(dockerMachineSource.getLocation(false)));
             } catch (IOException ignore) {
             }
+            imagePullCoordinator.invalidate(dockerMachineSource.getLocation(false));
             return;
         }
 
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Pulls docker images so that concurrent pulls of the same image are performed only once.
+ *
+ * <p>The first caller pulls the image while the others, which pull the same image and tag
+ * with the same registry credentials, wait for it and receive the same progress. A caller
+ * that joins a pull in progress first receives the latest status of each layer, then the
+ * subsequent statuses. If the pull fails all the waiting callers fail with the same error.
+ *
+ * <p>Results of the checks whether an image exists locally are cached for a short time,
+ * so a lot of workspaces started with the same image don't query docker for each machine.
+ * Only found images are cached, a missing image is checked again on the next call.
+ * The cached check is dropped when an image of the same repository is removed.
+ */
+@Singleton
+public class ImagePullCoordinator {
+    private static final Logger LOG = getLogger(ImagePullCoordinator.class);
+
+    static final long IMAGE_CHECK_CACHE_TTL_MS = 30_000;
+
+    private final DockerConnector                 docker;
+    private final long                            imageCheckCacheTtlMs;
+    private final ConcurrentMap<String, PullTask> pulls;
+    /** Expiration times of the cached results of the checks mapped by image reference. */
+    private final ConcurrentMap<String, Long>     localImages;
+
+    @Inject
+    public ImagePullCoordinator(DockerConnectorProvider dockerProvider) {
+        this(dockerProvider.get(), IMAGE_CHECK_CACHE_TTL_MS);
+    }
+
+    public ImagePullCoordinator(DockerConnector docker, long imageCheckCacheTtlMs) {
+        this.docker = docker;
+        this.imageCheckCacheTtlMs = imageCheckCacheTtlMs;
+        this.pulls = new ConcurrentHashMap<>();
+        this.localImages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Pulls image or waits for the pull of the same image if it is in progress.
+     *
+     * @param params
+     *         parameters of the pull
+     * @param progressMonitor
+     *         receives progress of the pull
+     * @throws InterruptedIOException
+     *         if the thread is interrupted while waiting for the pull started by another caller
+     * @throws IOException
+     *         if the pull fails
+     */
+    public void pull(PullParams params, ProgressMonitor progressMonitor) throws IOException {
+        final String image = params.getFullRepo() + ':' + MoreObjects.firstNonNull(params.getTag(), LATEST_TAG);
+        // callers with other credentials may have access to the image the first caller has no access to
+        final String pullKey = image + '#' + credentialsHash(params.getAuthConfigs());
+        final PullTask newPull = new PullTask();
+        final PullTask pull = pulls.putIfAbsent(pullKey, newPull);
+        if (pull != null) {
+            LOG.info("Image '{}' is already being pulled, waiting for the pull to finish", image);
+            pull.await(image, progressMonitor);
+            return;
+        }
+
+        newPull.addMonitor(progressMonitor);
+        try {
+            docker.pull(params, newPull);
+            newPull.result.complete(null);
+        } catch (IOException | RuntimeException | Error e) {
+            newPull.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            pulls.remove(pullKey, newPull);
+        }
+    }
+
+    /**
+     * Checks whether image exists locally, the result is cached if it does.
+     *
+     * @param image
+     *         image reference
+     * @throws IOException
+     *         if docker can't be queried
+     */
+    public boolean isImageExistLocally(String image) throws IOException {
+        final Long expirationTime = localImages.get(image);
+        if (expirationTime != null && expirationTime > System.currentTimeMillis()) {
+            return true;
+        }
+        if (docker.listImages(ListImagesParams.create().withFilters(new Filters().withFilter("reference", image))).isEmpty()) {
+            localImages.remove(image);
+            return false;
+        }
+        localImages.put(image, System.currentTimeMillis() + imageCheckCacheTtlMs);
+        return true;
+    }
+
+    /**
+     * Forgets that the images of the same repository as the given image exist locally,
+     * should be called when an image is removed.
+     *
+     * @param image
+     *         reference of the removed image, with or without registry, tag or digest
+     */
+    public void invalidate(String image) {
+        final String repository = repositoryOf(image);
+        localImages.keySet().removeIf(cached -> isSameRepository(repositoryOf(cached), repository));
+    }
+
+    /** Returns the reference without tag and digest. */
+    private static String repositoryOf(String image) {
+        String repository = image;
+        final int digest = repository.indexOf('@');
+        if (digest != -1) {
+            repository = repository.substring(0, digest);
+        }
+        final int tag = repository.lastIndexOf(':');
+        if (tag > repository.lastIndexOf('/')) {
+            repository = repository.substring(0, tag);
+        }
+        return repository;
+    }
+
+    /** Whether the repositories are the same, when one of them is prefixed with registry and the other is not. */
+    private static boolean isSameRepository(String first, String second) {
+        return first.equals(second) || first.endsWith('/' + second) || second.endsWith('/' + first);
+    }
+
+    private static String credentialsHash(AuthConfigs authConfigs) {
+        if (authConfigs == null || authConfigs.getConfigs() == null || authConfigs.getConfigs().isEmpty()) {
+            return "";
+        }
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (Map.Entry<String, AuthConfig> entry : new TreeMap<>(authConfigs.getConfigs()).entrySet()) {
+            hasher.putString(entry.getKey(), UTF_8).putInt(0);
+            if (entry.getValue() != null) {
+                hasher.putString(String.valueOf(entry.getValue().getUsername()), UTF_8).putInt(0)
+                      .putString(String.valueOf(entry.getValue().getPassword()), UTF_8).putInt(0);
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /** Pull in progress, passes its progress to all the callers which wait for it. */
+    private static class PullTask implements ProgressMonitor {
+        private final CompletableFuture<Void>     result   = new CompletableFuture<>();
+        /** Guarded by this. */
+        private final List<ProgressMonitor>       monitors = new ArrayList<>();
+        /** The latest status of each layer, guarded by this. */
+        private final Map<String, ProgressStatus> layers   = new LinkedHashMap<>();
+
+        @Override
+        public synchronized void updateProgress(ProgressStatus currentProgressStatus) {
+            if (currentProgressStatus.getId() != null) {
+                layers.put(currentProgressStatus.getId(), currentProgressStatus);
+            }
+            for (ProgressMonitor monitor : monitors) {
+                sendProgress(monitor, currentProgressStatus);
+            }
+        }
+
+        synchronized void addMonitor(ProgressMonitor monitor) {
+            for (ProgressStatus status : layers.values()) {
+                sendProgress(monitor, status);
+            }
+            monitors.add(monitor);
+        }
+
+        synchronized void removeMonitor(ProgressMonitor monitor) {
+            monitors.remove(monitor);
+        }
+
+        void await(String image, ProgressMonitor monitor) throws IOException {
+            addMonitor(monitor);
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the pull of image " + image);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                } else if (cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new IOException(cause.getMessage(), cause);
+            } finally {
+                removeMonitor(monitor);
+            }
+        }
+
+        private static void sendProgress(ProgressMonitor monitor, ProgressStatus status) {
+            try {
+                monitor.updateProgress(status);
+            } catch (RuntimeException e) {
+                // a failing monitor of one caller must not break the pull for the others
+                LOG.debug(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -54,7 +54,6 @@ import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.NetworkNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
-import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
 import org.eclipse.che.plugin.docker.client.json.PortBinding;
@@ -66,7 +65,6 @@ import org.eclipse.che.plugin.docker.client.json.network.NewNetwork;
 import org.eclipse.che.plugin.docker.client.params.BuildImageParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.GetContainerLogsParams;
-import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
@@ -171,6 +169,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     private final WindowsPathEscaper                            windowsPathEscaper;
     private final String[]                                      dnsResolvers;
     private final Map<String, String>                           buildArgs;
+    private final ImagePullCoordinator                          imagePullCoordinator;
 
     @Inject
     public MachineProviderImpl(DockerConnectorProvider dockerProvider,
@@ -199,9 +198,11 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                WindowsPathEscaper windowsPathEscaper,
                                @Named("che.docker.extra_hosts") Set<Set<String>> additionalHosts,
                                @Nullable @Named("che.docker.dns_resolvers") String[] dnsResolvers,
-                               @Named("che.docker.build_args") Map<String, String> buildArgs)
+                               @Named("che.docker.build_args") Map<String, String> buildArgs,
+                               ImagePullCoordinator imagePullCoordinator)
             throws IOException {
         this.docker = dockerProvider.get();
+        this.imagePullCoordinator = imagePullCoordinator;
         this.dockerCredentials = dockerCredentials;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
@@ -527,7 +528,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                                                                     LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
                                                   .withAuthConfigs(dockerCredentials.getCredentials());
-                docker.pull(pullParams, progressMonitor);
+                imagePullCoordinator.pull(pullParams, progressMonitor);
             }
 
             String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
@@ -541,6 +542,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
             // remove unneeded tag if restoring snapshot from registry
             if (isSnapshot && snapshotUseRegistry) {
                 docker.removeImage(RemoveImageParams.create(fullNameOfPulledImage).withForce(false));
+                imagePullCoordinator.invalidate(dockerMachineSource.getRepository());
             }
         } catch (IOException e) {
             throw new MachineException("Can't create machine from image. Cause: " + e.getLocalizedMessage(), e);
@@ -550,9 +552,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     @VisibleForTesting
     boolean isDockerImageExistLocally(String imageName) {
         try {
-            return !docker.listImages(ListImagesParams.create()
-                                                      .withFilters(new Filters().withFilter("reference", imageName)))
-                          .isEmpty();
+            return imagePullCoordinator.isImageExistLocally(imageName);
         } catch (IOException e) {
             LOG.warn("Failed to check image {} availability. Cause: {}", imageName, e.getMessage(), e);
             return false; // consider that image doesn't exist locally
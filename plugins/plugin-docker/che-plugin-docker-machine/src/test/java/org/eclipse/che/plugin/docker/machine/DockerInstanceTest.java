@@ -224,7 +224,8 @@ public class DockerInstanceTest {
                                   outputConsumer,
                                   dockerInstanceStopDetectorMock,
                                   mock(DockerInstanceProcessesCleaner.class),
-                                  snapshotUseRegistry);
+                                  snapshotUseRegistry,
+                                  mock(ImagePullCoordinator.class));
     }
 
     private Machine getMachine() {
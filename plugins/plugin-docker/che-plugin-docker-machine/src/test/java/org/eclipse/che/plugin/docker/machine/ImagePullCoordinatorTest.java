@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.Image;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link ImagePullCoordinator}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ImagePullCoordinatorTest {
+    @Mock
+    private DockerConnector docker;
+
+    private ImagePullCoordinator coordinator;
+    private ExecutorService      executor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        coordinator = new ImagePullCoordinator(docker, 60_000);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldPullSameImageOnceAndShareProgress() throws Exception {
+        CountDownLatch pullStarted = new CountDownLatch(1);
+        CountDownLatch finishPull = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ProgressMonitor monitor = (ProgressMonitor)invocation.getArguments()[1];
+            monitor.updateProgress(status("layer1", "Downloading"));
+            pullStarted.countDown();
+            assertTrue(finishPull.await(10, TimeUnit.SECONDS));
+            monitor.updateProgress(status("layer1", "Pull complete"));
+            return null;
+        }).when(docker).pull(any(PullParams.class), any(ProgressMonitor.class));
+        List<String> firstProgress = new CopyOnWriteArrayList<>();
+        List<String> secondProgress = new CopyOnWriteArrayList<>();
+
+        Future<?> firstPull = executor.submit(() -> {
+            coordinator.pull(PullParams.create("codenvy/ubuntu_jdk8"), status -> firstProgress.add(status.getStatus()));
+            return null;
+        });
+        assertTrue(pullStarted.await(10, TimeUnit.SECONDS));
+        Future<?> secondPull = executor.submit(() -> {
+            coordinator.pull(PullParams.create("codenvy/ubuntu_jdk8").withTag("latest"),
+                             status -> secondProgress.add(status.getStatus()));
+            return null;
+        });
+        waitUntil(() -> secondProgress.size() == 1);
+        finishPull.countDown();
+        firstPull.get(10, TimeUnit.SECONDS);
+        secondPull.get(10, TimeUnit.SECONDS);
+
+        verify(docker, times(1)).pull(any(PullParams.class), any(ProgressMonitor.class));
+        assertEquals(firstProgress, asList("Downloading", "Pull complete"));
+        assertEquals(secondProgress, asList("Downloading", "Pull complete"));
+    }
+
+    @Test
+    public void shouldFailWaitingPullsIfPullFails() throws Exception {
+        CountDownLatch pullStarted = new CountDownLatch(1);
+        CountDownLatch finishPull = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ProgressMonitor monitor = (ProgressMonitor)invocation.getArguments()[1];
+            monitor.updateProgress(status("layer1", "Downloading"));
+            pullStarted.countDown();
+            assertTrue(finishPull.await(10, TimeUnit.SECONDS));
+            throw new IOException("pull failed");
+        }).when(docker).pull(any(PullParams.class), any(ProgressMonitor.class));
+
+        Future<?> firstPull = executor.submit(() -> {
+            coordinator.pull(PullParams.create("image"), ProgressMonitor.DEV_NULL);
+            return null;
+        });
+        assertTrue(pullStarted.await(10, TimeUnit.SECONDS));
+        // a caller which joins the pull in progress receives the latest status of each layer
+        CountDownLatch waiterJoined = new CountDownLatch(1);
+        Future<?> waitingPull = executor.submit(() -> {
+            coordinator.pull(PullParams.create("image"), status -> waiterJoined.countDown());
+            return null;
+        });
+        assertTrue(waiterJoined.await(10, TimeUnit.SECONDS));
+        finishPull.countDown();
+
+        try {
+            waitingPull.get(10, TimeUnit.SECONDS);
+            fail("Pull should fail");
+        } catch (ExecutionException e) {
+            assertEquals(e.getCause().getMessage(), "pull failed");
+        }
+        try {
+            firstPull.get(10, TimeUnit.SECONDS);
+            fail("Pull should fail");
+        } catch (ExecutionException e) {
+            assertEquals(e.getCause().getMessage(), "pull failed");
+        }
+        verify(docker).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldNotJoinPullOfSameImageWithOtherCredentials() throws Exception {
+        CountDownLatch pullStarted = new CountDownLatch(1);
+        CountDownLatch finishPull = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            PullParams params = (PullParams)invocation.getArguments()[0];
+            if (params.getAuthConfigs() == null) {
+                pullStarted.countDown();
+                assertTrue(finishPull.await(10, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(docker).pull(any(PullParams.class), any(ProgressMonitor.class));
+
+        Future<?> firstPull = executor.submit(() -> {
+            coordinator.pull(PullParams.create("image"), ProgressMonitor.DEV_NULL);
+            return null;
+        });
+        assertTrue(pullStarted.await(10, TimeUnit.SECONDS));
+        coordinator.pull(PullParams.create("image").withAuthConfigs(credentials("user", "password")), ProgressMonitor.DEV_NULL);
+        finishPull.countDown();
+        firstPull.get(10, TimeUnit.SECONDS);
+
+        verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldPullImageAgainAfterPreviousPullIsFinished() throws Exception {
+        coordinator.pull(PullParams.create("image"), ProgressMonitor.DEV_NULL);
+        coordinator.pull(PullParams.create("image"), ProgressMonitor.DEV_NULL);
+
+        verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldCacheFoundImage() throws Exception {
+        when(docker.listImages(any(ListImagesParams.class))).thenReturn(Collections.singletonList(new Image()));
+
+        assertTrue(coordinator.isImageExistLocally("image"));
+        assertTrue(coordinator.isImageExistLocally("image"));
+
+        verify(docker, times(1)).listImages(any(ListImagesParams.class));
+    }
+
+    @Test
+    public void shouldNotCacheMissingImage() throws Exception {
+        when(docker.listImages(any(ListImagesParams.class))).thenReturn(Collections.emptyList());
+
+        assertFalse(coordinator.isImageExistLocally("image"));
+        assertFalse(coordinator.isImageExistLocally("image"));
+
+        verify(docker, times(2)).listImages(any(ListImagesParams.class));
+    }
+
+    @Test
+    public void shouldCheckImageAgainAfterInvalidation() throws Exception {
+        when(docker.listImages(any(ListImagesParams.class))).thenReturn(Collections.singletonList(new Image()));
+        coordinator.isImageExistLocally("image");
+
+        coordinator.invalidate("image");
+        coordinator.isImageExistLocally("image");
+
+        verify(docker, times(2)).listImages(any(ListImagesParams.class));
+    }
+
+    @Test
+    public void shouldCheckImageAgainAfterImageOfSameRepositoryIsRemoved() throws Exception {
+        when(docker.listImages(any(ListImagesParams.class))).thenReturn(Collections.singletonList(new Image()));
+        coordinator.isImageExistLocally("codenvy/ubuntu_jdk8");
+        coordinator.isImageExistLocally("codenvy/ubuntu_jdk8_x11");
+
+        coordinator.invalidate("registry.host:5000/codenvy/ubuntu_jdk8:latest");
+        coordinator.isImageExistLocally("codenvy/ubuntu_jdk8");
+        coordinator.isImageExistLocally("codenvy/ubuntu_jdk8_x11");
+
+        verify(docker, times(3)).listImages(any(ListImagesParams.class));
+    }
+
+    private static AuthConfigs credentials(String username, String password) {
+        AuthConfig authConfig = mock(AuthConfig.class);
+        when(authConfig.getUsername()).thenReturn(username);
+        when(authConfig.getPassword()).thenReturn(password);
+        AuthConfigs authConfigs = mock(AuthConfigs.class);
+        when(authConfigs.getConfigs()).thenReturn(Collections.singletonMap("registry.host:5000", authConfig));
+        return authConfigs;
+    }
+
+    private static ProgressStatus status(String id, String status) {
+        ProgressStatus progressStatus = new ProgressStatus();
+        progressStatus.setId(id);
+        progressStatus.setStatus(status);
+        return progressStatus;
+    }
+
+    private static void waitUntil(Condition condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.isTrue(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.isTrue());
+    }
+
+    private interface Condition {
+        boolean isTrue();
+    }
+}
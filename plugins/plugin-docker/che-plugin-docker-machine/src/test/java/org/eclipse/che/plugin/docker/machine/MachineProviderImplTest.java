@@ -1818,7 +1818,8 @@ public class MachineProviderImplTest {
                                            pathEscaper,
                                            extraHosts,
                                            dnsResolvers,
-                                           emptyMap());
+                                           emptyMap(),
+                                           new ImagePullCoordinator(dockerConnector, ImagePullCoordinator.IMAGE_CHECK_CACHE_TTL_MS));
         }
     }
 }
@@ -180,8 +180,13 @@ public class JavaReconciler {
             return;
         }
 
+        String newContent;
+        try {
+            newContent = editorWorkingCopy.getContentAsString();
+        } catch (ServerException e) {
+            throw new JavaModelException(e, 500);
+        }
         String oldContent = workingCopy.getBuffer().getContents();
-        String newContent = editorWorkingCopy.getContentAsString();
 
         TextEdit textEdit = new ReplaceEdit(0, oldContent.length(), newContent);
         workingCopy.applyTextEdit(textEdit, null);
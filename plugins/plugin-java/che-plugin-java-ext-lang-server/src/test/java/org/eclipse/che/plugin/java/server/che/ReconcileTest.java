@@ -63,7 +63,7 @@ public class ReconcileTest extends BaseTest {
     public void init() throws Exception {
         RequestTransmitter requestTransmitter = mock(RequestTransmitter.class);
         EventService eventService = new EventService();
-        EditorWorkingCopyManager editorWorkingCopyManager = new EditorWorkingCopyManager(null, eventService, requestTransmitter);
+        EditorWorkingCopyManager editorWorkingCopyManager = new EditorWorkingCopyManager(null, eventService, requestTransmitter, 64);
         reconciler = new JavaReconciler(new SemanticHighlightingReconciler(), eventService, requestTransmitter, null, editorWorkingCopyManager);
         this.workingCopy = project.findType("p1.X").getCompilationUnit(); //.getWorkingCopy(this.wcOwner, null);
     }
@@ -33,6 +33,15 @@ public class PublishDiagnosticsReceiver {
                     .withConsumer(params -> provider.get().processDiagnostics(params));
     }
 
+    @Inject
+    private void configureBatchReceiver(Provider<PublishDiagnosticsProcessor> provider, RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName("textDocument/publishDiagnostics/batch")
+                    .paramsAsListOfDto(PublishDiagnosticsParams.class)
+                    .noResult()
+                    .withConsumer(batch -> batch.forEach(params -> provider.get().processDiagnostics(params)));
+    }
+
     @Inject
     private void subscribe(RequestTransmitter transmitter) {
         transmitter.newRequest()
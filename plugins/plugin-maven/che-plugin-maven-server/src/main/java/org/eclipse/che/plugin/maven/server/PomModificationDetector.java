@@ -11,13 +11,16 @@
 package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.project.shared.dto.event.PomModifiedEventDto;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolveCache;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.io.File;
 
 import static java.nio.file.Files.isDirectory;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
@@ -28,21 +31,31 @@ public class PomModificationDetector {
 
     private final FileWatcherManager manager;
     private final EventService       eventService;
+    private final MavenResolveCache  resolveCache;
+    private final File               root;
 
     private int id;
 
     @Inject
-    public PomModificationDetector(EventService eventService, FileWatcherManager manager) {
+    public PomModificationDetector(EventService eventService,
+                                   FileWatcherManager manager,
+                                   MavenResolveCache resolveCache,
+                                   @Named("che.user.workspaces.storage") File root) {
         this.eventService = eventService;
         this.manager = manager;
+        this.resolveCache = resolveCache;
+        this.root = root;
     }
 
     @PostConstruct
     public void startWatcher() {
         id = manager.registerByMatcher(it -> !isDirectory(it) && POM_XML.equals(it.getFileName().toString()),
                                        EMPTY_CONSUMER,
-                                            it -> eventService.publish(newDto(PomModifiedEventDto.class).withPath(it)),
-                                       EMPTY_CONSUMER);
+                                       it -> {
+                                           resolveCache.invalidate(new File(root, it));
+                                           eventService.publish(newDto(PomModifiedEventDto.class).withPath(it));
+                                       },
+                                       it -> resolveCache.invalidate(new File(root, it)));
     }
 
     @PreDestroy
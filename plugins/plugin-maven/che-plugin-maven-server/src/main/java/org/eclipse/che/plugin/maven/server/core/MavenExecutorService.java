@@ -11,19 +11,24 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Executes maven tasks, by default with up to {@link #DEFAULT_PARALLELISM} threads.
+ * The number of threads may be changed with <i>che.maven.executor.threads</i> property.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
@@ -31,13 +36,43 @@ public class MavenExecutorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
-    private final ExecutorService service;
+    /**
+     * Each resolving thread may use its own maven server process,
+     * so the default number of threads is kept small.
+     */
+    static final int DEFAULT_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final ThreadPoolExecutor service;
 
     public MavenExecutorService() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    public MavenExecutorService(int parallelism) {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d")
                                                                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                                                 .build();
-        service = Executors.newFixedThreadPool(1, threadFactory);
+        service = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    @Inject(optional = true)
+    void setParallelism(@Named("che.maven.executor.threads") int parallelism) {
+        if (parallelism < 1) {
+            LOG.warn("Ignoring invalid number of maven executor threads {}", parallelism);
+            return;
+        }
+        if (parallelism > service.getMaximumPoolSize()) {
+            service.setMaximumPoolSize(parallelism);
+            service.setCorePoolSize(parallelism);
+        } else {
+            service.setCorePoolSize(parallelism);
+            service.setMaximumPoolSize(parallelism);
+        }
+    }
+
+    /** Returns the maximum number of tasks that are executed simultaneously. */
+    public int getParallelism() {
+        return service.getMaximumPoolSize();
     }
 
     public void submit(Runnable task) {
@@ -23,21 +23,25 @@ import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolveCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -66,6 +70,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenResolveCache     resolveCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -78,12 +83,14 @@ public class MavenProjectManager {
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
-                               EclipseWorkspaceProvider workspaceProvider) {
+                               EclipseWorkspaceProvider workspaceProvider,
+                               MavenResolveCache resolveCache) {
         this.wrapperManager = wrapperManager;
         this.serverManager = serverManager;
         this.terminal = terminal;
         this.mavenNotifier = mavenNotifier;
         this.workspaceProvider = workspaceProvider;
+        this.resolveCache = resolveCache;
         mavenWorkspaceCache = new MavenWorkspaceCache();
         keyToProjectMap = new HashMap<>();
         projectToMavenProjectMap = new HashMap<>();
@@ -113,18 +120,22 @@ public class MavenProjectManager {
     }
 
     public void resolveMavenProject(IProject project, MavenProject mavenProject) {
-        MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
-        try {
-
-            mavenNotifier.setText("Resolving project: " + mavenProject.getName());
-            mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
-            dispatcher.projectResolved(mavenProject, modifications);
-
-        } finally {
-            wrapperManager.release(mavenServer);
+        mavenNotifier.setText("Resolving project: " + mavenProject.getName());
+        long start = System.nanoTime();
+        MavenWorkspaceCache workspaceCache = copyWorkspaceCache();
+        MavenProjectModifications modifications = mavenProject.resolveFromCache(project, resolveCache, workspaceCache);
+        if (modifications == null) {
+            MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
+            try {
+                mavenServer.customize(workspaceCache, terminal, mavenNotifier, false, true);
+                modifications = mavenProject.resolve(project, mavenServer, serverManager, resolveCache, workspaceCache);
+            } finally {
+                wrapperManager.release(mavenServer);
+            }
         }
-
+        mavenNotifier.setText("Resolved project: " + mavenProject.getName() + " in "
+                              + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        dispatcher.projectResolved(mavenProject, modifications);
     }
 
 
@@ -474,6 +485,61 @@ public class MavenProjectManager {
         }
     }
 
+    /**
+     * Returns given projects in the reactor order, each project goes after the given projects it depends on.
+     * Each project is mapped to the workspace projects it depends on, i.e. to its parent
+     * and to the projects which artifacts are its dependencies.
+     */
+    public Map<MavenProject, Set<MavenProject>> findReactorDependencies(Collection<MavenProject> projects) {
+        readLock.lock();
+        try {
+            Map<MavenProject, Set<MavenProject>> dependencies = new HashMap<>();
+            for (MavenProject project : projects) {
+                Set<MavenProject> projectDependencies = new HashSet<>();
+                MavenProject parent = moduleToParentMap.get(project);
+                if (parent == null && project.getParentKey() != null) {
+                    parent = keyToProjectMap.get(project.getParentKey());
+                }
+                if (parent != null) {
+                    projectDependencies.add(parent);
+                }
+                for (MavenArtifact artifact : project.getDependencies()) {
+                    MavenProject dependency =
+                            keyToProjectMap.get(new MavenKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+                    if (dependency != null) {
+                        projectDependencies.add(dependency);
+                    }
+                }
+                projectDependencies.remove(project);
+                dependencies.put(project, projectDependencies);
+            }
+
+            Map<MavenProject, Set<MavenProject>> result = new LinkedHashMap<>();
+            Set<MavenProject> visiting = new HashSet<>();
+            for (MavenProject project : projects) {
+                addInReactorOrder(project, dependencies, visiting, result);
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void addInReactorOrder(MavenProject project,
+                                   Map<MavenProject, Set<MavenProject>> dependencies,
+                                   Set<MavenProject> visiting,
+                                   Map<MavenProject, Set<MavenProject>> result) {
+        Set<MavenProject> projectDependencies = dependencies.get(project);
+        // cyclic dependencies are kept in the order they are met
+        if (projectDependencies == null || result.containsKey(project) || !visiting.add(project)) {
+            return;
+        }
+        for (MavenProject dependency : projectDependencies) {
+            addInReactorOrder(dependency, dependencies, visiting, result);
+        }
+        result.put(project, projectDependencies);
+    }
+
     private boolean contains(Set<MavenKey> mavenKeys, String artifactId, String groupId, String version) {
         return mavenKeys.stream().filter(key -> Objects.equals(key.getArtifactId(), artifactId)
                                                 && Objects.equals(key.getGroupId(), groupId)
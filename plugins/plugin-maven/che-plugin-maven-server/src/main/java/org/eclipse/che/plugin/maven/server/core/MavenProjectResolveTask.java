@@ -13,7 +13,11 @@ package org.eclipse.che.plugin.maven.server.core;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.core.resources.IProject;
 
+import java.util.Objects;
+
 /**
+ * Resolves a maven project. Tasks are equal when they resolve the same project.
+ *
  * @author Evgen Vidolob
  */
 public class MavenProjectResolveTask implements MavenProjectTask {
@@ -40,4 +44,29 @@ public class MavenProjectResolveTask implements MavenProjectTask {
         }
 
     }
+
+    public MavenProject getMavenProject() {
+        return mavenProject;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MavenProjectResolveTask)) {
+            return false;
+        }
+        return Objects.equals(mavenProject, ((MavenProjectResolveTask)o).mavenProject);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(mavenProject);
+    }
+
+    @Override
+    public String toString() {
+        return "MavenProjectResolveTask{project=" + mavenProject.getProject().getFullPath() + '}';
+    }
 }
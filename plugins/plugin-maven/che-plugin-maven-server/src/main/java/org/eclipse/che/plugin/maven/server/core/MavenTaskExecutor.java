@@ -13,14 +13,24 @@ package org.eclipse.che.plugin.maven.server.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Executor for {@link MavenProjectTask}. Uses {@link MavenExecutorService} as executor service.
  *
+ * <p>Up to {@link MavenExecutorService#getParallelism()} tasks are performed simultaneously.
+ * A task may be submitted with the tasks it depends on, such task is not started
+ * while any of those tasks is waiting or running. Tasks which are equal to the already
+ * waiting tasks are ignored.
+ *
  * @author Evgen Vidolob
  */
 public class MavenTaskExecutor {
@@ -28,8 +38,14 @@ public class MavenTaskExecutor {
 
     private final MavenExecutorService  service;
     private final MavenProgressNotifier notifier;
-    private final Queue<MavenProjectTask> queue = new LinkedList<>();
+
+    /** Waiting tasks in submission order, guarded by itself. */
+    private final Set<MavenProjectTask>                        queue        = new LinkedHashSet<>();
+    private final Map<MavenProjectTask, Set<MavenProjectTask>> dependencies = new HashMap<>();
+    private final Set<MavenProjectTask>                        running      = new HashSet<>();
+
     private boolean isWorking;
+    private int     tasksDone;
 
     public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier) {
         this.service = service;
@@ -37,82 +53,129 @@ public class MavenTaskExecutor {
     }
 
     public void submitTask(MavenProjectTask task) {
+        submitTasks(Collections.singletonMap(task, Collections.emptySet()));
+    }
+
+    /**
+     * Submits tasks mapped to the tasks they depend on. Tasks are started in
+     * the iteration order of the given map as soon as their dependencies are done.
+     */
+    public void submitTasks(Map<? extends MavenProjectTask, ? extends Collection<? extends MavenProjectTask>> tasks) {
         synchronized (queue) {
-            //if no running tasks, start immediately
-            if (!isWorking) {
-                isWorking = true;
-                runTask(task);
-            } else {
-                if (!queue.contains(task)) {
-                    queue.add(task);
+            for (Map.Entry<? extends MavenProjectTask, ? extends Collection<? extends MavenProjectTask>> entry : tasks.entrySet()) {
+                MavenProjectTask task = entry.getKey();
+                if (queue.add(task)) {
+                    dependencies.put(task, new HashSet<>(entry.getValue()));
+                } else {
+                    dependencies.get(task).addAll(entry.getValue());
                 }
+                dependencies.get(task).remove(task);
             }
+            scheduleTasks();
         }
     }
 
     public void removeTask(MavenProjectTask task) {
         synchronized (queue) {
-            queue.remove(task);
+            if (queue.remove(task)) {
+                dependencies.remove(task);
+                scheduleTasks();
+            }
         }
     }
 
     public void stop() {
         synchronized (queue) {
             queue.clear();
+            dependencies.clear();
+            scheduleTasks();
         }
     }
 
-    private void runTask(MavenProjectTask task) {
-       service.submit(() -> doRunTasks(task));
-    }
-
-    private void doRunTasks(MavenProjectTask task) {
-        int taskDone = 0;
-        notifier.start();
-        while (true) {
-            taskDone++;
-            int restTasks;
-            synchronized (queue) {
-                restTasks = queue.size();
+    /** Starts waiting tasks which dependencies are done, must be called under the queue lock. */
+    private void scheduleTasks() {
+        if (queue.isEmpty() && running.isEmpty()) {
+            if (isWorking) {
+                isWorking = false;
+                tasksDone = 0;
+                notifier.stop();
             }
+            queue.notifyAll();
+            return;
+        }
+        if (!isWorking) {
+            isWorking = true;
+            notifier.start();
+        }
 
-            notifier.setPercent((double)taskDone / (double)(restTasks + taskDone));
-            try {
-                task.perform();
-            } catch (Throwable throwable) {
-                LOG.error(throwable.getMessage(), throwable);
-                //TODO need to notify user some how
+        Iterator<MavenProjectTask> it = queue.iterator();
+        while (it.hasNext() && running.size() < service.getParallelism()) {
+            MavenProjectTask task = it.next();
+            if (isWaiting(task)) {
+                continue;
             }
+            it.remove();
+            dependencies.remove(task);
+            runTask(task);
+        }
 
-            synchronized (queue) {
-                task = queue.poll();
-                if (task == null) {
-                    isWorking = false;
-                    notifier.stop();
-                    return;
-                }
-            }
+        if (running.isEmpty() && !queue.isEmpty()) {
+            // all waiting tasks depend on each other, start the earliest one to break the cycle
+            it = queue.iterator();
+            MavenProjectTask task = it.next();
+            LOG.warn("Cyclic dependency between maven tasks detected, starting {}", task);
+            it.remove();
+            dependencies.remove(task);
+            runTask(task);
+        }
+    }
 
+    private boolean isWaiting(MavenProjectTask task) {
+        for (MavenProjectTask dependency : dependencies.get(task)) {
+            if (running.contains(dependency) || queue.contains(dependency)) {
+                return true;
+            }
         }
+        return false;
     }
 
-    public void waitForEndAllTasks() {
-        if(!isWorking){
-            return;
+    private void runTask(MavenProjectTask task) {
+        running.add(task);
+        try {
+            service.submit(() -> doRunTask(task));
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Maven task {} rejected: {}", task, e.getMessage());
+            running.remove(task);
         }
+    }
 
-        Semaphore semaphore = new Semaphore(1);
+    private void doRunTask(MavenProjectTask task) {
         try {
-            semaphore.acquire();
-            submitTask(semaphore::release);
+            task.perform();
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+            //TODO need to notify user some how
+        } finally {
+            synchronized (queue) {
+                running.remove(task);
+                tasksDone++;
+                notifier.setPercent((double)tasksDone / (double)(tasksDone + running.size() + queue.size()));
+                scheduleTasks();
+            }
+        }
+    }
 
-            while (true) {
-                if (!isWorking || semaphore.tryAcquire(1, TimeUnit.SECONDS)) {
-                    return;
+    /** Waits until all the submitted tasks are done. */
+    public void waitForEndAllTasks() {
+        synchronized (queue) {
+            try {
+                while (!queue.isEmpty() || !running.isEmpty()) {
+                    queue.wait();
                 }
+            } catch (InterruptedException e) {
+                LOG.debug(e.getMessage(), e);
+                Thread.currentThread().interrupt();
             }
-        } catch (InterruptedException e) {
-            LOG.debug(e.getMessage(), e);
         }
     }
 }
@@ -45,10 +45,12 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
 
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.MAVEN_ID;
 
@@ -154,14 +156,21 @@ public class MavenWorkspace {
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
-        for (MavenProject mavenProject : needResolve) {
-
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-            }));
-        }
+        Map<MavenProjectResolveTask, List<MavenProjectResolveTask>> tasks = new LinkedHashMap<>();
+        manager.findReactorDependencies(needResolve).forEach((mavenProject, dependencies) -> {
+            List<MavenProjectResolveTask> dependencyTasks = dependencies.stream()
+                                                                        .map(this::createResolveTask)
+                                                                        .collect(Collectors.toList());
+            tasks.put(createResolveTask(mavenProject), dependencyTasks);
+        });
+        resolveExecutor.submitTasks(tasks);
+    }
 
+    private MavenProjectResolveTask createResolveTask(MavenProject mavenProject) {
+        return new MavenProjectResolveTask(mavenProject, manager, () -> {
+            addSourcesFromBuildHelperPlugin(mavenProject);
+            classpathManager.updateClasspath(mavenProject);
+        });
     }
 
     private void updateJavaProject(MavenProject project) {
@@ -75,21 +75,7 @@ public class MavenModelReader {
     public MavenModelReaderResult resolveMavenProject(File pom, MavenServerWrapper mavenServer, List<String> activeProfiles,
                                                       List<String> inactiveProfiles, MavenServerManager serverManager) {
         try {
-            MavenServerResult resolveProject = mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles);
-            MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
-            if (projectInfo != null) {
-                return new MavenModelReaderResult(projectInfo.getMavenModel(),
-                                                  projectInfo.getActiveProfiles(),
-                                                  emptyList(),
-                                                  resolveProject.getProblems(),
-                                                  resolveProject.getUnresolvedArtifacts());
-            } else {
-                MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-                readMavenProject.getProblems().addAll(resolveProject.getProblems());
-                readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
-                return readMavenProject;
-            }
-
+            return resolveMavenProject(pom, mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles), serverManager);
         } catch (Throwable t) {
             String message = t.getMessage();
             LOG.info(message, t);
@@ -103,6 +89,35 @@ public class MavenModelReader {
         }
     }
 
+    /**
+     * Converts result of maven server resolution to the result of this reader,
+     * the pom is read without maven server if the server failed to build the project.
+     */
+    public MavenModelReaderResult resolveMavenProject(File pom, MavenServerResult resolveProject, MavenServerManager serverManager) {
+        if (resolveProject.getProjectInfo() != null) {
+            return resolvedMavenProject(resolveProject);
+        } else {
+            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+            readMavenProject.getProblems().addAll(resolveProject.getProblems());
+            readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
+            return readMavenProject;
+        }
+    }
+
+    /**
+     * Converts result of maven server resolution which contains the built project to the result of this reader,
+     * unlike {@link #resolveMavenProject(File, MavenServerResult, MavenServerManager)} it never uses maven server.
+     */
+    public MavenModelReaderResult resolvedMavenProject(MavenServerResult resolveProject) {
+        MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
+        return new MavenModelReaderResult(projectInfo.getMavenModel(),
+                                          projectInfo.getActiveProfiles(),
+                                          emptyList(),
+                                          resolveProject.getProblems(),
+                                          resolveProject.getUnresolvedArtifacts(),
+                                          resolveProject);
+    }
+
     public MavenModelReaderResult readMavenProject(File pom, MavenServerManager serverManager) {
         Pair<ModelReadingResult, Pair<List<String>, List<String>>> readResult = readModel(pom, serverManager);
         MavenModel model = readResult.first.model;
@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.maven.server.core.project;
 import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.maven.data.MavenModel;
 import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.maven.server.MavenServerResult;
 
 import java.util.List;
 import java.util.Set;
@@ -28,14 +29,26 @@ public class MavenModelReaderResult {
     private final List<String>              inactiveProfiles;
     private final List<MavenProjectProblem> problems;
     private final Set<MavenKey>             unresolvedArtifacts;
+    private final MavenServerResult         serverResult;
 
     public MavenModelReaderResult(MavenModel mavenModel, List<String> activeProfiles, List<String> inactiveProfiles,
                                   List<MavenProjectProblem> problems, Set<MavenKey> unresolvedArtifacts) {
+        this(mavenModel, activeProfiles, inactiveProfiles, problems, unresolvedArtifacts, null);
+    }
+
+    public MavenModelReaderResult(MavenModel mavenModel, List<String> activeProfiles, List<String> inactiveProfiles,
+                                  List<MavenProjectProblem> problems, Set<MavenKey> unresolvedArtifacts, MavenServerResult serverResult) {
         this.mavenModel = mavenModel;
         this.activeProfiles = activeProfiles;
         this.inactiveProfiles = inactiveProfiles;
         this.problems = problems;
         this.unresolvedArtifacts = unresolvedArtifacts;
+        this.serverResult = serverResult;
+    }
+
+    /** Returns result of maven server the model is taken from, or {@code null} if the model is read without maven server. */
+    public MavenServerResult getServerResult() {
+        return serverResult;
     }
 
     public Set<MavenKey> getUnresolvedArtifacts() {
@@ -21,6 +21,8 @@ import org.eclipse.che.maven.data.MavenProfile;
 import org.eclipse.che.maven.data.MavenProjectProblem;
 import org.eclipse.che.maven.data.MavenRemoteRepository;
 import org.eclipse.che.maven.data.MavenResource;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenServerResult;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.core.resources.IFile;
@@ -171,17 +173,61 @@ public class MavenProject {
      *         to resolve
      * @param mavenServer
      *         the maven server
+     * @param resolveCache
+     *         cache where the result of resolution is stored
+     * @param workspaceCache
+     *         projects of the workspace the maven server is customized with
      * @return the modification types that applied to this project
      */
-    public MavenProjectModifications resolve(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
+    public MavenProjectModifications resolve(IProject project,
+                                             MavenServerWrapper mavenServer,
+                                             MavenServerManager serverManager,
+                                             MavenResolveCache resolveCache,
+                                             MavenWorkspaceCache workspaceCache) {
         MavenModelReader reader = new MavenModelReader();
+        File pom = getPom(project);
+        List<String> activeProfiles = info.activeProfiles;
+        List<String> inactiveProfiles = info.inactiveProfiles;
 
         MavenModelReaderResult modelReaderResult =
-                reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+                reader.resolveMavenProject(pom, mavenServer, activeProfiles, inactiveProfiles, serverManager);
+        if (modelReaderResult.getServerResult() != null) {
+            resolveCache.put(pom,
+                             activeProfiles,
+                             inactiveProfiles,
+                             workspaceCache,
+                             mavenServer.getLocalRepository(),
+                             modelReaderResult.getServerResult());
+        }
 
         return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
     }
 
+    /**
+     * Builds project model from the result of the previous resolution, if that result is still up to date.
+     * Maven server is not used.
+     *
+     * @param project
+     *         to resolve
+     * @param resolveCache
+     *         cache where the result of the previous resolution is stored
+     * @param workspaceCache
+     *         projects of the workspace
+     * @return the modification types that applied to this project or {@code null}
+     * if there is no up to date result of the previous resolution
+     */
+    public MavenProjectModifications resolveFromCache(IProject project,
+                                                      MavenResolveCache resolveCache,
+                                                      MavenWorkspaceCache workspaceCache) {
+        File pom = getPom(project);
+        MavenServerResult serverResult = resolveCache.get(pom, info.activeProfiles, info.inactiveProfiles, workspaceCache);
+        if (serverResult == null) {
+            return null;
+        }
+        MavenModelReaderResult modelReaderResult = new MavenModelReader().resolvedMavenProject(serverResult);
+        return setModel(modelReaderResult, true, false);
+    }
+
     public MavenProjectModifications read(MavenServerManager manager) {
         return read(project, manager);
     }
@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.eclipse.che.plugin.maven.server.core.classpath.MavenLocalRepositoryUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Keeps results of maven project resolution on disk, so projects that are not changed
+ * between restarts of the workspace agent are not resolved by the maven server again.
+ * Note that reading of the project model still interpolates it with {@code MavenServerManager},
+ * so the cache saves the dependency resolution but not the start of the maven server.
+ *
+ * <p>A result is stored per pom file together with the hash of the resolution inputs:
+ * the content of the pom, active and inactive profiles, maven settings and the projects
+ * of the workspace. The result is returned only if the hash is not changed and none of
+ * the files the result depends on, i.e. parent poms and dependency artifacts, has been
+ * modified since the result was stored. Results with problems, unresolved artifacts or
+ * snapshot artifacts from the local repository are not stored, since they may differ
+ * on the next resolution even if nothing is changed in the workspace, the same is true
+ * for results whose parent is a snapshot from the local repository.
+ *
+ * <p>Entries are stored with java serialization, so each entry starts with the format version
+ * and the stamp of the classes of the stored result. Entries written by another version
+ * of the cache or with other maven data classes are ignored and removed.
+ */
+@Singleton
+public class MavenResolveCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenResolveCache.class);
+
+    private static final String ENTRY_EXTENSION = ".result";
+    /** Must be increased on every change of the {@link Entry} structure. */
+    private static final int    FORMAT_VERSION  = 1;
+    private static final String CLASSES_STAMP   = classesStamp();
+
+    private final Path cacheDir;
+
+    @Inject
+    public MavenResolveCache(@Named("che.maven.resolve_cache.dir") String cacheDir) {
+        this.cacheDir = Paths.get(cacheDir);
+    }
+
+    /**
+     * Returns result of the previous resolution of the pom or {@code null} if there is no such result
+     * or it is not up to date.
+     *
+     * @param pom
+     *         pom file of the project
+     * @param activeProfiles
+     *         profiles which are active for resolution
+     * @param inactiveProfiles
+     *         profiles which are inactive for resolution
+     * @param workspaceCache
+     *         projects of the workspace used for resolution
+     */
+    public MavenServerResult get(File pom, List<String> activeProfiles, List<String> inactiveProfiles, MavenWorkspaceCache workspaceCache) {
+        Path entryPath = entryPath(pom);
+        if (!Files.exists(entryPath)) {
+            return null;
+        }
+        Entry entry;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(entryPath)))) {
+            if (in.readInt() != FORMAT_VERSION || !CLASSES_STAMP.equals(in.readUTF())) {
+                LOG.debug("Cached resolution result of {} is stored in other format", pom);
+                invalidate(pom);
+                return null;
+            }
+            entry = (Entry)in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOG.warn("Can't read cached resolution result of {}: {}", pom, e.getMessage());
+            invalidate(pom);
+            return null;
+        }
+        try {
+            if (entry.inputsHash.equals(inputsHash(pom, activeProfiles, inactiveProfiles, workspaceCache)) && entry.isUpToDate()) {
+                return entry.result;
+            }
+        } catch (IOException e) {
+            LOG.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Stores result of the resolution of the pom, does nothing if the result can't be reused.
+     *
+     * @param localRepository
+     *         local repository of the maven server which resolved the pom, used to find parent poms
+     *         which are not in the workspace
+     * @see #get(File, List, List, MavenWorkspaceCache)
+     */
+    public void put(File pom,
+                    List<String> activeProfiles,
+                    List<String> inactiveProfiles,
+                    MavenWorkspaceCache workspaceCache,
+                    File localRepository,
+                    MavenServerResult result) {
+        if (result.getProjectInfo() == null || !result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+            return;
+        }
+        MavenModel model = result.getProjectInfo().getMavenModel();
+        Set<File> dependencies = new LinkedHashSet<>(parentPoms(pom));
+        if (model.getParent() != null) {
+            MavenKey parentKey = model.getParent().getMavenKey();
+            MavenWorkspaceCache.Entry parent = workspaceCache.findEntry(parentKey);
+            if (parent != null) {
+                dependencies.add(parent.getFile(MavenConstants.POM_EXTENSION));
+            } else if (isSnapshot(parentKey.getVersion())) {
+                return;
+            } else if (localRepository != null) {
+                dependencies.add(MavenLocalRepositoryUtil.getFileForArtifact(localRepository,
+                                                                             parentKey.getGroupId(),
+                                                                             parentKey.getArtifactId(),
+                                                                             parentKey.getVersion(),
+                                                                             null,
+                                                                             MavenConstants.POM_EXTENSION));
+            }
+        }
+        for (MavenArtifact artifact : model.getDependencies()) {
+            if (artifact.getFile() == null) {
+                continue;
+            }
+            if (isSnapshot(artifact) && !MavenConstants.POM_FILE_NAME.equals(artifact.getFile().getName())) {
+                return;
+            }
+            dependencies.add(artifact.getFile());
+        }
+
+        Path entryPath = entryPath(pom);
+        try {
+            Entry entry = new Entry(inputsHash(pom, activeProfiles, inactiveProfiles, workspaceCache), result, dependencies);
+            Files.createDirectories(cacheDir);
+            Path tmp = Files.createTempFile(cacheDir, entryPath.getFileName().toString(), ".tmp");
+            try {
+                try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(CLASSES_STAMP);
+                    out.writeObject(entry);
+                }
+                Files.move(tmp, entryPath, REPLACE_EXISTING, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Can't store resolution result of {}: {}", pom, e.getMessage());
+        }
+    }
+
+    /** Removes stored result of the resolution of the pom. */
+    public void invalidate(File pom) {
+        try {
+            Files.deleteIfExists(entryPath(pom));
+        } catch (IOException e) {
+            LOG.warn("Can't remove cached resolution result of {}: {}", pom, e.getMessage());
+        }
+    }
+
+    private Path entryPath(File pom) {
+        return cacheDir.resolve(Hashing.sha256().hashString(pom.getAbsolutePath(), UTF_8) + ENTRY_EXTENSION);
+    }
+
+    private static String inputsHash(File pom,
+                                      List<String> activeProfiles,
+                                      List<String> inactiveProfiles,
+                                      MavenWorkspaceCache workspaceCache) throws IOException {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(pom.getAbsolutePath(), UTF_8).putBytes(Files.readAllBytes(pom.toPath()));
+        putStrings(hasher, activeProfiles);
+        putStrings(hasher, inactiveProfiles);
+        putFile(hasher, new File(System.getProperty("user.home"), ".m2/settings.xml"));
+        if (System.getenv("M2_HOME") != null) {
+            putFile(hasher, new File(System.getenv("M2_HOME"), "conf/settings.xml"));
+        }
+
+        TreeMap<String, String> workspaceProjects = new TreeMap<>();
+        for (MavenKey key : workspaceCache.getAllKeys()) {
+            MavenWorkspaceCache.Entry entry = workspaceCache.findEntry(key);
+            workspaceProjects.put(key.getGroupId() + ':' + key.getArtifactId() + ':' + key.getVersion(),
+                                  String.valueOf(entry.getFile(MavenConstants.POM_EXTENSION)));
+        }
+        workspaceProjects.forEach((key, file) -> hasher.putString(key, UTF_8).putString(file, UTF_8));
+        return hasher.hash().toString();
+    }
+
+    private static void putStrings(Hasher hasher, List<String> strings) {
+        if (strings != null) {
+            hasher.putInt(strings.size());
+            strings.forEach(string -> hasher.putString(string, UTF_8));
+        } else {
+            hasher.putInt(-1);
+        }
+    }
+
+    private static void putFile(Hasher hasher, File file) throws IOException {
+        if (file.isFile()) {
+            hasher.putBytes(Files.readAllBytes(file.toPath()));
+        } else {
+            hasher.putInt(-1);
+        }
+    }
+
+    /** Returns poms of the directories above the project which are the usual place for parent poms. */
+    private static List<File> parentPoms(File pom) {
+        List<File> poms = new ArrayList<>();
+        File dir = pom.getAbsoluteFile().getParentFile().getParentFile();
+        while (dir != null && new File(dir, MavenConstants.POM_FILE_NAME).isFile()) {
+            poms.add(new File(dir, MavenConstants.POM_FILE_NAME));
+            dir = dir.getParentFile();
+        }
+        return poms;
+    }
+
+    private static boolean isSnapshot(MavenArtifact artifact) {
+        return isSnapshot(artifact.getBaseVersion() != null ? artifact.getBaseVersion() : artifact.getVersion());
+    }
+
+    private static boolean isSnapshot(String version) {
+        return version != null && version.endsWith(MavenConstants.SNAPSHOT);
+    }
+
+    /**
+     * Returns stamp of the location the maven data classes are loaded from, it is changed
+     * when the classes are rebuilt, so the entries serialized with previous classes are not read.
+     */
+    private static String classesStamp() {
+        CodeSource codeSource = MavenServerResult.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "";
+        }
+        try {
+            File location = new File(codeSource.getLocation().toURI());
+            return location.getPath() + ':' + location.lastModified() + ':' + location.length();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return codeSource.getLocation().toString();
+        }
+    }
+
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String            inputsHash;
+        private final MavenServerResult result;
+        private final List<FileStamp>   dependencies;
+
+        Entry(String inputsHash, MavenServerResult result, Set<File> dependencies) {
+            this.inputsHash = inputsHash;
+            this.result = result;
+            this.dependencies = new ArrayList<>(dependencies.size());
+            for (File dependency : dependencies) {
+                this.dependencies.add(new FileStamp(dependency));
+            }
+        }
+
+        boolean isUpToDate() {
+            for (FileStamp dependency : dependencies) {
+                if (!dependency.equals(new FileStamp(dependency.file))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class FileStamp implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final File file;
+        private final long lastModified;
+        private final long length;
+
+        FileStamp(File file) {
+            this.file = file;
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp that = (FileStamp)obj;
+            return lastModified == that.lastModified && length == that.length && file.equals(that.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return file.hashCode();
+        }
+    }
+}
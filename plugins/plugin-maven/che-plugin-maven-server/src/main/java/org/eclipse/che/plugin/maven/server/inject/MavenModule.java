@@ -11,8 +11,10 @@
 package org.eclipse.che.plugin.maven.server.inject;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.project.server.handlers.ProjectHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
@@ -33,6 +35,8 @@ import org.eclipse.che.plugin.maven.server.projecttype.handler.MavenProjectInitH
 import org.eclipse.che.plugin.maven.server.projecttype.handler.SimpleGeneratorStrategy;
 import org.eclipse.che.plugin.maven.server.rest.MavenServerService;
 
+import java.nio.file.Paths;
+
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 
 /** @author Artem Zatsarynnyi */
@@ -64,4 +68,11 @@ public class MavenModule extends AbstractModule {
         bind(PomChangeListener.class).asEagerSingleton();
         bind(PomModificationDetector.class).asEagerSingleton();
     }
+
+    @Provides
+    @Named("che.maven.resolve_cache.dir")
+    @Singleton
+    protected String provideResolveCacheDir(@Named("che.workspace.metadata") String wsMetadata) {
+        return Paths.get(System.getProperty("user.home"), wsMetadata, "maven", "resolve-cache").toString();
+    }
 }
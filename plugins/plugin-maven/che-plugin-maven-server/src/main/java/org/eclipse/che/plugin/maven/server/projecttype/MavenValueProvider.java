@@ -17,6 +17,7 @@ import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.commons.xml.XMLTreeException;
+import org.eclipse.che.commons.xml.XMLTreeReader;
 import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.ide.maven.tools.Resource;
 import org.eclipse.che.maven.data.MavenResource;
@@ -24,6 +25,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -125,23 +127,36 @@ public class MavenValueProvider extends ReadonlyValueProvider {
 
     private List<String> readFromPom(String attributeName)
             throws ServerException, ForbiddenException, IOException, XMLTreeException, ValueStorageException {
-        final Model model = readModel(projectFolder);
         switch (attributeName) {
             case ARTIFACT_ID:
-                return singletonList(model.getArtifactId());
+                return singletonList(readPom(projectFolder, "/project/artifactId").getSingleText("/project/artifactId"));
             case GROUP_ID:
-                return singletonList(model.getGroupId());
+                return singletonList(readPom(projectFolder, "/project/groupId").getSingleText("/project/groupId"));
             case PACKAGING:
-                String packaging = model.getPackaging();
+                String packaging = readPom(projectFolder, "/project/packaging").getSingleText("/project/packaging");
                 return singletonList(packaging != null ? packaging : DEFAULT_PACKAGING);
             case VERSION:
-                return singletonList(model.getVersion());
+                return singletonList(readPom(projectFolder, "/project/version").getSingleText("/project/version"));
             case PARENT_ARTIFACT_ID:
-                return singletonList(model.getParent() == null ? "" : model.getParent().getArtifactId());
+                return singletonList(readParentCoordinate("/project/parent/artifactId"));
             case PARENT_GROUP_ID:
-                return singletonList(model.getParent() == null ? "" : model.getParent().getGroupId());
+                return singletonList(readParentCoordinate("/project/parent/groupId"));
             case PARENT_VERSION:
-                return singletonList(model.getParent() == null ? "" : model.getParent().getVersion());
+                return singletonList(readParentCoordinate("/project/parent/version"));
+            default:
+                return readBuildAttributeFromPom(attributeName);
+        }
+    }
+
+    private String readParentCoordinate(String path) throws ServerException, ForbiddenException, IOException, ValueStorageException {
+        final XMLTreeReader pom = readPom(projectFolder, "/project/parent", path);
+        return pom.hasSingle("/project/parent") ? pom.getSingleText(path) : "";
+    }
+
+    private List<String> readBuildAttributeFromPom(String attributeName)
+            throws ServerException, ForbiddenException, IOException, XMLTreeException, ValueStorageException {
+        final Model model = readModel(projectFolder);
+        switch (attributeName) {
             case SOURCE_FOLDER:
                 if (model.getBuild() != null && model.getBuild().getSourceDirectory() != null) {
                     return singletonList(model.getBuild().getSourceDirectory());
@@ -172,11 +187,26 @@ public class MavenValueProvider extends ReadonlyValueProvider {
     }
 
     protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
+        return Model.readFrom(getPomFile(projectFolder).getInputStream());
+    }
+
+    /**
+     * Reads only text of the elements selected by given paths from the pom.xml,
+     * it is much cheaper than {@link #readModel(FolderEntry)} when a single value is needed.
+     */
+    protected XMLTreeReader readPom(FolderEntry projectFolder, String... paths)
+            throws ValueStorageException, ServerException, ForbiddenException, IOException {
+        try (InputStream is = getPomFile(projectFolder).getInputStream()) {
+            return XMLTreeReader.read(is, paths);
+        }
+    }
+
+    private FileEntry getPomFile(FolderEntry projectFolder) throws ValueStorageException, ServerException {
         FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        return pomFile;
     }
 
     protected void throwReadException(Exception e) throws ValueStorageException {
@@ -28,6 +28,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolveCache;
 import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
 import org.eclipse.che.plugin.maven.shared.MessageType;
 import org.eclipse.che.plugin.maven.shared.dto.NotificationMessage;
@@ -87,7 +88,8 @@ public class WorkspaceTest extends BaseTest {
         };
         MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
         mavenProjectManager =
-                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider(),
+                                        mock(MavenResolveCache.class));
         mavenWorkspace = new MavenWorkspace(mavenProjectManager,
                                             mavenNotifier,
                                             new MavenExecutorService(),
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MavenTaskExecutor}
+ */
+public class MavenTaskExecutorTest {
+    private MavenExecutorService  executorService;
+    private MavenProgressNotifier notifier;
+    private MavenTaskExecutor     taskExecutor;
+    private List<String>          performed;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        executorService = new MavenExecutorService(4);
+        notifier = mock(MavenProgressNotifier.class);
+        taskExecutor = new MavenTaskExecutor(executorService, notifier);
+        performed = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void shouldPerformIndependentTasksInParallel() throws Exception {
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<MavenProjectTask, Collection<MavenProjectTask>> tasks = new LinkedHashMap<>();
+        for (String name : asList("a", "b", "c")) {
+            tasks.put(new NamedTask(name, () -> {
+                started.countDown();
+                release.await();
+            }), Collections.emptySet());
+        }
+
+        taskExecutor.submitTasks(tasks);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        taskExecutor.waitForEndAllTasks();
+        assertEquals(performed.size(), 3);
+        verify(notifier).start();
+        verify(notifier).stop();
+    }
+
+    @Test
+    public void shouldPerformTaskAfterItsDependencies() throws Exception {
+        NamedTask parent = new NamedTask("parent");
+        NamedTask api = new NamedTask("api");
+        NamedTask impl = new NamedTask("impl");
+        Map<MavenProjectTask, Collection<MavenProjectTask>> tasks = new LinkedHashMap<>();
+        tasks.put(impl, asList(api, parent));
+        tasks.put(api, Collections.singleton(parent));
+        tasks.put(parent, Collections.emptySet());
+
+        taskExecutor.submitTasks(tasks);
+        taskExecutor.waitForEndAllTasks();
+
+        assertEquals(performed, asList("parent", "api", "impl"));
+    }
+
+    @Test
+    public void shouldPerformTasksWithCyclicDependencies() throws Exception {
+        NamedTask first = new NamedTask("first");
+        NamedTask second = new NamedTask("second");
+        Map<MavenProjectTask, Collection<MavenProjectTask>> tasks = new LinkedHashMap<>();
+        tasks.put(first, Collections.singleton(second));
+        tasks.put(second, Collections.singleton(first));
+
+        taskExecutor.submitTasks(tasks);
+        taskExecutor.waitForEndAllTasks();
+
+        assertEquals(performed, asList("first", "second"));
+    }
+
+    @Test
+    public void shouldIgnoreTaskEqualToWaitingOne() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        NamedTask blocker = new NamedTask("blocker", release::await);
+        Map<MavenProjectTask, Collection<MavenProjectTask>> tasks = new LinkedHashMap<>();
+        tasks.put(blocker, Collections.emptySet());
+        tasks.put(new NamedTask("dependent", count::incrementAndGet), Collections.singleton(blocker));
+        taskExecutor.submitTasks(tasks);
+
+        taskExecutor.submitTask(new NamedTask("dependent", count::incrementAndGet));
+        release.countDown();
+        taskExecutor.waitForEndAllTasks();
+
+        assertEquals(count.get(), 1);
+        verify(notifier, times(1)).start();
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private class NamedTask implements MavenProjectTask {
+        private final String name;
+        private final Action action;
+
+        NamedTask(String name) {
+            this(name, () -> {});
+        }
+
+        NamedTask(String name, Action action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        @Override
+        public void perform() {
+            try {
+                action.run();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            performed.add(name);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NamedTask && name.equals(((NamedTask)o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenParent;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenProjectInfo;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link MavenResolveCache}
+ */
+public class MavenResolveCacheTest {
+    private File                dir;
+    private File                pom;
+    private File                jar;
+    private File                repository;
+    private MavenResolveCache   cache;
+    private MavenWorkspaceCache workspaceCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("resolve-cache-test").toFile();
+        File project = new File(dir, "project");
+        project.mkdirs();
+        pom = new File(project, "pom.xml");
+        Files.write(pom.toPath(), "<project/>".getBytes(UTF_8));
+        jar = new File(dir, "dependency-1.0.jar");
+        Files.write(jar.toPath(), "jar".getBytes(UTF_8));
+        repository = new File(dir, "repository");
+        cache = new MavenResolveCache(new File(dir, "cache").getPath());
+        workspaceCache = new MavenWorkspaceCache();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldReturnStoredResult() throws Exception {
+        cache.put(pom, singletonList("default"), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+
+        MavenServerResult cached = cache.get(pom, singletonList("default"), emptyList(), workspaceCache);
+
+        assertNotNull(cached);
+        assertEquals(cached.getProjectInfo().getMavenModel().getDependencies().get(0).getFile(), jar);
+    }
+
+    @Test
+    public void shouldNotReturnResultWhenPomIsChanged() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+
+        Files.write(pom.toPath(), "<project><name>changed</name></project>".getBytes(UTF_8));
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnResultWhenProfilesAreChanged() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+
+        assertNull(cache.get(pom, singletonList("release"), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnResultWhenDependencyIsChanged() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+
+        Files.write(jar.toPath(), "changed jar".getBytes(UTF_8));
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnResultWhenWorkspaceProjectsAreChanged() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+
+        workspaceCache.put(new MavenKey("org.test", "other", "1.0"), new File(dir, "other/pom.xml"));
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnInvalidatedResult() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+
+        cache.invalidate(pom);
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotStoreResultWithProblems() throws Exception {
+        MavenServerResult result = new MavenServerResult(projectInfo(artifact("1.0", jar)),
+                                                         singletonList(MavenProjectProblem.newStructureProblem(pom.getPath(), "problem")),
+                                                         emptySet());
+
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result);
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotStoreResultWithSnapshotFromLocalRepository() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0-SNAPSHOT", jar)));
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnResultWhenParentPomFromLocalRepositoryIsChanged() throws Exception {
+        File parentPom = new File(repository, "org/test/parent/1.0/parent-1.0.pom");
+        parentPom.getParentFile().mkdirs();
+        Files.write(parentPom.toPath(), "<project/>".getBytes(UTF_8));
+        MavenServerResult result = result(artifact("1.0", jar));
+        result.getProjectInfo().getMavenModel().setParent(new MavenParent(new MavenKey("org.test", "parent", "1.0"), "../pom.xml"));
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result);
+
+        Files.write(parentPom.toPath(), "<project><name>changed</name></project>".getBytes(UTF_8));
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotStoreResultWithSnapshotParentFromLocalRepository() throws Exception {
+        MavenServerResult result = result(artifact("1.0", jar));
+        result.getProjectInfo().getMavenModel().setParent(new MavenParent(new MavenKey("org.test", "parent", "1.0-SNAPSHOT"), "../pom.xml"));
+
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result);
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+    }
+
+    @Test
+    public void shouldNotReturnResultStoredInOtherFormat() throws Exception {
+        cache.put(pom, emptyList(), emptyList(), workspaceCache, repository, result(artifact("1.0", jar)));
+        File[] entries = new File(dir, "cache").listFiles();
+        assertEquals(entries.length, 1);
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(entries[0].toPath()))) {
+            out.writeInt(0);
+            out.writeObject(result(artifact("1.0", jar)));
+        }
+
+        assertNull(cache.get(pom, emptyList(), emptyList(), workspaceCache));
+        assertFalse(entries[0].exists());
+    }
+
+    private MavenServerResult result(MavenArtifact dependency) {
+        return new MavenServerResult(projectInfo(dependency), emptyList(), emptySet());
+    }
+
+    private MavenProjectInfo projectInfo(MavenArtifact dependency) {
+        MavenModel model = new MavenModel();
+        model.setMavenKey(new MavenKey("org.test", "project", "1.0"));
+        model.setDependencies(Collections.singletonList(dependency));
+        return new MavenProjectInfo(model, new HashMap<>(), emptyList());
+    }
+
+    private MavenArtifact artifact(String version, File file) {
+        return new MavenArtifact("org.test", "dependency", version, version, "jar", null, "compile", false, "jar", file, null, true, false);
+    }
+}
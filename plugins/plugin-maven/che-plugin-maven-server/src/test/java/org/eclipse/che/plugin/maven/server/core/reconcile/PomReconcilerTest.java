@@ -30,6 +30,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolveCache;
 import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
 import org.eclipse.che.plugin.maven.shared.MessageType;
 import org.eclipse.che.plugin.maven.shared.dto.NotificationMessage;
@@ -82,7 +83,8 @@ public class PomReconcilerTest extends BaseTest {
 
         MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
         mavenProjectManager =
-                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider(),
+                                        mock(MavenResolveCache.class));
         Provider<ProjectManager> projectManagerProvider = (Provider<ProjectManager>)mock(Provider.class);
         when(projectManagerProvider.get()).thenReturn(pm);
 
@@ -107,7 +109,7 @@ public class PomReconcilerTest extends BaseTest {
                                                 }
                                             }, classpathManager, eventService, new EclipseWorkspaceProvider());
         EditorWorkingCopyManager editorWorkingCopyManager =
-                new EditorWorkingCopyManager(projectManagerProvider, eventService, requestTransmitter);
+                new EditorWorkingCopyManager(projectManagerProvider, eventService, requestTransmitter, 64);
         pomReconciler =
                 new PomReconciler(projectManagerProvider, mavenProjectManager, editorWorkingCopyManager, eventService, requestTransmitter);
     }
@@ -319,6 +319,16 @@ public class MavenValueProviderTest {
         Assert.assertEquals(values.get(0), "che-plugin-parent");
     }
 
+    @Test
+    public void getParentArtifactFromPomIfParentNotSet() throws Exception {
+        FileEntry fileEntry = mock(FileEntry.class);
+        String pom = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><project><artifactId>my_artifact</artifactId></project>";
+        when(fileEntry.getInputStream()).thenReturn(new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8)));
+        when(folderEntry.getChild(anyString())).thenReturn(fileEntry);
+        List<String> values = mavenValueProvider.getValues(MavenAttributes.PARENT_ARTIFACT_ID);
+        Assert.assertEquals(values, singletonList(""));
+    }
+
 
     @Test
     public void getParentVersionFromPom() throws Exception {
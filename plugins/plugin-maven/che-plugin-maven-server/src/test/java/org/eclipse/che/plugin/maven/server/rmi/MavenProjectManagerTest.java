@@ -20,6 +20,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolveCache;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
@@ -70,6 +71,9 @@ public class MavenProjectManagerTest {
     @Mock
     private IWorkspace workspace;
 
+    @Mock
+    private MavenResolveCache resolveCache;
+
     @Mock
     private IWorkspaceRoot workspaceRoot;
 
@@ -81,7 +85,8 @@ public class MavenProjectManagerTest {
     public void setUp() throws Exception {
         MavenWrapperManager wrapperManager = new MavenWrapperManager(manager);
         projectManager = new MavenProjectManager(wrapperManager, manager, new MavenTerminalImpl(),
-                                                 new MavenServerManagerTest.MyMavenServerProgressNotifier(), workspaceProvider);
+                                                 new MavenServerManagerTest.MyMavenServerProgressNotifier(), workspaceProvider,
+                                                 resolveCache);
         when(workspaceProvider.get()).thenReturn(workspace);
         when(workspace.getRoot()).thenReturn(workspaceRoot);
     }
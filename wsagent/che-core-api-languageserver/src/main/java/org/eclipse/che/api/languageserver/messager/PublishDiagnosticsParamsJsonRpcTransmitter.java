@@ -10,36 +10,92 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.messager;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.PublishDiagnosticsParamsDto;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Transmits 'textDocument/publishDiagnostics' over the JSON-RPC
+ * <p>
+ * Diagnostics are not transmitted as soon as they are published by a language server,
+ * only the latest diagnostics of each document are kept and transmitted once per flush
+ * interval. Diagnostics that are equal to the ones already transmitted to an endpoint
+ * are not transmitted to it again. When diagnostics of several documents are changed
+ * they are transmitted with a single 'textDocument/publishDiagnostics/batch' message.
+ * <p>
+ * Only hashes of the transmitted diagnostics are remembered, documents without diagnostics
+ * are forgotten, and endpoints which have no web socket session for longer than
+ * the expiration period are unsubscribed.
  */
 @Singleton
 public class PublishDiagnosticsParamsJsonRpcTransmitter {
-    private final Set<String> endpointIds = new CopyOnWriteArraySet<>();
+    private static final Logger LOG = LoggerFactory.getLogger(PublishDiagnosticsParamsJsonRpcTransmitter.class);
+
+    private static final String PUBLISH_METHOD       = "textDocument/publishDiagnostics";
+    private static final String PUBLISH_BATCH_METHOD = "textDocument/publishDiagnostics/batch";
+
+    /** Subscribed endpoints by their ids. */
+    private final Map<String, Endpoint>                    endpoints = new ConcurrentHashMap<>();
+    /** The latest not transmitted diagnostics by document uri, guarded by itself. */
+    private final Map<String, PublishDiagnosticsParamsDto> pending   = new LinkedHashMap<>();
+    private final ScheduledExecutorService                 flushExecutor;
+    private final RequestTransmitter                       requestTransmitter;
+    private final WebSocketSessionRegistry                 sessionRegistry;
+    private final long                                     flushIntervalMs;
+    private final long                                     endpointExpirationMs;
+
+    private boolean flushScheduled;
 
+    /**
+     * @param flushIntervalMs
+     *         delay between publishing of diagnostics and their transmission
+     * @param endpointExpirationMs
+     *         period after which an endpoint without web socket session is unsubscribed
+     */
     @Inject
-    private void subscribe(EventService eventService, RequestTransmitter requestTransmitter) {
-        eventService.subscribe(event -> {
-            if(event.getUri() != null) {
-                event.setUri(event.getUri().substring(16));
-            }
-            endpointIds.forEach(endpointId -> requestTransmitter.newRequest()
-                                                                .endpointId(endpointId)
-                                                                .methodName("textDocument/publishDiagnostics")
-                                                                .paramsAsDto(new PublishDiagnosticsParamsDto(event))
-                                                                .sendAndSkipResult());
-        }, PublishDiagnosticsParams.class);
+    public PublishDiagnosticsParamsJsonRpcTransmitter(RequestTransmitter requestTransmitter,
+                                                      WebSocketSessionRegistry sessionRegistry,
+                                                      @Named("che.languageserver.diagnostics.flush_interval_ms") long flushIntervalMs,
+                                                      @Named("che.languageserver.diagnostics.endpoint_expiration_ms")
+                                                              long endpointExpirationMs) {
+        this.requestTransmitter = requestTransmitter;
+        this.sessionRegistry = sessionRegistry;
+        this.flushIntervalMs = flushIntervalMs;
+        this.endpointExpirationMs = endpointExpirationMs;
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("PublishDiagnosticsFlusher")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+    }
+
+    @Inject
+    private void subscribe(EventService eventService) {
+        eventService.subscribe(this::onDiagnostics, PublishDiagnosticsParams.class);
     }
 
     @Inject
@@ -48,7 +104,7 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
                       .methodName("textDocument/publishDiagnostics/subscribe")
                       .noParams()
                       .noResult()
-                      .withConsumer(endpointIds::add);
+                      .withConsumer(this::onSubscribe);
     }
 
     @Inject
@@ -57,6 +113,137 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
                       .methodName("textDocument/publishDiagnostics/unsubscribe")
                       .noParams()
                       .noResult()
-                      .withConsumer(endpointIds::remove);
+                      .withConsumer(this::onUnsubscribe);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        flushExecutor.shutdownNow();
+    }
+
+    /** Subscribes the endpoint, a resubscribed endpoint gets all the diagnostics once again. */
+    void onSubscribe(String endpointId) {
+        endpoints.put(endpointId, new Endpoint());
+    }
+
+    void onUnsubscribe(String endpointId) {
+        endpoints.remove(endpointId);
+    }
+
+    void onDiagnostics(PublishDiagnosticsParams event) {
+        if (event.getUri() != null) {
+            event.setUri(event.getUri().substring(16));
+        }
+        PublishDiagnosticsParamsDto diagnostics = new PublishDiagnosticsParamsDto(event);
+        synchronized (pending) {
+            pending.put(diagnostics.getUri(), diagnostics);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flushExecutor.schedule(this::flush, flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /** Transmits pending diagnostics, runs in the flush thread only. */
+    void flush() {
+        final List<PublishDiagnosticsParamsDto> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            flushScheduled = false;
+        }
+        final List<HashCode> batchHashes = new ArrayList<>(batch.size());
+        for (PublishDiagnosticsParamsDto diagnostics : batch) {
+            batchHashes.add(Hashing.murmur3_128().hashString(diagnostics.toJson(), UTF_8));
+        }
+
+        final long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<String, Endpoint>> it = endpoints.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<String, Endpoint> entry = it.next();
+            final String endpointId = entry.getKey();
+            final Endpoint endpoint = entry.getValue();
+            if (isExpired(endpointId, endpoint, now)) {
+                LOG.debug("Unsubscribing endpoint '{}' from diagnostics, it has no web socket session for {}ms",
+                          endpointId, now - endpoint.disconnectedSince);
+                it.remove();
+                continue;
+            }
+
+            final List<PublishDiagnosticsParamsDto> changed = new ArrayList<>();
+            final List<HashCode> changedHashes = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (!batchHashes.get(i).equals(endpoint.transmitted.get(batch.get(i).getUri()))) {
+                    changed.add(batch.get(i));
+                    changedHashes.add(batchHashes.get(i));
+                }
+            }
+            try {
+                transmit(endpointId, changed);
+            } catch (RuntimeException e) {
+                LOG.error("Can't transmit diagnostics to endpoint '{}': {}", endpointId, e.getMessage());
+                requeue(changed);
+                continue;
+            }
+            for (int i = 0; i < changed.size(); i++) {
+                final PublishDiagnosticsParamsDto diagnostics = changed.get(i);
+                if (diagnostics.getDiagnostics() == null || diagnostics.getDiagnostics().isEmpty()) {
+                    endpoint.transmitted.remove(diagnostics.getUri());
+                } else {
+                    endpoint.transmitted.put(diagnostics.getUri(), changedHashes.get(i));
+                }
+            }
+        }
+    }
+
+    /** Whether the endpoint has no web socket session for longer than the expiration period. */
+    private boolean isExpired(String endpointId, Endpoint endpoint, long now) {
+        if (sessionRegistry.get(endpointId).isPresent()) {
+            endpoint.disconnectedSince = 0;
+            return false;
+        }
+        if (endpoint.disconnectedSince == 0) {
+            endpoint.disconnectedSince = now;
+        }
+        return now - endpoint.disconnectedSince > endpointExpirationMs;
+    }
+
+    /** Returns diagnostics which failed to be transmitted to the pending ones unless they are already replaced by newer ones. */
+    private void requeue(List<PublishDiagnosticsParamsDto> diagnostics) {
+        if (diagnostics.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            for (PublishDiagnosticsParamsDto item : diagnostics) {
+                pending.putIfAbsent(item.getUri(), item);
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flushExecutor.schedule(this::flush, flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void transmit(String endpointId, List<PublishDiagnosticsParamsDto> diagnostics) {
+        if (diagnostics.size() == 1) {
+            requestTransmitter.newRequest()
+                              .endpointId(endpointId)
+                              .methodName(PUBLISH_METHOD)
+                              .paramsAsDto(diagnostics.get(0))
+                              .sendAndSkipResult();
+        } else if (diagnostics.size() > 1) {
+            requestTransmitter.newRequest()
+                              .endpointId(endpointId)
+                              .methodName(PUBLISH_BATCH_METHOD)
+                              .paramsAsListOfDto(diagnostics)
+                              .sendAndSkipResult();
+        }
+    }
+
+    /** State of a subscribed endpoint, accessed from the flush thread only. */
+    private static class Endpoint {
+        /** Hashes of the last diagnostics transmitted to the endpoint, in json form, by document uri. */
+        private final Map<String, HashCode> transmitted = new HashMap<>();
+
+        private long disconnectedSince;
     }
 }
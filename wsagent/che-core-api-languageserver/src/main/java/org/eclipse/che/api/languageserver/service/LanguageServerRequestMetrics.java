@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.metrics.LatencyStats;
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.api.core.metrics.Metrics;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects latency statistics of requests sent to language servers, separately for
+ * each language server and request method. Statistics are exported through {@link Metrics}
+ * as {@code languageserver.requests.<server id>.<method>.*}.
+ */
+@Singleton
+public class LanguageServerRequestMetrics implements Metric {
+
+    /** The way a request to a language server has finished. */
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        CANCELLED
+    }
+
+    private static final String METRIC_NAME = "languageserver.requests";
+
+    private final Map<String, Map<String, RequestStats>> servers = new ConcurrentHashMap<>();
+
+    public LanguageServerRequestMetrics() {
+        Metrics.register(METRIC_NAME, this);
+    }
+
+    /** Removes metrics of this instance. */
+    @PreDestroy
+    public void stop() {
+        Metrics.remove(METRIC_NAME, this);
+    }
+
+    /**
+     * Records a single request.
+     *
+     * @param serverId
+     *         identifier of language server
+     * @param method
+     *         request method, e.g. <i>textDocument/completion</i>
+     * @param latencyNanos
+     *         time passed until request was finished
+     * @param outcome
+     *         the way request has finished
+     */
+    public void record(String serverId, String method, long latencyNanos, Outcome outcome) {
+        servers.computeIfAbsent(serverId, id -> new ConcurrentHashMap<>())
+               .computeIfAbsent(method, m -> new RequestStats())
+               .record(latencyNanos, outcome);
+    }
+
+    /** Returns snapshot of statistics mapped by language server identifiers and then by request methods. */
+    public Map<String, Map<String, RequestStats>> getServers() {
+        final Map<String, Map<String, RequestStats>> snapshot = new HashMap<>();
+        servers.forEach((serverId, methods) -> snapshot.put(serverId, new HashMap<>(methods)));
+        return snapshot;
+    }
+
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        servers.forEach((serverId, methods) -> methods.forEach((method, stats) -> stats.collect(name + '.' + serverId + '.' + method,
+                                                                                                values)));
+    }
+
+    /**
+     * Statistics of requests of a single method sent to a single language server,
+     * requests which haven't succeeded are counted as failures of the latency statistics.
+     */
+    public static class RequestStats {
+        private final LatencyStats latency   = new LatencyStats();
+        private final LongAdder    timedOut  = new LongAdder();
+        private final LongAdder    cancelled = new LongAdder();
+
+        void record(long latencyNanos, Outcome outcome) {
+            latency.record(latencyNanos, outcome != Outcome.SUCCEEDED);
+            if (outcome == Outcome.TIMED_OUT) {
+                timedOut.increment();
+            } else if (outcome == Outcome.CANCELLED) {
+                cancelled.increment();
+            }
+        }
+
+        public LatencyStats getLatency() {
+            return latency;
+        }
+
+        public long getTimedOutCount() {
+            return timedOut.sum();
+        }
+
+        public long getCancelledCount() {
+            return cancelled.sum();
+        }
+
+        void collect(String name, Map<String, Long> values) {
+            latency.collect(name, values);
+            values.put(name + ".timedOut", getTimedOutCount());
+            values.put(name + ".cancelled", getCancelledCount());
+        }
+
+        @Override
+        public String toString() {
+            return "RequestStats{" +
+                   "latency=" + latency +
+                   ", timedOut=" + getTimedOutCount() +
+                   ", cancelled=" + getCancelledCount() +
+                   '}';
+        }
+    }
+}
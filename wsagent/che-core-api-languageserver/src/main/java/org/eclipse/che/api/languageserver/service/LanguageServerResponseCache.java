@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.eclipse.che.api.core.metrics.Metric;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.lsp4j.Position;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches responses of language servers to requests which results depend only on
+ * the content of a document, e.g. hover or definition.
+ *
+ * <p>Responses are cached per version of a document, the version is changed each time
+ * the document is opened, changed or saved and forgotten when the document is closed,
+ * versions are never reused, so responses computed for a previous content are never
+ * returned. Identical requests that are sent while the language server computes the
+ * response share the same pending response, failed responses are not cached. Requests
+ * for documents which are not opened are always sent, since changes of such documents
+ * are not tracked.
+ */
+class LanguageServerResponseCache implements Metric {
+    private final Cache<RequestKey, CompletableFuture<?>> responses;
+    private final ConcurrentMap<String, Long>             documentVersions;
+    private final AtomicLong                              lastVersion;
+    private final AtomicLong                              bypassCount;
+
+    LanguageServerResponseCache(long maxSize, long expireAfterWriteMs) {
+        this.responses = CacheBuilder.newBuilder()
+                                     .maximumSize(maxSize)
+                                     .expireAfterWrite(expireAfterWriteMs, TimeUnit.MILLISECONDS)
+                                     .recordStats()
+                                     .build();
+        this.documentVersions = new ConcurrentHashMap<>();
+        this.lastVersion = new AtomicLong();
+        this.bypassCount = new AtomicLong();
+    }
+
+    /**
+     * Returns cached or pending response to the request, or sends the request
+     * if there is no such response or version of the document is not tracked.
+     * Returned future must not be completed or cancelled by the caller since
+     * it can be shared with other callers.
+     *
+     * @param method
+     *         request method
+     * @param uri
+     *         uri of the document
+     * @param position
+     *         position in the document or {@code null} if request doesn't depend on position
+     * @param sender
+     *         sends request to language server
+     */
+    @SuppressWarnings("unchecked")
+    <R> CompletableFuture<R> get(String method, String uri, @Nullable Position position, Supplier<CompletableFuture<R>> sender) {
+        final Long version = documentVersions.get(uri);
+        if (version == null) {
+            bypassCount.incrementAndGet();
+            return sender.get();
+        }
+
+        final RequestKey key = new RequestKey(method, uri, version, position);
+        final CompletableFuture<R> response;
+        try {
+            response = (CompletableFuture<R>)responses.get(key, sender::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            final CompletableFuture<R> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e.getCause());
+            return failed;
+        }
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                responses.asMap().remove(key, response);
+            }
+        });
+        return response;
+    }
+
+    /** Changes version of the document and drops responses cached for the document. */
+    void onDocumentChanged(String uri) {
+        documentVersions.put(uri, lastVersion.incrementAndGet());
+        dropResponses(uri);
+    }
+
+    /** Forgets version of the document and drops responses cached for the document. */
+    void onDocumentClosed(String uri) {
+        documentVersions.remove(uri);
+        dropResponses(uri);
+    }
+
+    /** Returns the number of requests for which cached or pending response was returned. */
+    long getHitCount() {
+        return responses.stats().hitCount();
+    }
+
+    /** Returns the number of requests which were sent to language server. */
+    long getMissCount() {
+        return responses.stats().missCount();
+    }
+
+    /** Returns the number of requests which were sent bypassing the cache since the document was not opened. */
+    long getBypassCount() {
+        return bypassCount.get();
+    }
+
+    /** Puts hit, miss and bypass counts, the number of cached responses and the number of tracked documents to the given values. */
+    @Override
+    public void collect(String name, Map<String, Long> values) {
+        values.put(name + ".hits", getHitCount());
+        values.put(name + ".misses", getMissCount());
+        values.put(name + ".bypassed", getBypassCount());
+        values.put(name + ".size", responses.size());
+        values.put(name + ".documents", (long)documentVersions.size());
+    }
+
+    private void dropResponses(String uri) {
+        responses.asMap().keySet().removeIf(key -> key.uri.equals(uri));
+    }
+
+    private static final class RequestKey {
+        final String method;
+        final String uri;
+        final long   version;
+        final int    line;
+        final int    character;
+
+        RequestKey(String method, String uri, long version, Position position) {
+            this.method = method;
+            this.uri = uri;
+            this.version = version;
+            this.line = position == null ? -1 : position.getLine();
+            this.character = position == null ? -1 : position.getCharacter();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RequestKey)) {
+                return false;
+            }
+            final RequestKey that = (RequestKey)obj;
+            return version == that.version
+                   && line == that.line
+                   && character == that.character
+                   && Objects.equals(method, that.method)
+                   && Objects.equals(uri, that.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, uri, version, line, character);
+        }
+    }
+}
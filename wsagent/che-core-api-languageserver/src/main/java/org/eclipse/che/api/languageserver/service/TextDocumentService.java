@@ -10,12 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.service;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.metrics.Metrics;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
+import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.CompletionItemDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.CompletionListDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.HoverDto;
@@ -23,7 +31,9 @@ import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.LocationDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.SignatureHelpDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.SymbolInformationDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.TextEditDto;
+import org.eclipse.che.api.languageserver.service.LanguageServerRequestMetrics.Outcome;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedCompletionItem;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
@@ -33,8 +43,8 @@ import org.eclipse.lsp4j.DocumentHighlight;
 import org.eclipse.lsp4j.DocumentOnTypeFormattingParams;
 import org.eclipse.lsp4j.DocumentRangeFormattingParams;
 import org.eclipse.lsp4j.DocumentSymbolParams;
-import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -43,14 +53,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static java.lang.String.format;
 import static org.eclipse.che.api.languageserver.service.TextDocumentServiceUtils.prefixURI;
 import static org.eclipse.che.api.languageserver.service.TextDocumentServiceUtils.removePrefixUri;
 
@@ -58,18 +81,65 @@ import static org.eclipse.che.api.languageserver.service.TextDocumentServiceUtil
  * Json RPC API for the textDoc
  * <p>
  * Dispatches onto the {@link LanguageServerRegistryImpl}.
+ * <p>
+ * Requests are handled asynchronously, response is sent when the language server
+ * responds, so a slow language server doesn't hold threads which handle requests
+ * to other language servers. Requests which results are useless once the same
+ * endpoint requested the same method for the same document again are superseded.
  */
 @Singleton
 public class TextDocumentService {
     private static final Logger LOG = LoggerFactory.getLogger(TextDocumentService.class);
 
-    private final LanguageServerRegistry     languageServerRegistry;
-    private final RequestHandlerConfigurator requestHandler;
+    private static final int  LANGUAGE_SERVER_ERROR      = -27000;
+    private static final int  REQUEST_CANCELLED          = -32800;
+    private static final long DEFAULT_REQUEST_TIMEOUT_MS = 15_000;
+    private static final long RESPONSE_CACHE_SIZE        = 1_000;
+    private static final long RESPONSE_CACHE_EXPIRE_MS   = TimeUnit.MINUTES.toMillis(10);
+
+    private static final String RESPONSE_CACHE_METRIC_NAME = "languageserver.response_cache";
+
+    private static final Map<String, Long> REQUEST_TIMEOUTS_MS = ImmutableMap.<String, Long>builder()
+                                                                             .put("completion", 10_000L)
+                                                                             .put("completionItem/resolve", 5_000L)
+                                                                             .put("hover", 5_000L)
+                                                                             .put("signatureHelp", 5_000L)
+                                                                             .put("documentHighlight", 5_000L)
+                                                                             .put("onTypeFormatting", 5_000L)
+                                                                             .put("references", 30_000L)
+                                                                             .put("formatting", 30_000L)
+                                                                             .put("rangeFormatting", 30_000L)
+                                                                             .build();
+
+    /** Methods which results are useless once the same method is requested for the same document again. */
+    private static final Set<String> SUPERSEDED_METHODS = ImmutableSet.of("completion", "hover", "signatureHelp", "documentHighlight");
+
+    private final LanguageServerRegistry                      languageServerRegistry;
+    private final RequestHandlerConfigurator                  requestHandler;
+    private final ServerInitializer                           serverInitializer;
+    private final LanguageServerRequestMetrics                requestMetrics;
+    private final LanguageServerResponseCache                 responseCache;
+    private final ConcurrentMap<String, CompletableFuture<?>> supersedableRequests;
+    private final Map<String, Long>                           requestTimeoutsMs;
+    private final ScheduledThreadPoolExecutor                 timeoutScheduler;
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry,
+                               RequestHandlerConfigurator requestHandler,
+                               ServerInitializer serverInitializer,
+                               LanguageServerRequestMetrics requestMetrics) {
         this.languageServerRegistry = languageServerRegistry;
         this.requestHandler = requestHandler;
+        this.serverInitializer = serverInitializer;
+        this.requestMetrics = requestMetrics;
+        this.responseCache = new LanguageServerResponseCache(RESPONSE_CACHE_SIZE, RESPONSE_CACHE_EXPIRE_MS);
+        Metrics.register(RESPONSE_CACHE_METRIC_NAME, responseCache);
+        this.supersedableRequests = new ConcurrentHashMap<>();
+        this.requestTimeoutsMs = new ConcurrentHashMap<>(REQUEST_TIMEOUTS_MS);
+        this.timeoutScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("LanguageServerRequestTimeout-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
     }
 
     @PostConstruct
@@ -93,158 +163,88 @@ public class TextDocumentService {
         dtoToNothing("didSave", DidSaveTextDocumentParams.class, this::didSave);
     }
 
-    private CompletionListDto completion(TextDocumentPositionParams textDocumentPositionParams) {
-        try {
-            TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
-            textDocument.setUri(prefixURI(textDocument.getUri()));
-            textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
-            LanguageServer server = getServer(textDocument.getUri());
-            return server != null ? new CompletionListDto(server.getTextDocumentService().completion(textDocumentPositionParams).get())
-                                  : null;
-
-        } catch (LanguageServerException | InterruptedException | ExecutionException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    JsonRpcPromise<CompletionListDto> completion(String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
+        TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
+        textDocument.setUri(prefixURI(textDocument.getUri()));
+        textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
+        return request(endpointId, "completion", textDocument.getUri(), null,
+                       server -> server.getTextDocumentService().completion(textDocumentPositionParams),
+                       list -> list == null ? null : new CompletionListDto(list));
     }
 
-    private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
-        try {
-            documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentSymbolParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList() : server.getTextDocumentService()
-                                                                    .documentSymbol(documentSymbolParams)
-                                                                    .get()
-                                                                    .stream()
-                                                                    .map(SymbolInformationDto::new)
-                                                                    .collect(Collectors.toList());
-
-        } catch (ExecutionException | InterruptedException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-
-        }
+    private JsonRpcPromise<List<SymbolInformationDto>> documentSymbol(String endpointId, DocumentSymbolParams documentSymbolParams) {
+        documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
+        return cachedRequest(endpointId, "documentSymbol", documentSymbolParams.getTextDocument().getUri(), null, Collections.emptyList(),
+                             server -> server.getTextDocumentService().documentSymbol(documentSymbolParams),
+                             symbols -> toDtoList(symbols, SymbolInformationDto::new));
     }
 
-    private List<LocationDto> references(ReferenceParams referenceParams) {
-        try {
-            referenceParams.getTextDocument().setUri(prefixURI(referenceParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(referenceParams.getTextDocument().getUri());
-            if (server == null) {
-                return Collections.emptyList();
-            }
-
-            List<? extends Location> locations = server.getTextDocumentService().references(referenceParams).get();
-            locations.forEach(o -> o.setUri(removePrefixUri(o.getUri())));
-            return locations.stream().map(LocationDto::new).collect(Collectors.toList());
-        } catch (ExecutionException | InterruptedException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-
-        }
+    private JsonRpcPromise<List<LocationDto>> references(String endpointId, ReferenceParams referenceParams) {
+        referenceParams.getTextDocument().setUri(prefixURI(referenceParams.getTextDocument().getUri()));
+        return request(endpointId, "references", referenceParams.getTextDocument().getUri(), Collections.emptyList(),
+                       server -> server.getTextDocumentService().references(referenceParams),
+                       this::toLocationDtoList);
     }
 
-    private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
-        try {
-            textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
-            if (server == null) {
-                return Collections.emptyList();
-            }
-
-            List<? extends Location> locations = server.getTextDocumentService().definition(textDocumentPositionParams).get();
-            locations.forEach(o -> o.setUri(removePrefixUri(o.getUri())));
-            return locations.stream().map(LocationDto::new).collect(Collectors.toList());
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcPromise<List<LocationDto>> definition(String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
+        textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
+        return cachedRequest(endpointId, "definition", textDocumentPositionParams.getTextDocument().getUri(),
+                             textDocumentPositionParams.getPosition(), Collections.emptyList(),
+                             server -> server.getTextDocumentService().definition(textDocumentPositionParams),
+                             this::toLocationDtoList);
     }
 
-    private CompletionItemDto completionItemResolve(ExtendedCompletionItem unresolved) {
-        try {
-            LanguageServer server = getServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()));
-
-            return server != null ? new CompletionItemDto(server.getTextDocumentService().resolveCompletionItem(unresolved).get())
-                                  : new CompletionItemDto(unresolved);
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcPromise<CompletionItemDto> completionItemResolve(String endpointId, ExtendedCompletionItem unresolved) {
+        return request(endpointId, "completionItem/resolve", prefixURI(unresolved.getTextDocumentIdentifier().getUri()),
+                       new CompletionItemDto(unresolved),
+                       server -> server.getTextDocumentService().resolveCompletionItem(unresolved),
+                       item -> item == null ? null : new CompletionItemDto(item));
     }
 
-    private HoverDto hover(TextDocumentPositionParams positionParams) {
-        try {
-            positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-            positionParams.setUri(prefixURI(positionParams.getUri()));
-            LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-            if(server != null) {
-                Hover hover = server.getTextDocumentService().hover(positionParams).get();
-                if (hover != null) {
-                    return new HoverDto(hover);
-                }
-            }
-            return null;
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    JsonRpcPromise<HoverDto> hover(String endpointId, TextDocumentPositionParams positionParams) {
+        positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
+        positionParams.setUri(prefixURI(positionParams.getUri()));
+        return cachedRequest(endpointId, "hover", positionParams.getTextDocument().getUri(), positionParams.getPosition(), null,
+                             server -> server.getTextDocumentService().hover(positionParams),
+                             hover -> hover == null ? null : new HoverDto(hover));
     }
 
-    private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
-        try {
-            positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-            positionParams.setUri(prefixURI(positionParams.getUri()));
-            LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-            return server != null ? new SignatureHelpDto(server.getTextDocumentService().signatureHelp(positionParams).get()) : null;
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcPromise<SignatureHelpDto> signatureHelp(String endpointId, TextDocumentPositionParams positionParams) {
+        positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
+        positionParams.setUri(prefixURI(positionParams.getUri()));
+        return request(endpointId, "signatureHelp", positionParams.getTextDocument().getUri(), null,
+                       server -> server.getTextDocumentService().signatureHelp(positionParams),
+                       signatureHelp -> signatureHelp == null ? null : new SignatureHelpDto(signatureHelp));
     }
 
-    private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
-        try {
-            documentFormattingParams.getTextDocument().setUri(prefixURI(documentFormattingParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentFormattingParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList()
-                                  : server.getTextDocumentService()
-                                          .formatting(documentFormattingParams)
-                                          .get().stream()
-                                          .map(TextEditDto::new)
-                                          .collect(Collectors.toList());
-
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcPromise<List<TextEditDto>> formatting(String endpointId, DocumentFormattingParams documentFormattingParams) {
+        documentFormattingParams.getTextDocument().setUri(prefixURI(documentFormattingParams.getTextDocument().getUri()));
+        return request(endpointId, "formatting", documentFormattingParams.getTextDocument().getUri(), Collections.emptyList(),
+                       server -> server.getTextDocumentService().formatting(documentFormattingParams),
+                       edits -> toDtoList(edits, TextEditDto::new));
     }
 
-    private List<TextEditDto> rangeFormatting(DocumentRangeFormattingParams documentRangeFormattingParams) {
-        try {
-            documentRangeFormattingParams.getTextDocument().setUri(prefixURI(documentRangeFormattingParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentRangeFormattingParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList()
-                                  : server.getTextDocumentService()
-                                          .rangeFormatting(documentRangeFormattingParams)
-                                          .get().stream()
-                                          .map(TextEditDto::new)
-                                          .collect(Collectors.toList());
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcPromise<List<TextEditDto>> rangeFormatting(String endpointId,
+                                                              DocumentRangeFormattingParams documentRangeFormattingParams) {
+        documentRangeFormattingParams.getTextDocument().setUri(prefixURI(documentRangeFormattingParams.getTextDocument().getUri()));
+        return request(endpointId, "rangeFormatting", documentRangeFormattingParams.getTextDocument().getUri(), Collections.emptyList(),
+                       server -> server.getTextDocumentService().rangeFormatting(documentRangeFormattingParams),
+                       edits -> toDtoList(edits, TextEditDto::new));
     }
 
-    private List<TextEditDto> onTypeFormatting(DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
-        try {
-            documentOnTypeFormattingParams.getTextDocument().setUri(prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentOnTypeFormattingParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList() : server.getTextDocumentService()
-                                                                    .onTypeFormatting(documentOnTypeFormattingParams)
-                                                                    .get().stream()
-                                                                    .map(TextEditDto::new)
-                                                                    .collect(Collectors.toList());
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcPromise<List<TextEditDto>> onTypeFormatting(String endpointId,
+                                                               DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
+        documentOnTypeFormattingParams.getTextDocument().setUri(prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri()));
+        return request(endpointId, "onTypeFormatting", documentOnTypeFormattingParams.getTextDocument().getUri(), Collections.emptyList(),
+                       server -> server.getTextDocumentService().onTypeFormatting(documentOnTypeFormattingParams),
+                       edits -> toDtoList(edits, TextEditDto::new));
     }
 
     private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
         try {
             didChangeTextDocumentParams.getTextDocument().setUri(prefixURI(didChangeTextDocumentParams.getTextDocument().getUri()));
             didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
+            responseCache.onDocumentChanged(didChangeTextDocumentParams.getTextDocument().getUri());
             LanguageServer server = getServer(didChangeTextDocumentParams.getTextDocument().getUri());
             if (server != null) {
                 server.getTextDocumentService().didChange(didChangeTextDocumentParams);
@@ -257,6 +257,7 @@ public class TextDocumentService {
     private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
         try {
             openTextDocumentParams.getTextDocument().setUri(prefixURI(openTextDocumentParams.getTextDocument().getUri()));
+            responseCache.onDocumentChanged(openTextDocumentParams.getTextDocument().getUri());
             LanguageServer server = getServer(openTextDocumentParams.getTextDocument().getUri());
             if (server != null) {
                 server.getTextDocumentService().didOpen(openTextDocumentParams);
@@ -269,6 +270,7 @@ public class TextDocumentService {
     private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
         try {
             didCloseTextDocumentParams.getTextDocument().setUri(prefixURI(didCloseTextDocumentParams.getTextDocument().getUri()));
+            responseCache.onDocumentClosed(didCloseTextDocumentParams.getTextDocument().getUri());
             LanguageServer server = getServer(didCloseTextDocumentParams.getTextDocument().getUri());
             if (server != null) {
                 server.getTextDocumentService().didClose(didCloseTextDocumentParams);
@@ -281,6 +283,7 @@ public class TextDocumentService {
     private void didSave(DidSaveTextDocumentParams didSaveTextDocumentParams) {
         try {
             didSaveTextDocumentParams.getTextDocument().setUri(prefixURI(didSaveTextDocumentParams.getTextDocument().getUri()));
+            responseCache.onDocumentChanged(didSaveTextDocumentParams.getTextDocument().getUri());
             LanguageServer server = getServer(didSaveTextDocumentParams.getTextDocument().getUri());
             if (server != null) {
                 server.getTextDocumentService().didSave(didSaveTextDocumentParams);
@@ -290,18 +293,192 @@ public class TextDocumentService {
         }
     }
 
-    private DocumentHighlight documentHighlight(TextDocumentPositionParams textDocumentPositionParams) {
+    private JsonRpcPromise<DocumentHighlight> documentHighlight(String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
+        textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
+        return request(endpointId, "documentHighlight", textDocumentPositionParams.getTextDocument().getUri(), null,
+                       server -> server.getTextDocumentService().documentHighlight(textDocumentPositionParams),
+                       highlights -> highlights == null || highlights.isEmpty() ? null : highlights.get(0));
+    }
+
+    private <T, R> JsonRpcPromise<R> request(String endpointId,
+                                             String method,
+                                             String uri,
+                                             R noServerResult,
+                                             Function<LanguageServer, CompletableFuture<T>> request,
+                                             Function<T, R> converter) {
+        return toPromise(supersede(endpointId, method, uri, send(method, uri, noServerResult, request, converter)));
+    }
+
+    /**
+     * Same as {@link #request(String, String, String, Object, Function, Function)} but the response
+     * is taken from the {@link LanguageServerResponseCache} if the same request was sent for the
+     * same version of the document.
+     *
+     * <p>Cached responses are shared between callers, so a superseded caller gets its own view
+     * of the response cancelled while the request to the language server keeps running and
+     * its response is cached.
+     *
+     * @param position
+     *         position in the document or {@code null} if response doesn't depend on position
+     */
+    private <T, R> JsonRpcPromise<R> cachedRequest(String endpointId,
+                                                   String method,
+                                                   String uri,
+                                                   @Nullable Position position,
+                                                   R noServerResult,
+                                                   Function<LanguageServer, CompletableFuture<T>> request,
+                                                   Function<T, R> converter) {
+        final CompletableFuture<R> shared = responseCache.get(method, uri, position,
+                                                              () -> send(method, uri, noServerResult, request, converter));
+        if (!SUPERSEDED_METHODS.contains(method)) {
+            return toPromise(shared);
+        }
+        return toPromise(supersede(endpointId, method, uri, shared.thenApply(Function.identity())));
+    }
+
+    /**
+     * Cancels the pending response to the same method for the same document sent
+     * by the same endpoint, if the method is one of {@link #SUPERSEDED_METHODS}.
+     *
+     * @param response
+     *         response which is owned by the caller, so it may be cancelled
+     */
+    private <R> CompletableFuture<R> supersede(String endpointId, String method, String uri, CompletableFuture<R> response) {
+        if (!SUPERSEDED_METHODS.contains(method)) {
+            return response;
+        }
+        final String supersedeKey = endpointId + ':' + method + '@' + uri;
+        final CompletableFuture<?> superseded = supersedableRequests.put(supersedeKey, response);
+        if (superseded != null) {
+            superseded.cancel(true);
+        }
+        response.whenComplete((result, error) -> supersedableRequests.remove(supersedeKey, response));
+        return response;
+    }
+
+    /**
+     * Sends request to the language server which is responsible for the document and
+     * completes returned future with the converted result once the server responds.
+     *
+     * <p>Request is cancelled if the server doesn't respond within the timeout of the method
+     * or if the returned future is cancelled.
+     *
+     * @param method
+     *         name of method without <i>textDocument/</i> prefix
+     * @param uri
+     *         uri of the document
+     * @param noServerResult
+     *         result used when there is no language server for the document
+     * @param request
+     *         sends request to the language server
+     * @param converter
+     *         converts result returned by the language server
+     */
+    private <T, R> CompletableFuture<R> send(String method,
+                                             String uri,
+                                             R noServerResult,
+                                             Function<LanguageServer, CompletableFuture<T>> request,
+                                             Function<T, R> converter) {
+        final CompletableFuture<R> response = new CompletableFuture<>();
+        final LanguageServer server;
+        final CompletableFuture<T> future;
         try {
-            textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
-            if (server != null) {
-                return server.getTextDocumentService().documentHighlight(textDocumentPositionParams).get().get(0);
+            server = getServer(uri);
+            if (server == null) {
+                response.complete(noServerResult);
+                return response;
+            }
+            future = request.apply(server);
+        } catch (LanguageServerException | RuntimeException e) {
+            response.completeExceptionally(new JsonRpcException(LANGUAGE_SERVER_ERROR, e.getMessage()));
+            return response;
+        }
+        response.whenComplete((result, error) -> {
+            if (response.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+
+        final String serverId = getServerId(server);
+        final String fullMethod = "textDocument/" + method;
+        final long startTime = System.nanoTime();
+
+        final long timeoutMs = requestTimeoutsMs.getOrDefault(method, DEFAULT_REQUEST_TIMEOUT_MS);
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        final ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            timedOut.set(true);
+            future.cancel(true);
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+
+        future.whenComplete((result, error) -> {
+            timeout.cancel(false);
+            final long latency = System.nanoTime() - startTime;
+
+            if (error == null) {
+                final R converted;
+                try {
+                    converted = converter.apply(result);
+                } catch (RuntimeException e) {
+                    requestMetrics.record(serverId, fullMethod, latency, Outcome.FAILED);
+                    response.completeExceptionally(new JsonRpcException(LANGUAGE_SERVER_ERROR, e.getMessage()));
+                    return;
+                }
+                requestMetrics.record(serverId, fullMethod, latency, Outcome.SUCCEEDED);
+                response.complete(converted);
+                return;
+            }
+
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException && timedOut.get()) {
+                requestMetrics.record(serverId, fullMethod, latency, Outcome.TIMED_OUT);
+                LOG.warn("Language server '{}' didn't respond to '{}' in {} ms", serverId, fullMethod, timeoutMs);
+                response.completeExceptionally(new JsonRpcException(LANGUAGE_SERVER_ERROR, format("Language server '%s' didn't respond to '%s' in %d ms",
+                                                                               serverId, fullMethod, timeoutMs)));
+            } else if (cause instanceof CancellationException) {
+                requestMetrics.record(serverId, fullMethod, latency, Outcome.CANCELLED);
+                response.completeExceptionally(new JsonRpcException(REQUEST_CANCELLED, "Request '" + fullMethod + "' is superseded by a newer one"));
+            } else {
+                requestMetrics.record(serverId, fullMethod, latency, Outcome.FAILED);
+                response.completeExceptionally(new JsonRpcException(LANGUAGE_SERVER_ERROR, cause.getMessage()));
+            }
+        });
+        return response;
+    }
+
+    private static <R> JsonRpcPromise<R> toPromise(CompletableFuture<R> response) {
+        final JsonRpcPromise<R> promise = new JsonRpcPromise<>();
+        response.whenComplete((result, error) -> {
+            if (error == null) {
+                promise.success(result);
+                return;
             }
-            return null;
-        } catch (LanguageServerException | InterruptedException | ExecutionException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                promise.failure(new JsonRpcError(REQUEST_CANCELLED, "Request is superseded by a newer one"));
+            } else if (cause instanceof JsonRpcException) {
+                promise.failure(new JsonRpcError(((JsonRpcException)cause).getCode(), cause.getMessage()));
+            } else {
+                promise.failure(new JsonRpcError(LANGUAGE_SERVER_ERROR, cause.getMessage()));
+            }
+        });
+        return promise;
+    }
 
+    private String getServerId(LanguageServer server) {
+        LanguageServerDescription description = serverInitializer.getInitializedServers().get(server);
+        return description == null ? "unknown" : description.getLanguageDescription().getLanguageId();
+    }
+
+    private List<LocationDto> toLocationDtoList(List<? extends Location> locations) {
+        if (locations == null) {
+            return Collections.emptyList();
         }
+        locations.forEach(o -> o.setUri(removePrefixUri(o.getUri())));
+        return toDtoList(locations, LocationDto::new);
+    }
+
+    private static <T, R> List<R> toDtoList(List<? extends T> items, Function<T, R> converter) {
+        return items == null ? Collections.emptyList() : items.stream().map(converter).collect(Collectors.toList());
     }
 
     private LanguageServer getServer(String uri) throws LanguageServerException {
@@ -317,19 +494,31 @@ public class TextDocumentService {
                       .withConsumer(consumer);
     }
 
-    private <P, R> void dtoToDtoList(String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
+    private <P, R> void dtoToDtoList(String name, Class<P> pClass, Class<R> rClass,
+                                     BiFunction<String, P, JsonRpcPromise<List<R>>> function) {
         requestHandler.newConfiguration()
                       .methodName("textDocument/" + name)
                       .paramsAsDto(pClass)
                       .resultAsListOfDto(rClass)
-                      .withFunction(function);
+                      .withPromiseBiFunction(function);
     }
 
-    private <P, R> void dtoToDto(String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+    private <P, R> void dtoToDto(String name, Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcPromise<R>> function) {
         requestHandler.newConfiguration()
                       .methodName("textDocument/" + name)
                       .paramsAsDto(pClass)
                       .resultAsDto(rClass)
-                      .withFunction(function);
+                      .withPromiseBiFunction(function);
+    }
+
+    /** Overrides timeout of the given method, e.g. <i>completion</i>. */
+    void setRequestTimeout(String method, long timeoutMs) {
+        requestTimeoutsMs.put(method, timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeoutScheduler.shutdownNow();
+        Metrics.remove(RESPONSE_CACHE_METRIC_NAME, responseCache);
     }
 }
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.messager;
+
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromMany;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromOne;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.PublishDiagnosticsParamsDto;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.Session;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link PublishDiagnosticsParamsJsonRpcTransmitter}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class PublishDiagnosticsParamsJsonRpcTransmitterTest {
+    private static final String ENDPOINT_ID  = "endpoint";
+    private static final String URI_PREFIX   = "file:///projects";
+    private static final String FIRST_FILE   = "/p/src/First.java";
+    private static final String SECOND_FILE  = "/p/src/Second.java";
+    private static final String BATCH_METHOD = "textDocument/publishDiagnostics/batch";
+
+    @Mock
+    private RequestTransmitter                                    requestTransmitter;
+    @Mock
+    private WebSocketSessionRegistry                              sessionRegistry;
+    @Mock
+    private EndpointIdConfigurator                                endpointIdConfigurator;
+    @Mock
+    private MethodNameConfigurator                                methodNameConfigurator;
+    @Mock
+    private ParamsConfigurator                                    paramsConfigurator;
+    @Mock
+    private SendConfiguratorFromOne<PublishDiagnosticsParamsDto>  sendOne;
+    @Mock
+    private SendConfiguratorFromMany<PublishDiagnosticsParamsDto> sendMany;
+
+    private PublishDiagnosticsParamsJsonRpcTransmitter transmitter;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(requestTransmitter.newRequest()).thenReturn(endpointIdConfigurator);
+        when(endpointIdConfigurator.endpointId(anyString())).thenReturn(methodNameConfigurator);
+        when(methodNameConfigurator.methodName(anyString())).thenReturn(paramsConfigurator);
+        doReturn(sendOne).when(paramsConfigurator).paramsAsDto(any());
+        doReturn(sendMany).when(paramsConfigurator).paramsAsListOfDto(anyList());
+        when(sessionRegistry.get(anyString())).thenReturn(Optional.of(mock(Session.class)));
+
+        // flushes are driven by the tests only
+        transmitter = new PublishDiagnosticsParamsJsonRpcTransmitter(requestTransmitter, sessionRegistry, Long.MAX_VALUE, 600_000);
+        transmitter.onSubscribe(ENDPOINT_ID);
+    }
+
+    @Test
+    public void shouldNotTransmitSameDiagnosticsTwice() throws Exception {
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+
+        verify(sendOne).sendAndSkipResult();
+    }
+
+    @Test
+    public void shouldTransmitChangedDiagnostics() throws Exception {
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "unknown type"));
+        transmitter.flush();
+
+        ArgumentCaptor<PublishDiagnosticsParamsDto> captor = ArgumentCaptor.forClass(PublishDiagnosticsParamsDto.class);
+        verify(paramsConfigurator, times(2)).paramsAsDto(captor.capture());
+        assertEquals(captor.getValue().getDiagnostics().get(0).getMessage(), "unknown type");
+        verify(sendOne, times(2)).sendAndSkipResult();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldTransmitDiagnosticsOfSeveralDocumentsInBatch() throws Exception {
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.onDiagnostics(diagnostics(SECOND_FILE, "unknown type"));
+        transmitter.flush();
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(methodNameConfigurator).methodName(BATCH_METHOD);
+        verify(paramsConfigurator).paramsAsListOfDto(captor.capture());
+        List<PublishDiagnosticsParamsDto> batch = captor.getValue();
+        assertEquals(batch.size(), 2);
+        assertEquals(batch.get(0).getUri(), FIRST_FILE);
+        assertEquals(batch.get(1).getUri(), SECOND_FILE);
+        verify(sendMany).sendAndSkipResult();
+        verify(sendOne, never()).sendAndSkipResult();
+    }
+
+    @Test
+    public void shouldTransmitSameDiagnosticsAgainAfterResubscribe() throws Exception {
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+
+        transmitter.onSubscribe(ENDPOINT_ID);
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+
+        verify(sendOne, times(2)).sendAndSkipResult();
+    }
+
+    @Test
+    public void shouldRetransmitDiagnosticsWhichFailedToBeTransmitted() throws Exception {
+        doThrow(new IllegalStateException("connection lost")).doNothing().when(sendOne).sendAndSkipResult();
+
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+        transmitter.flush();
+
+        verify(sendOne, times(2)).sendAndSkipResult();
+    }
+
+    @Test
+    public void shouldNotTransmitDiagnosticsToUnsubscribedEndpoint() throws Exception {
+        transmitter.onUnsubscribe(ENDPOINT_ID);
+
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+
+        verify(requestTransmitter, never()).newRequest();
+    }
+
+    @Test
+    public void shouldUnsubscribeEndpointWhichHasNoSessionLongerThanExpirationPeriod() throws Exception {
+        transmitter = new PublishDiagnosticsParamsJsonRpcTransmitter(requestTransmitter, sessionRegistry, Long.MAX_VALUE, 0);
+        transmitter.onSubscribe(ENDPOINT_ID);
+        when(sessionRegistry.get(ENDPOINT_ID)).thenReturn(Optional.empty());
+
+        transmitter.onDiagnostics(diagnostics(FIRST_FILE, "missing semicolon"));
+        transmitter.flush();
+        Thread.sleep(10);
+        transmitter.onDiagnostics(diagnostics(SECOND_FILE, "unknown type"));
+        transmitter.flush();
+
+        verify(sendOne).sendAndSkipResult();
+    }
+
+    private static PublishDiagnosticsParams diagnostics(String path, String message) {
+        Diagnostic diagnostic = new Diagnostic();
+        diagnostic.setRange(new Range(new Position(1, 2), new Position(1, 5)));
+        diagnostic.setSeverity(DiagnosticSeverity.Error);
+        diagnostic.setMessage(message);
+
+        PublishDiagnosticsParams params = new PublishDiagnosticsParams();
+        params.setUri(URI_PREFIX + path);
+        params.setDiagnostics(singletonList(diagnostic));
+        return params;
+    }
+}
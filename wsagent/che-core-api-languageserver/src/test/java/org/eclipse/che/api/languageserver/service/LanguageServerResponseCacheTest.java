@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import org.eclipse.lsp4j.Position;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link LanguageServerResponseCache}
+ */
+public class LanguageServerResponseCacheTest {
+    private static final String URI = "file:///projects/p/src/main.ts";
+
+    private LanguageServerResponseCache cache;
+    private AtomicInteger               sent;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        cache = new LanguageServerResponseCache(100, 60_000);
+        sent = new AtomicInteger();
+        cache.onDocumentChanged(URI);
+    }
+
+    @Test
+    public void shouldNotCacheResponsesForDocumentsWhichAreNotOpened() throws Exception {
+        String notOpened = "file:///projects/p/src/other.ts";
+
+        cache.get("hover", notOpened, new Position(1, 2), sender(CompletableFuture.completedFuture("hover")));
+        cache.get("hover", notOpened, new Position(1, 2), sender(CompletableFuture.completedFuture("hover")));
+
+        Map<String, Long> values = new HashMap<>();
+        cache.collect("cache", values);
+        assertEquals(sent.get(), 2);
+        assertEquals(values.get("cache.bypassed"), Long.valueOf(2));
+        assertEquals(values.get("cache.size"), Long.valueOf(0));
+    }
+
+    @Test
+    public void shouldNotCacheResponsesForClosedDocuments() throws Exception {
+        cache.onDocumentClosed(URI);
+
+        cache.get("documentSymbol", URI, null, sender(CompletableFuture.completedFuture("symbols")));
+        cache.get("documentSymbol", URI, null, sender(CompletableFuture.completedFuture("symbols")));
+
+        assertEquals(sent.get(), 2);
+    }
+
+    @Test
+    public void shouldShareResponseBetweenIdenticalRequests() throws Exception {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.get("hover", URI, new Position(1, 2), sender(pending));
+        CompletableFuture<String> second = cache.get("hover", URI, new Position(1, 2), sender(pending));
+        pending.complete("hover");
+
+        assertSame(first, second);
+        assertEquals(sent.get(), 1);
+        assertEquals(cache.get("hover", URI, new Position(1, 2), sender(new CompletableFuture<>())).get(), "hover");
+        assertEquals(sent.get(), 1);
+    }
+
+    @Test
+    public void shouldSendRequestsForDifferentPositions() throws Exception {
+        cache.get("hover", URI, new Position(1, 2), sender(new CompletableFuture<>()));
+        cache.get("hover", URI, new Position(1, 3), sender(new CompletableFuture<>()));
+        cache.get("definition", URI, new Position(1, 3), sender(new CompletableFuture<>()));
+
+        assertEquals(sent.get(), 3);
+    }
+
+    @Test
+    public void shouldSendRequestAgainWhenDocumentIsChanged() throws Exception {
+        cache.get("documentSymbol", URI, null, sender(CompletableFuture.completedFuture("symbols")));
+
+        cache.onDocumentChanged(URI);
+        cache.get("documentSymbol", URI, null, sender(CompletableFuture.completedFuture("symbols")));
+
+        assertEquals(sent.get(), 2);
+    }
+
+    @Test
+    public void shouldNotCacheFailedResponse() throws Exception {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("failure"));
+
+        cache.get("hover", URI, new Position(1, 2), sender(failed));
+        cache.get("hover", URI, new Position(1, 2), sender(CompletableFuture.completedFuture("hover")));
+
+        assertEquals(sent.get(), 2);
+    }
+
+    @Test
+    public void shouldForgetDocumentWhenItIsClosed() throws Exception {
+        cache.get("documentSymbol", URI, null, sender(CompletableFuture.completedFuture("symbols")));
+
+        cache.onDocumentClosed(URI);
+
+        Map<String, Long> values = new HashMap<>();
+        cache.collect("cache", values);
+        assertEquals(values.get("cache.documents"), Long.valueOf(0));
+        assertEquals(values.get("cache.size"), Long.valueOf(0));
+    }
+
+    @Test
+    public void shouldNotReuseVersionsOfClosedDocuments() throws Exception {
+        CompletableFuture<String> beforeClose = new CompletableFuture<>();
+        cache.get("hover", URI, new Position(1, 2), sender(beforeClose));
+
+        cache.onDocumentClosed(URI);
+        cache.onDocumentChanged(URI);
+        cache.get("hover", URI, new Position(1, 2), sender(CompletableFuture.completedFuture("hover")));
+
+        assertEquals(sent.get(), 2);
+    }
+
+    @Test
+    public void shouldCollectHitsAndMisses() throws Exception {
+        cache.get("hover", URI, new Position(1, 2), sender(CompletableFuture.completedFuture("hover")));
+        cache.get("hover", URI, new Position(1, 2), sender(CompletableFuture.completedFuture("hover")));
+
+        Map<String, Long> values = new HashMap<>();
+        cache.collect("cache", values);
+
+        assertEquals(values.get("cache.hits"), Long.valueOf(1));
+        assertEquals(values.get("cache.misses"), Long.valueOf(1));
+        assertEquals(values.get("cache.size"), Long.valueOf(1));
+    }
+
+    private Supplier<CompletableFuture<String>> sender(CompletableFuture<String> response) {
+        return () -> {
+            sent.incrementAndGet();
+            return response;
+        };
+    }
+}
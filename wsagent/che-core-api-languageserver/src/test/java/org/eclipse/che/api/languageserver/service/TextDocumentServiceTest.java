@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.registry.ServerInitializer;
+import org.eclipse.che.api.languageserver.service.LanguageServerRequestMetrics.RequestStats;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link TextDocumentService}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentServiceTest {
+    private static final String ENDPOINT_ID       = "endpoint";
+    private static final String OTHER_ENDPOINT_ID = "other-endpoint";
+    private static final String FILE_PATH         = "/p/src/Main.java";
+
+    @Mock
+    private LanguageServerRegistry                         languageServerRegistry;
+    @Mock
+    private RequestHandlerConfigurator                     requestHandler;
+    @Mock
+    private ServerInitializer                              serverInitializer;
+    @Mock
+    private LanguageServer                                 languageServer;
+    @Mock
+    private org.eclipse.lsp4j.services.TextDocumentService serverTextDocumentService;
+
+    private LanguageServerRequestMetrics requestMetrics;
+    private TextDocumentService          textDocumentService;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(languageServerRegistry.findServer(anyString())).thenReturn(languageServer);
+        when(languageServer.getTextDocumentService()).thenReturn(serverTextDocumentService);
+        when(serverInitializer.getInitializedServers()).thenReturn(Collections.emptyMap());
+
+        requestMetrics = new LanguageServerRequestMetrics();
+        textDocumentService = new TextDocumentService(languageServerRegistry, requestHandler, serverInitializer, requestMetrics);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        textDocumentService.shutdown();
+    }
+
+    @Test
+    public void shouldCancelRequestWhichIsSupersededBySameEndpoint() throws Exception {
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        doReturn(first, second).when(serverTextDocumentService).completion(any(TextDocumentPositionParams.class));
+
+        AtomicReference<JsonRpcError> error = new AtomicReference<>();
+        textDocumentService.completion(ENDPOINT_ID, positionParams(1, 2)).onFailure(error::set);
+        textDocumentService.completion(ENDPOINT_ID, positionParams(1, 3));
+
+        assertTrue(first.isCancelled());
+        assertFalse(second.isCancelled());
+        assertEquals(error.get().getCode(), -32800);
+        assertEquals(getStats("textDocument/completion").getCancelledCount(), 1);
+    }
+
+    @Test
+    public void shouldNotSupersedeRequestsOfOtherEndpoints() throws Exception {
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+        doReturn(first, second).when(serverTextDocumentService).completion(any(TextDocumentPositionParams.class));
+
+        textDocumentService.completion(ENDPOINT_ID, positionParams(1, 2));
+        textDocumentService.completion(OTHER_ENDPOINT_ID, positionParams(1, 2));
+
+        assertFalse(first.isCancelled());
+        assertFalse(second.isCancelled());
+    }
+
+    @Test
+    public void shouldNotCancelSharedResponseWhenCachedRequestIsSuperseded() throws Exception {
+        CompletableFuture<Object> shared = new CompletableFuture<>();
+        CompletableFuture<Object> other = new CompletableFuture<>();
+        doReturn(shared, other).when(serverTextDocumentService).hover(any(TextDocumentPositionParams.class));
+
+        AtomicReference<JsonRpcError> supersededError = new AtomicReference<>();
+        AtomicBoolean sharedSucceeded = new AtomicBoolean();
+        textDocumentService.hover(ENDPOINT_ID, positionParams(1, 2)).onFailure(supersededError::set);
+        textDocumentService.hover(OTHER_ENDPOINT_ID, positionParams(1, 2)).onSuccess(hover -> sharedSucceeded.set(true));
+        textDocumentService.hover(ENDPOINT_ID, positionParams(1, 3));
+
+        assertEquals(supersededError.get().getCode(), -32800);
+        assertFalse(shared.isCancelled());
+
+        shared.complete(null);
+
+        assertTrue(sharedSucceeded.get());
+        verify(serverTextDocumentService, times(2)).hover(any(TextDocumentPositionParams.class));
+    }
+
+    @Test
+    public void shouldFailRequestWhenLanguageServerDoesNotRespondInTime() throws Exception {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        doReturn(pending).when(serverTextDocumentService).completion(any(TextDocumentPositionParams.class));
+        textDocumentService.setRequestTimeout("completion", 50);
+
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicReference<JsonRpcError> error = new AtomicReference<>();
+        JsonRpcPromise<?> promise = textDocumentService.completion(ENDPOINT_ID, positionParams(1, 2));
+        promise.onFailure(e -> {
+            error.set(e);
+            failed.countDown();
+        });
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertTrue(pending.isCancelled());
+        assertEquals(error.get().getCode(), -27000);
+        assertTrue(error.get().getMessage().contains("didn't respond"));
+        assertEquals(getStats("textDocument/completion").getTimedOutCount(), 1);
+    }
+
+    @Test
+    public void shouldRecordLatencyOfSucceededRequests() throws Exception {
+        doReturn(CompletableFuture.completedFuture(null)).when(serverTextDocumentService).completion(any(TextDocumentPositionParams.class));
+
+        AtomicBoolean succeeded = new AtomicBoolean();
+        textDocumentService.completion(ENDPOINT_ID, positionParams(1, 2)).onSuccess(list -> {
+            assertNull(list);
+            succeeded.set(true);
+        });
+
+        assertTrue(succeeded.get());
+        assertEquals(getStats("textDocument/completion").getLatency().getCount(), 1);
+        assertEquals(getStats("textDocument/completion").getLatency().getFailures(), 0);
+    }
+
+    private RequestStats getStats(String method) {
+        return requestMetrics.getServers().get("unknown").get(method);
+    }
+
+    private static TextDocumentPositionParams positionParams(int line, int character) {
+        TextDocumentPositionParams params = new TextDocumentPositionParams();
+        params.setTextDocument(new TextDocumentIdentifier(FILE_PATH));
+        params.setUri(FILE_PATH);
+        params.setPosition(new Position(line, character));
+        return params;
+    }
+}
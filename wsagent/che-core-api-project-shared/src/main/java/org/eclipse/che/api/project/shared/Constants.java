@@ -34,6 +34,10 @@ public class Constants {
 
     public static final String CHE_DIR = ".che";
 
+    // headers of search response, partial search is executed while index is not fully built yet
+    public static final String SEARCH_PARTIAL_HEADER         = "Search-Partial";
+    public static final String SEARCH_PROCESSED_FILES_HEADER = "Search-Processed-Files";
+
     public static final String COMMANDS_ATTRIBUTE_NAME        = "commands";
     public static final String COMMANDS_ATTRIBUTE_DESCRIPTION = "Project-related commands";
 
@@ -27,12 +27,24 @@ import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOV
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Editor changes are applied to a {@link TextRope}, so applying a change doesn't
+ * copy the whole content. Bytes of the content are materialized lazily when they
+ * are requested and kept until the next change.
+ *
+ * <p>Content of an idle working copy may be evicted from memory by
+ * {@link EditorWorkingCopyManager}, such content is loaded back on the next access and
+ * the loader is {@link ContentLoader#restored() notified} once the content is in memory.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
-    private String path;
-    private String projectPath;
-    private byte[] content;
+    private String        path;
+    private String        projectPath;
+    private byte[]        content;
+    private TextRope      text;
+    private ContentLoader evictedContentLoader;
+
+    private volatile long residentSize;
 
     /**
      * Creates a working copy for opened editor on client.
@@ -48,35 +60,42 @@ public class EditorWorkingCopy {
         this.path = path;
         this.projectPath = projectPath;
         this.content = Arrays.copyOf(content, content.length);
+        this.residentSize = content.length;
     }
 
     /**
      * Gets content of the working copy as bytes.
      *
      * @return content ot the working copy
+     * @throws ServerException
+     *         if evicted content of the working copy can't be loaded
      */
-    public byte[] getContentAsBytes() {
-        if (content == null) {
-            content = new byte[0];
-        }
-        return Arrays.copyOf(content, content.length);
+    public byte[] getContentAsBytes() throws ServerException {
+        return withContent(() -> {
+            byte[] bytes = getBytes();
+            return Arrays.copyOf(bytes, bytes.length);
+        });
     }
 
     /**
      * Gets content of the working copy as String decoding bytes.
      *
      * @return content ot the working copy
+     * @throws ServerException
+     *         if evicted content of the working copy can't be loaded
      */
-    public String getContentAsString() {
-        return new String(getContentAsBytes());
+    public String getContentAsString() throws ServerException {
+        return withContent(() -> content == null && text != null ? text.toString() : new String(getBytes()));
     }
 
     /**
      * Gets content of the working copy.
      *
      * @return content ot the working copy
+     * @throws ServerException
+     *         if evicted content of the working copy can't be loaded
      */
-    public InputStream getContent() {
+    public InputStream getContent() throws ServerException {
         return new ByteArrayInputStream(getContentAsBytes());
     }
 
@@ -87,8 +106,11 @@ public class EditorWorkingCopy {
      *         content
      * @return current working copy after updating content
      */
-    EditorWorkingCopy updateContent(byte[] content) {
+    synchronized EditorWorkingCopy updateContent(byte[] content) {
         this.content = content;
+        this.text = null;
+        this.evictedContentLoader = null;
+        updateResidentSize();
         return this;
     }
 
@@ -99,8 +121,11 @@ public class EditorWorkingCopy {
      *         content
      * @return current working copy after updating content
      */
-    EditorWorkingCopy updateContent(String content) {
-        updateContent(content.getBytes());
+    synchronized EditorWorkingCopy updateContent(String content) {
+        this.content = null;
+        this.text = TextRope.of(content);
+        this.evictedContentLoader = null;
+        updateResidentSize();
         return this;
     }
 
@@ -126,28 +151,110 @@ public class EditorWorkingCopy {
      *
      * @param changes
      *         contains editor content changes
+     * @throws ServerException
+     *         if evicted content of the working copy can't be loaded
      */
-    void applyChanges(EditorChangesDto changes) {
-        synchronized (this) {
-            String text = changes.getText();
+    void applyChanges(EditorChangesDto changes) throws ServerException {
+        withContent(() -> {
+            String insertedText = changes.getText();
             int offset = changes.getOffset();
             int removedCharCount = changes.getRemovedCharCount();
 
-            String newContent = null;
-            String oldContent = getContentAsString();
+            TextRope newText = null;
             EditorChangesDto.Type type = changes.getType();
             if (type == INSERT) {
-                newContent = new StringBuilder(oldContent).insert(offset, text).toString();
+                newText = getText().insert(offset, insertedText);
             }
 
             if (type == REMOVE && removedCharCount > 0) {
-                newContent = new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
+                TextRope oldText = getText();
+                newText = oldText.delete(offset, Math.min(offset + removedCharCount, oldText.length()));
             }
 
-            if (newContent != null) {
-                updateContent(newContent);
+            if (newText != null) {
+                text = newText;
+                content = null;
+                updateResidentSize();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Drops content of the working copy from memory, the content is loaded
+     * with the given loader when it is accessed next time.
+     *
+     * @param loader
+     *         loader of content which has been saved by the caller
+     */
+    synchronized void evict(ContentLoader loader) {
+        content = null;
+        text = null;
+        evictedContentLoader = loader;
+        updateResidentSize();
+    }
+
+    /** Returns {@code true} if content of the working copy is evicted from memory. */
+    synchronized boolean isEvicted() {
+        return evictedContentLoader != null;
+    }
+
+    /**
+     * Loads evicted content of the working copy back to memory, does nothing if content is not evicted.
+     *
+     * @throws ServerException
+     *         if evicted content can't be loaded, content stays evicted in this case
+     */
+    void restore() throws ServerException {
+        withContent(() -> null);
+    }
+
+    /** Returns approximate number of bytes that content of the working copy occupies in memory. */
+    long getResidentSize() {
+        return residentSize;
+    }
+
+    /**
+     * Reads content of the working copy under its lock, evicted content is loaded first.
+     * The loader is notified about restored content after the lock is released,
+     * so it may evict other working copies without lock ordering issues.
+     */
+    private <T> T withContent(ContentReader<T> reader) throws ServerException {
+        final ContentLoader loader;
+        final T result;
+        synchronized (this) {
+            loader = evictedContentLoader;
+            if (loader != null) {
+                content = loader.load();
+                evictedContentLoader = null;
+                updateResidentSize();
             }
+            result = reader.read();
+        }
+        if (loader != null) {
+            loader.restored();
         }
+        return result;
+    }
+
+    /** Returns bytes of the content materializing them from the text if needed, must be called holding the lock. */
+    private byte[] getBytes() {
+        if (content == null) {
+            content = text == null ? new byte[0] : text.toString().getBytes();
+        }
+        return content;
+    }
+
+    private void updateResidentSize() {
+        residentSize = (content == null ? 0 : content.length) + (text == null ? 0 : 2L * text.length());
+    }
+
+    /** Returns text of the working copy decoding its content when the first change is applied. */
+    private TextRope getText() {
+        if (text == null) {
+            text = TextRope.of(content == null ? "" : new String(content));
+        }
+        return text;
     }
 
     /** Returns the path to the persistent working copy */
@@ -167,4 +274,17 @@ public class EditorWorkingCopy {
     public void setProjectPath(String projectPath) {
         this.projectPath = projectPath;
     }
+
+    /** Loads evicted content of a working copy. */
+    interface ContentLoader {
+        byte[] load() throws ServerException;
+
+        /** Called when loaded content is in memory and the working copy is unlocked. */
+        default void restored() {
+        }
+    }
+
+    private interface ContentReader<T> {
+        T read() throws ServerException;
+    }
 }
@@ -30,12 +30,19 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.String.format;
 import static java.nio.charset.Charset.defaultCharset;
@@ -44,6 +51,11 @@ import static org.eclipse.che.api.project.shared.Constants.CHE_DIR;
 /**
  * The class contains methods to simplify the work with editor working copies.
  *
+ * <p>Content of working copies is kept in memory within the configured budget, when the budget
+ * is exceeded content of the least recently used working copies is saved to the persistent
+ * working copies storage (<i>.che/workingCopies</i> folder of a project) and dropped from memory.
+ * Evicted content is loaded back when the working copy is accessed next time.
+ *
  * @author Roman Nikitenko
  */
 @Singleton
@@ -56,16 +68,23 @@ public class EditorWorkingCopyManager {
     private EventService                                eventService;
     private RequestTransmitter                          transmitter;
     private EventSubscriber<FileTrackingOperationEvent> fileOperationEventSubscriber;
+    private long                                        memoryBudgetMb;
 
-    private final Map<String, EditorWorkingCopy> workingCopiesStorage = new HashMap<>();
+    private final Map<String, EditorWorkingCopy> workingCopiesStorage = new ConcurrentHashMap<>();
+    /** Working copies which content is in memory, in access order, guarded by itself. */
+    private final Map<String, EditorWorkingCopy> residentWorkingCopies = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong                     evictionCount         = new AtomicLong();
+    private final AtomicLong                     restoreCount          = new AtomicLong();
 
     @Inject
     public EditorWorkingCopyManager(Provider<ProjectManager> projectManagerProvider,
                                     EventService eventService,
-                                    RequestTransmitter transmitter) {
+                                    RequestTransmitter transmitter,
+                                    @Named("che.editor.working_copies.memory_budget_mb") long memoryBudgetMb) {
         this.projectManagerProvider = projectManagerProvider;
         this.eventService = eventService;
         this.transmitter = transmitter;
+        this.memoryBudgetMb = memoryBudgetMb;
 
         fileOperationEventSubscriber = new EventSubscriber<FileTrackingOperationEvent>() {
             @Override
@@ -86,7 +105,30 @@ public class EditorWorkingCopyManager {
      */
     @Nullable
     public EditorWorkingCopy getWorkingCopy(String filePath) {
-        return workingCopiesStorage.get(filePath);
+        EditorWorkingCopy workingCopy = workingCopiesStorage.get(filePath);
+        if (workingCopy != null && !workingCopy.isEvicted()) {
+            markAccessed(filePath, workingCopy);
+        }
+        return workingCopy;
+    }
+
+    /** Returns approximate number of bytes occupied in memory by content of all working copies. */
+    public long getResidentBytes() {
+        long residentBytes = 0;
+        for (EditorWorkingCopy workingCopy : workingCopiesStorage.values()) {
+            residentBytes += workingCopy.getResidentSize();
+        }
+        return residentBytes;
+    }
+
+    /** Returns the number of times content of a working copy was evicted from memory. */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /** Returns the number of times evicted content of a working copy was loaded back to memory. */
+    public long getRestoreCount() {
+        return restoreCount.get();
     }
 
     void onEditorContentUpdated(String endpointId, EditorChangesDto changes) {
@@ -104,7 +146,9 @@ public class EditorWorkingCopyManager {
             }
 
             workingCopy.applyChanges(changes);
+            markAccessed(filePath, workingCopy);
             eventService.publish(new EditorWorkingCopyUpdatedEvent(endpointId, changes));
+            enforceMemoryBudget(filePath);
 
         } catch (IOException | ForbiddenException | ConflictException | ServerException e) {
             String errorMessage = "Can not handle editor changes: " + e.getLocalizedMessage();
@@ -130,6 +174,7 @@ public class EditorWorkingCopyManager {
                     EditorWorkingCopy workingCopy = workingCopiesStorage.get(path);
                     if (workingCopy == null) {
                         createWorkingCopy(path);
+                        enforceMemoryBudget(path);
                     }
                     //TODO At opening file we can have persistent working copy when user has unsaved data
                     // at this case we need provide ability to recover unsaved data
@@ -137,20 +182,27 @@ public class EditorWorkingCopyManager {
                 }
                 case STOP: {
                     String path = operation.getPath();
-                    EditorWorkingCopy workingCopy = workingCopiesStorage.get(path);
+                    // removed first so the working copy can't be evicted while it is being closed
+                    EditorWorkingCopy workingCopy = removeWorkingCopy(path);
                     if (workingCopy == null) {
                         return;
                     }
 
-                    if (isWorkingCopyHasUnsavedData(path)) {
-                        createPersistentWorkingCopy(path);//to have ability to recover unsaved data when the file will be open later
-                    } else {
-                        VirtualFileEntry persistentWorkingCopy = getPersistentWorkingCopy(path, workingCopy.getProjectPath());
-                        if (persistentWorkingCopy != null) {
-                            persistentWorkingCopy.remove();
+                    try {
+                        workingCopy.restore();
+                        if (isWorkingCopyHasUnsavedData(path, workingCopy)) {
+                            //to have ability to recover unsaved data when the file will be open later
+                            createPersistentWorkingCopy(path, workingCopy);
+                        } else {
+                            VirtualFileEntry persistentWorkingCopy = getPersistentWorkingCopy(path, workingCopy.getProjectPath());
+                            if (persistentWorkingCopy != null) {
+                                persistentWorkingCopy.remove();
+                            }
                         }
+                    } catch (ServerException | ForbiddenException | ConflictException e) {
+                        workingCopiesStorage.putIfAbsent(path, workingCopy);
+                        throw e;
                     }
-                    workingCopiesStorage.remove(path);
                     break;
                 }
 
@@ -158,14 +210,22 @@ public class EditorWorkingCopyManager {
                     String oldPath = operation.getOldPath();
                     String newPath = operation.getPath();
 
-                    EditorWorkingCopy workingCopy = workingCopiesStorage.remove(oldPath);
+                    EditorWorkingCopy workingCopy = removeWorkingCopy(oldPath);
                     if (workingCopy == null) {
                         return;
                     }
+                    try {
+                        // evicted content is kept in the persistent working copy of the old path which is removed below
+                        workingCopy.restore();
+                    } catch (ServerException e) {
+                        workingCopiesStorage.putIfAbsent(oldPath, workingCopy);
+                        throw e;
+                    }
 
                     String workingCopyNewPath = toWorkingCopyPath(newPath);
                     workingCopy.setPath(workingCopyNewPath);
                     workingCopiesStorage.put(newPath, workingCopy);
+                    markAccessed(newPath, workingCopy);
 
                     String projectPath = workingCopy.getProjectPath();
                     VirtualFileEntry persistentWorkingCopy = getPersistentWorkingCopy(oldPath, projectPath);
@@ -206,13 +266,8 @@ public class EditorWorkingCopyManager {
                    .sendAndSkipResult();
     }
 
-    private boolean isWorkingCopyHasUnsavedData(String originalFilePath) {
+    private boolean isWorkingCopyHasUnsavedData(String originalFilePath, EditorWorkingCopy workingCopy) {
         try {
-            EditorWorkingCopy workingCopy = workingCopiesStorage.get(originalFilePath);
-            if (workingCopy == null) {
-                return false;
-            }
-
             FileEntry originalFile = projectManagerProvider.get().asFile(originalFilePath);
             if (originalFile == null) {
                 return false;
@@ -247,18 +302,114 @@ public class EditorWorkingCopyManager {
         String workingCopyPath = toWorkingCopyPath(filePath);
 
         EditorWorkingCopy workingCopy = new EditorWorkingCopy(workingCopyPath, projectPath, file.contentAsBytes());
-        workingCopiesStorage.put(filePath, workingCopy);
+        EditorWorkingCopy existing = workingCopiesStorage.putIfAbsent(filePath, workingCopy);
+        if (existing != null) {
+            return existing;
+        }
+        markAccessed(filePath, workingCopy);
 
         return workingCopy;
     }
 
-    private void createPersistentWorkingCopy(String originalFilePath) throws ServerException, ForbiddenException, ConflictException {
-        try {
-            EditorWorkingCopy workingCopy = workingCopiesStorage.get(originalFilePath);
-            if (workingCopy == null) {
-                throw new ServerException("Can not create recovery file for " + originalFilePath);
+    private EditorWorkingCopy removeWorkingCopy(String filePath) {
+        synchronized (residentWorkingCopies) {
+            residentWorkingCopies.remove(filePath);
+        }
+        return workingCopiesStorage.remove(filePath);
+    }
+
+    private void markAccessed(String filePath, EditorWorkingCopy workingCopy) {
+        synchronized (residentWorkingCopies) {
+            if (workingCopiesStorage.get(filePath) == workingCopy) {
+                residentWorkingCopies.put(filePath, workingCopy);
+            }
+        }
+    }
+
+    /**
+     * Evicts content of the least recently used working copies until content of the
+     * resident working copies fits the memory budget.
+     *
+     * <p>Working copies are locked only after the lock of resident working copies is released,
+     * since content of a working copy is restored under its own lock.
+     *
+     * @param activeFilePath
+     *         path of the file which working copy is in use and must not be evicted
+     */
+    private void enforceMemoryBudget(String activeFilePath) {
+        final long budget = memoryBudgetMb * 1024 * 1024;
+        final List<Map.Entry<String, EditorWorkingCopy>> victims = new ArrayList<>();
+        synchronized (residentWorkingCopies) {
+            long residentBytes = 0;
+            for (EditorWorkingCopy workingCopy : residentWorkingCopies.values()) {
+                residentBytes += workingCopy.getResidentSize();
             }
+            Iterator<Map.Entry<String, EditorWorkingCopy>> it = residentWorkingCopies.entrySet().iterator();
+            while (residentBytes > budget && it.hasNext()) {
+                Map.Entry<String, EditorWorkingCopy> entry = it.next();
+                if (entry.getKey().equals(activeFilePath)) {
+                    continue;
+                }
+                residentBytes -= entry.getValue().getResidentSize();
+                victims.add(new SimpleImmutableEntry<>(entry));
+                it.remove();
+            }
+        }
+        for (Map.Entry<String, EditorWorkingCopy> victim : victims) {
+            evict(victim.getKey(), victim.getValue());
+        }
+    }
 
+    private void evict(String originalFilePath, EditorWorkingCopy workingCopy) {
+        synchronized (workingCopy) {
+            synchronized (residentWorkingCopies) {
+                // closed, moved or accessed again after it was chosen for eviction
+                if (workingCopiesStorage.get(originalFilePath) != workingCopy || residentWorkingCopies.containsKey(originalFilePath)) {
+                    return;
+                }
+            }
+            if (workingCopy.isEvicted()) {
+                return;
+            }
+            try {
+                createPersistentWorkingCopy(originalFilePath, workingCopy);
+                workingCopy.evict(persistentContentLoader(originalFilePath, workingCopy));
+                evictionCount.incrementAndGet();
+            } catch (ServerException | ForbiddenException | ConflictException e) {
+                LOG.warn(format("Can not evict working copy of '%s' from memory. The reason is: %s", originalFilePath, e.getMessage()));
+                markAccessed(originalFilePath, workingCopy);
+            }
+        }
+    }
+
+    private EditorWorkingCopy.ContentLoader persistentContentLoader(String originalFilePath, EditorWorkingCopy workingCopy) {
+        final String projectPath = workingCopy.getProjectPath();
+        return new EditorWorkingCopy.ContentLoader() {
+            @Override
+            public byte[] load() throws ServerException {
+                VirtualFileEntry persistentWorkingCopy = getPersistentWorkingCopy(originalFilePath, projectPath);
+                if (persistentWorkingCopy == null) {
+                    throw new ServerException("Can not find recovery file for " + originalFilePath);
+                }
+                try {
+                    return persistentWorkingCopy.getVirtualFile().getContentAsBytes();
+                } catch (ForbiddenException e) {
+                    throw new ServerException("Can not read recovery file for " + originalFilePath + ": " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void restored() {
+                restoreCount.incrementAndGet();
+                markAccessed(originalFilePath, workingCopy);
+                enforceMemoryBudget(originalFilePath);
+            }
+        };
+    }
+
+    private void createPersistentWorkingCopy(String originalFilePath, EditorWorkingCopy workingCopy)
+            throws ServerException, ForbiddenException, ConflictException {
+        try {
             byte[] content = workingCopy.getContentAsBytes();
             String projectPath = workingCopy.getProjectPath();
 
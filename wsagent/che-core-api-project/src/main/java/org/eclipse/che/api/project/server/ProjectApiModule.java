@@ -35,7 +35,9 @@ import org.eclipse.che.api.vfs.impl.file.event.detectors.ProjectTreeTracker;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
+import org.eclipse.che.api.vfs.watcher.DefaultFileWatcherBackend;
 import org.eclipse.che.api.vfs.watcher.FileTreeWalker;
+import org.eclipse.che.api.vfs.watcher.FileWatcherBackend;
 import org.eclipse.che.api.vfs.watcher.FileWatcherByPathMatcher;
 import org.eclipse.che.api.vfs.watcher.IndexedFileCreateConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileDeleteConsumer;
@@ -92,6 +94,7 @@ public class ProjectApiModule extends AbstractModule {
         bind(VirtualFileSystemProvider.class).to(LocalVirtualFileSystemProvider.class);
 
         bind(FileWatcherNotificationHandler.class).to(DefaultFileWatcherNotificationHandler.class);
+        bind(FileWatcherBackend.class).to(DefaultFileWatcherBackend.class);
 
         bind(EditorChangesTracker.class).asEagerSingleton();
         bind(EditorWorkingCopyManager.class).asEagerSingleton();
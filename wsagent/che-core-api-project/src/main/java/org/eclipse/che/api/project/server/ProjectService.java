@@ -87,6 +87,8 @@ import static org.eclipse.che.api.project.server.DtoConverter.asDto;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_BATCH_PROJECTS;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_PROJECT;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_GET_PROJECTS;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_PARTIAL_HEADER;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_PROCESSED_FILES_HEADER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
@@ -848,7 +850,10 @@ public class ProjectService extends Service {
     @Path("/search/{path:.*}")
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Search for resources",
-                  notes = "Search for resources applying a number of search filters as query parameters",
+                  notes = "Search for resources applying a number of search filters as query parameters. " +
+                          "While the search index is being built, results may be incomplete, such responses " +
+                          "have 'Search-Partial' header set to true and 'Search-Processed-Files' header " +
+                          "set to the number of files indexed so far",
                   response = ItemReference.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
@@ -856,25 +861,25 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 409, message = "Conflict error"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
-                                      @PathParam("path") String path,
-                                      @ApiParam(value = "Resource name")
-                                      @QueryParam("name") String name,
-                                      @ApiParam(value = "Search keywords")
-                                      @QueryParam("text") String text,
-                                      @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
-                                      @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
-                                      @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+    public Response search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                           @PathParam("path") String path,
+                           @ApiParam(value = "Resource name")
+                           @QueryParam("name") String name,
+                           @ApiParam(value = "Search keywords")
+                           @QueryParam("text") String text,
+                           @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                           @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                           @ApiParam(value = "Skip count")
+                           @QueryParam("skipCount") int skipCount) throws NotFoundException,
+                                                                          ForbiddenException,
+                                                                          ConflictException,
+                                                                          ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
         } catch (NotFoundException e) {
             LOG.warn(e.getLocalizedMessage());
-            return Collections.emptyList();
+            return Response.ok().entity(Collections.<ItemReference>emptyList()).build();
         }
 
         if (skipCount < 0) {
@@ -901,7 +906,12 @@ public class ProjectService extends Service {
             }
         }
 
-        return items;
+        final Response.ResponseBuilder response = Response.ok().entity(items);
+        if (result.isPartial()) {
+            response.header(SEARCH_PARTIAL_HEADER, true)
+                    .header(SEARCH_PROCESSED_FILES_HEADER, result.getProcessedFilesCount());
+        }
+        return response.build();
     }
 
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
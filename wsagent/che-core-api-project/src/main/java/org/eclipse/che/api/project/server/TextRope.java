@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable text represented as a binary tree of string fragments, so that
+ * inserting or removing a fragment of text takes time proportional to the
+ * depth of the tree rather than to the length of the whole text.
+ *
+ * <p>Small adjacent fragments are merged up to {@link #MAX_LEAF_LENGTH}
+ * characters, so typing character by character doesn't produce a node per
+ * character. The tree is rebuilt into a balanced one when it becomes too deep
+ * because of a long series of edits at the same place.
+ */
+final class TextRope {
+    static final int MAX_LEAF_LENGTH = 1024;
+
+    private static final int      MAX_DEPTH = 48;
+    private static final TextRope EMPTY     = new TextRope(new Leaf(""));
+
+    private final Node root;
+
+    private TextRope(Node root) {
+        this.root = root;
+    }
+
+    /** Creates rope that contains the given text. */
+    static TextRope of(String text) {
+        if (text.isEmpty()) {
+            return EMPTY;
+        }
+        return new TextRope(build(text, 0, text.length()));
+    }
+
+    /** Returns the number of characters of the text. */
+    int length() {
+        return root.length;
+    }
+
+    /**
+     * Returns rope with the given text inserted at the offset.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if offset is negative or greater than length of the text
+     */
+    TextRope insert(int offset, String text) {
+        checkOffset(offset);
+        if (text.isEmpty()) {
+            return this;
+        }
+        final Node inserted = text.length() <= MAX_LEAF_LENGTH ? new Leaf(text) : build(text, 0, text.length());
+        final Node[] parts = split(root, offset);
+        return balanced(concat(concat(parts[0], inserted), parts[1]));
+    }
+
+    /**
+     * Returns rope without the characters from {@code start} inclusive to {@code end} exclusive.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if start is negative, end is greater than length of the text or start is greater than end
+     */
+    TextRope delete(int start, int end) {
+        if (start < 0 || end > root.length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + root.length);
+        }
+        if (start == end) {
+            return this;
+        }
+        final Node[] head = split(root, start);
+        final Node[] tail = split(head[1], end - start);
+        return balanced(concat(head[0], tail[1]));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(root.length);
+        root.appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Returns depth of the tree, used by tests. */
+    int depth() {
+        return root.depth;
+    }
+
+    private void checkOffset(int offset) {
+        if (offset < 0 || offset > root.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + root.length);
+        }
+    }
+
+    private static TextRope balanced(Node root) {
+        if (root.depth <= MAX_DEPTH) {
+            return new TextRope(root);
+        }
+        final List<Leaf> leaves = new ArrayList<>();
+        root.collectLeaves(leaves);
+        return new TextRope(build(leaves, 0, leaves.size()));
+    }
+
+    private static Node build(String text, int start, int end) {
+        if (end - start <= MAX_LEAF_LENGTH) {
+            return new Leaf(text.substring(start, end));
+        }
+        final int middle = (start + end) >>> 1;
+        return new Concat(build(text, start, middle), build(text, middle, end));
+    }
+
+    private static Node build(List<Leaf> leaves, int start, int end) {
+        if (end - start == 1) {
+            return leaves.get(start);
+        }
+        final int middle = (start + end) >>> 1;
+        return new Concat(build(leaves, start, middle), build(leaves, middle, end));
+    }
+
+    /** Splits node into two nodes, the first one contains {@code offset} characters. */
+    private static Node[] split(Node node, int offset) {
+        if (offset == 0) {
+            return new Node[] {EMPTY.root, node};
+        }
+        if (offset == node.length) {
+            return new Node[] {node, EMPTY.root};
+        }
+        if (node instanceof Leaf) {
+            final String text = ((Leaf)node).text;
+            return new Node[] {new Leaf(text.substring(0, offset)), new Leaf(text.substring(offset))};
+        }
+        final Concat concat = (Concat)node;
+        if (offset < concat.left.length) {
+            final Node[] parts = split(concat.left, offset);
+            return new Node[] {parts[0], concat(parts[1], concat.right)};
+        }
+        if (offset > concat.left.length) {
+            final Node[] parts = split(concat.right, offset - concat.left.length);
+            return new Node[] {concat(concat.left, parts[0]), parts[1]};
+        }
+        return new Node[] {concat.left, concat.right};
+    }
+
+    private static Node concat(Node left, Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        if (left.length + right.length <= MAX_LEAF_LENGTH && left instanceof Leaf && right instanceof Leaf) {
+            return new Leaf(((Leaf)left).text + ((Leaf)right).text);
+        }
+        // merge a small fragment into the adjacent leaf of a subtree, typical for typing
+        if (right instanceof Leaf && left instanceof Concat) {
+            final Concat l = (Concat)left;
+            if (l.right instanceof Leaf && l.right.length + right.length <= MAX_LEAF_LENGTH) {
+                return new Concat(l.left, new Leaf(((Leaf)l.right).text + ((Leaf)right).text));
+            }
+        }
+        if (left instanceof Leaf && right instanceof Concat) {
+            final Concat r = (Concat)right;
+            if (r.left instanceof Leaf && left.length + r.left.length <= MAX_LEAF_LENGTH) {
+                return new Concat(new Leaf(((Leaf)left).text + ((Leaf)r.left).text), r.right);
+            }
+        }
+        return new Concat(left, right);
+    }
+
+    private abstract static class Node {
+        final int length;
+        final int depth;
+
+        Node(int length, int depth) {
+            this.length = length;
+            this.depth = depth;
+        }
+
+        abstract void appendTo(StringBuilder sb);
+
+        abstract void collectLeaves(List<Leaf> leaves);
+    }
+
+    private static final class Leaf extends Node {
+        final String text;
+
+        Leaf(String text) {
+            super(text.length(), 0);
+            this.text = text;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            sb.append(text);
+        }
+
+        @Override
+        void collectLeaves(List<Leaf> leaves) {
+            if (length > 0) {
+                leaves.add(this);
+            }
+        }
+    }
+
+    private static final class Concat extends Node {
+        final Node left;
+        final Node right;
+
+        Concat(Node left, Node right) {
+            super(left.length + right.length, Math.max(left.depth, right.depth) + 1);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            left.appendTo(sb);
+            right.appendTo(sb);
+        }
+
+        @Override
+        void collectLeaves(List<Leaf> leaves) {
+            left.collectLeaves(leaves);
+            right.collectLeaves(leaves);
+        }
+    }
+}
@@ -12,6 +12,8 @@ package org.eclipse.che.api.vfs.impl.file;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventHandler;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.slf4j.Logger;
@@ -22,7 +24,6 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
@@ -30,9 +31,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Iterator;
@@ -40,10 +38,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
@@ -51,15 +52,20 @@ import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.getLastModifiedTime;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptySet;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches the whole tree of the workspace file system and notifies
+ * {@link FileWatcherNotificationHandler} about created, modified and deleted
+ * items. Watching of directories is delegated to {@link FileWatcherService},
+ * so the watches are shared with the rest of the file watcher system, any
+ * directory reported by the service as changed is rescanned and compared
+ * with its last known state.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
@@ -73,14 +79,28 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
-    private       WatchService                   watchService;
-    private       WatchEvent.Modifier[]          watchEventModifiers;
+    private final BlockingQueue<Path>            changedDirectories;
+    private final Consumer<Path>                 directoryListener;
+    private final boolean                        ownService;
+    private       FileWatcherService             service;
+
+    /**
+     * Creates a watcher that uses its own {@link FileWatcherService}, that
+     * service is started and stopped together with the watcher.
+     */
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, null);
+    }
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
-                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
-        watchEventModifiers = new WatchEvent.Modifier[0];
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           FileWatcherService service) {
+        this.service = service;
+        this.ownService = service == null;
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
         this.excludePatterns = newArrayList(excludePatterns);
@@ -94,6 +114,8 @@ public class FileTreeWatcher {
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
         watchedDirectories = newHashMap();
+        changedDirectories = new LinkedBlockingQueue<>();
+        directoryListener = changedDirectories::offer;
     }
 
     private static File toCanonicalFile(File file) {
@@ -105,31 +127,19 @@ public class FileTreeWatcher {
     }
 
     public void startup() throws IOException {
-        watchService = FileSystems.getDefault().newWatchService();
-        if (isPollingWatchService(watchService)) {
-            watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
+        if (ownService) {
+            service = new FileWatcherService(emptySet(),
+                                             new FileWatcherEventHandler(watchRoot),
+                                             FileSystems.getDefault().newWatchService());
+            service.start();
         }
+        service.addDirectoryListener(directoryListener);
         running.set(true);
         walkTreeAndSetupWatches(watchRootPath);
         executor.execute(new WatchEventTask());
         fileWatcherNotificationHandler.started(watchRoot);
     }
 
-    private boolean isPollingWatchService(WatchService watchService) {
-        return "sun.nio.fs.PollingWatchService".equals(watchService.getClass().getName());
-    }
-
-    private WatchEvent.Modifier createSensitivityWatchEventModifier() {
-        try {
-            Class<?> aModifierEnum = Class.forName("com.sun.nio.file.SensitivityWatchEventModifier");
-            Object[] sensitivityEnumConstants = aModifierEnum.getEnumConstants();
-            return (WatchEvent.Modifier)sensitivityEnumConstants[0];
-        } catch (Exception e) {
-            LOG.warn("Can't create 'com.sun.nio.file.SensitivityWatchEventModifier'", e);
-        }
-        return null;
-    }
-
     public void shutdown() {
         boolean interrupted = false;
         executor.shutdown();
@@ -151,10 +161,9 @@ public class FileTreeWatcher {
             LOG.warn(e.getMessage());
         }
 
-        try {
-            watchService.close();
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        service.removeDirectoryListener(directoryListener);
+        if (ownService) {
+            service.stop();
         }
 
         if (interrupted) {
@@ -222,10 +231,8 @@ public class FileTreeWatcher {
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
         if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+            service.register(directory);
+            WatchedDirectory watchedDirectory = new WatchedDirectory(directory);
             try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
                 for (Path entry : entries) {
                     watchedDirectory
@@ -241,9 +248,8 @@ public class FileTreeWatcher {
     }
 
     private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
+        if (watchedDirectories.remove(path) != null) {
+            service.unRegister(path);
         }
     }
 
@@ -254,22 +260,20 @@ public class FileTreeWatcher {
         public void run() {
             while (running.get()) {
                 try {
-                    WatchKey watchKey;
+                    Path directory;
                     if (pendingEvents.isEmpty()) {
-                        watchKey = watchService.take();
+                        directory = changedDirectories.take();
                     } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
+                        directory = changedDirectories.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
+                        if (directory == null) {
                             processPendingEvents(pendingEvents);
                             pendingEvents.clear();
                         }
                     }
-                    if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
+                    if (directory != null) {
+                        pendingEvents.add(new PendingEvent(directory));
                     }
-                } catch (InterruptedException | ClosedWatchServiceException e) {
+                } catch (InterruptedException e) {
                     running.set(false);
                 } catch (Throwable e) {
                     running.set(false);
@@ -340,7 +344,7 @@ public class FileTreeWatcher {
                 for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
                     fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+                cancelDirectoryWatcher(eventDirectoryPath);
             }
         }
     }
@@ -387,20 +391,14 @@ public class FileTreeWatcher {
 
     static class WatchedDirectory {
         final Path                path;
-        final WatchKey            watchKey;
         final List<DirectoryItem> items;
         int hitCounter;
 
-        WatchedDirectory(Path path, WatchKey watchKey) {
+        WatchedDirectory(Path path) {
             this.path = path;
-            this.watchKey = watchKey;
             items = newArrayList();
         }
 
-        WatchKey getWatchKey() {
-            return watchKey;
-        }
-
         Path getPath() {
             return path;
         }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -35,6 +36,7 @@ import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.util.DeleteOnCloseFileInputStream;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Pair;
@@ -52,21 +54,27 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.nio.file.Files.getLastModifiedTime;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
+import static java.util.Collections.unmodifiableList;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
@@ -82,6 +90,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
 
+    /**
+     * Listing of a folder is cached only if the folder was not modified during this period, since
+     * modification time of a file system may be too coarse to distinguish modifications made after
+     * the listing is read.
+     */
+    public static final long MODIFICATION_TIME_GRANULARITY = 2000; // 2 seconds
+
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
     private static final String   LOCK_FILE_SUFFIX       = "_lock";
@@ -136,15 +151,34 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    private final Cache<Path, FolderListing>   childrenCache;
+    private final FileWatcherService           fileWatcherService;
+    private final Consumer<java.nio.file.Path> folderChangesListener;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, null);
+    }
+
+    /**
+     * @param fileWatcherService
+     *         if not {@code null} cached listings of folders are invalidated as soon as the service
+     *         notifies about their changes, otherwise listings are validated by modification time of
+     *         folders only
+     */
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  FileWatcherService fileWatcherService) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
         this.closeCallback = closeCallback;
+        this.fileWatcherService = fileWatcherService;
 
         root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
         pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
@@ -162,6 +196,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(1024)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .build();
+
+        folderChangesListener = this::onFolderChanged;
+        if (fileWatcherService != null) {
+            fileWatcherService.addDirectoryListener(folderChangesListener);
+        }
     }
 
     @Override
@@ -176,7 +221,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     @Override
     public void close() throws ServerException {
+        if (fileWatcherService != null) {
+            fileWatcherService.removeDirectoryListener(folderChangesListener);
+        }
         cleanUpCaches();
+        childrenCache.invalidateAll();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,41 +292,86 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
+            final VirtualFileFilter vfsFilter = filter == null ? VirtualFileFilter.ACCEPT_ALL : filter;
+            final List<String> names = getChildrenNames(parent);
+            final List<VirtualFile> children = newArrayListWithCapacity(names.size());
+            for (String name : names) {
+                final Path childPath = parent.getPath().newPath(name);
+                final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
+                if (vfsFilter.accept(child)) {
+                    children.add(child);
+                }
+            }
             return children;
         }
         return emptyList();
     }
 
+    /**
+     * Returns names of children of the folder in the order defined by {@link LocalVirtualFile#compareTo(VirtualFile)}.
+     * Names are read from the cache if the folder is not modified since they were cached.
+     */
+    private List<String> getChildrenNames(LocalVirtualFile parent) throws ServerException {
+        final Path path = parent.getPath();
+        final FileTime lastModified;
+        try {
+            lastModified = getLastModifiedTime(parent.toIoFile().toPath());
+        } catch (IOException e) {
+            throw new ServerException(String.format("Unable get children of '%s'", path));
+        }
 
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
+        final FolderListing cached = childrenCache.getIfPresent(path);
+        if (cached != null && cached.lastModified.equals(lastModified)) {
+            return cached.names;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+        final List<String> names = readChildrenNames(parent);
+        if (System.currentTimeMillis() - lastModified.toMillis() > MODIFICATION_TIME_GRANULARITY) {
+            childrenCache.put(path, new FolderListing(lastModified, names));
+        } else {
+            childrenCache.invalidate(path);
         }
+        return names;
+    }
+
 
-        if (vfsFilter == null) {
-            vfsFilter = VirtualFileFilter.ACCEPT_ALL;
+    private List<String> readChildrenNames(LocalVirtualFile parent) throws ServerException {
+        final File ioParent = parent.toIoFile();
+        final String[] names = ioParent.list(DOT_VFS_DIR_FILTER);
+        if (names == null) {
+            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
+        final List<String> folders = new ArrayList<>();
+        final List<String> files = new ArrayList<>();
         for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
-            final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-            if (vfsFilter.accept(child)) {
-                children.add(child);
+            if (new File(ioParent, name).isDirectory()) {
+                folders.add(name);
+            } else {
+                files.add(name);
             }
         }
+        Collections.sort(folders);
+        Collections.sort(files);
+        folders.addAll(files);
+
+        return unmodifiableList(folders);
+    }
+
+
+    private void onFolderChanged(java.nio.file.Path ioFolder) {
+        final java.nio.file.Path ioRootPath = ioRoot.toPath().toAbsolutePath();
+        if (ioFolder.startsWith(ioRootPath)) {
+            childrenCache.invalidate(Path.of(toInternalPath(ioRootPath, ioFolder)));
+        }
+    }
 
-        return children;
+
+    /** Invalidates cached listings of the folder and of all its descendants. */
+    private void invalidateChildren(Path path) {
+        childrenCache.asMap().keySet().removeIf(it -> it.equals(path) || it.isChild(path));
     }
 
 
@@ -303,6 +397,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 throw new ServerException(errorMessage);
             }
 
+            childrenCache.invalidate(parent.getPath());
             final LocalVirtualFile newVirtualFile = new LocalVirtualFile(newIoFile, newPath, this);
 
             if (content != null) {
@@ -330,6 +425,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            childrenCache.invalidate(parent.getPath());
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -382,6 +478,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             IoUtil.copy(from.toIoFile(), to.toIoFile(), VFS_LOCK_FILTER);
+            invalidateChildren(to.getPath().getParent());
         } catch (IOException e) {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -589,7 +686,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        invalidateChildren(virtualFile.getPath());
+        childrenCache.invalidate(virtualFile.getPath().getParent());
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -615,6 +715,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
         if (parent.isFolder()) {
             extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            invalidateChildren(parent.getPath());
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -640,6 +741,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
         if (parent.isFolder()) {
             extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            invalidateChildren(parent.getPath());
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -873,7 +975,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 }
             }
 
-            metadataCache.put(virtualFile.getPath(), properties);
+            metadataCache.put(virtualFile.getPath(), ImmutableMap.copyOf(properties));
 
             if (!virtualFile.toIoFile().setLastModified(System.currentTimeMillis())) {
                 LOG.warn("Unable to set timestamp to '{}'", virtualFile.toIoFile());
@@ -959,4 +1061,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
     }
+
+    private static class FolderListing {
+        final FileTime     lastModified;
+        final List<String> names;
+
+        FolderListing(FileTime lastModified, List<String> names) {
+            this.lastModified = lastModified;
+            this.names = names;
+        }
+    }
 }
@@ -15,6 +15,7 @@ import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -25,19 +26,26 @@ import java.nio.file.Files;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
-    private final File             rootDirectory;
-    private final SearcherProvider searcherProvider;
+    private final File               rootDirectory;
+    private final SearcherProvider   searcherProvider;
+    private final FileWatcherService fileWatcherService;
+
+    public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider) throws IOException {
+        this(rootDirectory, searcherProvider, null);
+    }
 
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
-                                          SearcherProvider searcherProvider) throws IOException {
+                                          SearcherProvider searcherProvider,
+                                          FileWatcherService fileWatcherService) throws IOException {
         this.rootDirectory = rootDirectory;
         this.searcherProvider = searcherProvider;
+        this.fileWatcherService = fileWatcherService;
         Files.createDirectories(rootDirectory.toPath());
     }
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback, fileWatcherService);
     }
 }
@@ -29,15 +29,21 @@ public class SearchResult {
     private final Optional<QueryExpression> nextPageQueryExpression;
     private final int                       totalHits;
     private final long                      elapsedTimeMillis;
+    private final boolean                   partial;
+    private final long                      processedFilesCount;
 
     private SearchResult(List<SearchResultEntry> results,
                          Optional<QueryExpression> nextPageQueryExpression,
                          int totalHits,
-                         long elapsedTimeMillis) {
+                         long elapsedTimeMillis,
+                         boolean partial,
+                         long processedFilesCount) {
         this.results = results;
         this.nextPageQueryExpression = nextPageQueryExpression;
         this.totalHits = totalHits;
         this.elapsedTimeMillis = elapsedTimeMillis;
+        this.partial = partial;
+        this.processedFilesCount = processedFilesCount;
     }
 
     /** Paths of files that match the search criteria. This method is shortcut for:
@@ -75,11 +81,23 @@ public class SearchResult {
         return nextPageQueryExpression;
     }
 
+    /** {@code true} if the query was executed while index was not fully built yet, so some matches may be missing. */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /** Number of files checked or indexed by the initial indexing when the query was executed. */
+    public long getProcessedFilesCount() {
+        return processedFilesCount;
+    }
+
     public static class SearchResultBuilder {
         private QueryExpression         nextPageQueryExpression;
         private List<SearchResultEntry> results;
         private int                     totalHits;
         private long                    elapsedTimeMillis;
+        private boolean                 partial;
+        private long                    processedFilesCount;
 
         private SearchResultBuilder() {
         }
@@ -104,6 +122,16 @@ public class SearchResult {
             return this;
         }
 
+        public SearchResultBuilder withPartial(boolean partial) {
+            this.partial = partial;
+            return this;
+        }
+
+        public SearchResultBuilder withProcessedFilesCount(long processedFilesCount) {
+            this.processedFilesCount = processedFilesCount;
+            return this;
+        }
+
         public SearchResult build() {
             Optional<QueryExpression> optionalPageNexQueryExpression;
             if (nextPageQueryExpression == null) {
@@ -114,7 +142,7 @@ public class SearchResult {
             if (results == null) {
                 results = emptyList();
             }
-            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis, partial, processedFilesCount);
         }
     }
 }
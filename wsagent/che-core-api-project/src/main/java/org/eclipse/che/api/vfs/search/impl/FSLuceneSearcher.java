@@ -25,22 +25,37 @@ import java.io.IOException;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Unless it is persistent it cleans index directory after call method {@link #close()},
+ * persistent searcher keeps the index, so it is reused after restart and only files changed since then are re-indexed.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    private final File    indexDirectory;
+    private final boolean persistent;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
         this(indexDirectory, filter, null);
     }
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(indexDirectory, filter, closeCallback, false);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     boolean persistent) {
         super(filter, closeCallback);
         this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
+    }
+
+    @Override
+    protected boolean isPersistent() {
+        return persistent;
     }
 
     @Override
@@ -54,7 +69,7 @@ public class FSLuceneSearcher extends LuceneSearcher {
 
     @Override
     protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
+        if (!persistent && !deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
         }
@@ -17,10 +17,14 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -34,6 +38,7 @@ import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -53,12 +58,17 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * Lucene based searcher.
@@ -71,6 +81,8 @@ public abstract class LuceneSearcher implements Searcher {
     private static final String PATH_FIELD   = "path";
     private static final String NAME_FIELD   = "name";
     private static final String TEXT_FIELD   = "text";
+    private static final String SIZE_FIELD   = "size";
+    private static final String MTIME_FIELD  = "mtime";
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
@@ -80,6 +92,9 @@ public abstract class LuceneSearcher implements Searcher {
 
     private boolean closed = true;
 
+    private volatile boolean initialized;
+    private final AtomicLong processedFiles = new AtomicLong();
+
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
     }
@@ -132,7 +147,7 @@ public abstract class LuceneSearcher implements Searcher {
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        indexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
@@ -140,7 +155,7 @@ public abstract class LuceneSearcher implements Searcher {
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -148,6 +163,103 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Returns {@code true} if index is kept between restarts, in this case documents
+     * found in the index on initialization are validated against the files they were
+     * created from and only files changed since the last run are re-indexed.
+     */
+    protected boolean isPersistent() {
+        return false;
+    }
+
+    /**
+     * Returns {@code true} when the initial indexing is finished, while it is running
+     * results of {@link #search(QueryExpression)} are marked as partial.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /** Returns number of files checked or indexed since the initial indexing was started. */
+    public long getProcessedFilesCount() {
+        return processedFiles.get();
+    }
+
+    private void indexTree(VirtualFile root) throws ServerException {
+        try {
+            final Map<String, long[]> indexed = isPersistent() ? readIndexedFiles() : null;
+            if (indexed == null || indexed.isEmpty()) {
+                addTree(root);
+            } else {
+                synchronizeTree(root, indexed);
+            }
+            if (isPersistent()) {
+                getIndexWriter().commit();
+            }
+            refresh();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            initialized = true;
+        }
+    }
+
+    /** Reads size and modification date of all indexed files mapped by file path. */
+    private Map<String, long[]> readIndexedFiles() throws IOException {
+        final Map<String, long[]> indexed = new HashMap<>();
+        final Set<String> fields = newHashSet(PATH_FIELD, SIZE_FIELD, MTIME_FIELD);
+        try (DirectoryReader reader = DirectoryReader.open(getIndexWriter(), false)) {
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                if (liveDocs != null && !liveDocs.get(i)) {
+                    continue;
+                }
+                final Document doc = reader.document(i, fields);
+                final IndexableField size = doc.getField(SIZE_FIELD);
+                final IndexableField mtime = doc.getField(MTIME_FIELD);
+                indexed.put(doc.get(PATH_FIELD), new long[]{size == null ? -1 : size.numericValue().longValue(),
+                                                            mtime == null ? -1 : mtime.numericValue().longValue()});
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * Re-indexes files which size or modification date differs from the indexed ones,
+     * and removes documents of files that do not exist anymore.
+     */
+    private void synchronizeTree(VirtualFile tree, Map<String, long[]> indexed) throws ServerException, IOException {
+        final long start = System.currentTimeMillis();
+        final LinkedList<VirtualFile> q = new LinkedList<>();
+        q.add(tree);
+        int reindexedFiles = 0;
+        while (!q.isEmpty()) {
+            final VirtualFile folder = q.pop();
+            if (folder.exists()) {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        q.push(child);
+                    } else {
+                        final long[] fingerprint = indexed.remove(child.getPath().toString());
+                        if (fingerprint == null
+                            || fingerprint[0] != child.getLength()
+                            || fingerprint[1] != child.getLastModificationDate()) {
+                            addFile(child);
+                            reindexedFiles++;
+                        }
+                        processedFiles.incrementAndGet();
+                    }
+                }
+            }
+        }
+        for (String removed : indexed.keySet()) {
+            getIndexWriter().deleteDocuments(new Term(PATH_FIELD, removed));
+        }
+        final long end = System.currentTimeMillis();
+        LOG.debug("Synchronized index of {}, {} files re-indexed, {} removed, time: {} ms",
+                  tree.getPath(), reindexedFiles, indexed.size(), (end - start));
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
@@ -185,6 +297,20 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /**
+     * Makes changes applied to the index visible for the subsequent searches.
+     *
+     * @throws ServerException
+     *         if any error occurs while reopening index reader
+     */
+    public void refresh() throws ServerException {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
@@ -192,6 +318,7 @@ public abstract class LuceneSearcher implements Searcher {
             final long startTime = System.currentTimeMillis();
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
+            final boolean partial = !initialized;
 
             Query luceneQuery = createLuceneQuery(query);
 
@@ -225,6 +352,8 @@ public abstract class LuceneSearcher implements Searcher {
                                .withTotalHits(totalHitsNum)
                                .withNextPageQueryExpression(nextPageQueryExpression)
                                .withElapsedTimeMillis(elapsedTimeMillis)
+                               .withPartial(partial)
+                               .withProcessedFilesCount(getProcessedFilesCount())
                                .build();
         } catch (IOException | ParseException e) {
             throw new ServerException(e.getMessage(), e);
@@ -314,6 +443,7 @@ public abstract class LuceneSearcher implements Searcher {
                     } else {
                         addFile(child);
                         indexedFiles++;
+                        processedFiles.incrementAndGet();
                     }
                 }
             }
@@ -382,6 +512,8 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(SIZE_FIELD, virtualFile.getLength()));
+        doc.add(new StoredField(MTIME_FIELD, virtualFile.getLastModificationDate()));
         if (reader != null) {
             doc.add(new TextField(TEXT_FIELD, reader));
         }
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchEvent.Kind;
+import java.nio.file.WatchEvent.Modifier;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * File watcher backend based on {@link WatchService} that uses underlying
+ * filesystem implementations (e.g. inotify on linux) or falls back to polling
+ * if there is no native support.
+ */
+@Singleton
+public class DefaultFileWatcherBackend implements FileWatcherBackend {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultFileWatcherBackend.class);
+
+    private static final Kind<?>[]  EVENT_KINDS     = {ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY};
+    private static final Modifier[] EVENT_MODIFIERS = getWatchEventModifiers();
+
+    private final Map<WatchKey, Path> dirs = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> keys = new ConcurrentHashMap<>();
+
+    private final WatchService service;
+
+    @Inject
+    public DefaultFileWatcherBackend(WatchService service) {
+        this.service = service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object event) {
+        return (T)event;
+    }
+
+    /**
+     * This is required to speed up mac based file watcher implementations
+     *
+     * @return sensitivity watch event modifier
+     */
+    private static Modifier[] getWatchEventModifiers() {
+        String className = "com.sun.nio.file.SensitivityWatchEventModifier";
+
+        try {
+            Class<?> c = Class.forName(className);
+            Field f = c.getField("HIGH");
+            Modifier modifier = cast(f.get(c));
+            LOG.debug("Class '{}' is found in classpath setting corresponding watch modifier", className);
+
+            return new Modifier[]{modifier};
+        } catch (Exception e) {
+            LOG.debug("Class '{}' is not found in classpath, falling to default mode", className, e);
+
+            return new Modifier[]{};
+        }
+    }
+
+    @Override
+    public void register(Path dir) throws IOException {
+        if (keys.containsKey(dir)) {
+            return;
+        }
+        WatchKey key = dir.register(service, EVENT_KINDS, EVENT_MODIFIERS);
+        keys.put(dir, key);
+        dirs.put(key, dir);
+    }
+
+    @Override
+    public void cancel(Path dir) {
+        WatchKey key = keys.remove(dir);
+        if (key != null) {
+            dirs.remove(key);
+            key.cancel();
+        }
+    }
+
+    @Override
+    public DirectoryEvents take() throws InterruptedException {
+        DirectoryEvents events;
+        do {
+            events = toDirectoryEvents(service.take());
+        } while (events == null);
+        return events;
+    }
+
+    @Override
+    public DirectoryEvents poll(long timeout, TimeUnit unit) throws InterruptedException {
+        WatchKey key = service.poll(timeout, unit);
+        return key == null ? null : toDirectoryEvents(key);
+    }
+
+    @Override
+    public void close() throws IOException {
+        LOG.debug("Cancelling watch keys");
+        dirs.keySet().forEach(WatchKey::cancel);
+        dirs.clear();
+        keys.clear();
+        LOG.debug("Closing java watch service");
+        service.close();
+    }
+
+    /** Returns {@code null} if the key was cancelled concurrently and its events are not interesting anymore. */
+    private DirectoryEvents toDirectoryEvents(WatchKey key) {
+        Path dir = dirs.get(key);
+        if (dir == null) {
+            key.pollEvents();
+            key.cancel();
+            return null;
+        }
+
+        DirectoryEvents events = new DirectoryEvents(dir);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                LOG.debug("Detected file system events overflowing for directory '{}'", dir);
+                events.setOverflow(true);
+                continue;
+            }
+            WatchEvent<Path> ev = cast(event);
+            events.add(dir.resolve(ev.context()).toAbsolutePath(), ev.kind());
+        }
+
+        if (!key.reset()) {
+            events.setValid(false);
+            dirs.remove(key);
+            keys.remove(dir, key);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent.Kind;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Events of entries of a single watched directory reported by a
+ * {@link FileWatcherBackend}. Events are coalesced per entry as they are
+ * added, so that a consumer sees only the net effect of a series of events:
+ * <ul>
+ * <li>create followed by modify is reported as create</li>
+ * <li>create followed by delete is not reported at all</li>
+ * <li>delete followed by create is reported as modify</li>
+ * <li>otherwise the latest event is reported</li>
+ * </ul>
+ */
+public class DirectoryEvents {
+    private final Path               dir;
+    private final Map<Path, Kind<?>> events;
+    private       boolean            overflow;
+    private       boolean            valid;
+
+    public DirectoryEvents(Path dir) {
+        this.dir = dir;
+        this.events = new LinkedHashMap<>();
+        this.valid = true;
+    }
+
+    /** Returns the directory events are originated from. */
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * Adds an event of a directory entry.
+     *
+     * @param path
+     *         absolute path of the entry
+     * @param kind
+     *         kind of the event
+     */
+    public DirectoryEvents add(Path path, Kind<?> kind) {
+        Kind<?> previous = events.remove(path);
+        Kind<?> result = coalesce(previous, kind);
+        if (result != null) {
+            events.put(path, result);
+        }
+        return this;
+    }
+
+    /** Merges events of the same directory that were received later than events of this instance. */
+    public DirectoryEvents merge(DirectoryEvents later) {
+        later.events.forEach(this::add);
+        overflow |= later.overflow;
+        valid = later.valid;
+        return this;
+    }
+
+    /** Returns coalesced events, mapping entries paths to events kinds in the order of occurrence. */
+    public Map<Path, Kind<?>> getEvents() {
+        return unmodifiableMap(events);
+    }
+
+    /**
+     * Marks that some events of the directory are lost, so the actual state
+     * of the directory should be rescanned by consumers.
+     */
+    public DirectoryEvents setOverflow(boolean overflow) {
+        this.overflow = overflow;
+        return this;
+    }
+
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Marks whether the directory is still watched, directory stops being
+     * watched by a backend when it is deleted or becomes inaccessible.
+     */
+    public DirectoryEvents setValid(boolean valid) {
+        this.valid = valid;
+        return this;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    private static Kind<?> coalesce(Kind<?> previous, Kind<?> next) {
+        if (previous == ENTRY_CREATE && next == ENTRY_MODIFY) {
+            return ENTRY_CREATE;
+        }
+        if (previous == ENTRY_CREATE && next == ENTRY_DELETE) {
+            return null;
+        }
+        if (previous == ENTRY_DELETE && next == ENTRY_CREATE) {
+            return ENTRY_MODIFY;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.api.vfs.search.impl.LuceneSearcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem.MODIFICATION_TIME_GRANULARITY;
+
+/**
+ * Collects file system changes reported by the file watcher and applies them to the
+ * search index in batches. Changes are coalesced by path, so only the latest change
+ * of a file is applied during a flush, files are indexed concurrently and files whose
+ * size and modification date have not changed since they were indexed by this queue
+ * are skipped, unless they were modified within {@link LocalVirtualFileSystem#MODIFICATION_TIME_GRANULARITY}
+ * when indexed. Searcher is refreshed once per flush, so new changes become visible
+ * for search at most {@code vfs.index.flush_period_ms} after they are reported.
+ *
+ * <p>Changes which failed to be applied are re-queued, unless a newer change of the
+ * same path is pending, and are dropped after {@value #MAX_ATTEMPTS} attempts.
+ * Fingerprints are kept for at most {@value #MAX_FINGERPRINTS} recently indexed files.
+ */
+@Singleton
+public class FileIndexingQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(FileIndexingQueue.class);
+
+    static final int MAX_ATTEMPTS     = 3;
+    static final int MAX_FINGERPRINTS = 10_000;
+
+    private enum Operation {
+        INDEX, DELETE
+    }
+
+    private final java.nio.file.Path        root;
+    private final VirtualFileSystemProvider vfsProvider;
+    private final long                      flushPeriodMs;
+    private final int                       threads;
+
+    private final Map<String, Change>        pending      = new LinkedHashMap<>();
+    private final Cache<String, Fingerprint> fingerprints = CacheBuilder.newBuilder().maximumSize(MAX_FINGERPRINTS).build();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService          indexers;
+
+    /**
+     * @param root
+     *         root of the file system which changes are reported
+     * @param vfsProvider
+     *         provider of the virtual file system which searcher is updated
+     * @param flushPeriodMs
+     *         delay between the end of the previous flush and the start of the next one
+     * @param threads
+     *         number of threads used for indexing files, if not positive number of
+     *         available processors is used
+     */
+    @Inject
+    public FileIndexingQueue(@Named("che.user.workspaces.storage") File root,
+                             VirtualFileSystemProvider vfsProvider,
+                             @Named("vfs.index.flush_period_ms") long flushPeriodMs,
+                             @Named("vfs.index.threads") int threads) {
+        this.root = root.toPath();
+        this.vfsProvider = vfsProvider;
+        this.flushPeriodMs = flushPeriodMs;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                                       .setDaemon(true)
+                                                                       .setUncaughtExceptionHandler(
+                                                                               LoggingUncaughtExceptionHandler.getInstance())
+                                                                       .setNameFormat("FileIndexingQueueFlusher")
+                                                                       .build());
+        indexers = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                                                                 .setDaemon(true)
+                                                                 .setUncaughtExceptionHandler(
+                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                 .setNameFormat("FileIndexingQueueIndexer-%d")
+                                                                 .build());
+        scheduler.scheduleWithFixedDelay(this::flush, flushPeriodMs, flushPeriodMs, MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (indexers != null) {
+            indexers.shutdownNow();
+        }
+    }
+
+    /** Schedules indexing of created or updated file. */
+    public void index(java.nio.file.Path path) {
+        enqueue(path, Operation.INDEX);
+    }
+
+    /** Schedules removing of deleted file from index. */
+    public void delete(java.nio.file.Path path) {
+        enqueue(path, Operation.DELETE);
+    }
+
+    /** Returns the number of files waiting for the next flush. */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private synchronized void enqueue(java.nio.file.Path path, Operation operation) {
+        final String vfsPath = '/' + root.relativize(path).toString();
+        // re-inserting moves the path to the end, so changes are applied in order of their last occurrence
+        pending.remove(vfsPath);
+        pending.put(vfsPath, new Change(operation, 1));
+    }
+
+    private synchronized Map<String, Change> drain() {
+        final Map<String, Change> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+        return batch;
+    }
+
+    /** Puts failed changes before the pending ones, changes superseded by pending ones are skipped. */
+    private synchronized void requeue(Map<String, Change> failed) {
+        final Map<String, Change> requeued = new LinkedHashMap<>();
+        failed.forEach((path, change) -> {
+            if (pending.containsKey(path)) {
+                return;
+            }
+            if (change.attempt >= MAX_ATTEMPTS) {
+                LOG.error("Change of file {} is not applied to index after {} attempts, giving up", path, change.attempt);
+                return;
+            }
+            requeued.put(path, new Change(change.operation, change.attempt + 1));
+        });
+        requeued.putAll(pending);
+        pending.clear();
+        pending.putAll(requeued);
+    }
+
+    void flush() {
+        final Map<String, Change> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        try {
+            final VirtualFileSystem virtualFileSystem = vfsProvider.getVirtualFileSystem();
+            final Searcher searcher = virtualFileSystem.getSearcherProvider().getSearcher(virtualFileSystem);
+
+            final Map<String, Future<Boolean>> tasks = new LinkedHashMap<>();
+            final List<Callable<Boolean>> callables = new ArrayList<>();
+            for (Map.Entry<String, Change> entry : batch.entrySet()) {
+                final String path = entry.getKey();
+                if (entry.getValue().operation == Operation.DELETE) {
+                    fingerprints.invalidate(path);
+                    searcher.delete(path, true);
+                } else {
+                    callables.add(() -> index(virtualFileSystem, searcher, path));
+                    tasks.put(path, null);
+                }
+            }
+
+            final List<Future<Boolean>> futures = indexers.invokeAll(callables);
+            int i = 0;
+            for (String path : tasks.keySet()) {
+                tasks.put(path, futures.get(i++));
+            }
+
+            int indexed = 0;
+            final Map<String, Change> failed = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<Boolean>> entry : tasks.entrySet()) {
+                try {
+                    if (entry.getValue().get()) {
+                        indexed++;
+                    }
+                } catch (ExecutionException e) {
+                    LOG.error("Issue happened during indexing of file " + entry.getKey(), e.getCause());
+                    failed.put(entry.getKey(), batch.get(entry.getKey()));
+                }
+            }
+            if (!failed.isEmpty()) {
+                requeue(failed);
+            }
+
+            if (searcher instanceof LuceneSearcher) {
+                ((LuceneSearcher)searcher).refresh();
+            }
+
+            LOG.debug("Applied {} index changes, {} files indexed, {} failed, time: {} ms", batch.size(), indexed, failed.size(),
+                      System.currentTimeMillis() - start);
+        } catch (ServerException e) {
+            LOG.error("Issue happened during applying file changes to index, changes are re-queued", e);
+            requeue(batch);
+        } catch (InterruptedException e) {
+            requeue(batch);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean index(VirtualFileSystem virtualFileSystem, Searcher searcher, String path) throws ServerException {
+        final VirtualFile file = virtualFileSystem.getRoot().getChild(Path.of(path));
+        if (file == null || !file.isFile()) {
+            return false;
+        }
+
+        final Fingerprint fingerprint = new Fingerprint(file.getLength(), file.getLastModificationDate());
+        if (fingerprint.equals(fingerprints.getIfPresent(path))) {
+            return false;
+        }
+
+        searcher.update(file);
+        // modification time may be too coarse to distinguish a later change of the same size
+        if (System.currentTimeMillis() - fingerprint.lastModified > MODIFICATION_TIME_GRANULARITY) {
+            fingerprints.put(path, fingerprint);
+        } else {
+            fingerprints.invalidate(path);
+        }
+        return true;
+    }
+
+    private static class Change {
+        private final Operation operation;
+        private final int       attempt;
+
+        private Change(Operation operation, int attempt) {
+            this.operation = operation;
+            this.attempt = attempt;
+        }
+    }
+
+    private static class Fingerprint {
+        private final long length;
+        private final long lastModified;
+
+        private Fingerprint(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint that = (Fingerprint)obj;
+            return length == that.length && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(length) + Long.hashCode(lastModified);
+        }
+    }
+}
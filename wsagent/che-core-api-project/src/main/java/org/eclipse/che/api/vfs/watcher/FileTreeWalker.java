@@ -16,10 +16,13 @@ import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
@@ -27,25 +30,41 @@ import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
 import static java.nio.file.Files.exists;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
 import static java.nio.file.Files.walkFileTree;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.util.stream.Collectors.toSet;
 
 /**
  * Walks a file system tree, register addition, update and removal of file system items.
  * On events runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>The whole tree is walked only once, all walked directories are registered in
+ * {@link FileWatcherService} and afterwards only directories reported by the service
+ * as changed are rescanned. Sub-trees of new directories found during a rescan are
+ * walked entirely. As a safety net for events lost by the watch service, e.g. when its
+ * queue overflows while a directory is not registered yet, the whole tree is walked
+ * again every {@value #FULL_WALK_PERIOD} runs, i.e. every five minutes.
  */
 @Singleton
 public class FileTreeWalker {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-    private final File root;
+    static final int FULL_WALK_PERIOD = 30;
+
+    private final File               root;
+    private final FileWatcherService service;
 
     private final Set<Consumer<Path>> directoryUpdateConsumers;
     private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -60,8 +79,15 @@ public class FileTreeWalker {
     private final Map<Path, Long> files       = new HashMap<>();
     private final Map<Path, Long> directories = new HashMap<>();
 
+    private final Set<Path>      changedDirectories = ConcurrentHashMap.newKeySet();
+    private final Consumer<Path> directoryListener  = changedDirectories::add;
+
+    private boolean initialized;
+    private int     runsSinceFullWalk;
+
     @Inject
     public FileTreeWalker(@Named("che.user.workspaces.storage") File root,
+                          FileWatcherService service,
 
                           @Named("che.fs.directory.update") Set<Consumer<Path>> directoryUpdateConsumers,
                           @Named("che.fs.directory.create") Set<Consumer<Path>> directoryCreateConsumers,
@@ -73,6 +99,7 @@ public class FileTreeWalker {
                           @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
                           @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
         this.root = root;
+        this.service = service;
 
         this.directoryUpdateConsumers = directoryUpdateConsumers;
         this.directoryCreateConsumers = directoryCreateConsumers;
@@ -86,47 +113,57 @@ public class FileTreeWalker {
         this.fileExcludes = fileExcludes;
     }
 
+    @PostConstruct
+    void initialize() {
+        service.addDirectoryListener(directoryListener);
+    }
+
+    @PreDestroy
+    void terminate() {
+        service.removeDirectoryListener(directoryListener);
+    }
+
     @ScheduleRate(period = 10)
     void walk() {
         try {
-            LOG.debug("Tree walk started");
-
-            Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-            fileDeleteConsumers.forEach(deletedFiles::forEach);
-            files.keySet().removeAll(deletedFiles);
-
-            Set<Path> deletedDirectories = directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-            directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-            directories.keySet().removeAll(deletedDirectories);
-
-            walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                    for (PathMatcher matcher : directoryExcludes) {
-                        if (matcher.matches(dir)) {
-                            return SKIP_SUBTREE;
-                        }
-                    }
+            if (!initialized || ++runsSinceFullWalk >= FULL_WALK_PERIOD) {
+                LOG.debug("Tree walk started");
+                changedDirectories.clear();
+                removeDeleted(directories.keySet(), files.keySet());
+                walk(root.toPath());
+                initialized = true;
+                runsSinceFullWalk = 0;
+                LOG.debug("Tree walk finished");
+                return;
+            }
 
-                    updateFsTreeAndAcceptConsumables(directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
+            if (changedDirectories.isEmpty()) {
+                return;
+            }
 
-                    return CONTINUE;
-                }
+            Set<Path> changed = new HashSet<>(changedDirectories);
+            changedDirectories.removeAll(changed);
 
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    for (PathMatcher matcher : fileExcludes) {
-                        if (matcher.matches(file)) {
-                            return CONTINUE;
-                        }
-                    }
+            LOG.debug("Rescan of {} changed directories started", changed.size());
 
-                    updateFsTreeAndAcceptConsumables(files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+            Set<Path> deletedDirectories = directories.keySet()
+                                                      .stream()
+                                                      .filter(it -> isWithin(changed, it))
+                                                      .collect(toSet());
 
-                    return CONTINUE;
+            Set<Path> deletedFiles = files.keySet()
+                                          .stream()
+                                          .filter(it -> changed.contains(it.getParent()) ||
+                                                        deletedDirectories.contains(it.getParent()))
+                                          .collect(toSet());
+            removeDeleted(deletedDirectories, deletedFiles);
+
+            for (Path dir : changed) {
+                if (directories.containsKey(dir) && exists(dir)) {
+                    rescan(dir);
                 }
-            });
-            LOG.debug("Tree walk finished");
+            }
+            LOG.debug("Rescan of changed directories finished");
         } catch (NoSuchFileException e) {
             LOG.debug("Trying to process a file, however seems like it is already not present: {}", e.getMessage());
         } catch (Exception e) {
@@ -134,6 +171,108 @@ public class FileTreeWalker {
         }
     }
 
+    /** Notifies about deletion of the given directories and files which don't exist anymore and forgets them. */
+    private void removeDeleted(Set<Path> candidateDirectories, Set<Path> candidateFiles) {
+        Set<Path> deletedFiles = candidateFiles.stream().filter(it -> !exists(it)).collect(toSet());
+        fileDeleteConsumers.forEach(deletedFiles::forEach);
+        files.keySet().removeAll(deletedFiles);
+
+        Set<Path> deletedDirectories = candidateDirectories.stream().filter(it -> !exists(it)).collect(toSet());
+        directoryDeleteConsumers.forEach(deletedDirectories::forEach);
+        directories.keySet().removeAll(deletedDirectories);
+        deletedDirectories.forEach(service::unRegister);
+    }
+
+    /**
+     * Checks whether a directory is one of changed directories or is located
+     * within one of them, as deletion of a directory is reported only for its
+     * parent while the whole sub-tree is deleted.
+     */
+    private boolean isWithin(Set<Path> changed, Path dir) {
+        for (Path it = dir; it != null; it = it.getParent()) {
+            if (changed.contains(it)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rescan(Path dir) throws IOException {
+        if (isExcludedDirectory(dir)) {
+            return;
+        }
+
+        updateFsTreeAndAcceptConsumables(directories, directoryUpdateConsumers, directoryCreateConsumers, dir,
+                                         readAttributes(dir, BasicFileAttributes.class));
+
+        try (DirectoryStream<Path> entries = newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (!isDirectory(entry, NOFOLLOW_LINKS)) {
+                    if (!isExcludedFile(entry)) {
+                        updateFsTreeAndAcceptConsumables(files, fileUpdateConsumers, fileCreateConsumers, entry,
+                                                         readAttributes(entry, BasicFileAttributes.class));
+                    }
+                } else if (directories.containsKey(entry)) {
+                    if (!isExcludedDirectory(entry)) {
+                        updateFsTreeAndAcceptConsumables(directories, directoryUpdateConsumers, directoryCreateConsumers, entry,
+                                                         readAttributes(entry, BasicFileAttributes.class));
+                    }
+                } else {
+                    walk(entry);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            LOG.debug("Trying to rescan a directory, however seems like it is already not present: {}", e.getMessage());
+        }
+    }
+
+    private void walk(Path start) throws IOException {
+        walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (isExcludedDirectory(dir)) {
+                    return SKIP_SUBTREE;
+                }
+
+                if (!directories.containsKey(dir)) {
+                    service.register(dir);
+                }
+                updateFsTreeAndAcceptConsumables(directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
+
+                return CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (isExcludedFile(file)) {
+                    return CONTINUE;
+                }
+
+                updateFsTreeAndAcceptConsumables(files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+
+                return CONTINUE;
+            }
+        });
+    }
+
+    private boolean isExcludedDirectory(Path dir) {
+        for (PathMatcher matcher : directoryExcludes) {
+            if (matcher.matches(dir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isExcludedFile(Path file) {
+        for (PathMatcher matcher : fileExcludes) {
+            if (matcher.matches(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void updateFsTreeAndAcceptConsumables(Map<Path, Long> items, Set<Consumer<Path>> updateConsumer,
                                                   Set<Consumer<Path>> createConsumer,
                                                   Path path, BasicFileAttributes attrs) {
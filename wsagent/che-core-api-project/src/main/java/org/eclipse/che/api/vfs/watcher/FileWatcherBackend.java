@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Source of file system events used by {@link FileWatcherService}. Backend
+ * watches separate (not recursive) directories and reports raw events of
+ * their entries, reference counting, event coalescing and dispatching is
+ * performed by the service.
+ *
+ * <p>Default implementation is {@link DefaultFileWatcherBackend} that is based
+ * on java {@link java.nio.file.WatchService}, a native implementation (e.g.
+ * based on linux inotify API) can be used by binding it in a DI configuration
+ * module instead of the default one.
+ */
+public interface FileWatcherBackend extends Closeable {
+
+    /**
+     * Starts watching a directory, does nothing if directory is already
+     * being watched.
+     *
+     * @param dir
+     *         directory
+     *
+     * @throws IOException
+     *         if directory can't be watched
+     */
+    void register(Path dir) throws IOException;
+
+    /**
+     * Stops watching a directory, does nothing if directory is not watched.
+     *
+     * @param dir
+     *         directory
+     */
+    void cancel(Path dir);
+
+    /**
+     * Retrieves events of a next directory, waiting if none are yet present.
+     *
+     * @return events of a single directory
+     *
+     * @throws InterruptedException
+     *         if interrupted while waiting
+     * @throws ClosedWatchServiceException
+     *         if backend is closed
+     */
+    DirectoryEvents take() throws InterruptedException;
+
+    /**
+     * Retrieves events of a next directory, waiting if necessary up to the
+     * specified wait time if none are yet present.
+     *
+     * @return events of a single directory or {@code null} if the specified
+     * waiting time elapses before events are present
+     *
+     * @throws InterruptedException
+     *         if interrupted while waiting
+     * @throws ClosedWatchServiceException
+     *         if backend is closed
+     */
+    DirectoryEvents poll(long timeout, TimeUnit unit) throws InterruptedException;
+}
@@ -30,7 +30,10 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.file.Files.exists;
 import static java.nio.file.Files.isDirectory;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
 
 @Singleton
@@ -140,4 +143,32 @@ public class FileWatcherEventHandler {
                           .forEach(it -> it.accept(internalPath));
         }
     }
+
+    /**
+     * Handles loss of events of a directory entries. Instead of walking the
+     * whole tree only operations registered for the directory itself and for
+     * its direct entries are considered: operations registered for the
+     * directory receive modify event of the directory, operations registered
+     * for its entries receive modify or delete event depending on whether the
+     * entry still exists.
+     *
+     * @param dir
+     *         directory which events are lost
+     */
+    void handleOverflow(Path dir) {
+        Set<FileWatcherOperation> dirOperations = operations.get(dir);
+        if (dirOperations != null) {
+            String internalPath = toInternalPath(root.toPath(), dir);
+            dirOperations.stream()
+                         .map(it -> it.get(ENTRY_MODIFY))
+                         .filter(Optional::isPresent)
+                         .map(Optional::get)
+                         .forEach(it -> it.accept(internalPath));
+        }
+
+        operations.keySet()
+                  .stream()
+                  .filter(it -> dir.equals(it.getParent()))
+                  .forEach(it -> handle(it, exists(it) ? ENTRY_MODIFY : ENTRY_DELETE));
+    }
 }
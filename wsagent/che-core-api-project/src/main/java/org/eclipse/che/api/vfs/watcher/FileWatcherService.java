@@ -22,114 +22,83 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
-import java.nio.file.WatchEvent.Modifier;
-import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Predicate;
+import java.util.function.Consumer;
 
 import static java.lang.Thread.currentThread;
 import static java.nio.file.Files.exists;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
 /**
  * Watches directories for interactions with their entries. Based on
- * {@link WatchService} that uses underlying filesystem implementations. Does
- * not perform any data modification (including filesystem items) except for
- * tracking and notification the upper layers. Service operates with ordinary
- * java file system paths in counter to che virtual file system which may have
- * custom root element and structure. Transforming one we of path representation
+ * {@link FileWatcherBackend} that by default uses {@link WatchService} and
+ * underlying filesystem implementations. Does not perform any data
+ * modification (including filesystem items) except for tracking and
+ * notification the upper layers. Service operates with ordinary java file
+ * system paths in counter to che virtual file system which may have custom
+ * root element and structure. Transforming one we of path representation
  * into another and backwards is the responsibility of upper services.
+ * <p>
+ * Service is the single point of directory registration in the file watcher
+ * system, each directory is registered in the backend only once no matter how
+ * many components watch it. Events are debounced: events received within
+ * {@link #DEBOUNCE_DELAY_MS} from each other (but within at most
+ * {@link #MAX_DEBOUNCE_DELAY_MS} in total) are coalesced per directory entry
+ * before being passed further. Components that track the state of the whole
+ * directories (rather than separate entries) can be notified about changed
+ * directories by {@link #addDirectoryListener(Consumer)}, such listeners are
+ * also notified when events of a directory are lost because of overflowing,
+ * so they can rescan that specific directory.
  */
 @Singleton
 public class FileWatcherService {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherService.class);
 
+    static final long DEBOUNCE_DELAY_MS     = 50;
+    static final long MAX_DEBOUNCE_DELAY_MS = 500;
+
     private final AtomicBoolean suspended = new AtomicBoolean(true);
     private final AtomicBoolean running   = new AtomicBoolean();
 
-    private final Map<WatchKey, Path> keys          = new ConcurrentHashMap<>();
-    private final Map<Path, Integer>  registrations = new ConcurrentHashMap<>();
+    private final Map<Path, Integer>  registrations      = new ConcurrentHashMap<>();
+    private final Set<Consumer<Path>> directoryListeners = new CopyOnWriteArraySet<>();
 
     private final Set<PathMatcher>        excludes;
     private final FileWatcherEventHandler handler;
-    private final WatchService            service;
-    private final Modifier[]              eventModifiers;
-    private final Kind<?>[]               eventKinds;
+    private final FileWatcherBackend      backend;
 
     private ExecutorService executor;
 
     @Inject
     public FileWatcherService(@Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
-                              FileWatcherEventHandler handler, WatchService service) {
+                              FileWatcherEventHandler handler, FileWatcherBackend backend) {
         this.excludes = excludes;
         this.handler = handler;
-        this.service = service;
-
-        this.eventModifiers = getWatchEventModifiers();
-        this.eventKinds = getWatchEventKinds();
-
-    }
-
-    @SuppressWarnings("unchecked")
-    private static <T> WatchEvent<T> cast(WatchEvent<?> event) {
-        return (WatchEvent<T>)event;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private static <T> T cast(Object event) {
-        return (T)event;
+        this.backend = backend;
     }
 
-    private static Kind<?>[] getWatchEventKinds() {
-        return new Kind<?>[]{ENTRY_DELETE, ENTRY_MODIFY, ENTRY_CREATE};
-    }
-
-    /**
-     * This is required to speed up mac based file watcher implementations
-     *
-     * @return sensitivity watch event modifier
-     */
-    private static Modifier[] getWatchEventModifiers() {
-        String className = "com.sun.nio.file.SensitivityWatchEventModifier";
-
-        try {
-            Class<?> c = Class.forName(className);
-            Field f = c.getField("HIGH");
-            Modifier modifier = cast(f.get(c));
-            LOG.debug("Class '{}' is found in classpath setting corresponding watch modifier", className);
-
-            return new Modifier[]{modifier};
-        } catch (Exception e) {
-            LOG.debug("Class '{}' is not found in classpath, falling to default mode", className, e);
-
-            return new Modifier[]{};
-        }
+    public FileWatcherService(Set<PathMatcher> excludes, FileWatcherEventHandler handler, WatchService service) {
+        this(excludes, handler, new DefaultFileWatcherBackend(service));
     }
 
     @PostConstruct
-    void start() throws IOException {
+    public void start() throws IOException {
         ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
         ThreadFactory factory = builder.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                        .setNameFormat(FileWatcherService.class.getSimpleName())
@@ -140,16 +109,14 @@ public class FileWatcherService {
     }
 
     @PreDestroy
-    void stop() {
+    public void stop() {
         running.compareAndSet(true, false);
 
         try {
-            LOG.debug("Cancelling watch keys");
-            keys.keySet().forEach(WatchKey::cancel);
-            LOG.debug("Closing java watch service");
-            service.close();
+            LOG.debug("Closing file watcher backend");
+            backend.close();
         } catch (IOException e) {
-            LOG.error("Closing of java watch service failed: ", e.getMessage());
+            LOG.error("Closing of file watcher backend failed: ", e.getMessage());
         }
 
         try {
@@ -179,8 +146,8 @@ public class FileWatcherService {
      * by one registration counter that corresponds to each folder being
      * watched. Any event related to such directory entry is passed further to
      * the specific handler only if registration counter related to the
-     * directory is above zero, otherwise registration watch key is canceled
-     * and no further directory watching is being performed.
+     * directory is above zero, otherwise the directory is removed from the
+     * backend and no further directory watching is being performed.
      *
      * @param dir
      *         directory
@@ -191,20 +158,20 @@ public class FileWatcherService {
             return;
         }
         LOG.debug("Registering directory '{}'", dir);
-        if (keys.values().contains(dir)) {
-            int previous = registrations.get(dir);
-            LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", previous);
-            registrations.put(dir, previous + 1);
-        } else {
+        registrations.compute(dir, (key, previous) -> {
+            if (previous != null) {
+                LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", previous);
+                return previous + 1;
+            }
             try {
                 LOG.debug("Starting watching directory '{}'", dir);
-                WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
-                keys.put(watchKey, dir);
-                registrations.put(dir, 1);
+                backend.register(dir);
+                return 1;
             } catch (IOException e) {
                 LOG.error("Can't register dir {} in file watch service", dir, e);
+                return null;
             }
-        }
+        });
     }
 
     /**
@@ -213,45 +180,52 @@ public class FileWatcherService {
      * directory specified by the argument. If registration counter comes to
      * zero directory watching is totally cancelled.
      * <p>
-     * If this method is called for not existing directory nothing happens.
+     * If this method is called for not existing directory its watching is
+     * totally cancelled.
      * <p>
      * If this method is called for not registered directory nothing happens.
      *
      * @param dir
      *         directory
      */
-    void unRegister(Path dir) {
+    public void unRegister(Path dir) {
         LOG.debug("Canceling directory '{}' registration", dir);
 
-        Predicate<Entry<WatchKey, Path>> equalsDir = it -> it.getValue().equals(dir);
-
         if (!exists(dir)) {
             LOG.debug("Trying to unregister directory '{}' while it does not exist", dir);
 
             registrations.remove(dir);
-
-            keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
-            keys.entrySet().removeIf(equalsDir);
+            backend.cancel(dir);
 
             return;
         }
 
-        if (!registrations.containsKey(dir)) {
-            LOG.debug("Trying to unregister directory '{}' while it is not registered", dir);
-            return;
-        }
+        registrations.computeIfPresent(dir, (key, previous) -> {
+            if (previous == 1) {
+                LOG.debug("Stopping watching directory '{}'", dir);
+                backend.cancel(dir);
+                return null;
+            }
+            LOG.debug("Directory is being watched by someone else, decreasing watch counter, previous value: {}", previous);
+            return previous - 1;
+        });
+    }
 
-        int previous = registrations.get(dir);
-        if (previous == 1) {
-            LOG.debug("Stopping watching directory '{}'", dir);
-            registrations.remove(dir);
+    /**
+     * Adds a listener that is notified with a path of a registered directory
+     * each time its entries are created, modified or deleted, or events of its
+     * entries are lost. Unlike event handler listeners are notified even if
+     * service is suspended.
+     *
+     * @param listener
+     *         directory listener
+     */
+    public void addDirectoryListener(Consumer<Path> listener) {
+        directoryListeners.add(listener);
+    }
 
-            keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
-            keys.entrySet().removeIf(equalsDir);
-        } else {
-            LOG.debug("Directory is being watched by someone else, decreasing watch counter, previous value: {}", previous);
-            registrations.put(dir, previous - 1);
-        }
+    public void removeDirectoryListener(Consumer<Path> listener) {
+        directoryListeners.remove(listener);
     }
 
     /**
@@ -281,39 +255,16 @@ public class FileWatcherService {
 
         while (running.get()) {
             try {
-                WatchKey watchKey = service.take();
-                Path dir = keys.get(watchKey);
-
-                List<WatchEvent<?>> watchEvents = watchKey.pollEvents();
-
-                if (suspended.get()) {
-                    resetAndRemove(watchKey, dir);
-
-                    LOG.debug("File watchers are running in suspended mode - skipping.");
-                    continue;
+                Map<Path, DirectoryEvents> batch = new LinkedHashMap<>();
+                DirectoryEvents events = backend.take();
+                long deadline = System.currentTimeMillis() + MAX_DEBOUNCE_DELAY_MS;
+                while (events != null) {
+                    batch.merge(events.getDir(), events, DirectoryEvents::merge);
+                    long left = deadline - System.currentTimeMillis();
+                    events = left > 0 ? backend.poll(Math.min(DEBOUNCE_DELAY_MS, left), MILLISECONDS) : null;
                 }
 
-                for (WatchEvent<?> event : watchEvents) {
-                    Kind<?> kind = event.kind();
-
-                    if (kind == OVERFLOW) {
-                        LOG.warn("Detected file system events overflowing");
-                        continue;
-                    }
-
-                    WatchEvent<Path> ev = cast(event);
-                    Path item = ev.context();
-                    Path path = dir.resolve(item).toAbsolutePath();
-
-                    if (isExcluded(excludes, path)) {
-                        LOG.debug("Path is within exclude list, skipping...");
-                        continue;
-                    }
-
-                    handler.handle(path, kind);
-                }
-
-                resetAndRemove(watchKey, dir);
+                batch.values().forEach(this::dispatch);
             } catch (InterruptedException e) {
                 running.compareAndSet(true, false);
                 LOG.debug("Interruption error when running file watcher, most likely caused by stopping it", e);
@@ -324,12 +275,41 @@ public class FileWatcherService {
         }
     }
 
-    private void resetAndRemove(WatchKey watchKey, Path dir) {
-        if (!watchKey.reset()) {
-            if (dir != null) {
-                registrations.remove(dir);
+    private void dispatch(DirectoryEvents events) {
+        Path dir = events.getDir();
+
+        if (!events.isValid()) {
+            LOG.debug("Directory '{}' is no longer watched", dir);
+            registrations.remove(dir);
+        }
+
+        for (Consumer<Path> listener : directoryListeners) {
+            try {
+                listener.accept(dir);
+            } catch (RuntimeException e) {
+                LOG.error("Error while notifying directory listener about changes of '{}'", dir, e);
+            }
+        }
+
+        if (suspended.get()) {
+            LOG.debug("File watchers are running in suspended mode - skipping.");
+            return;
+        }
+
+        if (events.isOverflow()) {
+            LOG.warn("Detected file system events overflowing, rescanning directory '{}'", dir);
+            handler.handleOverflow(dir);
+        }
+
+        for (Map.Entry<Path, Kind<?>> event : events.getEvents().entrySet()) {
+            Path path = event.getKey();
+
+            if (isExcluded(excludes, path)) {
+                LOG.debug("Path is within exclude list, skipping...");
+                continue;
             }
-            keys.remove(watchKey);
+
+            handler.handle(path, event.getValue());
         }
     }
 }
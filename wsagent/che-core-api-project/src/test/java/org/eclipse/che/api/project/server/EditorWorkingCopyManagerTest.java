@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link EditorWorkingCopyManager}
+ */
+public class EditorWorkingCopyManagerTest extends WsAgentTestBase {
+    private static final String PROJECT_PATH = "/project";
+    private static final String ENDPOINT_ID  = "endpoint";
+
+    private EditorWorkingCopyManager workingCopyManager;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        pm.createProject(new NewProjectConfigImpl(PROJECT_PATH, "primary1", null, "project", "descr", null, null, null), null);
+
+        workingCopyManager = new EditorWorkingCopyManager(() -> pm, eventService, mock(RequestTransmitter.class), 1);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWorkingCopiesWhenBudgetIsExceeded() throws Exception {
+        // 400KB of text of each edited working copy, so only two of them fit the 1MB budget
+        String first = createFile("first.txt", 200_000);
+        String second = createFile("second.txt", 200_000);
+        String third = createFile("third.txt", 200_000);
+
+        insert(first, "a");
+        insert(second, "b");
+        workingCopyManager.getWorkingCopy(first);
+        insert(third, "c");
+
+        assertFalse(workingCopyManager.getWorkingCopy(first).isEvicted());
+        assertTrue(workingCopyManager.getWorkingCopy(second).isEvicted());
+        assertFalse(workingCopyManager.getWorkingCopy(third).isEvicted());
+        assertEquals(1, workingCopyManager.getEvictionCount());
+        assertNotNull(pm.getProjectsRoot().getChild(PROJECT_PATH + "/.che/workingCopies/project.second.txt"));
+    }
+
+    @Test
+    public void shouldRestoreEvictedContentWithUnsavedChangesOnAccess() throws Exception {
+        String first = createFile("first.txt", 400_000);
+        String second = createFile("second.txt", 400_000);
+
+        insert(first, "a");
+        insert(second, "b");
+
+        EditorWorkingCopy workingCopy = workingCopyManager.getWorkingCopy(first);
+        assertTrue(workingCopy.isEvicted());
+        assertEquals(0, workingCopy.getResidentSize());
+
+        String content = workingCopy.getContentAsString();
+
+        assertEquals(400_001, content.length());
+        assertTrue(content.startsWith("ax"));
+        assertFalse(workingCopy.isEvicted());
+        assertEquals(1, workingCopyManager.getRestoreCount());
+    }
+
+    @Test
+    public void shouldKeepWorkingCopiesWithinBudgetWhenEvictedContentIsRestored() throws Exception {
+        String first = createFile("first.txt", 400_000);
+        String second = createFile("second.txt", 400_000);
+
+        insert(first, "a");
+        insert(second, "b");
+
+        workingCopyManager.getWorkingCopy(first).getContentAsBytes();
+
+        assertFalse(workingCopyManager.getWorkingCopy(first).isEvicted());
+        assertTrue(workingCopyManager.getWorkingCopy(second).isEvicted());
+        assertEquals(2, workingCopyManager.getEvictionCount());
+        assertTrue(workingCopyManager.getResidentBytes() <= 1024 * 1024);
+    }
+
+    @Test
+    public void shouldNotEvictWorkingCopiesWhichFitBudget() throws Exception {
+        String first = createFile("first.txt", 1000);
+        String second = createFile("second.txt", 1000);
+
+        insert(first, "a");
+        insert(second, "b");
+
+        assertFalse(workingCopyManager.getWorkingCopy(first).isEvicted());
+        assertFalse(workingCopyManager.getWorkingCopy(second).isEvicted());
+        assertEquals(0, workingCopyManager.getEvictionCount());
+        assertEquals(2 * 2 * 1001, workingCopyManager.getResidentBytes());
+    }
+
+    private String createFile(String name, int size) throws Exception {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte)'x');
+        pm.getProjectsRoot().getChildFolder(PROJECT_PATH).createFile(name, content);
+        return PROJECT_PATH + '/' + name;
+    }
+
+    private void insert(String filePath, String text) {
+        workingCopyManager.onEditorContentUpdated(ENDPOINT_ID, DtoFactory.newDto(EditorChangesDto.class)
+                                                                         .withFileLocation(filePath)
+                                                                         .withProjectPath(PROJECT_PATH)
+                                                                         .withType(INSERT)
+                                                                         .withOffset(0)
+                                                                         .withText(text));
+    }
+}
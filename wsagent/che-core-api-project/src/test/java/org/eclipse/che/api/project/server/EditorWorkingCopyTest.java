@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link EditorWorkingCopy}
+ */
+public class EditorWorkingCopyTest {
+
+    @Test
+    public void shouldLoadEvictedContentOnAccess() throws Exception {
+        EditorWorkingCopy workingCopy = new EditorWorkingCopy("p.file", "/p", "content".getBytes());
+        AtomicInteger loads = new AtomicInteger();
+
+        workingCopy.evict(() -> {
+            loads.incrementAndGet();
+            return "content".getBytes();
+        });
+
+        assertTrue(workingCopy.isEvicted());
+        assertEquals(0, workingCopy.getResidentSize());
+        assertEquals("content", workingCopy.getContentAsString());
+        assertEquals("content", workingCopy.getContentAsString());
+        assertEquals(1, loads.get());
+        assertFalse(workingCopy.isEvicted());
+        assertEquals(7, workingCopy.getResidentSize());
+    }
+
+    @Test
+    public void shouldNotLoadEvictedContentWhenContentIsReplaced() throws Exception {
+        EditorWorkingCopy workingCopy = new EditorWorkingCopy("p.file", "/p", "content".getBytes());
+
+        workingCopy.evict(() -> {
+            throw new ServerException("must not be called");
+        });
+        workingCopy.updateContent("new content");
+
+        assertFalse(workingCopy.isEvicted());
+        assertEquals("new content", workingCopy.getContentAsString());
+    }
+
+    @Test
+    public void shouldKeepContentEvictedWhenItCanNotBeLoaded() throws Exception {
+        EditorWorkingCopy workingCopy = new EditorWorkingCopy("p.file", "/p", "content".getBytes());
+
+        workingCopy.evict(() -> {
+            throw new ServerException("no recovery file");
+        });
+
+        try {
+            workingCopy.getContentAsString();
+            fail("ServerException expected");
+        } catch (ServerException e) {
+            assertEquals("no recovery file", e.getMessage());
+        }
+        assertTrue(workingCopy.isEvicted());
+    }
+
+    @Test
+    public void shouldNotifyLoaderWhenEvictedContentIsRestored() throws Exception {
+        EditorWorkingCopy workingCopy = new EditorWorkingCopy("p.file", "/p", "content".getBytes());
+        AtomicInteger restores = new AtomicInteger();
+
+        workingCopy.evict(new EditorWorkingCopy.ContentLoader() {
+            @Override
+            public byte[] load() {
+                return "content".getBytes();
+            }
+
+            @Override
+            public void restored() {
+                assertFalse(Thread.holdsLock(workingCopy));
+                restores.incrementAndGet();
+            }
+        });
+
+        workingCopy.getContentAsBytes();
+        workingCopy.getContentAsBytes();
+
+        assertEquals(1, restores.get());
+    }
+}
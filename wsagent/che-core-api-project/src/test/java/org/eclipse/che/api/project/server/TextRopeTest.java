@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TextRope}
+ */
+public class TextRopeTest {
+
+    @Test
+    public void shouldInsertAndDeleteText() throws Exception {
+        TextRope rope = TextRope.of("hello world");
+
+        rope = rope.insert(5, ",").insert(12, "!").delete(0, 1).insert(0, "H");
+
+        assertEquals("Hello, world!", rope.toString());
+        assertEquals(13, rope.length());
+    }
+
+    @Test
+    public void shouldApplyEditsOfTypingSessionLikeStringBuilder() throws Exception {
+        StringBuilder initial = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            initial.append("    private int field").append(i).append(";\n");
+        }
+        TextRope rope = TextRope.of(initial.toString());
+        StringBuilder expected = new StringBuilder(initial);
+
+        Random random = new Random(42);
+        int cursor = expected.length() / 2;
+        for (int i = 0; i < 5_000; i++) {
+            int action = random.nextInt(100);
+            if (action < 5) {
+                cursor = random.nextInt(expected.length() + 1);
+            } else if (action < 80) {
+                String typed = String.valueOf((char)('a' + random.nextInt(26)));
+                rope = rope.insert(cursor, typed);
+                expected.insert(cursor, typed);
+                cursor++;
+            } else if (cursor > 0) {
+                rope = rope.delete(cursor - 1, cursor);
+                expected.delete(cursor - 1, cursor);
+                cursor--;
+            }
+        }
+
+        assertEquals(expected.toString(), rope.toString());
+        assertTrue("rope must stay balanced", rope.depth() <= 64);
+    }
+
+    @Test
+    public void shouldNotChangeOriginalRopeOnEdit() throws Exception {
+        TextRope original = TextRope.of("text");
+
+        original.insert(4, " changed").delete(0, 2);
+
+        assertEquals("text", original.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldThrowExceptionWhenOffsetIsOutOfText() throws Exception {
+        TextRope.of("text").insert(5, "!");
+    }
+}
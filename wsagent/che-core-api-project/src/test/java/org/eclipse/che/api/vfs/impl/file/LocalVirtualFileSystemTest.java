@@ -13,16 +13,25 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -34,10 +43,11 @@ public class LocalVirtualFileSystemTest {
     private Searcher                                        searcher;
     private AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
     private File                                            testDirectory;
+    private SearcherProvider                                searcherProvider;
 
     @Before
     public void setUp() throws Exception {
-        SearcherProvider searcherProvider = mock(SearcherProvider.class);
+        searcherProvider = mock(SearcherProvider.class);
         searcher = mock(Searcher.class);
         closeCallback = mock(AbstractVirtualFileSystemProvider.CloseCallback.class);
         File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
@@ -64,4 +74,79 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void removesFolderListenerWhenFileSystemClosed() throws Exception {
+        FileWatcherService fileWatcherService = mock(FileWatcherService.class);
+        fileSystem = new LocalVirtualFileSystem(testDirectory, mock(ArchiverFactory.class), searcherProvider, closeCallback,
+                                                fileWatcherService);
+        Consumer<Path> listener = captureFolderListener(fileWatcherService);
+
+        fileSystem.close();
+
+        verify(fileWatcherService).removeDirectoryListener(listener);
+    }
+
+    @Test
+    public void refreshesCachedChildrenWhenFolderIsModified() throws Exception {
+        File folder = createFolderModifiedInPast();
+        assertEquals(newArrayList("a"), getChildrenNames(folder));
+
+        new File(folder, "b").createNewFile();
+
+        assertEquals(newArrayList("a", "b"), getChildrenNames(folder));
+    }
+
+    @Test
+    public void refreshesCachedChildrenWhenNotifiedAboutFolderChanges() throws Exception {
+        FileWatcherService fileWatcherService = mock(FileWatcherService.class);
+        fileSystem = new LocalVirtualFileSystem(testDirectory, mock(ArchiverFactory.class), searcherProvider, closeCallback,
+                                                fileWatcherService);
+        Consumer<Path> listener = captureFolderListener(fileWatcherService);
+        File folder = createFolderModifiedInPast();
+        long lastModified = folder.lastModified();
+        assertEquals(newArrayList("a"), getChildrenNames(folder));
+
+        // modification time of folder is not changed, e.g. because of coarse timestamps of file system
+        new File(folder, "b").createNewFile();
+        folder.setLastModified(lastModified);
+        assertEquals(newArrayList("a"), getChildrenNames(folder));
+
+        listener.accept(folder.toPath().toAbsolutePath());
+
+        assertEquals(newArrayList("a", "b"), getChildrenNames(folder));
+    }
+
+    @Test
+    public void listsFoldersBeforeFiles() throws Exception {
+        File folder = createFolderModifiedInPast();
+        new File(folder, "0").createNewFile();
+        new File(folder, "z").mkdir();
+
+        assertEquals(newArrayList("z", "0", "a"), getChildrenNames(folder));
+    }
+
+    private File createFolderModifiedInPast() throws Exception {
+        File folder = new File(testDirectory, "folder");
+        folder.mkdirs();
+        new File(folder, "a").createNewFile();
+        folder.setLastModified(System.currentTimeMillis() - 10 * LocalVirtualFileSystem.MODIFICATION_TIME_GRANULARITY);
+        return folder;
+    }
+
+    private List<String> getChildrenNames(File folder) throws Exception {
+        return fileSystem.getRoot()
+                         .getChild(org.eclipse.che.api.vfs.Path.of(folder.getName()))
+                         .getChildren()
+                         .stream()
+                         .map(VirtualFile::getName)
+                         .collect(toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<Path> captureFolderListener(FileWatcherService fileWatcherService) {
+        ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(fileWatcherService).addDirectoryListener(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -336,6 +336,36 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void reusesPersistentIndexAndReindexesOnlyChangedFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile removed = folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        persistentSearcher.init(virtualFileSystem);
+        persistentSearcher.close();
+        assertTrue(indexDirectory.exists());
+
+        removed.delete();
+        folder.createFile("yyy.txt", TEST_CONTENT[0]);
+        persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        persistentSearcher.init(virtualFileSystem);
+
+        try {
+            assertTrue(persistentSearcher.isInitialized());
+            assertEquals(persistentSearcher.getProcessedFilesCount(), 2);
+            assertTrue(persistentSearcher.search(new QueryExpression().setText("think")).getFilePaths().isEmpty());
+            assertEquals(persistentSearcher.search(new QueryExpression().setText("spaceflight")).getFilePaths(),
+                         newArrayList("/folder/yyy.txt"));
+            SearchResult result = persistentSearcher.search(new QueryExpression().setText("be"));
+            assertEquals(result.getFilePaths(), newArrayList("/folder/xxx.txt"));
+            assertFalse(result.isPartial());
+        } finally {
+            persistentSearcher.close();
+        }
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
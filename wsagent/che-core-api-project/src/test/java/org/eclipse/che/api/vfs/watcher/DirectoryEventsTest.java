@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DirectoryEvents}
+ */
+public class DirectoryEventsTest {
+    private static final Path DIR  = Paths.get("/projects/dir");
+    private static final Path FILE = DIR.resolve("file");
+
+    DirectoryEvents events;
+
+    @Before
+    public void setUp() throws Exception {
+        events = new DirectoryEvents(DIR);
+    }
+
+    @Test
+    public void shouldReportCreateFollowedByModifyAsCreate() throws Exception {
+        events.add(FILE, ENTRY_CREATE).add(FILE, ENTRY_MODIFY).add(FILE, ENTRY_MODIFY);
+
+        assertEquals(1, events.getEvents().size());
+        assertEquals(ENTRY_CREATE, events.getEvents().get(FILE));
+    }
+
+    @Test
+    public void shouldNotReportCreateFollowedByDelete() throws Exception {
+        events.add(FILE, ENTRY_CREATE).add(FILE, ENTRY_MODIFY).add(FILE, ENTRY_DELETE);
+
+        assertTrue(events.getEvents().isEmpty());
+    }
+
+    @Test
+    public void shouldReportDeleteFollowedByCreateAsModify() throws Exception {
+        events.add(FILE, ENTRY_DELETE).add(FILE, ENTRY_CREATE);
+
+        assertEquals(ENTRY_MODIFY, events.getEvents().get(FILE));
+    }
+
+    @Test
+    public void shouldReportModifyFollowedByDeleteAsDelete() throws Exception {
+        events.add(FILE, ENTRY_MODIFY).add(FILE, ENTRY_DELETE);
+
+        assertEquals(ENTRY_DELETE, events.getEvents().get(FILE));
+    }
+
+    @Test
+    public void shouldMergeLaterEvents() throws Exception {
+        DirectoryEvents later = new DirectoryEvents(DIR).add(FILE, ENTRY_MODIFY)
+                                                        .setOverflow(true)
+                                                        .setValid(false);
+
+        events.add(FILE, ENTRY_CREATE).merge(later);
+
+        assertEquals(ENTRY_CREATE, events.getEvents().get(FILE));
+        assertTrue(events.isOverflow());
+        assertFalse(events.isValid());
+    }
+}
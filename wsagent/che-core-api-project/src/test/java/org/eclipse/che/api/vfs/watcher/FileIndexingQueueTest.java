@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.api.vfs.search.impl.LuceneSearcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link FileIndexingQueue}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FileIndexingQueueTest {
+    static final String ROOT = "/projects";
+
+    @Mock
+    VirtualFileSystemProvider vfsProvider;
+    @Mock
+    VirtualFileSystem         vfs;
+    @Mock
+    SearcherProvider          searcherProvider;
+    @Mock
+    LuceneSearcher            searcher;
+    @Mock
+    VirtualFile               root;
+    @Mock
+    VirtualFile               file;
+
+    FileIndexingQueue queue;
+
+    @Before
+    public void setUp() throws Exception {
+        when(vfsProvider.getVirtualFileSystem()).thenReturn(vfs);
+        when(vfs.getSearcherProvider()).thenReturn(searcherProvider);
+        when(searcherProvider.getSearcher(vfs)).thenReturn(searcher);
+        when(vfs.getRoot()).thenReturn(root);
+        when(root.getChild(Path.of("/project/file"))).thenReturn(file);
+        when(file.isFile()).thenReturn(true);
+        when(file.getLength()).thenReturn(10L);
+        when(file.getLastModificationDate()).thenReturn(100L);
+
+        queue = new FileIndexingQueue(new File(ROOT), vfsProvider, 60_000, 2);
+        queue.start();
+    }
+
+    @After
+    public void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    public void shouldCoalesceChangesOfTheSamePath() throws Exception {
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.index(Paths.get(ROOT, "project", "file"));
+
+        assertEquals(1, queue.getPendingCount());
+
+        queue.flush();
+
+        verify(searcher).update(file);
+        verify(searcher).refresh();
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void shouldApplyOnlyTheLatestChangeOfPath() throws Exception {
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.delete(Paths.get(ROOT, "project", "file"));
+
+        queue.flush();
+
+        verify(searcher, never()).update(any(VirtualFile.class));
+        verify(searcher).delete("/project/file", true);
+    }
+
+    @Test
+    public void shouldSkipFilesThatWereNotChangedSinceTheyWereIndexed() throws Exception {
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.flush();
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.flush();
+
+        verify(searcher).update(file);
+
+        when(file.getLastModificationDate()).thenReturn(200L);
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.flush();
+
+        verify(searcher, times(2)).update(file);
+    }
+
+    @Test
+    public void shouldNotSkipFilesThatWereModifiedWithinTimestampGranularity() throws Exception {
+        when(file.getLastModificationDate()).thenReturn(System.currentTimeMillis());
+
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.flush();
+        queue.index(Paths.get(ROOT, "project", "file"));
+        queue.flush();
+
+        verify(searcher, times(2)).update(file);
+    }
+
+    @Test
+    public void shouldNotTouchSearcherIfThereAreNoChanges() throws Exception {
+        queue.flush();
+
+        verify(searcher, never()).delete(anyString(), anyBoolean());
+        verify(searcher, never()).refresh();
+    }
+
+    @Test
+    public void shouldRequeueChangesIfSearcherIsNotAvailable() throws Exception {
+        when(searcherProvider.getSearcher(vfs)).thenThrow(new ServerException("not available")).thenReturn(searcher);
+        queue.index(Paths.get(ROOT, "project", "file"));
+
+        queue.flush();
+
+        verify(searcher, never()).update(any(VirtualFile.class));
+        assertEquals(1, queue.getPendingCount());
+
+        queue.flush();
+
+        verify(searcher).update(file);
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void shouldRetryIndexingOfFileWhichFailed() throws Exception {
+        doThrow(new ServerException("failed")).doNothing().when(searcher).update(file);
+        queue.index(Paths.get(ROOT, "project", "file"));
+
+        queue.flush();
+        assertEquals(1, queue.getPendingCount());
+        queue.flush();
+
+        verify(searcher, times(2)).update(file);
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void shouldGiveUpIndexingOfFileAfterMaxAttempts() throws Exception {
+        doThrow(new ServerException("failed")).when(searcher).update(file);
+        queue.index(Paths.get(ROOT, "project", "file"));
+
+        for (int i = 0; i < FileIndexingQueue.MAX_ATTEMPTS + 1; i++) {
+            queue.flush();
+        }
+
+        verify(searcher, times(FileIndexingQueue.MAX_ATTEMPTS)).update(file);
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void shouldNotRequeueFailedChangeIfItIsSupersededByNewerOne() throws Exception {
+        when(searcherProvider.getSearcher(vfs)).thenAnswer(invocation -> {
+            queue.delete(Paths.get(ROOT, "project", "file"));
+            throw new ServerException("not available");
+        }).thenReturn(searcher);
+        queue.index(Paths.get(ROOT, "project", "file"));
+
+        queue.flush();
+        queue.flush();
+
+        verify(searcher, never()).update(any(VirtualFile.class));
+        verify(searcher).delete("/project/file", true);
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -29,6 +30,7 @@ import java.util.function.Consumer;
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
 import static org.apache.commons.io.FileUtils.write;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -48,6 +50,10 @@ public class FileTreeWalkerTest {
 
     FileTreeWalker fileTreeWalker;
 
+    @Mock
+    FileWatcherService fileWatcherService;
+    Consumer<Path>     directoryListener;
+
     Set<Consumer<Path>> directoryCreateConsumers = new HashSet<>();
     Set<Consumer<Path>> directoryUpdateConsumers = new HashSet<>();
     Set<Consumer<Path>> directoryDeleteConsumers = new HashSet<>();
@@ -75,6 +81,7 @@ public class FileTreeWalkerTest {
     @Before
     public void setUp() throws Exception {
         fileTreeWalker = new FileTreeWalker(rootFolder.getRoot(),
+                                            fileWatcherService,
                                             directoryUpdateConsumers,
                                             directoryCreateConsumers,
                                             directoryDeleteConsumers,
@@ -83,6 +90,12 @@ public class FileTreeWalkerTest {
                                             fileCreateConsumers,
                                             fileDeleteConsumers,
                                             fileExcludes);
+        fileTreeWalker.initialize();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<Path>> captor = ArgumentCaptor.forClass((Class)Consumer.class);
+        verify(fileWatcherService).addDirectoryListener(captor.capture());
+        directoryListener = captor.getValue();
     }
 
     @After
@@ -117,6 +130,7 @@ public class FileTreeWalkerTest {
 
         write(file, TEST_FILE_CONTENT);
         sleep(FS_LATENCY_DELAY);
+        directoryListener.accept(rootFolder.getRoot().toPath());
         fileTreeWalker.walk();
 
         verify(fileUpdateConsumerMock).accept(file.toPath());
@@ -132,6 +146,7 @@ public class FileTreeWalkerTest {
 
         file.delete();
         sleep(FS_LATENCY_DELAY);
+        directoryListener.accept(rootFolder.getRoot().toPath());
         fileTreeWalker.walk();
 
         verify(fileDeleteConsumerMock).accept(file.toPath());
@@ -157,6 +172,7 @@ public class FileTreeWalkerTest {
 
         createTempFile(TEST_FILE_NAME, "", file);
         sleep(FS_LATENCY_DELAY);
+        directoryListener.accept(file.toPath());
         fileTreeWalker.walk();
 
         verify(directoryUpdateConsumerMock).accept(file.toPath());
@@ -172,6 +188,7 @@ public class FileTreeWalkerTest {
 
         file.delete();
         sleep(FS_LATENCY_DELAY);
+        directoryListener.accept(rootFolder.getRoot().toPath());
         fileTreeWalker.walk();
 
         verify(directoryDeleteConsumerMock).accept(file.toPath());
@@ -198,4 +215,90 @@ public class FileTreeWalkerTest {
         fileTreeWalker.walk();
         verify(directoryCreatedConsumerMock, never()).accept(file.toPath());
     }
+
+    @Test
+    public void shouldRegisterWalkedDirectoriesInFileWatcherService() throws Exception {
+        File file = rootFolder.newFolder(TEST_FOLDER_NAME);
+
+        fileTreeWalker.walk();
+
+        verify(fileWatcherService).register(rootFolder.getRoot().toPath());
+        verify(fileWatcherService).register(file.toPath());
+    }
+
+    @Test
+    public void shouldNotRunConsumersForNotChangedDirectories() throws Exception {
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+
+        fileTreeWalker.walk();
+
+        File file = rootFolder.newFile(TEST_FILE_NAME);
+        fileTreeWalker.walk();
+        verify(fileCreatedConsumerMock, never()).accept(any(Path.class));
+
+        directoryListener.accept(rootFolder.getRoot().toPath());
+        fileTreeWalker.walk();
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldRunConsumersForSubTreeOfCreatedDirectory() throws Exception {
+        directoryCreateConsumers.add(directoryCreatedConsumerMock);
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+
+        fileTreeWalker.walk();
+
+        File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File file = new File(folder, TEST_FILE_NAME);
+        write(file, TEST_FILE_CONTENT);
+        directoryListener.accept(rootFolder.getRoot().toPath());
+        fileTreeWalker.walk();
+
+        verify(directoryCreatedConsumerMock).accept(folder.toPath());
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+        verify(fileWatcherService).register(folder.toPath());
+    }
+
+    @Test
+    public void shouldRunConsumersForSubTreeOfDeletedDirectory() throws Exception {
+        directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+        fileDeleteConsumers.add(fileDeleteConsumerMock);
+
+        File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File file = new File(folder, TEST_FILE_NAME);
+        write(file, TEST_FILE_CONTENT);
+        fileTreeWalker.walk();
+
+        file.delete();
+        folder.delete();
+        directoryListener.accept(rootFolder.getRoot().toPath());
+        fileTreeWalker.walk();
+
+        verify(directoryDeleteConsumerMock).accept(folder.toPath());
+        verify(fileDeleteConsumerMock).accept(file.toPath());
+        verify(fileWatcherService).unRegister(folder.toPath());
+    }
+
+    @Test
+    public void shouldPeriodicallyWalkWholeTreeToRecoverMissedChanges() throws Exception {
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        fileDeleteConsumers.add(fileDeleteConsumerMock);
+
+        File deleted = rootFolder.newFile(TEST_FILE_NAME);
+        fileTreeWalker.walk();
+
+        deleted.delete();
+        File created = new File(rootFolder.newFolder(TEST_FOLDER_NAME), TEST_FILE_NAME);
+        write(created, TEST_FILE_CONTENT);
+        for (int i = 0; i < FileTreeWalker.FULL_WALK_PERIOD - 1; i++) {
+            fileTreeWalker.walk();
+        }
+        verify(fileCreatedConsumerMock, never()).accept(created.toPath());
+        verify(fileDeleteConsumerMock, never()).accept(any(Path.class));
+
+        fileTreeWalker.walk();
+
+        verify(fileCreatedConsumerMock).accept(created.toPath());
+        verify(fileDeleteConsumerMock).accept(deleted.toPath());
+    }
 }
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying of a single editor change to a working copy, which is an insertion or
+ * a removal in the middle of the document, compared with rebuilding the whole
+ * content string as working copies did before they kept content in a {@link TextRope}.
+ *
+ * <p>The benchmark is in the package of {@link TextRope} as the rope is package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TextRopeBenchmark {
+
+    @Param({"65536", "1048576"})
+    private int documentSize;
+
+    private String   content;
+    private TextRope rope;
+    private int      middle;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder(documentSize);
+        while (text.length() < documentSize) {
+            text.append("    public void method() { return \"text\"; }\n");
+        }
+        content = text.toString();
+        rope = TextRope.of(content);
+        middle = content.length() / 2;
+    }
+
+    @Benchmark
+    public TextRope ropeInsert() {
+        return rope.insert(middle, "a");
+    }
+
+    @Benchmark
+    public TextRope ropeDelete() {
+        return rope.delete(middle, middle + 1);
+    }
+
+    @Benchmark
+    public String stringInsert() {
+        return new StringBuilder(content.length() + 1).append(content, 0, middle)
+                                                      .append('a')
+                                                      .append(content, middle, content.length())
+                                                      .toString();
+    }
+
+    @Benchmark
+    public String ropeToString() {
+        return rope.toString();
+    }
+}
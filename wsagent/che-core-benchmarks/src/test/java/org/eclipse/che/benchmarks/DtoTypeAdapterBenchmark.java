@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.benchmarks;
+
+import com.google.gson.Gson;
+
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.shared.JsonArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization of a folder listing with the DTO Gson, which uses
+ * the generated streaming type adapters of DTO implementations, compared with a plain
+ * Gson which walks the fields of the same implementations reflectively as the DTO Gson
+ * used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DtoTypeAdapterBenchmark {
+
+    @Param({"1", "100"})
+    private int itemCount;
+
+    private DtoFactory          dtoFactory;
+    private Gson                reflectiveGson;
+    private List<ItemReference> items;
+    private Class<?>            implArrayClass;
+    private String              json;
+
+    @Setup
+    public void setUp() {
+        dtoFactory = DtoFactory.getInstance();
+        reflectiveGson = new Gson();
+
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("contentType", "text/x-java");
+            attributes.put("vcs.status", "modified");
+            items.add(dtoFactory.createDto(ItemReference.class)
+                                .withName("File" + i + ".java")
+                                .withType("file")
+                                .withProject("/p")
+                                .withPath("/p/src/main/java/org/eclipse/che/File" + i + ".java")
+                                .withAttributes(attributes)
+                                .withModified(1500000000000L + i)
+                                .withContentLength(4096 + i));
+        }
+        implArrayClass = Array.newInstance(items.get(0).getClass(), 0).getClass();
+        json = dtoFactory.getGson().toJson(items);
+    }
+
+    @Benchmark
+    public String serializeWithGeneratedAdapters() {
+        return dtoFactory.getGson().toJson(items);
+    }
+
+    @Benchmark
+    public String serializeReflectively() {
+        return reflectiveGson.toJson(items);
+    }
+
+    @Benchmark
+    public JsonArray<ItemReference> deserializeWithGeneratedAdapters() {
+        return dtoFactory.createListDtoFromJson(json, ItemReference.class);
+    }
+
+    @Benchmark
+    public Object deserializeReflectively() {
+        return reflectiveGson.fromJson(json, implArrayClass);
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.impl.GsonJsonRpcUnmarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unmarshalling of a {@code textDocument/didChange} notification which carries the
+ * whole document, compared with building a JSON tree of the message as the unmarshaller
+ * used to do before reading the params into a DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonRpcUnmarshallerBenchmark {
+
+    @Param({"1024", "65536"})
+    private int documentSize;
+
+    private GsonJsonRpcUnmarshaller unmarshaller;
+    private JsonParser              jsonParser;
+    private String                  message;
+    private String                  batch;
+
+    @Setup
+    public void setUp() {
+        unmarshaller = new GsonJsonRpcUnmarshaller();
+        jsonParser = new JsonParser();
+
+        StringBuilder text = new StringBuilder(documentSize);
+        while (text.length() < documentSize) {
+            text.append("    public void method() { return \\\"text\\\"; }\\n");
+        }
+        message = "{\"jsonrpc\":\"2.0\",\"method\":\"textDocument/didChange\",\"params\":{" +
+                  "\"textDocument\":{\"uri\":\"file:///projects/p/src/Main.java\",\"version\":42}," +
+                  "\"contentChanges\":[{\"text\":\"" + text + "\"}]}}";
+        batch = '[' + message + ',' + message + ',' + message + ']';
+    }
+
+    @Benchmark
+    public JsonRpcRequest unmarshalRequest() {
+        return unmarshaller.unmarshalRequest(message);
+    }
+
+    @Benchmark
+    public JsonElement parseTree() {
+        return jsonParser.parse(message);
+    }
+
+    @Benchmark
+    public List<String> unmarshalArray() {
+        return unmarshaller.unmarshalArray(batch);
+    }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.benchmarks;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Listing of a folder and reading of item properties by concurrent callers, the way
+ * the project explorer and the project API read the tree. Listing through the virtual
+ * file system, which uses cached listings of not modified folders, is compared with
+ * listing and sorting the folder with {@link File#listFiles()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class LocalVirtualFileSystemBenchmark {
+
+    @Param({"100", "1000"})
+    private int childrenCount;
+
+    private Path        ioRoot;
+    private File        ioFolder;
+    private VirtualFile folder;
+    private VirtualFile file;
+
+    @Setup
+    public void setUp() throws Exception {
+        ioRoot = Files.createTempDirectory("vfs-benchmark");
+        final LocalVirtualFileSystem fileSystem = new LocalVirtualFileSystem(ioRoot.toFile(), new ArchiverFactory(), null, null);
+
+        folder = fileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < childrenCount; i++) {
+            if (i % 10 == 0) {
+                folder.createFolder("folder-" + i);
+            } else {
+                folder.createFile("file-" + i + ".java", "class A {}");
+            }
+        }
+        file = folder.getChild(org.eclipse.che.api.vfs.Path.of("file-1.java"));
+        file.updateProperties(singletonMap("encoding", "UTF-8"));
+
+        // listings of recently modified folders are not cached
+        ioFolder = new File(ioRoot.toFile(), "folder");
+        ioFolder.setLastModified(System.currentTimeMillis() - 60_000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(ioRoot)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public List<VirtualFile> getChildren() throws ServerException {
+        return folder.getChildren();
+    }
+
+    @Benchmark
+    public File[] listFiles() {
+        final File[] children = ioFolder.listFiles();
+        Arrays.sort(children, (one, two) -> {
+            if (one.isDirectory() != two.isDirectory()) {
+                return one.isDirectory() ? -1 : 1;
+            }
+            return one.getName().compareTo(two.getName());
+        });
+        return children;
+    }
+
+    @Benchmark
+    public Map<String, String> getProperties() throws ServerException {
+        return file.getProperties();
+    }
+}
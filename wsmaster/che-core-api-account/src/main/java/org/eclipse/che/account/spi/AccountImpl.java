@@ -17,9 +17,12 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
 import java.util.Objects;
 
+import static org.eclipse.che.core.db.jpa.cache.EntityCacheManager.QUERY_RESULTS_CACHE_HINT;
+
 /**
  * Data object for {@link Account}.
  *
@@ -32,7 +35,8 @@ import java.util.Objects;
                 @NamedQuery(name = "Account.getByName",
                             query = "SELECT a " +
                                     "FROM Account a " +
-                                    "WHERE a.name = :name")
+                                    "WHERE a.name = :name",
+                            hints = @QueryHint(name = QUERY_RESULTS_CACHE_HINT, value = "true"))
         }
 )
 @Table(name = "account")
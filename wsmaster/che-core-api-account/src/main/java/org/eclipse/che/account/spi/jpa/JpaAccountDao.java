@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -37,10 +38,12 @@ import static java.util.Objects.requireNonNull;
 @Singleton
 public class JpaAccountDao implements AccountDao {
     private final Provider<EntityManager> managerProvider;
+    private final EntityCacheManager      cacheManager;
 
     @Inject
-    public JpaAccountDao(Provider<EntityManager> managerProvider) {
+    public JpaAccountDao(Provider<EntityManager> managerProvider, EntityCacheManager cacheManager) {
         this.managerProvider = managerProvider;
+        this.cacheManager = cacheManager;
     }
 
     @Override
@@ -71,9 +74,8 @@ public class JpaAccountDao implements AccountDao {
     @Transactional
     public AccountImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null account id");
-        final EntityManager manager = managerProvider.get();
         try {
-            AccountImpl account = manager.find(AccountImpl.class, id);
+            AccountImpl account = cacheManager.find(AccountImpl.class, id);
             if (account == null) {
                 throw new NotFoundException(format("Account with id '%s' was not found", id));
             }
@@ -15,16 +15,19 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.dto.server.DtoFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.util.stream.Collectors.toList;
 
 @Singleton
 public class MachineStateJsonRpcMessenger implements EventSubscriber<MachineStatusEvent> {
@@ -42,15 +45,23 @@ public class MachineStateJsonRpcMessenger implements EventSubscriber<MachineStat
     @Override
     public void onEvent(MachineStatusEvent event) {
         String id = event.getWorkspaceId();
-        endpointIds.entrySet()
-                   .stream()
-                   .filter(it -> it.getValue().contains(id))
-                   .map(Map.Entry::getKey)
-                   .forEach(it -> transmitter.newRequest()
-                                             .endpointId(it)
-                                             .methodName("event:environment-status:changed")
-                                             .paramsAsDto(event)
-                                             .sendAndSkipResult());
+        List<String> endpoints = endpointIds.entrySet()
+                                            .stream()
+                                            .filter(it -> it.getValue().contains(id))
+                                            .map(Map.Entry::getKey)
+                                            .collect(toList());
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        // the same event is sent to all the endpoints, freeze its copy so it is serialized only once
+        MachineStatusEvent frozen = DtoFactory.getInstance().freeze(DtoFactory.cloneDto(event));
+        // a client which is not connected needs only the latest status of the machine
+        String coalescingKey = "event:environment-status:changed@" + id + '/' + event.getMachineName();
+        endpoints.forEach(it -> transmitter.newRequest()
+                                           .endpointId(it)
+                                           .methodName("event:environment-status:changed")
+                                           .paramsAsDto(frozen)
+                                           .sendAndSkipResult(coalescingKey));
     }
 
     @Inject
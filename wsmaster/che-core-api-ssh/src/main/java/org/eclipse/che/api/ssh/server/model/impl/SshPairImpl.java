@@ -23,9 +23,12 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
 import java.util.Objects;
 
+import static org.eclipse.che.core.db.jpa.cache.EntityCacheManager.QUERY_RESULTS_CACHE_HINT;
+
 /**
  * @author Sergii Leschenko
  */
@@ -36,11 +39,13 @@ import java.util.Objects;
                             query = "SELECT pair " +
                                     "FROM SshKeyPair pair " +
                                     "WHERE pair.owner = :owner " +
-                                    "  AND pair.service = :service"),
+                                    "  AND pair.service = :service",
+                            hints = @QueryHint(name = QUERY_RESULTS_CACHE_HINT, value = "true")),
                 @NamedQuery(name = "SshKeyPair.getByOwner",
                             query = "SELECT pair " +
                                     "FROM SshKeyPair pair " +
-                                    "WHERE pair.owner = :owner")
+                                    "WHERE pair.owner = :owner",
+                            hints = @QueryHint(name = QUERY_RESULTS_CACHE_HINT, value = "true"))
         }
 )
 @IdClass(SshPairPrimaryKey.class)
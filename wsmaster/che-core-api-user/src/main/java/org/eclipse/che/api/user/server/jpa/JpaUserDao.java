@@ -20,6 +20,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.UserDao;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 import org.eclipse.che.security.PasswordEncryptor;
 
 import javax.inject.Inject;
@@ -48,6 +49,8 @@ public class JpaUserDao implements UserDao {
     protected Provider<EntityManager> managerProvider;
     @Inject
     private   PasswordEncryptor       encryptor;
+    @Inject
+    private   EntityCacheManager      cacheManager;
 
     @Override
     @Transactional
@@ -129,7 +132,7 @@ public class JpaUserDao implements UserDao {
     public UserImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+            final UserImpl user = cacheManager.find(UserImpl.class, id);
             if (user == null) {
                 throw new NotFoundException(format("User with id '%s' doesn't exist", id));
             }
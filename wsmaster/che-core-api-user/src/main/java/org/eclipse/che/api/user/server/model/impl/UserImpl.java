@@ -21,12 +21,15 @@ import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
+import static org.eclipse.che.core.db.jpa.cache.EntityCacheManager.QUERY_RESULTS_CACHE_HINT;
+
 /**
  * Data object for the {@link User}.
  *
@@ -43,9 +46,11 @@ import java.util.Objects;
                 @NamedQuery(name = "User.getByAlias",
                             query = "SELECT u FROM Usr u WHERE :alias MEMBER OF u.aliases"),
                 @NamedQuery(name = "User.getByName",
-                            query = "SELECT u FROM Usr u WHERE u.name = :name"),
+                            query = "SELECT u FROM Usr u WHERE u.name = :name",
+                            hints = @QueryHint(name = QUERY_RESULTS_CACHE_HINT, value = "true")),
                 @NamedQuery(name = "User.getByEmail",
-                            query = "SELECT u FROM Usr u WHERE u.email = :email"),
+                            query = "SELECT u FROM Usr u WHERE u.email = :email",
+                            hints = @QueryHint(name = QUERY_RESULTS_CACHE_HINT, value = "true")),
                 @NamedQuery(name = "User.getAll",
                             query = "SELECT u FROM Usr u"),
                 @NamedQuery(name = "User.getTotalCount",
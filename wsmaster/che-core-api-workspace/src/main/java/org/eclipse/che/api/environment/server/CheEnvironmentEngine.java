@@ -35,7 +35,7 @@ import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
-import org.eclipse.che.api.core.util.lineconsumer.ConcurrentFileLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileLineConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterruptedException;
@@ -83,8 +83,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -124,6 +126,11 @@ public class CheEnvironmentEngine {
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
     private final WorkspaceSharedPool            sharedPool;
+    private final ServicesStartScheduler         startScheduler;
+    private final Semaphore                      machineStartPermits;
+    private final long                           maxLogFileSize;
+    private final int                            maxLogBackupFiles;
+    private final long                           logsFlushIntervalMs;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -131,6 +138,9 @@ public class CheEnvironmentEngine {
     public CheEnvironmentEngine(SnapshotDao snapshotDao,
                                 MachineInstanceProviders machineInstanceProviders,
                                 @Named("che.workspace.logs") String machineLogsDir,
+                                @Named("che.workspace.logs.max_file_size_bytes") long maxLogFileSize,
+                                @Named("che.workspace.logs.max_backup_files") int maxLogBackupFiles,
+                                @Named("che.workspace.logs.flush_interval_ms") long logsFlushIntervalMs,
                                 @Named("che.workspace.default_memory_mb") int defaultMachineMemorySizeMB,
                                 EventService eventService,
                                 EnvironmentParser environmentParser,
@@ -141,7 +151,8 @@ public class CheEnvironmentEngine {
                                 RecipeDownloader recipeDownloader,
                                 ContainerNameGenerator containerNameGenerator,
                                 AgentRegistry agentRegistry,
-                                WorkspaceSharedPool sharedPool) {
+                                WorkspaceSharedPool sharedPool,
+                                @Named("che.workspace.max_concurrent_machine_starts") int maxConcurrentMachineStarts) {
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -151,9 +162,15 @@ public class CheEnvironmentEngine {
         this.recipeDownloader = recipeDownloader;
         this.agentRegistry = agentRegistry;
         this.sharedPool = sharedPool;
+        this.startScheduler = new ServicesStartScheduler(sharedPool);
+        this.machineStartPermits = new Semaphore(maxConcurrentMachineStarts > 0 ? maxConcurrentMachineStarts : Integer.MAX_VALUE,
+                                                 true);
         this.environments = new ConcurrentHashMap<>();
         this.machineInstanceProviders = machineInstanceProviders;
         this.machineLogsDir = new File(machineLogsDir);
+        this.maxLogFileSize = maxLogFileSize;
+        this.maxLogBackupFiles = maxLogBackupFiles;
+        this.logsFlushIntervalMs = logsFlushIntervalMs;
         this.defaultMachineMemorySizeBytes = Size.parseSize(defaultMachineMemorySizeMB + "MB");
         // 16 - experimental value for stripes count, it comes from default hash map size
         this.stripedLocks = new StripedLocks(16);
@@ -409,14 +426,19 @@ public class CheEnvironmentEngine {
                 infrastructureProvisioner.provision(new ExtendedMachineImpl().withAgents(agents),
                                                     serviceWithNormalizedSource);
 
-                return machineProvider.startService(ownerName,
-                                                    workspaceId,
-                                                    environmentHolder.name,
-                                                    machineConfig.getName(),
-                                                    machineConfig.isDev(),
-                                                    environmentHolder.networkId,
-                                                    serviceWithNormalizedSource,
-                                                    machineLogger);
+                acquireMachineStartPermit(workspaceId, environmentHolder.name);
+                try {
+                    return machineProvider.startService(ownerName,
+                                                        workspaceId,
+                                                        environmentHolder.name,
+                                                        machineConfig.getName(),
+                                                        machineConfig.isDev(),
+                                                        environmentHolder.networkId,
+                                                        serviceWithNormalizedSource,
+                                                        machineLogger);
+                } finally {
+                    machineStartPermits.release();
+                }
             };
         } else {
             try {
@@ -580,10 +602,12 @@ public class CheEnvironmentEngine {
                   internalEnv);
 
         List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> servicesDependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    servicesDependencies,
                                                                     internalEnv,
                                                                     envConfig,
                                                                     messageConsumer,
@@ -724,6 +748,9 @@ public class CheEnvironmentEngine {
 
     /**
      * Starts all machine from machine queue of environment.
+     *
+     * <p>Machines that don't depend on each other are started concurrently,
+     * a machine is started as soon as all the machines it depends on are started.
      */
     private void startEnvironmentQueue(String ownerName,
                                        String workspaceId,
@@ -734,11 +761,10 @@ public class CheEnvironmentEngine {
             throws ServerException,
                    AgentException,
                    EnvironmentException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        List<String> startOrder;
+        Map<String, Set<String>> startDependencies;
         String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -747,127 +773,30 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            startOrder = new ArrayList<>(environmentHolder.startQueue);
+            startDependencies = environmentHolder.startDependencies;
         }
 
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-
-                CheServiceImpl service;
-                @Nullable ExtendedMachine extendedMachine;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new EnvironmentStartInterruptedException(workspaceId, envName);
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                    extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(ownerName,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                checkInterruption(workspaceId, envName);
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-                checkInterruption(workspaceId, envName);
-
-                startedHandler.started(instance, extendedMachine);
-                checkInterruption(workspaceId, envName);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
-                }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
-                }
-
-                machineName = queuePeekOrFail(workspaceId);
-            }
+            final long envStartTime = System.currentTimeMillis();
+            // Environment start is failed when any machine start is failed, so if any error
+            // occurs during machine creation then environment start fail is reported and
+            // start resources such as queue and descriptor must be cleaned up
+            startScheduler.start(startOrder,
+                                 startDependencies,
+                                 machineName -> startEnvironmentMachine(ownerName,
+                                                                        workspaceId,
+                                                                        envName,
+                                                                        machineName,
+                                                                        devMachineName.equals(machineName),
+                                                                        networkId,
+                                                                        recover,
+                                                                        creator,
+                                                                        envLogger,
+                                                                        startedHandler,
+                                                                        envStartTime));
         } catch (Exception e) {
             boolean interrupted = Thread.interrupted();
             EnvironmentHolder env;
@@ -875,10 +804,12 @@ public class CheEnvironmentEngine {
                 env = environments.remove(workspaceId);
             }
 
-            try {
-                destroyEnvironment(env.networkId, env.machines);
-            } catch (Exception remEx) {
-                LOG.error(remEx.getLocalizedMessage(), remEx);
+            if (env != null) {
+                try {
+                    destroyEnvironment(env.networkId, env.machines);
+                } catch (Exception remEx) {
+                    LOG.error(remEx.getLocalizedMessage(), remEx);
+                }
             }
 
             if (interrupted) {
@@ -894,6 +825,157 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts single machine of environment which is being started,
+     * all the machines this machine depends on must be already started.
+     */
+    private void startEnvironmentMachine(String ownerName,
+                                         String workspaceId,
+                                         String envName,
+                                         String machineName,
+                                         boolean isDev,
+                                         String networkId,
+                                         boolean recover,
+                                         String creator,
+                                         MessageConsumer<MachineLogMessage> envLogger,
+                                         MachineStartedHandler startedHandler,
+                                         long envStartTime) throws ServerException,
+                                                                   AgentException,
+                                                                   EnvironmentException {
+        final long machineStartTime = System.currentTimeMillis();
+        CheServiceImpl service;
+        @Nullable ExtendedMachine extendedMachine;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new EnvironmentStartInterruptedException(workspaceId, envName);
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+            extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            acquireMachineStartPermit(workspaceId, envName);
+            try {
+                return machineProvider.startService(ownerName,
+                                                    workspaceId,
+                                                    envName,
+                                                    machineName,
+                                                    isDev,
+                                                    networkId,
+                                                    serviceWithNormalizedSource,
+                                                    machineLogger);
+            } finally {
+                machineStartPermits.release();
+            }
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        checkInterruption(workspaceId, envName);
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+        checkInterruption(workspaceId, envName);
+
+        startedHandler.started(instance, extendedMachine);
+        checkInterruption(workspaceId, envName);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+
+        eventService.publish(new MachineStartTimeEvent(workspaceId,
+                                                       instance.getId(),
+                                                       machineName,
+                                                       isDev,
+                                                       machineStartTime - envStartTime,
+                                                       System.currentTimeMillis() - machineStartTime));
+    }
+
+    /**
+     * Limits the number of machines which are created concurrently
+     * by all the environments to not overload the infrastructure.
+     */
+    private void acquireMachineStartPermit(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
+        try {
+            machineStartPermits.acquire();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new EnvironmentStartInterruptedException(workspaceId, envName);
+        }
+    }
+
     private void checkInterruption(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
         if (Thread.interrupted()) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -1117,33 +1199,6 @@ public class CheEnvironmentEngine {
                 machine.getId(), machine.getConfig().getName(), machine.getWorkspaceId()));
     }
 
-    /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
-     *
-     * <p>Note that this method won't actually poll the queue.
-     *
-     * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
-     *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
-     * @throws ServerException
-     *         if queue doesn't exist which means that {@link #stop(String)} executed
-     *         before all the machines started
-     * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
-     */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
-        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-            ensurePreDestroyIsNotExecuted();
-            EnvironmentHolder environmentHolder = environments.get(workspaceId);
-            if (environmentHolder == null || environmentHolder.startQueue == null) {
-                throw new ServerException("Workspace " + workspaceId +
-                                          " start interrupted. Workspace was stopped before all its machines were started");
-            }
-            return environmentHolder.startQueue.peek();
-        }
-    }
-
     /**
      * Destroys provided machines and associated network.
      */
@@ -1226,7 +1281,10 @@ public class CheEnvironmentEngine {
             }
         };
         try {
-            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
+            return new ConcurrentCompositeLineConsumer(new RotatingFileLineConsumer(getMachineLogsFile(machineId),
+                                                                                    maxLogFileSize,
+                                                                                    maxLogBackupFiles,
+                                                                                    logsFlushIntervalMs),
                                                        lineConsumer);
         } catch (IOException e) {
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
@@ -1315,6 +1373,7 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           startDependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1325,6 +1384,7 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> startDependencies,
                           CheServicesEnvironmentImpl environment,
                           Environment environmentConfig,
                           MessageConsumer<MachineLogMessage> envLogger,
@@ -1332,6 +1392,7 @@ public class CheEnvironmentEngine {
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.startDependencies = startDependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -21,11 +21,11 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.JsonRpcLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileLineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -43,8 +43,6 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -68,12 +66,18 @@ public class MachineProcessManager {
     private final EventService             eventService;
     private final RequestTransmitter       transmitter;
     private final JsonRpcEndpointIdsHolder endpointIdsHolder;
+    private final long                     maxLogFileSize;
+    private final int                      maxLogBackupFiles;
+    private final long                     logsFlushIntervalMs;
 
     @VisibleForTesting
     final ExecutorService executor;
 
     @Inject
     public MachineProcessManager(@Named("che.workspace.logs") String machineLogsDir,
+                                 @Named("che.workspace.logs.max_file_size_bytes") long maxLogFileSize,
+                                 @Named("che.workspace.logs.max_backup_files") int maxLogBackupFiles,
+                                 @Named("che.workspace.logs.flush_interval_ms") long logsFlushIntervalMs,
                                  EventService eventService,
                                  CheEnvironmentEngine environmentEngine,
                                  RequestTransmitter transmitter,
@@ -83,6 +87,9 @@ public class MachineProcessManager {
         this.environmentEngine = environmentEngine;
         this.transmitter = transmitter;
         this.endpointIdsHolder = endpointIdsHolder;
+        this.maxLogFileSize = maxLogFileSize;
+        this.maxLogBackupFiles = maxLogBackupFiles;
+        this.logsFlushIntervalMs = logsFlushIntervalMs;
 
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineProcessManager-%d")
                                                                            .setUncaughtExceptionHandler(
@@ -220,25 +227,86 @@ public class MachineProcessManager {
      *         if other error occur
      */
     public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException, MachineException {
+        final File processLogsFile = getExistingProcessLogsFile(machineId, pid);
+        try {
+            return RotatingFileLineConsumer.newReader(processLogsFile);
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets range of process log lines.
+     *
+     * @param machineId
+     *         machine id whose process logs will be returned
+     * @param pid
+     *         process id
+     * @param skip
+     *         count of the first lines to skip
+     * @param limit
+     *         maximum count of lines to return
+     * @return log lines in the order they were written by the process
+     * @throws NotFoundException
+     *         if logs of the process are not available
+     * @throws MachineException
+     *         if other error occur
+     */
+    public List<String> getProcessLogs(String machineId, int pid, int skip, int limit) throws NotFoundException, MachineException {
+        final File processLogsFile = getExistingProcessLogsFile(machineId, pid);
+        try {
+            return RotatingFileLineConsumer.readLines(processLogsFile, skip, limit);
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets the last process log lines, the log files are read from the end,
+     * so it is cheap even for processes which produced a lot of output.
+     *
+     * @param machineId
+     *         machine id whose process logs will be returned
+     * @param pid
+     *         process id
+     * @param lines
+     *         maximum count of lines to return
+     * @return log lines in the order they were written by the process
+     * @throws NotFoundException
+     *         if logs of the process are not available
+     * @throws MachineException
+     *         if other error occur
+     */
+    public List<String> getProcessLogsTail(String machineId, int pid, int lines) throws NotFoundException, MachineException {
+        final File processLogsFile = getExistingProcessLogsFile(machineId, pid);
+        try {
+            return RotatingFileLineConsumer.tail(processLogsFile, lines);
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    private File getExistingProcessLogsFile(String machineId, int pid) throws NotFoundException {
         final File processLogsFile = getProcessLogsFile(machineId, pid);
-        if (processLogsFile.isFile()) {
-            try {
-                return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(
-                        String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
-            }
+        if (!processLogsFile.isFile()) {
+            throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
         }
-        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+        return processLogsFile;
     }
 
     private File getProcessLogsFile(String machineId, int pid) {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private RotatingFileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return new RotatingFileLineConsumer(getProcessLogsFile(machineId, pid),
+                                                maxLogFileSize,
+                                                maxLogBackupFiles,
+                                                logsFlushIntervalMs);
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+/**
+ * Published by {@link CheEnvironmentEngine} when a machine of an environment
+ * is started, describes how long the machine was waiting for the machines it
+ * depends on and how long its own start took.
+ */
+public class MachineStartTimeEvent {
+    private final String  workspaceId;
+    private final String  machineId;
+    private final String  machineName;
+    private final boolean dev;
+    private final long    waitTimeMs;
+    private final long    startTimeMs;
+
+    public MachineStartTimeEvent(String workspaceId,
+                                 String machineId,
+                                 String machineName,
+                                 boolean dev,
+                                 long waitTimeMs,
+                                 long startTimeMs) {
+        this.workspaceId = workspaceId;
+        this.machineId = machineId;
+        this.machineName = machineName;
+        this.dev = dev;
+        this.waitTimeMs = waitTimeMs;
+        this.startTimeMs = startTimeMs;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getMachineId() {
+        return machineId;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public boolean isDev() {
+        return dev;
+    }
+
+    /** Returns time passed since the environment start until the machine start began. */
+    public long getWaitTimeMs() {
+        return waitTimeMs;
+    }
+
+    /** Returns time of the machine start including start of its agents. */
+    public long getStartTimeMs() {
+        return startTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return "MachineStartTimeEvent{" +
+               "workspaceId='" + workspaceId + '\'' +
+               ", machineId='" + machineId + '\'' +
+               ", machineName='" + machineName + '\'' +
+               ", dev=" + dev +
+               ", waitTimeMs=" + waitTimeMs +
+               ", startTimeMs=" + startTimeMs +
+               '}';
+    }
+}
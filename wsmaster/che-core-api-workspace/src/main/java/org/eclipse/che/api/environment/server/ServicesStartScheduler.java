@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts services of an environment concurrently respecting dependencies
+ * between them, a service is started as soon as all the services it
+ * depends on are started, so the whole environment starts in time of
+ * its longest dependency chain rather than in sum of start times of all services.
+ *
+ * <p>Start tasks are submitted to the {@link WorkspaceSharedPool}, while the
+ * calling thread waits for their completion it also runs tasks which were not
+ * picked up by the pool yet. So the start doesn't deadlock when all the threads
+ * of the pool are busy e.g. by starts of other environments.
+ */
+class ServicesStartScheduler {
+
+    /** Starts a single service. */
+    interface ServiceStarter {
+        void start(String service) throws Exception;
+    }
+
+    private final WorkspaceSharedPool sharedPool;
+
+    ServicesStartScheduler(WorkspaceSharedPool sharedPool) {
+        this.sharedPool = sharedPool;
+    }
+
+    /**
+     * Starts all the services and waits until they are started.
+     *
+     * <p>When start of any service fails no more services are started, starts that are
+     * in progress are not interrupted, as an interrupted start may leave behind resources
+     * (e.g. a created container) which the caller doesn't know about, the failure is rethrown
+     * once they are finished, so the caller can destroy everything that was started.
+     *
+     * @param order
+     *         names of services in order of their start, ties between independent
+     *         services are submitted in this order
+     * @param dependencies
+     *         mapping of names of services to names of services they depend on
+     * @param starter
+     *         starter of a single service
+     * @throws InterruptedException
+     *         if the calling thread is interrupted while waiting, it is thrown once
+     *         the starts in progress are finished, interruption flag of the thread is preserved
+     * @throws Exception
+     *         the first failure of a service start
+     */
+    void start(List<String> order, Map<String, Set<String>> dependencies, ServiceStarter starter) throws Exception {
+        final Map<String, Set<String>> pending = new LinkedHashMap<>();
+        for (String service : order) {
+            pending.put(service, new HashSet<>(dependencies.getOrDefault(service, Collections.emptySet())));
+        }
+        final BlockingQueue<StartTask> completed = new LinkedBlockingQueue<>();
+        final ConcurrentLinkedQueue<StartTask> notStarted = new ConcurrentLinkedQueue<>();
+        final List<StartTask> tasks = new ArrayList<>(pending.size());
+
+        Throwable failure = null;
+        int running = 0;
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                if (failure == null) {
+                    final List<StartTask> ready = new ArrayList<>();
+                    for (Iterator<Map.Entry<String, Set<String>>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                        Map.Entry<String, Set<String>> entry = it.next();
+                        if (entry.getValue().isEmpty()) {
+                            it.remove();
+                            ready.add(new StartTask(entry.getKey(), starter, completed));
+                        }
+                    }
+                    for (int i = 0; i < ready.size(); i++) {
+                        StartTask task = ready.get(i);
+                        tasks.add(task);
+                        notStarted.add(task);
+                        running++;
+                        // the last ready task is left for the scheduling thread which would wait otherwise
+                        if (i < ready.size() - 1) {
+                            task.future = sharedPool.submit(task);
+                        }
+                    }
+                    if (running == 0) {
+                        // should not happen, dependencies are validated by the start strategy
+                        throw new IllegalStateException("Start of services '" + pending.keySet() + "' can't be scheduled. " +
+                                                        "Circular dependency.");
+                    }
+                } else if (running == 0) {
+                    break;
+                }
+
+                StartTask done = completed.poll();
+                if (done == null) {
+                    StartTask task = claimNext(notStarted);
+                    if (task != null) {
+                        task.execute();
+                        continue;
+                    }
+                    done = completed.take();
+                }
+                running--;
+
+                if (done.error != null) {
+                    if (failure == null) {
+                        failure = done.error;
+                        tasks.forEach(StartTask::cancel);
+                    }
+                } else if (failure == null) {
+                    for (Set<String> serviceDependencies : pending.values()) {
+                        serviceDependencies.remove(done.service);
+                    }
+                }
+            }
+        } catch (InterruptedException x) {
+            tasks.forEach(StartTask::cancel);
+            awaitUninterruptibly(completed, running);
+            Thread.currentThread().interrupt();
+            throw x;
+        }
+
+        if (failure instanceof Error) {
+            throw (Error)failure;
+        }
+        if (failure != null) {
+            throw (Exception)failure;
+        }
+    }
+
+    private static StartTask claimNext(ConcurrentLinkedQueue<StartTask> notStarted) {
+        StartTask task;
+        while ((task = notStarted.poll()) != null) {
+            if (task.claim()) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private static void awaitUninterruptibly(BlockingQueue<StartTask> completed, int running) {
+        while (running > 0) {
+            try {
+                completed.take();
+                running--;
+            } catch (InterruptedException ignored) {
+                // already interrupted, wait for starts in progress to finish so their results can be cleaned up
+            }
+        }
+    }
+
+    private static class StartTask implements Callable<Void> {
+        final String                   service;
+        final ServiceStarter           starter;
+        final BlockingQueue<StartTask> completed;
+        final AtomicBoolean            claimed;
+
+        volatile Future<?> future;
+        volatile Throwable error;
+
+        StartTask(String service, ServiceStarter starter, BlockingQueue<StartTask> completed) {
+            this.service = service;
+            this.starter = starter;
+            this.completed = completed;
+            this.claimed = new AtomicBoolean();
+        }
+
+        /** Called by the pool, does nothing if the task is already claimed by the scheduling thread. */
+        @Override
+        public Void call() {
+            if (claim()) {
+                execute();
+            }
+            return null;
+        }
+
+        /** Runs the claimed task. */
+        void execute() {
+            try {
+                starter.start(service);
+            } catch (Exception | Error x) {
+                error = x;
+            } finally {
+                completed.add(this);
+            }
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /** Prevents task from being started, a task which is in progress is not affected. */
+        void cancel() {
+            if (claim()) {
+                error = new CancellationException("Start of service '" + service + "' is cancelled");
+                completed.add(this);
+                if (future != null) {
+                    // just releases the pool queue, the task does nothing as it is already claimed
+                    future.cancel(false);
+                }
+            }
+        }
+    }
+}
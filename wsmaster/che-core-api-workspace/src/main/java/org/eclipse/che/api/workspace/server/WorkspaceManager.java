@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -34,6 +35,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -276,6 +278,67 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets page of workspaces which user can read, workspaces are ordered by name.
+     *
+     * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param user
+     *         the id of the user
+     * @param includeRuntimes
+     *         if <code>true</code>, will fetch runtime info for workspaces.
+     *         If <code>false</code>, will not fetch runtime info.
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspaces which user can read
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any server error occurs while getting workspaces with {@link WorkspaceDao#getWorkspaces(String, int, long)}
+     */
+    public Page<WorkspaceImpl> getWorkspaces(String user, boolean includeRuntimes, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final Page<WorkspaceImpl> page = workspaceDao.getWorkspaces(user, maxItems, skipCount);
+        injectRuntimeAndAttributes(page.getItems(), !includeRuntimes);
+        return page;
+    }
+
+    /**
+     * Gets page of summaries of the workspaces which user can read, summaries are ordered by workspace name.
+     *
+     * <p>Workspace configurations are not fetched, so this method should be preferred
+     * over {@link #getWorkspaces(String, boolean, int, long)} when only the short description
+     * of workspaces is needed. Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by workspace runtime(if it exists).
+     *
+     * @param user
+     *         the id of the user
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @param skipCount
+     *         the number of summaries to skip
+     * @return page of summaries of the workspaces which user can read
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getWorkspaceSummaries(String, int, long)}
+     */
+    public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String user, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getWorkspaceSummaries(user, maxItems, skipCount);
+        for (WorkspaceSummaryImpl summary : page.getItems()) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+        return page;
+    }
+
     /**
      * Gets list of workspaces which has given namespace. Runtimes are included
      *
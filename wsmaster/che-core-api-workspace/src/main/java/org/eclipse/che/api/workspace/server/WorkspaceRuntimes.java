@@ -20,6 +20,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -48,6 +49,7 @@ import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
@@ -58,6 +60,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +71,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -107,6 +111,12 @@ public class WorkspaceRuntimes {
 
     private static final Logger LOG = getLogger(WorkspaceRuntimes.class);
 
+    /**
+     * Agent property which allows launching the agent in parallel with the agents it doesn't depend on,
+     * it must be set only for agents whose script can run concurrently with scripts of the other agents.
+     */
+    public static final String PARALLEL_LAUNCH_PROPERTY = "parallelLaunch";
+
     private final ConcurrentMap<String, RuntimeState> states;
     private final EventService                        eventsService;
     private final StripedLocks                        locks;
@@ -116,6 +126,7 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final ExecutorService                     agentsLaunchingPool;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
@@ -157,6 +168,9 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        this.agentsLaunchingPool = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentsLaunchingPool-%d")
+                                                                                           .setDaemon(true)
+                                                                                           .build());
     }
 
     /**
@@ -660,6 +674,7 @@ public class WorkspaceRuntimes {
                 Thread.currentThread().interrupt();
             }
         }
+        agentsLaunchingPool.shutdownNow();
     }
 
     private void checkIsNotTerminated(String operation) throws ServerException {
@@ -686,14 +701,78 @@ public class WorkspaceRuntimes {
         return state;
     }
 
+    /**
+     * Launches agents in the order of their dependencies.
+     *
+     * <p>Agents are launched one by one in the current thread, since their scripts usually
+     * install packages and can't run concurrently. An agent which has the
+     * {@value #PARALLEL_LAUNCH_PROPERTY} property set to {@code true} is launched in the
+     * agents launching pool as soon as the agents it depends on are launched, so it runs
+     * in parallel with the agents launched after it. The method returns when all
+     * the agents are launched.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException, AgentException {
-        for (AgentKey agentKey : agentSorter.sort(agents)) {
-            if (!Thread.currentThread().isInterrupted()) {
-                LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-                Agent agent = agentRegistry.getAgent(agentKey);
-                AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                launcher.launch(instance, agent);
+        final Map<String, Future<Void>> launches = new HashMap<>();
+        try {
+            for (AgentKey agentKey : agentSorter.sort(agents)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                final Agent agent = agentRegistry.getAgent(agentKey);
+                final List<Future<Void>> dependencies = new ArrayList<>();
+                for (String dependency : agent.getDependencies()) {
+                    final Future<Void> launch = launches.get(AgentKeyImpl.parse(dependency).getId());
+                    if (launch != null) {
+                        dependencies.add(launch);
+                    }
+                }
+                if (agent.getProperties() != null && Boolean.parseBoolean(agent.getProperties().get(PARALLEL_LAUNCH_PROPERTY))) {
+                    launches.put(agent.getId(), agentsLaunchingPool.submit(ThreadLocalPropagateContext.wrap(() -> {
+                        waitAll(dependencies);
+                        launchAgent(instance, agent);
+                        return null;
+                    })));
+                } else {
+                    waitAll(dependencies);
+                    launchAgent(instance, agent);
+                    launches.put(agent.getId(), CompletableFuture.completedFuture(null));
+                }
             }
+            waitAll(launches.values());
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException x) {
+            Throwable cause = x.getCause();
+            while (cause instanceof ExecutionException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            } else if (cause instanceof AgentException) {
+                throw (AgentException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        } finally {
+            // stops launching of the other agents if any of them is failed or launching is interrupted
+            for (Future<Void> launch : launches.values()) {
+                launch.cancel(true);
+            }
+        }
+    }
+
+    private static void waitAll(Collection<Future<Void>> launches) throws InterruptedException, ExecutionException {
+        for (Future<Void> launch : launches) {
+            launch.get();
+        }
+    }
+
+    private void launchAgent(Instance instance, Agent agent) throws ServerException, AgentException {
+        if (!Thread.currentThread().isInterrupted()) {
+            LOG.info("Launching '{}' agent at workspace {}", agent.getId(), instance.getWorkspaceId());
+            AgentLauncher launcher = launcherFactory.find(agent.getId(), instance.getConfig().getType());
+            launcher.launch(instance, agent);
         }
     }
 
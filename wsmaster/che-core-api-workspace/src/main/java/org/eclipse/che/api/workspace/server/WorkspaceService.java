@@ -26,6 +26,8 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -37,11 +39,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -208,21 +212,74 @@ public class WorkspaceService extends Service {
                                             @DefaultValue("0")
                                             @QueryParam("skipCount")
                                             Integer skipCount,
-                                            @ApiParam("The limit of the items in the response, default is 30")
-                                            @DefaultValue("30")
+                                            @ApiParam("The limit of the items in the response, all the items are returned if not specified")
                                             @QueryParam("maxItems")
                                             Integer maxItems,
                                             @ApiParam("Workspace status")
                                             @QueryParam("status")
                                             String status) throws ServerException, BadRequestException {
-        //TODO add maxItems & skipCount to manager
-        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
+        validatePaging(maxItems, skipCount);
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        if (status == null && maxItems != null) {
+            return workspaceManager.getWorkspaces(userId, false, maxItems, skipCount)
+                                   .getItems(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()));
+        }
+        // status is defined by workspace runtime, so workspaces can't be filtered by status in the storage
+        return workspaceManager.getWorkspaces(userId, false)
                                .stream()
                                .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                               .skip(skipCount)
+                               .limit(maxItems == null ? Long.MAX_VALUE : maxItems)
                                .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of the workspaces which user can read",
+                  notes = "Summaries don't contain workspace configuration and runtime, so this operation " +
+                          "should be preferred for listing of workspaces. This operation can be performed only by authorized user",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Paging parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getWorkspaceSummaries(@ApiParam("The number of the items to skip")
+                                          @DefaultValue("0")
+                                          @QueryParam("skipCount")
+                                          Integer skipCount,
+                                          @ApiParam("The limit of the items in the response, default is 30")
+                                          @DefaultValue("30")
+                                          @QueryParam("maxItems")
+                                          Integer maxItems,
+                                          @ApiParam("Workspace status")
+                                          @QueryParam("status")
+                                          String status) throws ServerException, BadRequestException {
+        validatePaging(maxItems, skipCount);
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        final Page<WorkspaceSummaryImpl> page;
+        if (status == null) {
+            page = workspaceManager.getWorkspaceSummaries(userId, maxItems, skipCount);
+        } else {
+            // status is defined by workspace runtime, so summaries can't be filtered by status in the storage
+            final Pages.PageSupplier<WorkspaceSummaryImpl, ServerException> supplier =
+                    (max, skip) -> workspaceManager.getWorkspaceSummaries(userId, max, skip);
+            final List<WorkspaceSummaryImpl> summaries = Pages.stream(supplier)
+                                                              .filter(summary -> status.equalsIgnoreCase(summary.getStatus().toString()))
+                                                              .collect(toList());
+            page = new Page<>(summaries.subList(Math.min(skipCount, summaries.size()),
+                                                (int)Math.min((long)skipCount + maxItems, summaries.size())),
+                              skipCount,
+                              maxItems,
+                              summaries.size());
+        }
+        return Response.ok()
+                       .entity(page.getItems(summary -> asDto(summary)))
+                       .header("Link", createLinkHeader(page))
+                       .build();
+    }
+
     @GET
     @Path("/namespace/{namespace:.*}")
     @Produces(APPLICATION_JSON)
@@ -785,6 +842,15 @@ public class WorkspaceService extends Service {
         }
     }
 
+    private void validatePaging(Integer maxItems, Integer skipCount) throws BadRequestException {
+        if (maxItems != null && maxItems <= 0) {
+            throw new BadRequestException("The number of items to return must be positive");
+        }
+        if (skipCount < 0) {
+            throw new BadRequestException("The number of items to skip can't be negative");
+        }
+    }
+
     private void relativizeRecipeLinks(WorkspaceConfigDto config) {
         config.getEnvironments().values().forEach(this::relativizeRecipeLinks);
     }
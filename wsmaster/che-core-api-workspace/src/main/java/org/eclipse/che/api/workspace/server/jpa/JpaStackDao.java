@@ -24,6 +24,7 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -50,6 +51,9 @@ public class JpaStackDao implements StackDao {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private EntityCacheManager cacheManager;
+
     @Override
     public void create(StackImpl stack) throws ConflictException, ServerException {
         requireNonNull(stack, "Required non-null stack");
@@ -67,7 +71,7 @@ public class JpaStackDao implements StackDao {
     public StackImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+            final StackImpl stack = cacheManager.find(StackImpl.class, id);
             if (stack == null) {
                 throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
             }
@@ -15,6 +15,7 @@ import com.google.inject.persist.Transactional;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -22,9 +23,11 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -33,7 +36,9 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -41,6 +46,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
@@ -54,6 +60,8 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     private EventService            eventService;
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private EntityCacheManager      cacheManager;
 
     @Override
     public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
@@ -101,7 +109,7 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
+            final WorkspaceImpl workspace = cacheManager.find(WorkspaceImpl.class, id);
             if (workspace == null) {
                 throw new NotFoundException(format("Workspace with id '%s' doesn't exist", id));
             }
@@ -163,6 +171,61 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        checkArgument(skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+                      "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+        try {
+            final List<WorkspaceImpl> list = managerProvider.get()
+                                                            .createNamedQuery("Workspace.getAllOrderedByName", WorkspaceImpl.class)
+                                                            .setMaxResults(maxItems)
+                                                            .setFirstResult((int)skipCount)
+                                                            .getResultList()
+                                                            .stream()
+                                                            .map(WorkspaceImpl::new)
+                                                            .collect(toList());
+            return new Page<>(list, skipCount, maxItems, getTotalCount());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String userId, int maxItems, long skipCount) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        checkArgument(skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+                      "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+        try {
+            final EntityManager manager = managerProvider.get();
+            final List<Object[]> rows = manager.createNamedQuery("Workspace.getSummaries", Object[].class)
+                                               .setMaxResults(maxItems)
+                                               .setFirstResult((int)skipCount)
+                                               .getResultList();
+            final Map<String, Long> updated = new HashMap<>();
+            if (!rows.isEmpty()) {
+                final List<String> ids = rows.stream().map(row -> (String)row[0]).collect(toList());
+                for (Object[] attribute : manager.createNamedQuery("Workspace.getAttributeValues", Object[].class)
+                                                 .setParameter("key", UPDATED_ATTRIBUTE_NAME)
+                                                 .setParameter("ids", ids)
+                                                 .getResultList()) {
+                    updated.put((String)attribute[0], parseTime((String)attribute[1]));
+                }
+            }
+            final List<WorkspaceSummaryImpl> list = rows.stream()
+                                                        .map(row -> new WorkspaceSummaryImpl((String)row[0],
+                                                                                             (String)row[1],
+                                                                                             (String)row[2],
+                                                                                             updated.get(row[0])))
+                                                        .collect(toList());
+            return new Page<>(list, skipCount, maxItems, getTotalCount());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException {
@@ -183,6 +246,20 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    private long getTotalCount() {
+        return managerProvider.get()
+                              .createNamedQuery("Workspace.getTotalCount", Long.class)
+                              .getSingleResult();
+    }
+
+    private static Long parseTime(String time) {
+        try {
+            return time == null ? null : Long.valueOf(time);
+        } catch (NumberFormatException x) {
+            return null;
+        }
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -61,7 +61,18 @@ import java.util.Objects;
                 @NamedQuery(name = "Workspace.getAll",
                             query = "SELECT w FROM Workspace w"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getAllOrderedByName",
+                            query = "SELECT w FROM Workspace w ORDER BY w.name, w.id"),
+                @NamedQuery(name = "Workspace.getSummaries",
+                            query = "SELECT w.id, w.name, w.account.name FROM Workspace w ORDER BY w.name, w.id"),
+                @NamedQuery(name = "Workspace.getAttributeValues",
+                            query = "SELECT w.id, VALUE(a) " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.attributes a " +
+                                    "WHERE KEY(a) = :key AND w.id IN :ids"),
+                @NamedQuery(name = "Workspace.getTotalCount",
+                            query = "SELECT COUNT(w) FROM Workspace w")
 
         }
 )
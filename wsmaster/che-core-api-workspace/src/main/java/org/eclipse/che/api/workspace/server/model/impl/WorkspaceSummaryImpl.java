@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+import java.util.Objects;
+
+/**
+ * Short description of workspace which is fetched without workspace configuration,
+ * used for listing of workspaces.
+ */
+public class WorkspaceSummaryImpl {
+
+    private String          id;
+    private String          name;
+    private String          namespace;
+    private WorkspaceStatus status;
+    private Long            updated;
+
+    public WorkspaceSummaryImpl(String id, String name, String namespace, Long updated) {
+        this.id = id;
+        this.name = name;
+        this.namespace = namespace;
+        this.updated = updated;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /** Returns status of workspace, it is not persisted and set by workspace manager. */
+    public WorkspaceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WorkspaceStatus status) {
+        this.status = status;
+    }
+
+    /** Returns time of the last workspace update in milliseconds, or null if workspace has never been updated. */
+    public Long getUpdated() {
+        return updated;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof WorkspaceSummaryImpl)) {
+            return false;
+        }
+        final WorkspaceSummaryImpl that = (WorkspaceSummaryImpl)obj;
+        return Objects.equals(id, that.id)
+               && Objects.equals(name, that.name)
+               && Objects.equals(namespace, that.namespace)
+               && Objects.equals(status, that.status)
+               && Objects.equals(updated, that.updated);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Objects.hashCode(id);
+        hash = 31 * hash + Objects.hashCode(name);
+        hash = 31 * hash + Objects.hashCode(namespace);
+        hash = 31 * hash + Objects.hashCode(status);
+        hash = 31 * hash + Objects.hashCode(updated);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceSummaryImpl{" +
+               "id='" + id + '\'' +
+               ", name='" + name + '\'' +
+               ", namespace='" + namespace + '\'' +
+               ", status=" + status +
+               ", updated=" + updated +
+               '}';
+    }
+}
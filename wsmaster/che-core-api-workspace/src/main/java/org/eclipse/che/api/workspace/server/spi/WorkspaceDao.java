@@ -12,8 +12,10 @@ package org.eclipse.che.api.workspace.server.spi;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 
 import java.util.List;
 
@@ -141,6 +143,44 @@ public interface WorkspaceDao {
      */
     List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+    /**
+     * Gets page of workspaces which user can read, workspaces are ordered by name.
+     *
+     * @param userId
+     *         id of user
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspaces which user can read
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount) throws ServerException;
+
+    /**
+     * Gets page of summaries of the workspaces which user can read, summaries are ordered by workspace name.
+     *
+     * <p>Unlike {@link #getWorkspaces(String, int, long)} this method doesn't fetch workspace configurations,
+     * so it should be used when only the short description of workspaces is needed, e.g. for listing of workspaces.
+     * {@link WorkspaceSummaryImpl#getStatus() Status} of the returned summaries is not set.
+     *
+     * @param userId
+     *         id of user
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @param skipCount
+     *         the number of summaries to skip
+     * @return page of summaries of the workspaces which user can read
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String userId, int maxItems, long skipCount) throws ServerException;
+
 
     /**
      * Gets workspaces by temporary attribute.
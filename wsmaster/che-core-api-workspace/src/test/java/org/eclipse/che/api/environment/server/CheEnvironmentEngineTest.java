@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileLineConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterruptedException;
 import org.eclipse.che.api.environment.server.model.CheServiceBuildContextImpl;
@@ -148,6 +149,9 @@ public class CheEnvironmentEngineTest {
         engine = spy(new CheEnvironmentEngine(snapshotDao,
                                               machineInstanceProviders,
                                               System.getProperty("java.io.tmpdir"),
+                                              RotatingFileLineConsumer.DEFAULT_MAX_FILE_SIZE,
+                                              RotatingFileLineConsumer.DEFAULT_MAX_BACKUP_FILES,
+                                              RotatingFileLineConsumer.DEFAULT_FLUSH_INTERVAL_MS,
                                               DEFAULT_MACHINE_MEM_LIMIT_MB,
                                               eventService,
                                               environmentParser,
@@ -158,7 +162,8 @@ public class CheEnvironmentEngineTest {
                                               recipeDownloader,
                                               containerNameGenerator,
                                               agentRegistry,
-                                              sharedPool));
+                                              sharedPool,
+                                              5));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
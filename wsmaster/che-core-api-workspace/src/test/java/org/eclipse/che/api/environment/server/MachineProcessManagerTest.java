@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileLineConsumer;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -80,6 +81,9 @@ public class MachineProcessManagerTest {
         final String machineLogsDir = targetDir().resolve("logs-dir").toString();
         IoUtil.deleteRecursive(new File(machineLogsDir));
         manager = spy(new MachineProcessManager(machineLogsDir,
+                                                RotatingFileLineConsumer.DEFAULT_MAX_FILE_SIZE,
+                                                RotatingFileLineConsumer.DEFAULT_MAX_BACKUP_FILES,
+                                                RotatingFileLineConsumer.DEFAULT_FLUSH_INTERVAL_MS,
                                                 eventService,
                                                 environmentEngine,
                                                 transmitter,
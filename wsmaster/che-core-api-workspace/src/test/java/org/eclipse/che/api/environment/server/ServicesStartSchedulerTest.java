@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link ServicesStartScheduler}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ServicesStartSchedulerTest {
+
+    @Mock
+    private WorkspaceSharedPool sharedPool;
+
+    private ExecutorService        executor;
+    private ServicesStartScheduler scheduler;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        scheduler = new ServicesStartScheduler(sharedPool);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldStartIndependentServicesConcurrently() throws Exception {
+        delegateToExecutor();
+        CountDownLatch bothStarting = new CountDownLatch(2);
+
+        scheduler.start(asList("db", "cache"), emptyMap(), service -> {
+            bothStarting.countDown();
+            assertTrue(bothStarting.await(5, TimeUnit.SECONDS), "services must be started concurrently");
+        });
+    }
+
+    @Test
+    public void shouldStartServiceAfterItsDependencies() throws Exception {
+        delegateToExecutor();
+        List<String> started = new CopyOnWriteArrayList<>();
+        Map<String, Set<String>> dependencies = ImmutableMap.of("app", singleton("db"),
+                                                                "db", emptySet(),
+                                                                "cache", emptySet());
+
+        scheduler.start(asList("db", "cache", "app"), dependencies, started::add);
+
+        assertEquals(started.size(), 3);
+        assertTrue(started.indexOf("app") > started.indexOf("db"));
+    }
+
+    @Test
+    public void shouldStartAllServicesInCallingThreadWhenPoolDoesNotRunTasks() throws Exception {
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        scheduler.start(asList("db", "cache", "app"),
+                        ImmutableMap.of("app", singleton("db")),
+                        service -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(threads, asList(Thread.currentThread().getName(),
+                                     Thread.currentThread().getName(),
+                                     Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void shouldNotStartDependentServicesWhenServiceStartFails() throws Exception {
+        List<String> started = new CopyOnWriteArrayList<>();
+        Exception failure = new Exception("db failed");
+
+        try {
+            scheduler.start(asList("db", "app"), ImmutableMap.of("app", singleton("db")), service -> {
+                if ("db".equals(service)) {
+                    throw failure;
+                }
+                started.add(service);
+            });
+            fail("start must fail");
+        } catch (Exception x) {
+            assertEquals(x, failure);
+        }
+        assertTrue(started.isEmpty());
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldNotInterruptServicesWhichAreStartingWhenAnotherServiceStartFails() throws Exception {
+        delegateToExecutor();
+        Exception failure = new Exception("db failed");
+        CountDownLatch cacheStarting = new CountDownLatch(1);
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        try {
+            scheduler.start(asList("cache", "db"), emptyMap(), service -> {
+                if ("db".equals(service)) {
+                    assertTrue(cacheStarting.await(5, TimeUnit.SECONDS));
+                    throw failure;
+                }
+                cacheStarting.countDown();
+                Thread.sleep(500);
+                started.add(service);
+            });
+            fail("start must fail");
+        } catch (Exception x) {
+            assertEquals(x, failure);
+        }
+        assertEquals(started, singletonList("cache"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void delegateToExecutor() {
+        when(sharedPool.submit(any(Callable.class))).thenAnswer(inv -> executor.submit((Callable<?>)inv.getArguments()[0]));
+    }
+}
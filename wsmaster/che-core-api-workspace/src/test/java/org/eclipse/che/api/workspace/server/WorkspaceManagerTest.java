@@ -16,6 +16,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
@@ -37,6 +38,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -266,6 +268,34 @@ public class WorkspaceManagerTest {
         assertFalse(res2.isTemporary(), "Workspace must be permanent");
     }
 
+    @Test
+    public void shouldBeAbleToGetPageOfWorkspaces() throws Exception {
+        final WorkspaceImpl workspace = createAndMockWorkspace();
+        mockRuntime(workspace, RUNNING);
+        when(workspaceDao.getWorkspaces(USER_ID, 1, 1)).thenReturn(new Page<>(singletonList(workspace), 1, 1, 2));
+
+        final Page<WorkspaceImpl> page = workspaceManager.getWorkspaces(USER_ID, true, 1, 1);
+
+        assertEquals(page.getItems(), singletonList(workspace));
+        assertEquals(page.getTotalItemsCount(), 2);
+        assertEquals(page.getItems().get(0).getStatus(), RUNNING);
+    }
+
+    @Test
+    public void shouldSetStatusesOfWorkspaceSummaries() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("workspace1", "name1", NAMESPACE, null);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("workspace2", "name2", NAMESPACE, 1000L);
+        when(workspaceDao.getWorkspaceSummaries(USER_ID, 30, 0)).thenReturn(new Page<>(asList(summary1, summary2), 0, 30, 2));
+        when(runtimes.getStatus("workspace1")).thenReturn(STOPPED);
+        when(runtimes.getStatus("workspace2")).thenReturn(RUNNING);
+
+        final Page<WorkspaceSummaryImpl> page = workspaceManager.getWorkspaceSummaries(USER_ID, 30, 0);
+
+        assertEquals(page.getItems().get(0).getStatus(), STOPPED);
+        assertEquals(page.getItems().get(1).getStatus(), RUNNING);
+        verify(workspaceDao, never()).getWorkspaces(USER_ID);
+    }
+
     @Test
     public void shouldBeAbleToGetWorkspacesByNamespace() throws Exception {
         // given
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.workspace.Environment;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileLineConsumer;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
 import org.eclipse.che.api.environment.server.ContainerNameGenerator;
 import org.eclipse.che.api.environment.server.DefaultServicesStartStrategy;
@@ -112,6 +113,9 @@ public class WorkspaceRuntimeIntegrationTest {
         CheEnvironmentEngine environmentEngine = new CheEnvironmentEngine(snapshotDao,
                                                                           machineInstanceProviders,
                                                                           "/tmp",
+                                                                          RotatingFileLineConsumer.DEFAULT_MAX_FILE_SIZE,
+                                                                          RotatingFileLineConsumer.DEFAULT_MAX_BACKUP_FILES,
+                                                                          RotatingFileLineConsumer.DEFAULT_FLUSH_INTERVAL_MS,
                                                                           2000,
                                                                           eventService,
                                                                           environmentParser,
@@ -122,7 +126,8 @@ public class WorkspaceRuntimeIntegrationTest {
                                                                           recipeDownloader,
                                                                           containerNameGenerator,
                                                                           agentRegistry,
-                                                                          sharedPool);
+                                                                          sharedPool,
+                                                                          5);
 
         runtimes = new WorkspaceRuntimes(eventService,
                                          environmentEngine,
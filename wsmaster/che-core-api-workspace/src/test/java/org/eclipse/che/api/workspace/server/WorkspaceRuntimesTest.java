@@ -16,7 +16,10 @@ import com.google.common.util.concurrent.Futures;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -79,14 +82,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -823,6 +829,75 @@ public class WorkspaceRuntimesTest {
         runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
     }
 
+    @Test
+    public void launchesIndependentAgentsInParallelAndDependentAgentAfterThem() throws Exception {
+        Instance instance = mock(Instance.class);
+        MachineConfig config = mock(MachineConfig.class);
+        when(config.getType()).thenReturn("docker");
+        when(instance.getConfig()).thenReturn(config);
+        when(agentSorter.sort(any())).thenReturn(Arrays.asList(AgentKeyImpl.parse("exec"),
+                                                               AgentKeyImpl.parse("terminal"),
+                                                               AgentKeyImpl.parse("ws-agent")));
+        mockAgent("exec", true);
+        mockAgent("terminal", true);
+        mockAgent("ws-agent", false, "exec", "terminal");
+        CountDownLatch independentAgentsLaunching = new CountDownLatch(2);
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(inv -> {
+            Agent agent = (Agent)inv.getArguments()[1];
+            if (!agent.getId().equals("ws-agent")) {
+                independentAgentsLaunching.countDown();
+                assertTrue(independentAgentsLaunching.await(10, TimeUnit.SECONDS));
+            }
+            launched.add(agent.getId());
+            return null;
+        }).when(launcher).launch(any(Instance.class), any(Agent.class));
+        when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+
+        runtimes.launchAgents(instance, Arrays.asList("exec", "terminal", "ws-agent"));
+
+        assertEquals(launched.size(), 3);
+        assertEquals(launched.get(2), "ws-agent");
+    }
+
+    @Test
+    public void launchesAgentsOneByOneInSortedOrderByDefault() throws Exception {
+        Instance instance = mock(Instance.class);
+        MachineConfig config = mock(MachineConfig.class);
+        when(config.getType()).thenReturn("docker");
+        when(instance.getConfig()).thenReturn(config);
+        when(agentSorter.sort(any())).thenReturn(Arrays.asList(AgentKeyImpl.parse("exec"),
+                                                               AgentKeyImpl.parse("terminal"),
+                                                               AgentKeyImpl.parse("ws-agent")));
+        mockAgent("exec", false);
+        mockAgent("terminal", false);
+        mockAgent("ws-agent", false);
+        AtomicInteger launching = new AtomicInteger();
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(inv -> {
+            assertEquals(launching.incrementAndGet(), 1);
+            Thread.sleep(20);
+            launched.add(((Agent)inv.getArguments()[1]).getId());
+            launching.decrementAndGet();
+            return null;
+        }).when(launcher).launch(any(Instance.class), any(Agent.class));
+        when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+
+        runtimes.launchAgents(instance, Arrays.asList("exec", "terminal", "ws-agent"));
+
+        assertEquals(launched, Arrays.asList("exec", "terminal", "ws-agent"));
+    }
+
+    private void mockAgent(String id, boolean parallelLaunch, String... dependencies) throws Exception {
+        Agent agent = mock(Agent.class);
+        when(agent.getId()).thenReturn(id);
+        when(agent.getDependencies()).thenReturn(Arrays.asList(dependencies));
+        when(agent.getProperties()).thenReturn(singletonMap(WorkspaceRuntimes.PARALLEL_LAUNCH_PROPERTY, String.valueOf(parallelLaunch)));
+        when(agentRegistry.getAgent(AgentKeyImpl.parse(id))).thenReturn(agent);
+    }
+
     private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
         verify(sharedPool).submit(taskCaptor.capture());
         taskCaptor.getValue().call();
@@ -20,6 +20,7 @@ import com.jayway.restassured.response.Response;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -46,11 +47,13 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -88,6 +91,7 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.api.machine.shared.Constants.LINK_REL_ENVIRONMENT_OUTPUT_CHANNEL;
 import static org.eclipse.che.api.machine.shared.Constants.LINK_REL_ENVIRONMENT_STATUS_CHANNEL;
 import static org.eclipse.che.api.machine.shared.Constants.WSAGENT_REFERENCE;
@@ -106,6 +110,7 @@ import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
 import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -377,6 +382,59 @@ public class WorkspaceServiceTest {
                      singletonList(workspace2));
     }
 
+    @Test
+    public void shouldGetPageOfWorkspaces() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspaces(USER_ID, false, 1, 1)).thenReturn(new Page<>(singletonList(workspace), 1, 1, 3));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace?skipCount=1&maxItems=1");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceDto.class).stream()
+                                                                .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+                                                                .collect(toList()),
+                     singletonList(workspace));
+        verify(wsManager, never()).getWorkspaces(USER_ID, false);
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummaries() throws Exception {
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("workspace123", "ws-name", NAMESPACE, 1000L);
+        summary.setStatus(RUNNING);
+        when(wsManager.getWorkspaceSummaries(USER_ID, 30, 0)).thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class), singletonList(DtoConverter.asDto(summary)));
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummariesByStatus() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("workspace1", "ws-name1", NAMESPACE, null);
+        summary1.setStatus(STOPPED);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("workspace2", "ws-name2", NAMESPACE, null);
+        summary2.setStatus(STARTING);
+        when(wsManager.getWorkspaceSummaries(eq(USER_ID), anyInt(), eq(0L))).thenReturn(new Page<>(asList(summary1, summary2),
+                                                                                                   0,
+                                                                                                   30,
+                                                                                                   2));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary?status=starting");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class), singletonList(DtoConverter.asDto(summary2)));
+    }
+
     @Test
     public void shouldUpdateTheWorkspace() throws Exception {
         final WorkspaceImpl workspace = createWorkspace(createConfigDto());
@@ -16,6 +16,7 @@ import com.google.common.collect.ImmutableMap;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -29,6 +30,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -54,6 +56,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -247,6 +250,49 @@ public class WorkspaceDaoTest {
         workspaceDao.getWorkspaces(true, -2, 0);
     }
 
+    @Test
+    public void shouldGetPageOfWorkspacesOrderedByName() throws Exception {
+        final Page<WorkspaceImpl> page = workspaceDao.getWorkspaces("userId", 2, 1);
+
+        assertEquals(page.getItems(), asList(workspaces[1], workspaces[2]));
+        assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+        assertEquals(page.getItemsCount(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionOnNegativeLimitWhenGettingPageOfWorkspaces() throws Exception {
+        workspaceDao.getWorkspaces("userId", -1, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionOnNegativeSkipCountWhenGettingPageOfWorkspaces() throws Exception {
+        workspaceDao.getWorkspaces("userId", 1, -1);
+    }
+
+    @Test
+    public void shouldGetPageOfWorkspaceSummaries() throws Exception {
+        final WorkspaceImpl workspace = workspaces[3];
+        workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "1000");
+        workspaceDao.update(workspace);
+
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getWorkspaceSummaries("userId", 2, 2);
+
+        assertEquals(page.getItems(), asList(new WorkspaceSummaryImpl(workspaces[2].getId(),
+                                                                      workspaces[2].getConfig().getName(),
+                                                                      workspaces[2].getNamespace(),
+                                                                      null),
+                                             new WorkspaceSummaryImpl(workspace.getId(),
+                                                                      workspace.getConfig().getName(),
+                                                                      workspace.getNamespace(),
+                                                                      1000L)));
+        assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionOnNegativeSkipCountWhenGettingPageOfWorkspaceSummaries() throws Exception {
+        workspaceDao.getWorkspaceSummaries("userId", 1, -1);
+    }
+
     @Test
     public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
         final boolean[] isNotified = new boolean[] {false};